@@ -3,10 +3,12 @@ package com.example.simpleauction;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry; // Ensure this import is present
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @SpringBootApplication
+@EnableScheduling
 public class SimpleAuctionBackendApplication { // Renamed from SimpleAuctionApplication based on your code
 
     public static void main(String[] args) {
@@ -24,6 +26,7 @@ public class SimpleAuctionBackendApplication { // Renamed from SimpleAuctionAppl
                         .allowedOrigins("http://localhost:5173") // <<< CRITICAL: Allow requests FROM this origin
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Allowed HTTP methods
                         .allowedHeaders("*") // Allow all headers
+                        .exposedHeaders("X-Next-Cursor", "X-Next-Offset") // Pagination cursor / ranked-search offset for GET /api/items
                         .allowCredentials(true); // Important if you handle cookies/auth headers
             }
         };
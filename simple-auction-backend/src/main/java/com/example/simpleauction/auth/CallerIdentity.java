@@ -0,0 +1,7 @@
+package com.example.simpleauction.auth;
+
+/**
+ * Who is calling, as carried by their token (no database lookup). Injected with {@link CurrentUser}.
+ */
+public record CallerIdentity(Long userId, String email) {
+}
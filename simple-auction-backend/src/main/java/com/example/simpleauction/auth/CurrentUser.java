@@ -0,0 +1,17 @@
+package com.example.simpleauction.auth;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link CallerIdentity} controller parameter to be resolved from the {@code Authorization}
+ * header. The value is null when the header is missing, expired, revoked or forged.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,7 @@
+package com.example.simpleauction.auth;
+
+/**
+ * Claims of a verified signed token. {@code tokenId} identifies it in the {@link TokenRevocationList}.
+ */
+public record SignedToken(Long userId, String email, String tokenId, long expiresAtMillis) {
+}
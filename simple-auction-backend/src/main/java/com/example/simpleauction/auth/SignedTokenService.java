@@ -0,0 +1,104 @@
+package com.example.simpleauction.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Issues and verifies stateless tokens: {@code base64url(userId|expiresAt|tokenId|email) "." base64url(HMAC-SHA256)}.
+ * Any node holding the same {@code auction.auth.signing-secret} can verify a token locally, so nothing
+ * about the session has to be shared. Without a configured secret a random one is generated, which
+ * only works for a single node and invalidates tokens on restart.
+ */
+@Component
+public class SignedTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(SignedTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKeySpec key;
+    // Mac isn't thread-safe and Mac.getInstance is slow, so keep one per thread
+    private final ThreadLocal<Mac> macs;
+    private final long ttlMillis;
+
+    public SignedTokenService(@Value("${auction.auth.signing-secret:}") String secret,
+                              @Value("${auction.auth.token-ttl:PT1H}") Duration ttl) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            secretBytes = new byte[32];
+            random.nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.ttlMillis = ttl.toMillis();
+        if (secret == null || secret.isBlank()) {
+            logger.warn("No auction.auth.signing-secret set; signed tokens will only be valid on this node until restart.");
+        }
+    }
+
+    public String issue(Long userId, String email) {
+        byte[] id = new byte[12];
+        random.nextBytes(id);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        // Email last: it is the only field that could contain the separator
+        String claims = userId + "|" + expiresAt + "|" + ENCODER.encodeToString(id) + "|" + email;
+        byte[] payload = claims.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /** The token's claims if the signature checks out and it hasn't expired, otherwise null. */
+    public SignedToken verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return null;
+            }
+            String[] claims = new String(payload, StandardCharsets.UTF_8).split("\\|", 4);
+            if (claims.length != 4) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(claims[1]);
+            if (System.currentTimeMillis() >= expiresAt) {
+                return null;
+            }
+            return new SignedToken(Long.valueOf(claims[0]), claims[3], claims[2], expiresAt);
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or number: not one of ours
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.simpleauction.auth;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signed tokens logged out before they expire. An entry only has to outlive its token, so the list
+ * holds at most one token TTL's worth of logouts and is purged on a schedule.
+ * <p>
+ * Local to this node: a token revoked here is still accepted by other nodes until it expires, which
+ * is what keeps the signed mode free of shared state. Keep {@code auction.auth.token-ttl} short.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(SignedToken token) {
+        revoked.put(token.tokenId(), token.expiresAtMillis());
+    }
+
+    public boolean isRevoked(SignedToken token) {
+        return !revoked.isEmpty() && revoked.containsKey(token.tokenId());
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${auction.auth.revocation-purge-interval:PT1M}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> now >= expiresAt);
+    }
+}
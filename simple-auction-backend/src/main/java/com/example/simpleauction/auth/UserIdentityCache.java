@@ -0,0 +1,103 @@
+package com.example.simpleauction.auth;
+
+import com.example.simpleauction.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Email/ID pairs of users already seen, so the services can identify a user without querying
+ * {@code users} and use {@code UserRepository.getReferenceById} wherever an entity is needed.
+ * <p>
+ * Two bounded Caffeine caches, by email and by ID, kept in step: evicting one side removes the other.
+ * Misses are not cached. Hit/miss/eviction counts are published as {@code cache.*} metrics tagged
+ * {@code cache=user-identity-email} and {@code cache=user-identity-id}, and hit ratios as
+ * {@code auction.user.cache.hit.ratio} tagged {@code key=email} and {@code key=id}.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, CallerIdentity> byEmail;
+    private final Cache<Long, CallerIdentity> byId;
+
+    public UserIdentityCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                             @Value("${auction.user-cache.max-size:100000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .removalListener((Long id, CallerIdentity identity, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && identity != null) {
+                        evictEmail(identity);
+                    }
+                })
+                .build();
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .removalListener((String email, CallerIdentity identity, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && identity != null) {
+                        byId.asMap().remove(identity.userId(), identity);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "user-identity-email");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "user-identity-id");
+        Gauge.builder("auction.user.cache.hit.ratio", byEmail, c -> c.stats().hitRate())
+                .description("Share of user lookups by email served from the cache")
+                .tag("key", "email")
+                .register(meterRegistry);
+        Gauge.builder("auction.user.cache.hit.ratio", byId, c -> c.stats().hitRate())
+                .description("Share of user lookups by ID served from the cache")
+                .tag("key", "id")
+                .register(meterRegistry);
+    }
+
+    public Optional<CallerIdentity> findByEmail(String email) {
+        CallerIdentity identity = byEmail.getIfPresent(email);
+        if (identity == null) {
+            identity = userRepository.findIdentityByEmail(email).orElse(null);
+            if (identity != null) {
+                put(identity);
+            }
+        }
+        return Optional.ofNullable(identity);
+    }
+
+    public Optional<CallerIdentity> findById(Long userId) {
+        CallerIdentity identity = byId.getIfPresent(userId);
+        if (identity == null) {
+            identity = userRepository.findIdentityById(userId).orElse(null);
+            if (identity != null) {
+                put(identity);
+            }
+        }
+        return Optional.ofNullable(identity);
+    }
+
+    /** Records an identity already known to be current, e.g. at login. */
+    public void put(CallerIdentity identity) {
+        byEmail.put(identity.email(), identity);
+        byId.put(identity.userId(), identity);
+    }
+
+    // A registration may reuse an email whose old account was removed; drop whatever was cached for it
+    public void invalidate(String email) {
+        CallerIdentity identity = byEmail.asMap().remove(email);
+        if (identity != null) {
+            byId.asMap().remove(identity.userId(), identity);
+        }
+    }
+
+    private void evictEmail(CallerIdentity identity) {
+        byEmail.asMap().remove(identity.email(), identity);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.simpleauction.cluster;
+
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.engine.BidStoredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passes bids accepted on this node to every peer, where they are published as {@link AcceptedBid} events,
+ * so item caches, leaderboards and live bid streams stay current whichever node a client reads from. Engine
+ * bids follow with their IDs once stored, as {@link BidStoredEvent}s.
+ * Best effort: bids are batched on a background thread, and dropped (and counted) when the queue is full or
+ * a peer is down; a peer's item cache catches up within its TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.cluster.enabled", havingValue = "true")
+public class ClusterBidRelay {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterBidRelay.class);
+    private static final int MAX_BATCH = 500;
+
+    // Set while publishing bids received from a peer, so they are not relayed back
+    private static final ThreadLocal<Boolean> receiving = ThreadLocal.withInitial(() -> false);
+
+    private final ItemOwnership ownership;
+    private final ClusterClient clusterClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<RelayedBid> queue;
+    private final Counter dropped;
+    private final Thread worker = new Thread(this::run, "cluster-bid-relay");
+    private volatile boolean running = true;
+
+    public ClusterBidRelay(ItemOwnership ownership, ClusterClient clusterClient, ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${auction.cluster.relay-capacity:10000}") int capacity) {
+        this.ownership = ownership;
+        this.clusterClient = clusterClient;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.dropped = Counter.builder("auction.cluster.relay.dropped")
+                .description("Accepted bids not passed on to a peer (queue full or peer unreachable)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @EventListener
+    public void onBidAccepted(AcceptedBid bid) {
+        relay(RelayedBid.of(bid));
+    }
+
+    @EventListener
+    public void onBidStored(BidStoredEvent event) {
+        relay(RelayedBid.of(event));
+    }
+
+    private void relay(RelayedBid bid) {
+        if (!receiving.get() && !queue.offer(bid)) {
+            dropped.increment();
+        }
+    }
+
+    /** Publishes bids relayed by a peer on this node. */
+    public void receive(List<RelayedBid> bids) {
+        receiving.set(true);
+        try {
+            bids.forEach(bid -> eventPublisher.publishEvent(bid.stored() ? bid.toStoredEvent() : bid.toAcceptedBid()));
+        } finally {
+            receiving.set(false);
+        }
+    }
+
+    private void run() {
+        List<RelayedBid> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                RelayedBid first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (String peerUrl : ownership.peerUrls()) {
+                    try {
+                        clusterClient.relay(peerUrl, batch);
+                    } catch (RuntimeException e) {
+                        dropped.increment(batch.size());
+                        logger.debug("Could not relay {} bids to {}: {}", batch.size(), peerUrl, e.getMessage());
+                    }
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        worker.interrupt();
+    }
+}
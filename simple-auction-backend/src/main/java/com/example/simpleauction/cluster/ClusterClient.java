@@ -0,0 +1,145 @@
+package com.example.simpleauction.cluster;
+
+import com.example.simpleauction.dto.BidDTO;
+import com.example.simpleauction.dto.MaxBidResponse;
+import com.example.simpleauction.dto.MessageResponse;
+import com.example.simpleauction.engine.BidNotStoredException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Calls other nodes' {@link com.example.simpleauction.controller.ClusterController}: forwards bids to an item's owner and passes on due closes
+ * and accepted bids. Refusals come back as the exceptions the owner threw (a 400 as
+ * {@link IllegalArgumentException} with the owner's message, 404 as {@link EntityNotFoundException}, 409 as
+ * {@link ItemMovingException}, 503 as {@link BidNotStoredException}), so callers handle a forwarded bid like a
+ * local one.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.cluster.enabled", havingValue = "true")
+public class ClusterClient {
+
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+    public static final String BASE_PATH = "/internal/cluster";
+
+    private final RestClient restClient;
+    private final MeterRegistry meterRegistry;
+
+    public ClusterClient(RestClient.Builder restClientBuilder, MeterRegistry meterRegistry,
+                         @Value("${auction.cluster.secret:}") String secret,
+                         @Value("${auction.cluster.forward-timeout:PT5S}") Duration timeout) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("auction.cluster.secret must be set when auction.cluster.enabled=true");
+        }
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder
+                .requestFactory(requestFactory)
+                .defaultHeader(SECRET_HEADER, secret)
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public BidDTO placeBid(String ownerUrl, Long itemId, BigDecimal amount, String bidderEmail) {
+        return call("bid", itemId, () -> restClient.post()
+                .uri(ownerUrl + BASE_PATH + "/items/{id}/bid", itemId)
+                .body(new ForwardedBid(bidderEmail, amount))
+                .retrieve()
+                .body(BidDTO.class));
+    }
+
+    public MaxBidResponse placeMaxBid(String ownerUrl, Long itemId, BigDecimal maxAmount, String bidderEmail) {
+        return call("max_bid", itemId, () -> restClient.post()
+                .uri(ownerUrl + BASE_PATH + "/items/{id}/max-bid", itemId)
+                .body(new ForwardedBid(bidderEmail, maxAmount))
+                .retrieve()
+                .body(MaxBidResponse.class));
+    }
+
+    /** Asks the owner to close these items, which this node's close wheel found due. */
+    public void closeDue(String ownerUrl, List<Long> itemIds) {
+        call("due", null, () -> restClient.post()
+                .uri(ownerUrl + BASE_PATH + "/due")
+                .body(itemIds)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    /** Passes bids accepted here to a peer, for its caches and live streams. */
+    public void relay(String peerUrl, List<RelayedBid> bids) {
+        call("relay", null, () -> restClient.post()
+                .uri(peerUrl + BASE_PATH + "/bids")
+                .body(bids)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    private <T> T call(String operation, Long itemId, Supplier<T> request) {
+        long started = System.nanoTime();
+        String outcome = "ok";
+        try {
+            return request.get();
+        } catch (HttpClientErrorException e) {
+            outcome = "refused";
+            throw refusal(e, itemId);
+        } catch (HttpServerErrorException e) {
+            outcome = "error";
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE) && itemId != null) {
+                throw new BidNotStoredException(message(e), e);
+            }
+            throw new IllegalStateException("Could not reach the server that owns this item; please try again.", e);
+        } catch (RestClientException e) {
+            outcome = "error";
+            throw new IllegalStateException("Could not reach the server that owns this item; please try again.", e);
+        } finally {
+            Timer.builder("auction.cluster.forward")
+                    .description("Calls to other nodes, by operation and outcome")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    private static RuntimeException refusal(RestClientResponseException e, Long itemId) {
+        if (e.getStatusCode().isSameCodeAs(HttpStatus.CONFLICT) && itemId != null) {
+            return new ItemMovingException(itemId);
+        }
+        String message = message(e);
+        if (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            return new EntityNotFoundException(message);
+        } else if (e.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)) {
+            return new IllegalArgumentException(message);
+        }
+        return new IllegalStateException("Could not reach the server that owns this item; please try again.", e);
+    }
+
+    private static String message(RestClientResponseException e) {
+        try {
+            MessageResponse body = e.getResponseBodyAs(MessageResponse.class);
+            if (body != null && body.getMessage() != null) {
+                return body.getMessage();
+            }
+        } catch (RuntimeException ignored) {
+            // Not one of our error bodies
+        }
+        return e.getStatusText();
+    }
+}
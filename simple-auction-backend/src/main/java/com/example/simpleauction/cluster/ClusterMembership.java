@@ -0,0 +1,108 @@
+package com.example.simpleauction.cluster;
+
+import com.example.simpleauction.entity.ClusterNode;
+import com.example.simpleauction.repository.ClusterNodeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps this node's row in {@code cluster_nodes} fresh and feeds the live nodes to {@link ItemOwnership}.
+ * Every node heartbeats into the shared database every {@code auction.cluster.heartbeat-interval}; a node
+ * silent for {@code auction.cluster.node-timeout} drops out of the ring, and a node shutting down cleanly
+ * removes its row so the others rebalance on their next heartbeat.
+ * <p>
+ * Clients may hit any node, so sessions must be visible to all of them: use {@code auction.session.store=jpa}
+ * or {@code auction.auth.token-mode=signed} with a shared signing secret.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.cluster.enabled", havingValue = "true")
+public class ClusterMembership {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+    private static final long PURGE_INTERVAL_MILLIS = 60_000;
+
+    private final ClusterNodeRepository nodeRepository;
+    private final ItemOwnership ownership;
+    private final String advertisedHost;
+    private final long nodeTimeoutMillis;
+    private final long joinedAtMillis = System.currentTimeMillis();
+    private volatile String baseUrl; // known once the web server has its port
+    private volatile boolean running;
+    private long nextPurgeMillis;
+
+    public ClusterMembership(ClusterNodeRepository nodeRepository, ItemOwnership ownership,
+                             @Value("${auction.cluster.advertised-host:localhost}") String advertisedHost,
+                             @Value("${auction.cluster.node-timeout:PT5S}") Duration nodeTimeout,
+                             @Value("${auction.session.store:memory}") String sessionStore,
+                             @Value("${auction.auth.token-mode:session}") String tokenMode) {
+        this.nodeRepository = nodeRepository;
+        this.ownership = ownership;
+        this.advertisedHost = advertisedHost;
+        this.nodeTimeoutMillis = nodeTimeout.toMillis();
+        if ("memory".equals(sessionStore) && "session".equals(tokenMode)) {
+            logger.warn("Clustering with in-memory sessions: a client is only logged in on the node that issued its token. "
+                    + "Set auction.session.store=jpa or auction.auth.token-mode=signed.");
+        }
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        baseUrl = "http://" + advertisedHost + ":" + event.getWebServer().getPort();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void join() {
+        if (baseUrl == null) {
+            throw new IllegalStateException("Clustering needs the embedded web server; no port to advertise.");
+        }
+        running = true;
+        heartbeat();
+        logger.info("Joined the cluster as {} at {}", ownership.getSelfId(), baseUrl);
+    }
+
+    @Scheduled(fixedDelayString = "${auction.cluster.heartbeat-interval:PT1S}")
+    public synchronized void heartbeat() {
+        if (!running) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            nodeRepository.save(new ClusterNode(ownership.getSelfId(), baseUrl, joinedAtMillis, now));
+            Map<String, String> live = new HashMap<>();
+            for (ClusterNode node : nodeRepository.findByHeartbeatAtMillisGreaterThan(now - nodeTimeoutMillis)) {
+                live.put(node.getNodeId(), node.getBaseUrl());
+            }
+            // Our own row was just written, but a slow save must not drop this node from its own ring
+            live.put(ownership.getSelfId(), baseUrl);
+            ownership.update(live);
+            if (now >= nextPurgeMillis) {
+                nextPurgeMillis = now + PURGE_INTERVAL_MILLIS;
+                nodeRepository.deleteSilentSince(now - PURGE_INTERVAL_MILLIS);
+            }
+        } catch (RuntimeException e) {
+            // Keep the last ring; if the database stays unreachable the other nodes time this one out
+            logger.warn("Cluster heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    synchronized void leave() {
+        running = false;
+        try {
+            nodeRepository.deleteById(ownership.getSelfId());
+        } catch (RuntimeException e) {
+            logger.warn("Could not remove this node from the cluster; it will time out instead: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.simpleauction.cluster;
+
+import java.math.BigDecimal;
+
+/**
+ * A bid or maximum bid forwarded to the item's owner. The forwarding node has already authenticated
+ * {@code bidderEmail}; the owner trusts it because the request carries the cluster secret.
+ */
+public record ForwardedBid(String bidderEmail, BigDecimal amount) {
+}
@@ -0,0 +1,62 @@
+package com.example.simpleauction.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Consistent hashing of item IDs onto node IDs. Each node is placed at {@code virtualNodes} points on a
+ * 64-bit ring and owns the items hashing between its points and the previous ones, so a node joining or
+ * leaving moves only about 1/n of the items and spreads them evenly over the rest. Immutable; a lookup is
+ * one hash and a {@link TreeMap} search.
+ */
+public final class HashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final Set<String> nodes;
+
+    public HashRing(Collection<String> nodeIds, int virtualNodes) {
+        this.nodes = Set.copyOf(new TreeSet<>(nodeIds));
+        for (String nodeId : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // Ties (vanishingly rare) go to the lower node ID, so every node builds the same ring
+                points.merge(hash(nodeId + "#" + i), nodeId, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    /** The node owning {@code itemId}, or null if the ring is empty. */
+    public String owner(long itemId) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> point = points.ceilingEntry(mix(itemId));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    // FNV-1a over the UTF-8 bytes, then mixed: stable across JVMs, unlike String.hashCode's 32 bits
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // SplitMix64 finalizer: sequential item IDs land all over the ring
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.simpleauction.cluster;
+
+/**
+ * The item's bids are being handed between nodes (or this node has not joined the cluster yet); the
+ * request is safe to retry shortly. An {@link IllegalStateException}, like the engine's other "try again"
+ * refusals.
+ */
+public class ItemMovingException extends IllegalStateException {
+
+    public ItemMovingException(Long itemId) {
+        super("Bidding on item " + itemId + " is moving between servers; please try again shortly.");
+    }
+}
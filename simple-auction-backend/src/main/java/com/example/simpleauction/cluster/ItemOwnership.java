@@ -0,0 +1,152 @@
+package com.example.simpleauction.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Which node takes bids on which item. With {@code auction.cluster.enabled} off (a single node) that is
+ * always this one. With it on, items are spread over the live nodes by a {@link HashRing} that
+ * {@link ClusterMembership} keeps current, and only an item's owner runs its bid book, so bids on one item
+ * are still serialised in one JVM while different items scale across nodes.
+ * <p>
+ * Handover: when the ring changes, a node that lost items stops taking their bids at once and drains its
+ * writer; a node that gained items waits {@code auction.cluster.handoff-delay} before loading them, long
+ * enough for every node to see the change (one heartbeat) and the old owner's bids to reach the database.
+ * Bids in that window are refused with {@link ItemMovingException} rather than risk two owners. For the same
+ * reason a node whose heartbeats have failed for {@code auction.cluster.node-timeout} (the time after which
+ * the others drop it) stops taking bids until it gets through again. Node clocks are assumed NTP-synced.
+ */
+@Component
+public class ItemOwnership {
+    private static final Logger logger = LoggerFactory.getLogger(ItemOwnership.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String selfId;
+    private final int virtualNodes;
+    private final long handoffDelayMillis;
+    private final long nodeTimeoutMillis;
+    private volatile View view; // null until this node has joined
+    private volatile long refreshedAtMillis;
+
+    public ItemOwnership(ApplicationEventPublisher eventPublisher,
+                         @Value("${auction.cluster.enabled:false}") boolean enabled,
+                         @Value("${auction.cluster.node-id:}") String nodeId,
+                         @Value("${auction.cluster.virtual-nodes:128}") int virtualNodes,
+                         @Value("${auction.cluster.handoff-delay:PT3S}") Duration handoffDelay,
+                         @Value("${auction.cluster.node-timeout:PT5S}") Duration nodeTimeout) {
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.selfId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.virtualNodes = virtualNodes;
+        this.handoffDelayMillis = handoffDelay.toMillis();
+        this.nodeTimeoutMillis = nodeTimeout.toMillis();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelfId() {
+        return selfId;
+    }
+
+    /**
+     * Base URL of the node that takes bids on the item, or null if this node does. Throws
+     * {@link ItemMovingException} if this node owns it but is still taking it over, or is out of touch.
+     */
+    public String ownerUrl(Long itemId) {
+        if (!enabled) {
+            return null;
+        }
+        View current = view;
+        if (current == null) {
+            throw new ItemMovingException(itemId);
+        }
+        String owner = current.ring().owner(itemId);
+        if (!selfId.equals(owner)) {
+            return current.urls().get(owner);
+        }
+        long now = System.currentTimeMillis();
+        if (now - refreshedAtMillis > nodeTimeoutMillis) {
+            throw new ItemMovingException(itemId);
+        }
+        for (Superseded earlier : current.recent()) {
+            if (now - earlier.atMillis() < handoffDelayMillis && !selfId.equals(earlier.ring().owner(itemId))) {
+                throw new ItemMovingException(itemId);
+            }
+        }
+        return null;
+    }
+
+    /** Whether bids on the item are taken here right now (owned and handed over). */
+    public boolean takesBidsHere(Long itemId) {
+        try {
+            return ownerUrl(itemId) == null;
+        } catch (ItemMovingException e) {
+            return false;
+        }
+    }
+
+    /** Whether this node owns the item under the current ring, handed over yet or not. */
+    public boolean ownsHere(Long itemId) {
+        View current = view;
+        return !enabled || current != null && selfId.equals(current.ring().owner(itemId));
+    }
+
+    /** Base URLs of the other live nodes. */
+    public Collection<String> peerUrls() {
+        View current = view;
+        if (current == null) {
+            return List.of();
+        }
+        List<String> peers = new ArrayList<>(current.urls().size());
+        current.urls().forEach((nodeId, url) -> {
+            if (!nodeId.equals(selfId)) {
+                peers.add(url);
+            }
+        });
+        return peers;
+    }
+
+    /** Live nodes (ID to base URL), from every heartbeat; rebuilds the ring only when the set of IDs changes. */
+    synchronized void update(Map<String, String> members) {
+        refreshedAtMillis = System.currentTimeMillis();
+        View current = view;
+        if (current != null && current.ring().nodes().equals(members.keySet())) {
+            if (!current.urls().equals(members)) {
+                view = new View(current.ring(), Map.copyOf(members), current.recent());
+            }
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Superseded> recent = new ArrayList<>();
+        // Before joining, this node owned nothing: everything it now owns is taken over
+        recent.add(new Superseded(current != null ? current.ring() : new HashRing(List.of(), 0), now));
+        if (current != null) {
+            current.recent().stream().filter(earlier -> now - earlier.atMillis() < handoffDelayMillis).forEach(recent::add);
+        }
+        HashRing ring = new HashRing(members.keySet(), virtualNodes);
+        view = new View(ring, Map.copyOf(members), List.copyOf(recent));
+        logger.info("Cluster membership changed: {} -> {} (this node: {})",
+                current != null ? current.ring().nodes() : "[]", ring.nodes(), selfId);
+        eventPublisher.publishEvent(new OwnershipChangedEvent(ring, selfId));
+    }
+
+    // recent: rings replaced within the handoff delay; an item must have been ours in all of them to take bids
+    private record View(HashRing ring, Map<String, String> urls, List<Superseded> recent) {
+    }
+
+    private record Superseded(HashRing ring, long atMillis) {
+    }
+}
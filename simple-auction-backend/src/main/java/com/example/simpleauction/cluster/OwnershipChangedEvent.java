@@ -0,0 +1,12 @@
+package com.example.simpleauction.cluster;
+
+/**
+ * Published when cluster membership changes, with the ring now in force. Listeners holding per-item
+ * state drop what this node no longer owns.
+ */
+public record OwnershipChangedEvent(HashRing ring, String selfId) {
+
+    public boolean ownsHere(Long itemId) {
+        return selfId.equals(ring.owner(itemId));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.simpleauction.cluster;
+
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.engine.BidStoredEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * An {@link AcceptedBid} on its way to a peer. A separate record because {@code AcceptedBid}'s JSON form is
+ * the one live streams send, with the amount as a decimal rather than the exact minor units.
+ * <p>
+ * Engine bids are relayed when accepted, before they have an ID; once stored, the same bid is relayed again
+ * with {@code stored} set and only its item, amount and ID, so the peer can fill the ID in.
+ */
+public record RelayedBid(Long bidId, Long itemId, String itemName, String category, String bidderEmail,
+                         long amountMinor, LocalDateTime bidTime, LocalDateTime auctionEndTime, boolean stored) {
+
+    public static RelayedBid of(AcceptedBid bid) {
+        return new RelayedBid(bid.bidId(), bid.itemId(), bid.itemName(), bid.category(), bid.bidderEmail(),
+                bid.amountMinor(), bid.bidTime(), bid.auctionEndTime(), false);
+    }
+
+    public static RelayedBid of(BidStoredEvent event) {
+        return new RelayedBid(event.bidId(), event.itemId(), null, null, null, event.amountMinor(), null, null, true);
+    }
+
+    public BidStoredEvent toStoredEvent() {
+        return new BidStoredEvent(itemId, amountMinor, bidId);
+    }
+
+    public AcceptedBid toAcceptedBid() {
+        return new AcceptedBid(bidId, itemId, itemName, category, bidderEmail, amountMinor, bidTime, auctionEndTime);
+    }
+}
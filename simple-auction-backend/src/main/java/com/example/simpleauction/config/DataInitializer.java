@@ -1,5 +1,6 @@
 package com.example.simpleauction.config;
 
+import com.example.simpleauction.dashboard.UserDashboardProjection;
 import com.example.simpleauction.entity.Bid;
 import com.example.simpleauction.entity.Item;
 import com.example.simpleauction.entity.User;
@@ -11,13 +12,16 @@ import org.slf4j.LoggerFactory; // Recommended to use SLF4J for logging
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 // Import PasswordEncoder if you decide to implement password hashing in AuthService
 // import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+// Demo data; the loadtest profile seeds at scale instead (LoadTestDataInitializer)
 @Configuration
+@Profile("!loadtest")
 public class DataInitializer {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
@@ -25,7 +29,8 @@ public class DataInitializer {
     @Bean
     CommandLineRunner initDatabase(UserRepository userRepository,
                                    ItemRepository itemRepository,
-                                   BidRepository bidRepository
+                                   BidRepository bidRepository,
+                                   UserDashboardProjection dashboard
                                    /*, PasswordEncoder passwordEncoder */) { // Inject PasswordEncoder if hashing passwords
         return args -> {
             if (userRepository.count() == 0 && itemRepository.count() == 0 && bidRepository.count() == 0) { // Check all relevant repos
@@ -71,6 +76,8 @@ public class DataInitializer {
                     logger.error("Error during sample bid creation or item update: ", e);
                 }
 
+                // Written straight to the repositories, so derive the dashboards from them
+                dashboard.rebuild();
                 logger.info("Sample data initialization complete.");
             } else {
                 logger.info("Database already contains data. Skipping sample data initialization.");
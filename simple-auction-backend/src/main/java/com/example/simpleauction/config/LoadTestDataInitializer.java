@@ -0,0 +1,84 @@
+package com.example.simpleauction.config;
+
+import com.example.simpleauction.dashboard.UserDashboardProjection;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds an empty database at scale for load tests (profile {@code loadtest}, replacing {@link DataInitializer}).
+ * <p>
+ * Users are {@code loaduser<N>@example.com} / {@code password} for N in [0, {@code auction.loadtest.users}).
+ * Item end times are spread evenly from {@code close-start} to {@code close-start + close-spread} after
+ * startup, so auctions keep closing (and drawing bidding storms) throughout a run of that length. Runs before
+ * the close scheduler and search index load open items at startup, so both pick the seeded items up.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestDataInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataInitializer.class);
+
+    public static final String USER_EMAIL_FORMAT = "loaduser%d@example.com";
+    public static final String USER_PASSWORD = "password";
+    private static final String[] CATEGORIES = {"Art", "Collectibles", "Electronics", "Fashion", "Vehicle", "Books",
+            "Home", "Jewelry", "Music", "Sports", "Toys", "Watches"};
+    private static final int CHUNK = 1_000;
+
+    @Bean
+    CommandLineRunner seedLoadTestData(UserRepository userRepository, ItemRepository itemRepository,
+                                       TransactionTemplate transactionTemplate, UserDashboardProjection dashboard,
+                                       @Value("${auction.loadtest.users:10000}") int users,
+                                       @Value("${auction.loadtest.items:20000}") int items,
+                                       @Value("${auction.loadtest.close-start:PT1M}") Duration closeStart,
+                                       @Value("${auction.loadtest.close-spread:PT10M}") Duration closeSpread,
+                                       @Value("${auction.loadtest.seed:42}") long seed) {
+        return args -> {
+            if (userRepository.count() > 0 || itemRepository.count() > 0) {
+                logger.info("Database already contains data. Skipping load test seeding.");
+                return;
+            }
+            long started = System.nanoTime();
+            Random random = new Random(seed);
+            List<User> sellers = new ArrayList<>();
+            for (int from = 0; from < users; from += CHUNK) {
+                List<User> chunk = new ArrayList<>();
+                for (int u = from; u < Math.min(from + CHUNK, users); u++) {
+                    chunk.add(new User(String.format(USER_EMAIL_FORMAT, u), USER_PASSWORD));
+                }
+                sellers.addAll(transactionTemplate.execute(status -> userRepository.saveAll(chunk)));
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < items; from += CHUNK) {
+                List<Item> chunk = new ArrayList<>();
+                for (int i = from; i < Math.min(from + CHUNK, items); i++) {
+                    LocalDateTime end = now.plus(closeStart).plus(closeSpread.multipliedBy(i).dividedBy(items));
+                    chunk.add(new Item("Lot " + i, "Load test lot " + i + ", good condition, ships in original packaging.",
+                            BigDecimal.valueOf(100 + random.nextInt(50_000), 2), CATEGORIES[random.nextInt(CATEGORIES.length)],
+                            null, end, sellers.get(random.nextInt(sellers.size()))));
+                }
+                transactionTemplate.executeWithoutResult(status -> itemRepository.saveAll(chunk));
+            }
+            dashboard.rebuild();
+            logger.info("Seeded {} users and {} items for load testing in {} ms; auctions close from {} to {}",
+                    users, items, (System.nanoTime() - started) / 1_000_000, now.plus(closeStart), now.plus(closeStart).plus(closeSpread));
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.simpleauction.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for the application's own worker pools (payment jobs and gateway calls, bid stream dispatch), in
+ * the same execution mode as the request threads: virtual threads when {@code spring.threads.virtual.enabled}
+ * is set on a Java 21+ runtime (build with {@code -Pjdk21} to be sure of one), named daemon platform threads
+ * otherwise. Pools keep their configured sizes either way; in virtual mode a thread blocked on the database,
+ * the gateway or a socket write no longer ties up a platform thread.
+ */
+@Component
+public class WorkerThreads {
+    private static final Logger logger = LoggerFactory.getLogger(WorkerThreads.class);
+
+    private final boolean virtual;
+
+    public WorkerThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        if (!virtual && environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; staying on platform threads",
+                    Runtime.version().feature());
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /** Threads named {@code prefix} followed by a sequence number. */
+    public ThreadFactory factory(String prefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
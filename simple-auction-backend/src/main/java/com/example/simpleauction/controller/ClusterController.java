@@ -0,0 +1,114 @@
+package com.example.simpleauction.controller;
+
+import com.example.simpleauction.cluster.ClusterBidRelay;
+import com.example.simpleauction.cluster.ClusterClient;
+import com.example.simpleauction.cluster.ForwardedBid;
+import com.example.simpleauction.cluster.ItemMovingException;
+import com.example.simpleauction.cluster.RelayedBid;
+import com.example.simpleauction.dto.MessageResponse;
+import com.example.simpleauction.engine.BidNotStoredException;
+import com.example.simpleauction.lifecycle.AuctionCloseScheduler;
+import com.example.simpleauction.service.BidContentionException;
+import com.example.simpleauction.service.BidService;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Node-to-node API (see {@link ClusterClient}); every call must carry the shared {@code auction.cluster.secret}.
+ * Not under {@code /api}, so it gets no CORS mapping; keep {@code /internal} off the public load balancer too.
+ * Bid refusals use the public endpoints' statuses (503 for a bid not stored), plus 409 when the item is moving
+ * between nodes.
+ */
+@RestController
+@RequestMapping(ClusterClient.BASE_PATH)
+@ConditionalOnProperty(name = "auction.cluster.enabled", havingValue = "true")
+public class ClusterController {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterController.class);
+
+    private final BidService bidService;
+    private final AuctionCloseScheduler closeScheduler;
+    private final ClusterBidRelay bidRelay;
+    private final byte[] secret;
+
+    public ClusterController(BidService bidService, AuctionCloseScheduler closeScheduler, ClusterBidRelay bidRelay,
+                             @Value("${auction.cluster.secret}") String secret) {
+        this.bidService = bidService;
+        this.closeScheduler = closeScheduler;
+        this.bidRelay = bidRelay;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // POST /internal/cluster/items/{id}/bid {"bidderEmail": ..., "amount": ...} -> bid forwarded to this node as owner
+    @PostMapping("/items/{id}/bid")
+    public ResponseEntity<?> placeBid(@PathVariable Long id, @RequestBody ForwardedBid bid,
+                                      @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String presented) {
+        return forwarded(presented, id, () -> bidService.placeOwnedBid(id, bid.amount(), bid.bidderEmail()));
+    }
+
+    @PostMapping("/items/{id}/max-bid")
+    public ResponseEntity<?> placeMaxBid(@PathVariable Long id, @RequestBody ForwardedBid bid,
+                                         @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String presented) {
+        return forwarded(presented, id, () -> bidService.placeOwnedMaxBid(id, bid.amount(), bid.bidderEmail()));
+    }
+
+    // POST /internal/cluster/due [ids] -> items another node's close wheel found due; closed here if owned here
+    @PostMapping("/due")
+    public ResponseEntity<?> closeDue(@RequestBody List<Long> itemIds,
+                                      @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String presented) {
+        if (!authorized(presented)) {
+            return unauthorized();
+        }
+        closeScheduler.closeWhenDue(itemIds);
+        return ResponseEntity.noContent().build();
+    }
+
+    // POST /internal/cluster/bids [bids] -> bids accepted on another node, published here for caches and streams
+    @PostMapping("/bids")
+    public ResponseEntity<?> receiveBids(@RequestBody List<RelayedBid> bids,
+                                         @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String presented) {
+        if (!authorized(presented)) {
+            return unauthorized();
+        }
+        bidRelay.receive(bids);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<?> forwarded(String presented, Long itemId, Supplier<?> placement) {
+        if (!authorized(presented)) {
+            return unauthorized();
+        }
+        try {
+            return ResponseEntity.ok(placement.get());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (ItemMovingException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        } catch (BidNotStoredException | BidContentionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new MessageResponse(e.getMessage()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Internal error placing a forwarded bid on item ID: {}", itemId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("Failed to place bid due to an internal error."));
+        }
+    }
+
+    private boolean authorized(String presented) {
+        return presented != null && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse("Forbidden: not a cluster node."));
+    }
+}
@@ -1,53 +1,130 @@
 package com.example.simpleauction.controller;
 
+import com.example.simpleauction.auth.CallerIdentity;
+import com.example.simpleauction.auth.CurrentUser;
 import com.example.simpleauction.dto.AddItemRequest;
+import com.example.simpleauction.dto.BidPage;
 import com.example.simpleauction.dto.BidRequest;
 import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.dto.ItemImportResult;
+import com.example.simpleauction.dto.ItemPage;
 import com.example.simpleauction.dto.MessageResponse;
-import com.example.simpleauction.service.AuthService;
+import com.example.simpleauction.engine.BidNotStoredException;
+import com.example.simpleauction.importer.ItemRowReader;
+import com.example.simpleauction.logging.SampledLogger;
+import com.example.simpleauction.payment.PaymentAccessDeniedException;
+import com.example.simpleauction.payment.PaymentService;
+import com.example.simpleauction.payment.PaymentTicket;
+import com.example.simpleauction.service.BidContentionException;
 import com.example.simpleauction.service.BidService;
+import com.example.simpleauction.service.ItemImportService;
 import com.example.simpleauction.service.ItemService;
+import com.example.simpleauction.stream.BidStreamHub;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map; // Needed for AuthService activeTokens access
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemController {
      private static final Logger logger = LoggerFactory.getLogger(ItemController.class);
+     public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+     public static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
 
     private final ItemService itemService;
-    private final AuthService authService;
     private final BidService bidService;
+    private final BidStreamHub bidStreamHub;
+    private final PaymentService paymentService;
+    private final ItemImportService itemImportService;
+    // Routine outcomes under load (counted in metrics), logged at most once per auction.logging.sample-interval;
+    // one per call site, so a flood on one endpoint doesn't suppress another's lines
+    private final SampledLogger itemNotFoundLog;
+    private final SampledLogger bidUnauthorizedLog;
+    private final SampledLogger bidNotFoundLog;
+    private final SampledLogger bidRejectedLog;
+    private final SampledLogger maxBidUnauthorizedLog;
+    private final SampledLogger maxBidNotFoundLog;
+    private final SampledLogger maxBidRejectedLog;
+    private final SampledLogger paymentUnauthorizedLog;
+    private final SampledLogger paymentRejectedLog;
 
-
-    public ItemController(ItemService itemService, AuthService authService, BidService bidService) {
+    public ItemController(ItemService itemService, BidService bidService,
+                          BidStreamHub bidStreamHub, PaymentService paymentService, ItemImportService itemImportService,
+                          @Value("${auction.logging.sample-interval:PT1S}") Duration logSampleInterval) {
         this.itemService = itemService;
-        this.authService = authService;
         this.bidService = bidService;
+        this.bidStreamHub = bidStreamHub;
+        this.paymentService = paymentService;
+        this.itemImportService = itemImportService;
+        this.itemNotFoundLog = new SampledLogger(logger, logSampleInterval);
+        this.bidUnauthorizedLog = new SampledLogger(logger, logSampleInterval);
+        this.bidNotFoundLog = new SampledLogger(logger, logSampleInterval);
+        this.bidRejectedLog = new SampledLogger(logger, logSampleInterval);
+        this.maxBidUnauthorizedLog = new SampledLogger(logger, logSampleInterval);
+        this.maxBidNotFoundLog = new SampledLogger(logger, logSampleInterval);
+        this.maxBidRejectedLog = new SampledLogger(logger, logSampleInterval);
+        this.paymentUnauthorizedLog = new SampledLogger(logger, logSampleInterval);
+        this.paymentRejectedLog = new SampledLogger(logger, logSampleInterval);
     }
 
-    // GET /api/items (Handles all, category, search)
+    // GET /api/items (Handles all, category, search) - keyset paginated.
+    // Body stays a plain list; the cursor for the next page is returned in the X-Next-Cursor header, or for a
+    // relevance-ranked search the offset in X-Next-Offset. Send back whichever one came.
     @GetMapping
-    public ResponseEntity<List<ItemDTO>> getItems(
+    public ResponseEntity<?> getItems(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String search) { // Renamed from 'term' for clarity
-        logger.info("Request received for items. Category: '{}', Search: '{}'", category, search);
-        if (category != null && !category.isBlank()) {
-             logger.debug("Fetching items by category: {}", category);
-            return ResponseEntity.ok(itemService.getItemsByCategory(category));
-        } else if (search != null && !search.isBlank()) {
-             logger.debug("Searching items with term: {}", search);
-             return ResponseEntity.ok(itemService.searchItems(search));
-        } else {
-             logger.debug("Fetching all items.");
-            return ResponseEntity.ok(itemService.getAllItems());
+            @RequestParam(required = false) String search, // Renamed from 'term' for clarity
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        logger.debug("Request received for items. Category: '{}', Search: '{}', Cursor: {}, Offset: {}", category, search, cursor, offset);
+        ItemPage page;
+        try {
+            page = itemService.getItemsPage(category, search, cursor, offset, limit);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        if (page.nextOffset() != null) {
+            response.header(NEXT_OFFSET_HEADER, String.valueOf(page.nextOffset()));
+        }
+        return response.body(page.items());
+    }
+
+    // GET /api/items/stream?category=Art (SSE: every accepted bid in a category)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCategoryBids(@RequestParam String category) {
+        try {
+            return bidStreamHub.subscribeToCategory(category);
+        } catch (IllegalStateException e) {
+            // Event-stream clients can't read a JSON MessageResponse, so use a plain status
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    // GET /api/items/{id}/stream (SSE: accepted bids on one item; replaces polling /{id} and /{id}/bids)
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamItemBids(@PathVariable Long id) {
+        try {
+            return bidStreamHub.subscribeToItem(id);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
         }
     }
 
@@ -58,7 +135,7 @@ public class ItemController {
          return itemService.getItemDtoById(id)
                 .<ResponseEntity<?>>map(ResponseEntity::ok)
                 .orElseGet(() -> {
-                     logger.warn("Item not found with ID: {}", id);
+                     itemNotFoundLog.warn("Item not found with ID: {}", id);
                      return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                       .body(new MessageResponse("Item not found with ID: " + id));
                 });
@@ -68,15 +145,15 @@ public class ItemController {
     @PostMapping
     public ResponseEntity<?> addItem(
             @RequestBody AddItemRequest addItemRequest,
-            @RequestHeader("Authorization") String token
+            @CurrentUser CallerIdentity caller
             ) {
          logger.info("Request received to add new item: {}", addItemRequest.getName()); // Don't log full request easily if sensitive
          // Simple Auth Check
-        String userEmail = authService.getUserEmailFromToken(token); // Use helper method if created in AuthService
-         if (userEmail == null) {
+         if (caller == null) {
               logger.warn("Unauthorized attempt to add item. Invalid token provided.");
              return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Unauthorized: Invalid session."));
          }
+        String userEmail = caller.email();
 
         try {
             ItemDTO createdItem = itemService.createItem(addItemRequest, userEmail);
@@ -94,29 +171,59 @@ public class ItemController {
         }
     }
 
+    // POST /api/items/import (body: NDJSON or CSV, one item per row) -> counts plus the rejected rows.
+    // The body is read as a stream and inserted in batches, so catalogues of any size use constant memory.
+    @PostMapping(value = "/import", consumes = {ItemRowReader.NDJSON, ItemRowReader.CSV})
+    public ResponseEntity<?> importItems(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body,
+            @CurrentUser CallerIdentity caller
+    ) {
+        if (caller == null) {
+            logger.warn("Unauthorized attempt to import items. Invalid token provided.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Unauthorized: Invalid session."));
+        }
+        try {
+            ItemImportResult result = itemImportService.importItems(contentType, body, caller.email());
+            return ResponseEntity.ok(result);
+        } catch (EntityNotFoundException | IllegalArgumentException e) {
+            logger.warn("Failed to import items. Reason: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            logger.warn("Item import aborted reading the upload: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse("Could not read the uploaded file; rows before the failure may have been imported."));
+        } catch (Exception e) {
+            logger.error("Internal error importing items", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("Failed to import items due to an internal error."));
+        }
+    }
+
     // POST /api/items/{id}/bid
      @PostMapping("/{id}/bid")
     public ResponseEntity<?> placeBid(
             @PathVariable Long id,
             @RequestBody BidRequest bidRequest, // Assuming BidRequest has BigDecimal amount
-            @RequestHeader("Authorization") String token
+            @CurrentUser CallerIdentity caller
          ) {
-        logger.info("Request received to place bid on item ID: {}", id);
+        logger.debug("Request received to place bid on item ID: {}", id);
         // Simple Auth Check
-        String userEmail = authService.getUserEmailFromToken(token); // Use helper method
-         if (userEmail == null) {
-              logger.warn("Unauthorized attempt to bid on item ID: {} (Invalid Token)", id);
+         if (caller == null) {
+              bidUnauthorizedLog.warn("Unauthorized attempt to bid on item ID: {} (Invalid Token)", id);
              return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Unauthorized: Invalid session."));
          }
+        String userEmail = caller.email();
 
         try {
             // Pass item ID, request body (contains amount), and bidder's email
             return ResponseEntity.ok(bidService.placeBid(id, bidRequest, userEmail));
         } catch (EntityNotFoundException e) {
-             logger.warn("Failed to place bid on item ID: {}. Item not found.", id);
+             bidNotFoundLog.warn("Failed to place bid on item ID: {}. Item not found.", id);
              return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (BidNotStoredException | BidContentionException e) {
+             logger.error("Bid on item ID: {} not stored: {}", id, e.getMessage());
+             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new MessageResponse(e.getMessage()));
         } catch (IllegalArgumentException | IllegalStateException e) {
-             logger.warn("Failed to place bid on item ID: {}. Reason: {}", id, e.getMessage());
+             bidRejectedLog.warn("Failed to place bid on item ID: {}. Reason: {}", id, e.getMessage());
              return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
         } catch (Exception e) {
              logger.error("Internal error placing bid on item ID: {}", id, e);
@@ -124,54 +231,116 @@ public class ItemController {
         }
     }
 
-     // GET /api/items/{id}/bids
+    // POST /api/items/{id}/max-bid {"amount": ...} -> hidden maximum; the engine bids for the caller up to it
+    @PostMapping("/{id}/max-bid")
+    public ResponseEntity<?> placeMaxBid(@PathVariable Long id, @RequestBody BidRequest bidRequest,
+                                         @CurrentUser CallerIdentity caller) {
+        if (caller == null) {
+            maxBidUnauthorizedLog.warn("Unauthorized attempt to set a maximum bid on item ID: {} (Invalid Token)", id);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Unauthorized: Invalid session."));
+        }
+        try {
+            return ResponseEntity.ok(bidService.placeMaxBid(id, bidRequest, caller.email()));
+        } catch (EntityNotFoundException e) {
+            maxBidNotFoundLog.warn("Failed to set a maximum bid on item ID: {}. Item not found.", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (BidNotStoredException e) {
+            logger.error("Maximum bid on item ID: {} not stored: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new MessageResponse(e.getMessage()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            maxBidRejectedLog.warn("Failed to set a maximum bid on item ID: {}. Reason: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Internal error setting a maximum bid on item ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("Failed to place bid due to an internal error."));
+        }
+    }
+
+     // GET /api/items/{id}/bids?limit=10 -> highest bids, served from the in-memory leaderboard
     @GetMapping("/{id}/bids")
-    public ResponseEntity<?> getBidsForItem(@PathVariable Long id) {
+    public ResponseEntity<?> getBidsForItem(@PathVariable Long id, @RequestParam(required = false) Integer limit) {
          logger.debug("Request received for bids for item ID: {}", id);
         try {
             // Note: Bids might contain sensitive user info, consider filtering in DTO if needed
-            return ResponseEntity.ok(bidService.getBidsForItem(id));
+            return ResponseEntity.ok(bidService.getBidsForItem(id, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
         } catch (Exception e) {
              logger.error("Failed to retrieve bids for item ID: {}", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("Failed to retrieve bids."));
         }
     }
 
-    // --- NEW Payment Endpoint ---
+    // GET /api/items/{id}/bids/history?cursor=&limit= -> every bid, newest first, keyset paginated.
+    // Same convention as GET /api/items: plain list body, next cursor in the X-Next-Cursor header.
+    @GetMapping("/{id}/bids/history")
+    public ResponseEntity<?> getBidHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            BidPage page = bidService.getBidHistory(id, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+            }
+            return response.body(page.bids());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Failed to retrieve bid history for item ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("Failed to retrieve bids."));
+        }
+    }
+
+    // --- Payment Endpoints ---
+    // POST /api/items/{id}/pay -> 202 with a PENDING ticket; the gateway call happens on a worker.
+    // An optional Idempotency-Key header lets clients retry safely.
     @PostMapping("/{id}/pay")
     public ResponseEntity<?> initiatePayment(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String token
+            @CurrentUser CallerIdentity caller,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        logger.info("Received payment initiation request for item ID: {}", id);
+        logger.debug("Received payment initiation request for item ID: {}", id);
          // Simple Auth Check
-        String userEmail = authService.getUserEmailFromToken(token); // Use helper method
-         if (userEmail == null) {
-              logger.warn("Unauthorized payment attempt for item ID: {} (Invalid Token)", id);
+         if (caller == null) {
+              paymentUnauthorizedLog.warn("Unauthorized payment attempt for item ID: {} (Invalid Token)", id);
              return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Unauthorized: Invalid session."));
          }
+        String userEmail = caller.email();
 
         try {
-            boolean success = itemService.initiatePayment(id, userEmail);
-            if (success) {
-                 logger.info("Payment simulation successful for item ID: {}", id);
-                // You could optionally return the updated ItemDTO here
-                return ResponseEntity.ok(new MessageResponse("Payment successful (simulated). Item status updated."));
-            } else {
-                 logger.warn("Payment simulation failed for item ID: {}", id);
-                return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED) // 402 Payment Required might be suitable
-                                 .body(new MessageResponse("Payment failed (simulated). Please try again or contact support."));
-            }
+            PaymentTicket ticket = paymentService.initiatePayment(id, userEmail, idempotencyKey);
+            HttpStatus status = PaymentService.PAID.equals(ticket.status()) ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).body(ticket);
         } catch (EntityNotFoundException e) {
             logger.error("Payment attempt failed for item ID: {}. Item not found.", id);
              return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
         } catch (IllegalArgumentException | IllegalStateException e) {
-             logger.warn("Payment attempt validation failed for item ID: {}. Reason: {}", id, e.getMessage());
+             paymentRejectedLog.warn("Payment attempt validation failed for item ID: {}. Reason: {}", id, e.getMessage());
              return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
         } catch (Exception e) {
-             logger.error("Internal error during payment simulation for item ID: {}", id, e);
+             logger.error("Internal error during payment initiation for item ID: {}", id, e);
              return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("Payment initiation failed due to an internal error."));
         }
     }
-}
 
+    // GET /api/items/{id}/payment -> current payment status (PENDING / PAID / FAILED); seller or winner only
+    @GetMapping("/{id}/payment")
+    public ResponseEntity<?> getPaymentStatus(
+            @PathVariable Long id,
+            @CurrentUser CallerIdentity caller
+    ) {
+        if (caller == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Unauthorized: Invalid session."));
+        }
+        try {
+            return ResponseEntity.ok(paymentService.getPaymentStatus(id, caller.email()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (PaymentAccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.simpleauction.controller;
+
+import com.example.simpleauction.dto.MessageResponse;
+import com.example.simpleauction.payment.PaymentResult;
+import com.example.simpleauction.payment.PaymentService;
+import com.example.simpleauction.payment.RazorpayPaymentGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+/**
+ * Razorpay's webhook (subscribe it to {@code order.paid} and {@code payment.failed}, signed with
+ * {@code razorpay.webhook.secret}): settles payments left awaiting the customer. Only with
+ * {@code auction.payment.gateway=razorpay}; the signature, not a session, authenticates the caller.
+ */
+@RestController
+@RequestMapping("/api/payments/razorpay")
+@ConditionalOnProperty(name = "auction.payment.gateway", havingValue = "razorpay")
+public class PaymentWebhookController {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookController.class);
+
+    private final RazorpayPaymentGateway gateway;
+    private final PaymentService paymentService;
+
+    public PaymentWebhookController(RazorpayPaymentGateway gateway, PaymentService paymentService) {
+        this.gateway = gateway;
+        this.paymentService = paymentService;
+    }
+
+    // POST /api/payments/razorpay/webhook -> 200 once handled (Razorpay retries anything else)
+    @PostMapping("/webhook")
+    public ResponseEntity<?> webhook(@RequestBody String payload,
+                                     @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature) {
+        Optional<PaymentResult> settled;
+        try {
+            settled = gateway.readWebhook(payload, signature);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected Razorpay webhook: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new MessageResponse(e.getMessage()));
+        }
+        settled.ifPresent(result -> paymentService.settleGatewayOrder(result.gatewayReference(),
+                result.outcome() == PaymentResult.Outcome.PAID));
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,69 +1,75 @@
 package com.example.simpleauction.controller;
 
-import com.example.simpleauction.dto.BidDTO;
-import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.auth.CallerIdentity;
+import com.example.simpleauction.auth.CurrentUser;
+import com.example.simpleauction.dashboard.UserDashboardService;
+import com.example.simpleauction.dto.ItemPage;
 import com.example.simpleauction.dto.MessageResponse;
-import com.example.simpleauction.service.AuthService;
-import com.example.simpleauction.service.BidService;
-import com.example.simpleauction.service.ItemService;
+import com.example.simpleauction.dto.MyBidPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
      private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
-    private final ItemService itemService;
-    private final BidService bidService;
-    private final AuthService authService;
+    private final UserDashboardService dashboardService;
 
-    public UserController(ItemService itemService, BidService bidService, AuthService authService) {
-        this.itemService = itemService;
-        this.bidService = bidService;
-        this.authService = authService;
+    public UserController(UserDashboardService dashboardService) {
+        this.dashboardService = dashboardService;
     }
 
-    // Endpoint to get items listed by the currently logged-in user
+    // GET /api/users/me/items?cursor=&limit= -> items the logged-in user listed, newest first.
+    // Same convention as GET /api/items: plain list body, next cursor in the X-Next-Cursor header.
     @GetMapping("/me/items")
-    public ResponseEntity<?> getMyListedItems(@RequestHeader("Authorization") String token) {
-        String userEmail = authService.getUserEmailFromToken(token);
-        if (userEmail == null) {
+    public ResponseEntity<?> getMyListedItems(@CurrentUser CallerIdentity caller,
+                                              @RequestParam(required = false) Long cursor,
+                                              @RequestParam(required = false) Integer limit) {
+        if (caller == null) {
              logger.warn("Unauthorized attempt to access /me/items");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Unauthorized: Invalid session."));
         }
-         logger.info("Fetching listed items for user: {}", userEmail);
+         logger.debug("Fetching listed items for user: {}", caller.email());
 
         try {
-            List<ItemDTO> items = itemService.getItemsBySellerEmail(userEmail);
-            return ResponseEntity.ok(items);
+            ItemPage page = dashboardService.getListedItems(caller, cursor, limit);
+            return withCursor(page.nextCursor()).body(page.items());
         } catch (Exception e) {
-             logger.error("Error fetching listed items for user: {}", userEmail, e);
+             logger.error("Error fetching listed items for user: {}", caller.email(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("Failed to retrieve listed items."));
         }
     }
 
-    // Endpoint to get bids placed by the currently logged-in user
+    // GET /api/users/me/bids?cursor=&limit= -> one entry per item the logged-in user bid on, with
+    // "winning" / "outbid" flags; most recently bid on first, paginated like /me/items.
     @GetMapping("/me/bids")
-    public ResponseEntity<?> getMyBids(@RequestHeader("Authorization") String token) {
-         String userEmail = authService.getUserEmailFromToken(token);
-         if (userEmail == null) {
+    public ResponseEntity<?> getMyBids(@CurrentUser CallerIdentity caller,
+                                       @RequestParam(required = false) Long cursor,
+                                       @RequestParam(required = false) Integer limit) {
+         if (caller == null) {
               logger.warn("Unauthorized attempt to access /me/bids");
              return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Unauthorized: Invalid session."));
          }
-         logger.info("Fetching bids for user: {}", userEmail);
+         logger.debug("Fetching bids for user: {}", caller.email());
 
          try {
-            List<BidDTO> bids = bidService.getBidsByUserEmail(userEmail);
-            return ResponseEntity.ok(bids);
+            MyBidPage page = dashboardService.getMyBids(caller, cursor, limit);
+            return withCursor(page.nextCursor()).body(page.bids());
          } catch (Exception e) {
-              logger.error("Error fetching bids for user: {}", userEmail, e);
+              logger.error("Error fetching bids for user: {}", caller.email(), e);
              return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("Failed to retrieve bids."));
          }
     }
+
+    private static ResponseEntity.BodyBuilder withCursor(Long nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(ItemController.NEXT_CURSOR_HEADER, String.valueOf(nextCursor));
+        }
+        return response;
+    }
 }
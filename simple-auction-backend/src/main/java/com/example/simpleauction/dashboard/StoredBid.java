@@ -0,0 +1,9 @@
+package com.example.simpleauction.dashboard;
+
+import com.example.simpleauction.engine.AcceptedBid;
+
+/**
+ * A bid as written to the database: the accepted bid with its row ID and the bidder's user ID.
+ */
+public record StoredBid(long bidId, long bidderId, AcceptedBid bid) {
+}
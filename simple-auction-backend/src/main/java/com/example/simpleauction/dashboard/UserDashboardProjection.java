@@ -0,0 +1,128 @@
+package com.example.simpleauction.dashboard;
+
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.entity.DashboardEntry;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.repository.DashboardEntryRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Write side of the user dashboards: keeps {@code dashboard_entries} in step with items, bids, closes and
+ * payments. Every method runs in the transaction making the change, so the read model commits (or rolls back)
+ * with it; a bid costs one keyed upsert of the bidder's row plus, per item and write batch, one indexed
+ * update of the item's rows. Rows written around these methods (seed data, a database that predates the
+ * table) are picked up by {@link #rebuild}, which runs at startup when the table is empty.
+ * <p>
+ * Bidder rows of one item are only ever written by the node that owns the item's bids (or, on the database
+ * path, behind the item's row lock), so concurrent inserts of the same row do not happen.
+ */
+@Component
+public class UserDashboardProjection {
+    private static final Logger logger = LoggerFactory.getLogger(UserDashboardProjection.class);
+
+    private final DashboardEntryRepository entryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserDashboardProjection(DashboardEntryRepository entryRepository, TransactionTemplate transactionTemplate) {
+        this.entryRepository = entryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Before the bid writer replays its journal, which writes through bidsStored
+    @PostConstruct
+    void backfill() {
+        if (entryRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /** New items (with their IDs), listed by {@code sellerId}. */
+    public void itemsListed(List<Item> items, Long sellerId) {
+        List<DashboardEntry> entries = new ArrayList<>(items.size());
+        for (Item item : items) {
+            DashboardEntry entry = new DashboardEntry(sellerId, item.getId(), DashboardEntry.SELLER, item.getId(),
+                    item.getName(), item.getCategory(), item.getAuctionEndTime());
+            entry.setDescription(item.getDescription());
+            entry.setImageUrl(item.getImageUrl());
+            entry.setStartingPrice(item.getStartingPrice());
+            entry.setCurrentPrice(item.getCurrentBidPrice());
+            entries.add(entry);
+        }
+        entryRepository.saveAll(entries);
+    }
+
+    /** Bids just stored, in acceptance order (so each item's last is its highest). */
+    public void bidsStored(List<StoredBid> bids) {
+        if (bids.isEmpty()) {
+            return;
+        }
+        Set<Long> itemIds = new HashSet<>();
+        Set<Long> bidderIds = new HashSet<>();
+        for (StoredBid stored : bids) {
+            itemIds.add(stored.bid().itemId());
+            bidderIds.add(stored.bidderId());
+        }
+        Map<DashboardEntry.Key, DashboardEntry> entries = new HashMap<>();
+        for (DashboardEntry entry : entryRepository.findBidderEntries(itemIds, bidderIds)) {
+            entries.put(entry.getId(), entry);
+        }
+
+        List<DashboardEntry> created = new ArrayList<>();
+        Map<Long, StoredBid> highestPerItem = new LinkedHashMap<>();
+        for (StoredBid stored : bids) {
+            AcceptedBid bid = stored.bid();
+            DashboardEntry entry = entries.computeIfAbsent(new DashboardEntry.Key(stored.bidderId(), bid.itemId(), DashboardEntry.BIDDER),
+                    key -> {
+                        DashboardEntry fresh = new DashboardEntry(key.userId(), key.itemId(), DashboardEntry.BIDDER,
+                                stored.bidId(), bid.itemName(), bid.category(), bid.auctionEndTime());
+                        created.add(fresh);
+                        return fresh;
+                    });
+            // A bidder only ever raises their own bid
+            entry.setMyHighestBid(bid.amount());
+            entry.setMyBidCount(entry.getMyBidCount() + 1);
+            entry.setLastBidTime(bid.bidTime());
+            entry.setSortKey(Math.max(entry.getSortKey(), stored.bidId()));
+            highestPerItem.put(bid.itemId(), stored);
+        }
+        entryRepository.saveAll(created);
+        for (StoredBid highest : highestPerItem.values()) {
+            AcceptedBid bid = highest.bid();
+            entryRepository.applyHighestBid(bid.itemId(), bid.amount(), highest.bidderId(), bid.bidderEmail(), bid.auctionEndTime());
+        }
+    }
+
+    public void auctionsClosed(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            entryRepository.markClosed(itemIds);
+        }
+    }
+
+    public void paymentUpdated(Long itemId, String status) {
+        entryRepository.updatePaymentStatus(itemId, status);
+    }
+
+    /** Replaces the read model with one derived from the items and bids tables, in one transaction. */
+    public void rebuild() {
+        long started = System.nanoTime();
+        int[] counts = transactionTemplate.execute(status -> {
+            entryRepository.deleteAllInBatch();
+            return new int[]{entryRepository.insertSellerEntries(), entryRepository.insertBidderEntries()};
+        });
+        logger.info("Rebuilt user dashboards: {} listings and {} bid positions in {} ms",
+                counts[0], counts[1], (System.nanoTime() - started) / 1_000_000);
+    }
+}
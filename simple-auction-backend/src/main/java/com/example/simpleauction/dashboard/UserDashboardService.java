@@ -0,0 +1,84 @@
+package com.example.simpleauction.dashboard;
+
+import com.example.simpleauction.auth.CallerIdentity;
+import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.dto.ItemPage;
+import com.example.simpleauction.dto.MyBidDTO;
+import com.example.simpleauction.dto.MyBidPage;
+import com.example.simpleauction.entity.DashboardEntry;
+import com.example.simpleauction.repository.DashboardEntryRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the user dashboards: each page is one indexed query on {@code dashboard_entries}, keyed by
+ * the caller's user ID from their token, with no joins and no lazy loading. Kept current by
+ * {@link UserDashboardProjection}.
+ */
+@Service
+public class UserDashboardService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final DashboardEntryRepository entryRepository;
+
+    public UserDashboardService(DashboardEntryRepository entryRepository) {
+        this.entryRepository = entryRepository;
+    }
+
+    /** Items the caller listed, newest first; {@code cursor} is the last item ID of the previous page. */
+    public ItemPage getListedItems(CallerIdentity caller, Long cursor, Integer limit) {
+        List<DashboardEntry> rows = page(caller, DashboardEntry.SELLER, cursor, limit);
+        List<ItemDTO> items = rows.stream().map(row -> toItemDto(row, caller.email())).collect(Collectors.toList());
+        return new ItemPage(items, nextCursor(rows, limit));
+    }
+
+    /**
+     * Items the caller bid on, most recently bid on first (bidding again moves an item to the top);
+     * {@code cursor} is the previous page's {@code nextCursor}.
+     */
+    public MyBidPage getMyBids(CallerIdentity caller, Long cursor, Integer limit) {
+        List<DashboardEntry> rows = page(caller, DashboardEntry.BIDDER, cursor, limit);
+        List<MyBidDTO> bids = rows.stream().map(UserDashboardService::toMyBidDto).collect(Collectors.toList());
+        return new MyBidPage(bids, nextCursor(rows, limit));
+    }
+
+    private List<DashboardEntry> page(CallerIdentity caller, String role, Long cursor, Integer limit) {
+        return entryRepository.findPage(caller.userId(), role, cursor != null ? cursor : Long.MAX_VALUE, Limit.of(pageSize(limit)));
+    }
+
+    private static Long nextCursor(List<DashboardEntry> rows, Integer limit) {
+        return rows.size() == pageSize(limit) ? rows.get(rows.size() - 1).getSortKey() : null;
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static ItemDTO toItemDto(DashboardEntry row, String sellerEmail) {
+        ItemDTO dto = new ItemDTO();
+        dto.setId(row.getItemId());
+        dto.setName(row.getItemName());
+        dto.setDescription(row.getDescription());
+        dto.setStartingPrice(row.getStartingPrice());
+        dto.setCurrentBidPrice(row.getCurrentPrice());
+        dto.setCategory(row.getCategory());
+        dto.setImageUrl(row.getImageUrl());
+        dto.setAuctionEndTime(row.getAuctionEndTime());
+        dto.setAuctionStatus(row.getAuctionStatus());
+        dto.setPaymentStatus(row.getPaymentStatus());
+        dto.setSellerEmail(sellerEmail);
+        dto.setHighestBidderEmail(row.getHighestBidderEmail());
+        return dto;
+    }
+
+    private static MyBidDTO toMyBidDto(DashboardEntry row) {
+        boolean winning = row.isLeading();
+        return new MyBidDTO(row.getItemId(), row.getItemName(), row.getCategory(), row.getMyHighestBid(),
+                row.getMyBidCount(), row.getLastBidTime(), row.getCurrentPrice(), row.getAuctionEndTime(),
+                row.getAuctionStatus(), row.getPaymentStatus(), winning, !winning && row.getHighestBidderId() != null);
+    }
+}
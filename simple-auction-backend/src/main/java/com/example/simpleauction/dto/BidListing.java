@@ -0,0 +1,11 @@
+package com.example.simpleauction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a bid row with item name and bidder email joined in the same select.
+ */
+public record BidListing(Long id, Long itemId, String itemName, String bidderEmail,
+                         BigDecimal bidAmount, LocalDateTime bidTime) {
+}
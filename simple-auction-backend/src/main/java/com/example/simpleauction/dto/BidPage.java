@@ -0,0 +1,10 @@
+package com.example.simpleauction.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of an item's bid history, newest first. {@code nextCursor} is the last bid ID on the
+ * page, or null on the last page.
+ */
+public record BidPage(List<BidDTO> bids, Long nextCursor) {
+}
@@ -0,0 +1,10 @@
+package com.example.simpleauction.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a database-path bid reports about its item: the name and category, and the end time after the bid
+ * (including any soft-close extension it triggered).
+ */
+public record ItemBidState(String name, String category, LocalDateTime auctionEndTime) {
+}
@@ -15,6 +15,7 @@
      private LocalDateTime auctionEndTime;
      private String sellerEmail;
      private String highestBidderEmail;
+     private String auctionStatus; // OPEN / CLOSED
      private String paymentStatus; // Added payment status
 
      // No-arg constructor
@@ -41,6 +42,8 @@
      public void setSellerEmail(String sellerEmail) { this.sellerEmail = sellerEmail; }
      public String getHighestBidderEmail() { return highestBidderEmail; }
      public void setHighestBidderEmail(String highestBidderEmail) { this.highestBidderEmail = highestBidderEmail; }
+     public String getAuctionStatus() { return auctionStatus; }
+     public void setAuctionStatus(String auctionStatus) { this.auctionStatus = auctionStatus; }
      public String getPaymentStatus() { return paymentStatus; }
      public void setPaymentStatus(String paymentStatus) { this.paymentStatus = paymentStatus; }
 
@@ -0,0 +1,7 @@
+package com.example.simpleauction.dto;
+
+/**
+ * A row a bulk import skipped: where it starts in the file (1-based line) and why.
+ */
+public record ItemImportError(long line, String message) {
+}
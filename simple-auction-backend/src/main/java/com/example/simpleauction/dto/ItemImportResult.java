@@ -0,0 +1,10 @@
+package com.example.simpleauction.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk item import. {@code errors} lists the first rejected rows (up to
+ * {@code auction.import.max-reported-errors}); {@code rejected} counts all of them.
+ */
+public record ItemImportResult(long imported, long rejected, List<ItemImportError> errors) {
+}
@@ -0,0 +1,14 @@
+package com.example.simpleauction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of an item row with seller and highest bidder emails joined in the same select.
+ * Used for listings so no lazy association is ever touched.
+ */
+public record ItemListing(Long id, String name, String description, BigDecimal startingPrice,
+                          BigDecimal currentBidPrice, String category, String imageUrl,
+                          LocalDateTime auctionEndTime, String auctionStatus, String paymentStatus,
+                          String sellerEmail, String highestBidderEmail) {
+}
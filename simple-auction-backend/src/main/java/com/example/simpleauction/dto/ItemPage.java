@@ -0,0 +1,14 @@
+package com.example.simpleauction.dto;
+
+import java.util.List;
+
+/**
+ * One page of items. Keyset pages carry {@code nextCursor}, the last item ID on the page; relevance-ranked
+ * search pages carry {@code nextOffset}, the rank to continue from. Both are null on the last page.
+ */
+public record ItemPage(List<ItemDTO> items, Long nextCursor, Integer nextOffset) {
+
+    public ItemPage(List<ItemDTO> items, Long nextCursor) {
+        this(items, nextCursor, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.simpleauction.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Outcome of setting a maximum bid: the item's price and whether the caller now leads, with the visible
+ * bids it produced (the caller's, and any placed automatically against an earlier maximum). A maximum that
+ * did not lead stays unused and can be raised by bidding again.
+ */
+public record MaxBidResponse(BigDecimal maxAmount, BigDecimal currentPrice, boolean leading, List<BidDTO> bids) {
+}
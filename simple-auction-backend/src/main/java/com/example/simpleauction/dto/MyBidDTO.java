@@ -0,0 +1,14 @@
+package com.example.simpleauction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One item on the caller's bids dashboard: their own bidding on it and where the item stands now.
+ * {@code winning}: the caller holds the highest bid (and has won, once {@code auctionStatus} is CLOSED);
+ * {@code outbid}: someone else does. {@code paymentStatus} is the item's, of interest to the winner.
+ */
+public record MyBidDTO(Long itemId, String itemName, String category, BigDecimal myHighestBid, long myBidCount,
+                       LocalDateTime lastBidTime, BigDecimal currentBidPrice, LocalDateTime auctionEndTime,
+                       String auctionStatus, String paymentStatus, boolean winning, boolean outbid) {
+}
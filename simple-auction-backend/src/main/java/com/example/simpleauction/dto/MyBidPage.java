@@ -0,0 +1,10 @@
+package com.example.simpleauction.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of the caller's bids dashboard, most recently bid on first. {@code nextCursor} is the
+ * cursor for the next page, or null on the last page.
+ */
+public record MyBidPage(List<MyBidDTO> bids, Long nextCursor) {
+}
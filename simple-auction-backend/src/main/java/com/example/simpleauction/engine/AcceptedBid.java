@@ -0,0 +1,29 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.money.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A bid that has been accepted, either in memory by the {@link BidEngine} or by the database path.
+ * Also published as an application event. {@code bidId} is null until the bid row exists.
+ * {@code auctionEndTime} is the item's end time after this bid, i.e. including any soft-close extension.
+ * The amount is carried in {@link Money} minor units; {@link #amount()} converts at the edges (and is what
+ * live bid streams serialize).
+ */
+public record AcceptedBid(Long bidId, Long itemId, String itemName, String category,
+                          String bidderEmail, @JsonIgnore long amountMinor, LocalDateTime bidTime,
+                          LocalDateTime auctionEndTime) {
+
+    @JsonProperty("amount")
+    public BigDecimal amount() {
+        return Money.toBigDecimal(amountMinor);
+    }
+
+    public AcceptedBid withBidId(Long id) {
+        return new AcceptedBid(id, itemId, itemName, category, bidderEmail, amountMinor, bidTime, auctionEndTime);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.simpleauction.engine;
+
+/**
+ * A bid arrived after the item's auction ended (or it was closed). Kept an {@link IllegalStateException},
+ * as before, so callers that treat "too late" apart from a bad bid still can.
+ */
+public class AuctionEndedException extends IllegalStateException {
+
+    public AuctionEndedException(String itemName) {
+        super("Auction has ended for item: " + itemName);
+    }
+}
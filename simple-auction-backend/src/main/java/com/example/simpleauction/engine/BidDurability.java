@@ -0,0 +1,14 @@
+package com.example.simpleauction.engine;
+
+/**
+ * When an engine-accepted bid is acknowledged relative to its row being committed
+ * ({@code auction.bid-engine.durability}).
+ */
+public enum BidDurability {
+    /** Acknowledged once queued; the writer flushes in batches on a size or time trigger. A crash loses the queue. */
+    WRITE_BEHIND,
+    /** Acknowledged after the batch holding the bid commits; bids queued during one commit share the next. */
+    GROUP_COMMIT,
+    /** Acknowledged after the bid commits in a transaction of its own. */
+    SYNC
+}
@@ -0,0 +1,321 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.auth.UserIdentityCache;
+import com.example.simpleauction.cluster.ItemMovingException;
+import com.example.simpleauction.cluster.ItemOwnership;
+import com.example.simpleauction.cluster.OwnershipChangedEvent;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.lifecycle.AuctionClosedEvent;
+import com.example.simpleauction.lifecycle.SoftClosePolicy;
+import com.example.simpleauction.money.Money;
+import com.example.simpleauction.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Accepts or rejects bids against per-item {@link ItemBook}s held in memory.
+ * The first bid on an item loads its book from the database; after that the
+ * hot path does no DB reads and accepted bids are written through by {@link BidWriter}, after being
+ * appended to the {@link BidJournal} when that is enabled.
+ * <p>
+ * Bidders may also leave a hidden maximum ({@link #placeMaxBid}); the book answers later bids for them up to
+ * it, using {@link BidIncrements}, so a proxy war is settled under one lock with only the visible bids written.
+ * Maximums live in the book only: a restart, or a book reloaded after eviction, keeps each leader's visible
+ * bid but not what was left of their maximum.
+ * <p>
+ * In a cluster only the item's owner ({@link ItemOwnership}) holds its book; ownership is checked under the
+ * book's lock, and books for items this node loses are drained and dropped.
+ */
+@Component
+public class BidEngine {
+    private static final Logger logger = LoggerFactory.getLogger(BidEngine.class);
+
+    private final Map<Long, ItemBook> books = new ConcurrentHashMap<>();
+    private final ItemRepository itemRepository;
+    private final BidWriter bidWriter;
+    private final SoftClosePolicy softClosePolicy;
+    private final UserIdentityCache userIdentityCache;
+    private final BidJournal journal; // null unless auction.bid-journal.enabled
+    private final BidIncrements increments;
+    private final ItemOwnership ownership;
+    private final long handoffDelayMillis;
+    private final Counter proxyBids;
+    private final Counter lockContended;
+    private final Timer lockWait;
+
+    public BidEngine(ItemRepository itemRepository, BidWriter bidWriter, SoftClosePolicy softClosePolicy,
+                     UserIdentityCache userIdentityCache, ObjectProvider<BidJournal> journal, BidIncrements increments,
+                     ItemOwnership ownership, MeterRegistry meterRegistry,
+                     @Value("${auction.cluster.handoff-delay:PT3S}") Duration handoffDelay) {
+        this.itemRepository = itemRepository;
+        this.bidWriter = bidWriter;
+        this.softClosePolicy = softClosePolicy;
+        this.userIdentityCache = userIdentityCache;
+        this.journal = journal.getIfAvailable();
+        this.increments = increments;
+        this.ownership = ownership;
+        this.handoffDelayMillis = handoffDelay.toMillis();
+        Gauge.builder("auction.bid.engine.books", books, Map::size)
+                .description("Item books held in memory")
+                .register(meterRegistry);
+        this.proxyBids = Counter.builder("auction.bid.proxy.placed")
+                .description("Bids placed automatically on behalf of a bidder's maximum")
+                .register(meterRegistry);
+        this.lockContended = Counter.builder("auction.bid.lock.contended")
+                .description("Bids that found their item's book locked by another bid")
+                .register(meterRegistry);
+        this.lockWait = Timer.builder("auction.bid.lock.wait")
+                .description("Time contended bids waited for their item's book")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /** {@code amount} is in {@link Money} minor units. */
+    public BidResolution placeBid(Long itemId, String bidderEmail, long amount) {
+        return place(itemId, bidderEmail, (book, now) -> book.propose(bidderEmail, amount, now, softClosePolicy, increments));
+    }
+
+    /**
+     * Sets (or raises) {@code bidderEmail}'s hidden maximum on the item, in {@link Money} minor units; the engine
+     * then bids for them up to it, one increment at a time, against later bids and maximums.
+     */
+    public BidResolution placeMaxBid(Long itemId, String bidderEmail, long maxAmount) {
+        return place(itemId, bidderEmail, (book, now) -> book.proposeMax(bidderEmail, maxAmount, now, softClosePolicy, increments));
+    }
+
+    private BidResolution place(Long itemId, String bidderEmail, BiFunction<ItemBook, LocalDateTime, BidResolution> proposal) {
+        // Checked before loading too, so a book is never read from the database while the old owner is still writing
+        if (!ownership.takesBidsHere(itemId)) {
+            throw new ItemMovingException(itemId);
+        }
+        long bidderId = journal != null ? bidderId(bidderEmail) : 0;
+        BidResolution resolution;
+        BidJournal.Entry lastJournaled = null;
+        List<CompletableFuture<Long>> stored;
+        ItemBook book = lockedBook(itemId);
+        try {
+            // Under the lock, so once ownership moves on no bid gets past here on this node
+            if (!ownership.takesBidsHere(itemId)) {
+                books.remove(itemId, book);
+                throw new ItemMovingException(itemId);
+            }
+            resolution = proposal.apply(book, LocalDateTime.now());
+            List<AcceptedBid> bids = resolution.bids();
+            BidJournal.Entry[] journaled = new BidJournal.Entry[bids.size()];
+            if (journal != null) {
+                // Before the book moves, so a failed append rejects the bid. A proxy's owner was looked up (and
+                // cached) when they set their maximum; all bidders are resolved before anything is appended.
+                long[] bidderIds = new long[bids.size()];
+                for (int i = 0; i < bids.size(); i++) {
+                    String email = bids.get(i).bidderEmail();
+                    bidderIds[i] = email.equals(bidderEmail) ? bidderId : bidderId(email);
+                }
+                int appended = 0;
+                try {
+                    for (; appended < bids.size(); appended++) {
+                        journaled[appended] = journal.append(bids.get(appended), bidderIds[appended]);
+                    }
+                } catch (RuntimeException e) {
+                    // The resolution is rejected as a whole, so none of it may be replayed on the next startup
+                    for (int i = 0; i < appended; i++) {
+                        journal.discard(journaled[i]);
+                    }
+                    throw e;
+                }
+                lastJournaled = bids.isEmpty() ? null : journaled[bids.size() - 1];
+            }
+            book.apply(resolution);
+            // Enqueue while still holding the book so the writer sees bids in acceptance order
+            stored = new ArrayList<>(bids.size());
+            for (int i = 0; i < bids.size(); i++) {
+                stored.add(bidWriter.enqueue(bids.get(i), journaled[i]));
+            }
+        } finally {
+            book.lock().unlock();
+        }
+        if (resolution.bids().size() > 1) {
+            proxyBids.increment(resolution.bids().size() - 1);
+        }
+        // Waits happen outside the lock, so later bids can share the same force or commit
+        if (lastJournaled != null && journal.isAwaitForce()) {
+            journal.awaitForced(lastJournaled);
+        }
+        if (stored.isEmpty() || stored.get(0) == null) {
+            return resolution;
+        }
+        List<AcceptedBid> withIds = new ArrayList<>(stored.size());
+        try {
+            for (int i = 0; i < stored.size(); i++) {
+                AcceptedBid bid = resolution.bids().get(i);
+                withIds.add(bid.withBidId(bidWriter.awaitStored(stored.get(i), bid)));
+            }
+        } catch (BidNotStoredException e) {
+            // A dropped bid has evicted the book already; one still in flight may yet fail, so don't keep a book
+            // that may be ahead of the database. The next bid reloads it once the item's writes have drained.
+            books.remove(itemId, book);
+            throw e;
+        }
+        return resolution.withBids(withIds);
+    }
+
+    /**
+     * The item's book, loaded from the database if it is not in memory. Before loading, waits for the writer
+     * to finish any bids still queued for the item (from before an eviction), so the book starts from the
+     * final stored price.
+     */
+    public ItemBook book(Long itemId) {
+        ItemBook book = books.get(itemId);
+        if (book != null) {
+            return book;
+        }
+        try {
+            if (!bidWriter.awaitWritten(List.of(itemId), handoffDelayMillis)) {
+                throw new IllegalStateException("Bids on item " + itemId + " are still being stored; please try again shortly.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading item: " + itemId, e);
+        }
+        return books.computeIfAbsent(itemId, this::loadBook);
+    }
+
+    // A book evicted while we waited for its lock is stale; start again from the one now in the map
+    private ItemBook lockedBook(Long itemId) {
+        while (true) {
+            ItemBook book = book(itemId);
+            lock(book);
+            if (books.get(itemId) == book) {
+                return book;
+            }
+            book.lock().unlock();
+        }
+    }
+
+    /** The item's book if it is already in memory; never loads one. */
+    public ItemBook peek(Long itemId) {
+        return books.get(itemId);
+    }
+
+    /**
+     * Called by the close engine before it closes {@code itemId} in the database. The in-memory book is
+     * ahead of the database (the writer may not have persisted a soft-close extension yet), so it decides:
+     * returns false if the book has been extended past {@code now}, otherwise stops it taking bids.
+     */
+    public boolean closeIfDue(Long itemId, LocalDateTime now) {
+        ItemBook book = books.get(itemId);
+        if (book == null) {
+            return true;
+        }
+        book.lock().lock();
+        try {
+            return book.closeIfDue(now);
+        } finally {
+            book.lock().unlock();
+        }
+    }
+
+    /** Waits for the writer to persist every bid accepted on {@code itemIds}, so a close sees the final price. */
+    public boolean awaitWrites(Collection<Long> itemIds, long timeoutMillis) throws InterruptedException {
+        return bidWriter.awaitWritten(itemIds, timeoutMillis);
+    }
+
+    public int pendingWrites() {
+        return bidWriter.pending();
+    }
+
+    public void evict(Long itemId) {
+        books.remove(itemId);
+    }
+
+    // A closed item can't take bids; drop its book (a late bid reloads it and is rejected as ended)
+    @EventListener
+    public void onAuctionClosed(AuctionClosedEvent event) {
+        evict(event.itemId());
+        bidWriter.forget(event.itemId());
+    }
+
+    // The writer gave up on a bid the book already applied; reload from the database rather than keep a
+    // leader nobody stored. First, so caches invalidated after it cannot reload from the old book.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBidNotStored(BidNotStoredEvent event) {
+        evict(event.bid().itemId());
+        logger.warn("Evicted the book for item {} after a bid on it could not be stored.", event.bid().itemId());
+    }
+
+    // Items now owned elsewhere: wait out any bid in progress, drop the book and drain its writes, so the new
+    // owner (which waits the handoff delay before loading) reads the final price
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent event) {
+        List<Long> lost = new ArrayList<>();
+        for (Map.Entry<Long, ItemBook> entry : books.entrySet()) {
+            if (!event.ownsHere(entry.getKey())) {
+                entry.getValue().lock().lock();
+                entry.getValue().lock().unlock();
+                books.remove(entry.getKey(), entry.getValue());
+                lost.add(entry.getKey());
+            }
+        }
+        if (lost.isEmpty()) {
+            return;
+        }
+        try {
+            if (!bidWriter.awaitWritten(lost, handoffDelayMillis)) {
+                logger.warn("Bids on {} items handed to other nodes were not all written within the handoff delay ({} queued).",
+                        lost.size(), bidWriter.pending());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Released {} item books to other nodes.", lost.size());
+    }
+
+    // Uncontended bids pay one tryLock; only waits are timed
+    private void lock(ItemBook book) {
+        if (book.lock().tryLock()) {
+            return;
+        }
+        lockContended.increment();
+        long started = System.nanoTime();
+        book.lock().lock();
+        lockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private long bidderId(String email) {
+        return userIdentityCache.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Bidder not found with email: " + email))
+                .userId();
+    }
+
+    private ItemBook loadBook(Long itemId) {
+        Item item = itemRepository.findWithParticipantsById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Item not found with ID: " + itemId));
+        long currentPrice = Money.toMinorUnits(item.getCurrentBidPrice() != null ? item.getCurrentBidPrice() : item.getStartingPrice());
+        return new ItemBook(item.getId(), item.getName(), item.getCategory(),
+                item.getSeller() != null ? item.getSeller().getEmail() : null,
+                item.getAuctionEndTime(), currentPrice,
+                item.getHighestBidder() != null ? item.getHighestBidder().getEmail() : null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.money.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * How far a maximum bid raises the price when it answers another bid: a table of price bands, each
+ * {@code from:increment} in major units ({@code auction.proxy-bid.increments}, e.g. {@code 0:0.50,10:1,100:5}).
+ * The band is chosen by the price being answered; a proxy bid never goes above its maximum however large
+ * the step.
+ */
+@Component
+public class BidIncrements {
+
+    private final NavigableMap<Long, Long> bands = new TreeMap<>(); // band start -> increment, minor units
+
+    public BidIncrements(@Value("${auction.proxy-bid.increments:0:0.50,10:1,50:2.50,100:5,500:10,1000:25,5000:50}") String table) {
+        for (String band : table.split(",")) {
+            String[] parts = band.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bid increment band must be from:increment, got: " + band);
+            }
+            long increment = Money.toMinorUnits(new BigDecimal(parts[1].trim()));
+            if (increment <= 0) {
+                throw new IllegalArgumentException("Bid increment must be positive, got: " + band);
+            }
+            bands.put(Money.toMinorUnits(new BigDecimal(parts[0].trim())), increment);
+        }
+        if (!bands.containsKey(0L)) {
+            throw new IllegalArgumentException("Bid increment table must start at 0: " + table);
+        }
+    }
+
+    /** The lowest amount that outbids {@code price}, in {@link Money} minor units. */
+    public long after(long price) {
+        Map.Entry<Long, Long> band = bands.floorEntry(Math.max(price, 0));
+        return price + band.getValue();
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.money.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped log of bids accepted by the {@link BidEngine}, so an accepted bid survives a
+ * crash before the {@link BidWriter} has stored it. Enabled with {@code auction.bid-journal.enabled}.
+ * <p>
+ * Each bid is one fixed 48-byte record (marker, item ID, bidder ID, amount in minor units, bid time, end
+ * time after the bid, CRC32) written into a mapped segment file under {@code auction.bid-journal.dir};
+ * an append is a copy into the page cache, which already survives a process crash. A background thread
+ * forces the mapping to disk (group commit: one force covers every record appended since the last), and
+ * with {@code auction.bid-journal.await-force} bidders are acknowledged only once their record is forced.
+ * <p>
+ * Segments roll at {@code auction.bid-journal.segment-size}. The bid writer compacts the journal into the
+ * {@code bids} table: once every record in a full segment is stored (or discarded, for a bid the writer gave
+ * up on), the segment is deleted. Segments left by a previous run are replayed on startup (see
+ * {@link BidWriter}), skipping discarded records, and deleted once stored.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.bid-journal.enabled", havingValue = "true")
+public class BidJournal {
+    private static final Logger logger = LoggerFactory.getLogger(BidJournal.class);
+
+    static final int RECORD_SIZE = 48;
+    private static final int MARKER = 0x42494431; // "BID1"; a zeroed slot marks the end of a segment
+    private static final int DISCARDED = 0x42494430; // "BID0": overwrites MARKER on a bid that was dropped
+    private static final Pattern SEGMENT_NAME = Pattern.compile("bids-(\\d+)\\.journal");
+    private static final ThreadLocal<ByteBuffer> SCRATCH = ThreadLocal.withInitial(() -> ByteBuffer.allocate(RECORD_SIZE));
+    private static final ThreadLocal<CRC32> CHECKSUM = ThreadLocal.withInitial(CRC32::new);
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final long forceIntervalNanos;
+    private final boolean awaitForce;
+    private final List<Segment> previousRun = new ArrayList<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final Condition forced = forceLock.newCondition();
+    private final Thread forcer = new Thread(this::forceLoop, "bid-journal-force");
+    private volatile Segment active; // replaced under appendLock
+    private long nextPosition; // guarded by appendLock
+    private volatile long appendedPosition; // every record below this position is in the mapping
+    private volatile long forcedPosition; // ... and below this one, on disk
+    private volatile boolean running = true;
+
+    public BidJournal(@Value("${auction.bid-journal.dir:./data/bid-journal}") Path directory,
+                      @Value("${auction.bid-journal.segment-size:64MB}") DataSize segmentSize,
+                      @Value("${auction.bid-journal.force-interval:PT0.001S}") Duration forceInterval,
+                      @Value("${auction.bid-journal.await-force:true}") boolean awaitForce) {
+        this.directory = directory;
+        this.recordsPerSegment = (int) Math.min(Integer.MAX_VALUE / RECORD_SIZE, segmentSize.toBytes() / RECORD_SIZE);
+        this.forceIntervalNanos = forceInterval.toNanos();
+        this.awaitForce = awaitForce;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(directory);
+        long lastIndex = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    long index = Long.parseLong(matcher.group(1));
+                    previousRun.add(new Segment(index, file, 0, null, null));
+                    lastIndex = Math.max(lastIndex, index);
+                }
+            }
+        }
+        // Never append to a previous run's segment: its tail may be torn
+        active = openSegment(lastIndex + 1);
+        nextPosition = active.firstPosition;
+        appendedPosition = nextPosition;
+        forcedPosition = nextPosition;
+        forcer.setDaemon(true);
+        forcer.start();
+        logger.info("Bid journal open in {} ({} segment(s) to replay, {} records per segment, await force: {})",
+                directory, previousRun.size(), recordsPerSegment, awaitForce);
+    }
+
+    public boolean isAwaitForce() {
+        return awaitForce;
+    }
+
+    /**
+     * Appends an accepted bid. Called under the item's book lock, so each item's records are in acceptance
+     * order.
+     */
+    Entry append(AcceptedBid bid, long bidderId) {
+        ByteBuffer record = SCRATCH.get();
+        record.clear();
+        record.putInt(MARKER)
+                .putLong(bid.itemId())
+                .putLong(bidderId)
+                .putLong(bid.amountMinor())
+                .putLong(toEpochMicros(bid.bidTime()))
+                .putLong(toEpochMicros(bid.auctionEndTime()));
+        CRC32 checksum = CHECKSUM.get();
+        checksum.reset();
+        checksum.update(record.array(), 0, RECORD_SIZE - 4);
+        record.putInt((int) checksum.getValue());
+
+        appendLock.lock();
+        try {
+            if (nextPosition - active.firstPosition == recordsPerSegment) {
+                roll();
+            }
+            Segment segment = active;
+            segment.buffer.put((int) (nextPosition - segment.firstPosition) * RECORD_SIZE, record.array(), 0, RECORD_SIZE);
+            segment.unstored.incrementAndGet();
+            Entry entry = new Entry(nextPosition++, segment);
+            appendedPosition = nextPosition;
+            return entry;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /** Blocks until {@code entry} has been forced to disk by the group commit. */
+    void awaitForced(Entry entry) {
+        if (forcedPosition > entry.position()) {
+            return;
+        }
+        LockSupport.unpark(forcer);
+        forceLock.lock();
+        try {
+            long remaining = TimeUnit.SECONDS.toNanos(5);
+            while (forcedPosition <= entry.position()) {
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timed out writing bid to the journal.");
+                }
+                remaining = forced.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing bid to the journal.", e);
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /** Called once the bid behind {@code entry} is in the {@code bids} table; frees its segment when all are. */
+    void stored(Entry entry) {
+        Segment segment = entry.segment();
+        if (segment.unstored.decrementAndGet() == 0 && segment.sealed) {
+            delete(segment);
+        }
+    }
+
+    /**
+     * Called instead of {@link #stored} for a bid the writer dropped: its record is marked so a restart does not
+     * replay a bid that was never stored, then released like a stored one.
+     */
+    void discard(Entry entry) {
+        Segment segment = entry.segment();
+        int offset = (int) (entry.position() - segment.firstPosition) * RECORD_SIZE;
+        segment.buffer.putInt(offset, DISCARDED);
+        segment.buffer.force(offset, RECORD_SIZE);
+        stored(entry);
+    }
+
+    /** Every valid record in the segments left by the previous run, oldest first, without discarded ones. */
+    public List<JournaledBid> previousRun() throws IOException {
+        List<JournaledBid> bids = new ArrayList<>();
+        for (Segment segment : previousRun) {
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int before = bids.size();
+                readSegment(buffer, bids);
+                logger.info("Journal segment {}: {} bids", segment.path.getFileName(), bids.size() - before);
+            }
+        }
+        return bids;
+    }
+
+    /** Deletes the previous run's segments once their bids are stored. */
+    public void discardPreviousRun() {
+        previousRun.forEach(this::delete);
+        previousRun.clear();
+    }
+
+    private void readSegment(ByteBuffer buffer, List<JournaledBid> into) {
+        CRC32 checksum = new CRC32();
+        byte[] record = new byte[RECORD_SIZE];
+        for (int offset = 0; offset + RECORD_SIZE <= buffer.limit(); offset += RECORD_SIZE) {
+            buffer.get(offset, record);
+            ByteBuffer fields = ByteBuffer.wrap(record);
+            int marker = fields.getInt();
+            if (marker == DISCARDED) {
+                continue; // no checksum: the marker it covered was overwritten
+            }
+            if (marker != MARKER) {
+                return; // end of what was written
+            }
+            checksum.reset();
+            checksum.update(record, 0, RECORD_SIZE - 4);
+            if (fields.getInt(RECORD_SIZE - 4) != (int) checksum.getValue()) {
+                logger.warn("Torn journal record at offset {}; ignoring the rest of the segment", offset);
+                return;
+            }
+            into.add(new JournaledBid(fields.getLong(), fields.getLong(),
+                    fields.getLong(),
+                    fromEpochMicros(fields.getLong()), fromEpochMicros(fields.getLong())));
+        }
+    }
+
+    // Caller holds appendLock. The full segment is forced here, so the force thread only ever needs the active one.
+    private void roll() {
+        Segment full = active;
+        full.buffer.force();
+        active = openSegment(full.index + 1);
+        full.sealed = true;
+        if (full.unstored.get() == 0) {
+            delete(full);
+        }
+    }
+
+    private void forceLoop() {
+        while (running) {
+            long target = appendedPosition;
+            if (target > forcedPosition) {
+                active.buffer.force();
+                forceLock.lock();
+                try {
+                    forcedPosition = target;
+                    forced.signalAll();
+                } finally {
+                    forceLock.unlock();
+                }
+            } else {
+                LockSupport.parkNanos(forceIntervalNanos);
+            }
+        }
+    }
+
+    private Segment openSegment(long index) {
+        Path path = directory.resolve(String.format("bids-%019d.journal", index));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+            return new Segment(index, path, index * recordsPerSegment, channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open bid journal segment " + path, e);
+        }
+    }
+
+    private void delete(Segment segment) {
+        if (!segment.deleted.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (segment.channel != null) {
+                segment.channel.close();
+            }
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            logger.warn("Could not delete journal segment {}", segment.path, e);
+        }
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return TimeUnit.SECONDS.toMicros(instant.getEpochSecond()) + instant.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneId.systemDefault());
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(forcer);
+        forcer.join(TimeUnit.SECONDS.toMillis(5));
+        appendLock.lock();
+        try {
+            active.buffer.force();
+            active.channel.close();
+        } catch (IOException e) {
+            logger.warn("Could not close journal segment {}", active.path, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /** Where a bid was appended; handed back to {@link #stored} once it is in the database, or to {@link #discard}. */
+    record Entry(long position, Segment segment) {
+    }
+
+    /** A bid read back from the journal; the amount is in {@link Money} minor units. */
+    public record JournaledBid(long itemId, long bidderId, long amountMinor, LocalDateTime bidTime,
+                               LocalDateTime auctionEndTime) {
+
+        public BigDecimal amount() {
+            return Money.toBigDecimal(amountMinor);
+        }
+    }
+
+    static final class Segment {
+        private final long index;
+        private final Path path;
+        private final long firstPosition;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger unstored = new AtomicInteger();
+        private final AtomicBoolean deleted = new AtomicBoolean();
+        private volatile boolean sealed;
+
+        private Segment(long index, Path path, long firstPosition, FileChannel channel, MappedByteBuffer buffer) {
+            this.index = index;
+            this.path = path;
+            this.firstPosition = firstPosition;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.simpleauction.engine;
+
+/**
+ * Published by the {@link BidWriter} when an accepted bid could not be stored, even after retrying. The bid
+ * is dropped: the engine evicts the item's book and caches forget the bid, so nothing in memory stays ahead
+ * of the database with a leader it never recorded.
+ */
+public record BidNotStoredEvent(AcceptedBid bid) {
+}
@@ -0,0 +1,14 @@
+package com.example.simpleauction.engine;
+
+/**
+ * An accepted bid that could not be confirmed as stored: the writer dropped it, or it was not written within
+ * {@code auction.bid-engine.ack-timeout}. The engine has evicted the item's book by then, so nothing in memory
+ * depends on it. A server-side failure (503), not a refusal like {@link IllegalStateException}; the bidder
+ * should check the item before bidding again.
+ */
+public class BidNotStoredException extends RuntimeException {
+
+    public BidNotStoredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
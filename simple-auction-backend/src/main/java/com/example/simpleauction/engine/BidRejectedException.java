@@ -0,0 +1,20 @@
+package com.example.simpleauction.engine;
+
+/**
+ * A bid refused by the auction rules while the auction is still open; {@link #getReason} says which rule.
+ */
+public class BidRejectedException extends IllegalArgumentException {
+
+    public enum Reason { SELF_BID, TOO_LOW }
+
+    private final Reason reason;
+
+    public BidRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
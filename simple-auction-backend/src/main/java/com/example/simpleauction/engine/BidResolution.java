@@ -0,0 +1,16 @@
+package com.example.simpleauction.engine;
+
+import java.util.List;
+
+/**
+ * What one bid or maximum bid did to an {@link ItemBook}: the visible bids it produced, in acceptance
+ * order (the bidder's own, and any placed automatically for a maximum), and the book afterwards.
+ * {@code proxyMax} is the leader's hidden maximum in {@link com.example.simpleauction.money.Money} minor
+ * units, or 0 if they have none. Raising a maximum that is already leading produces no bids.
+ */
+public record BidResolution(List<AcceptedBid> bids, long currentPrice, String highestBidderEmail, long proxyMax) {
+
+    public BidResolution withBids(List<AcceptedBid> stored) {
+        return new BidResolution(stored, currentPrice, highestBidderEmail, proxyMax);
+    }
+}
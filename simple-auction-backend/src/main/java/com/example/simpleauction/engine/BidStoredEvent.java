@@ -0,0 +1,8 @@
+package com.example.simpleauction.engine;
+
+/**
+ * Published by the {@link BidWriter} once an accepted bid has its row, so views built from the
+ * {@link AcceptedBid} event, which had no ID yet, can fill it in. Peers receive it through the cluster relay.
+ */
+public record BidStoredEvent(Long itemId, long amountMinor, Long bidId) {
+}
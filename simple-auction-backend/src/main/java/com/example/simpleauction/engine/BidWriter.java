@@ -0,0 +1,415 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.auth.UserIdentityCache;
+import com.example.simpleauction.dashboard.StoredBid;
+import com.example.simpleauction.dashboard.UserDashboardProjection;
+import com.example.simpleauction.entity.Bid;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.money.Money;
+import com.example.simpleauction.outbox.Outbox;
+import com.example.simpleauction.repository.BidRepository;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import com.example.simpleauction.service.ItemService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes bids accepted by the {@link BidEngine} to the database on a single background thread, in
+ * acceptance order. The queue is a bounded ring, so a stalled database applies back-pressure to bidders
+ * instead of growing the heap.
+ * <p>
+ * Bids are flushed in batches of up to {@code auction.bid-engine.batch-size}, one transaction per batch:
+ * the bid rows go out as JDBC batch inserts (sequence-allocated IDs, see {@link Bid}) followed by one
+ * conditional item UPDATE per item for its highest bid in the batch. When bidders are acknowledged is set
+ * by {@link BidDurability}. A batch that fails is retried one bid at a time, so one bad row only loses itself;
+ * a bid that still fails is retried with backoff ({@code auction.bid-engine.write-attempts}) and then dropped,
+ * with a {@link BidNotStoredEvent} so the engine and caches forget it.
+ * <p>
+ * With the {@link BidJournal} enabled, this is also its compactor: stored bids release their journal
+ * records, dropped ones mark theirs discarded, and on startup bids journaled but never stored by the previous
+ * run are written before any new one.
+ */
+@Component
+public class BidWriter {
+    private static final Logger logger = LoggerFactory.getLogger(BidWriter.class);
+
+    private final BlockingQueue<PendingBid> queue;
+    private final BidRepository bidRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final ItemService itemService;
+    private final TransactionTemplate transactionTemplate;
+    private final Outbox outbox;
+    private final UserDashboardProjection dashboard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BidJournal journal; // null unless auction.bid-journal.enabled
+    private final BidDurability durability;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Duration ackTimeout;
+    private final int writeAttempts;
+    private final long writeBackoffMillis;
+    private final Thread worker = new Thread(this::run, "bid-writer");
+    // Per item: bids queued or being written, so the close engine can wait for just the items it closes
+    private final Map<Long, AtomicInteger> unwritten = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    public BidWriter(BidRepository bidRepository, ItemRepository itemRepository, UserRepository userRepository,
+                     UserIdentityCache userIdentityCache, ItemService itemService,
+                     TransactionTemplate transactionTemplate, Outbox outbox, UserDashboardProjection dashboard,
+                     ApplicationEventPublisher eventPublisher, ObjectProvider<BidJournal> journal,
+                     @Value("${auction.bid-engine.queue-capacity:10000}") int queueCapacity,
+                     @Value("${auction.bid-engine.durability:write-behind}") BidDurability durability,
+                     @Value("${auction.bid-engine.batch-size:500}") int batchSize,
+                     @Value("${auction.bid-engine.flush-interval:PT0.01S}") Duration flushInterval,
+                     @Value("${auction.bid-engine.ack-timeout:PT5S}") Duration ackTimeout,
+                     @Value("${auction.bid-engine.write-attempts:3}") int writeAttempts,
+                     @Value("${auction.bid-engine.write-backoff:PT0.05S}") Duration writeBackoff) {
+        this.bidRepository = bidRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.itemService = itemService;
+        this.transactionTemplate = transactionTemplate;
+        this.outbox = outbox;
+        this.dashboard = dashboard;
+        this.eventPublisher = eventPublisher;
+        this.journal = journal.getIfAvailable();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.durability = durability;
+        this.batchSize = durability == BidDurability.SYNC ? 1 : Math.max(1, batchSize);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.ackTimeout = ackTimeout;
+        this.writeAttempts = Math.max(1, writeAttempts);
+        this.writeBackoffMillis = writeBackoff.toMillis();
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (journal != null) {
+            replayJournal();
+        }
+        logger.info("Bid writer started: durability={}, batch size={}", durability, batchSize);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public BidDurability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Queues an accepted bid ({@code journaled} is its journal entry, or null). Returns a future completed
+     * with the bid's ID once it commits, or null in write-behind mode, where nobody waits for it.
+     */
+    public CompletableFuture<Long> enqueue(AcceptedBid bid, BidJournal.Entry journaled) {
+        CompletableFuture<Long> stored = durability == BidDurability.WRITE_BEHIND ? null : new CompletableFuture<>();
+        AtomicInteger itemUnwritten = unwritten.computeIfAbsent(bid.itemId(), id -> new AtomicInteger());
+        itemUnwritten.incrementAndGet();
+        try {
+            queue.put(new PendingBid(bid, journaled, stored));
+        } catch (InterruptedException e) {
+            itemUnwritten.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing bid for item: " + bid.itemId(), e);
+        }
+        return stored;
+    }
+
+    /**
+     * Waits for a bid returned by {@link #enqueue} to commit and returns its ID. Throws
+     * {@link BidNotStoredException} if it was dropped (its book is already evicted) or is not stored in time.
+     */
+    public Long awaitStored(CompletableFuture<Long> stored, AcceptedBid bid) {
+        try {
+            return stored.get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new BidNotStoredException("Bid on item " + bid.itemId() + " is not confirmed as stored yet; check the item before bidding again.", e);
+        } catch (ExecutionException e) {
+            throw new BidNotStoredException("Bid on item " + bid.itemId() + " could not be stored; please try again.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BidNotStoredException("Interrupted while storing bid for item: " + bid.itemId(), e);
+        }
+    }
+
+    /** Number of accepted bids not yet written to the database. */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Waits until every bid queued so far for {@code itemIds} has been written (or failed). Returns false on timeout.
+     */
+    public boolean awaitWritten(Collection<Long> itemIds, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Long itemId : itemIds) {
+            AtomicInteger itemUnwritten = unwritten.get(itemId);
+            while (itemUnwritten != null && itemUnwritten.get() > 0) {
+                if (System.currentTimeMillis() >= deadline) {
+                    return false;
+                }
+                Thread.sleep(5);
+            }
+        }
+        return true;
+    }
+
+    /** Drops the bookkeeping for an item that can no longer take bids. */
+    public void forget(Long itemId) {
+        unwritten.remove(itemId);
+    }
+
+    private void run() {
+        List<PendingBid> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBid first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    // Takes whatever is already queued; in write-behind mode keeps collecting until the batch is full or
+    // flush-interval has passed since its first bid. Group commit never lingers: bids that queue up while
+    // one batch commits form the next.
+    private void fill(List<PendingBid> batch) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        if (durability != BidDurability.WRITE_BEHIND) {
+            return;
+        }
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingBid next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<PendingBid> batch) {
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> write(batch));
+        } catch (Exception e) {
+            if (batch.size() > 1) {
+                logger.warn("Failed to persist batch of {} bids ({}); retrying one at a time", batch.size(), e.getMessage());
+                for (PendingBid bid : batch) {
+                    flush(List.of(bid));
+                }
+            } else {
+                retry(batch.get(0), e);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            stored(batch.get(i), ids.get(i));
+        }
+    }
+
+    // Later bids wait behind this one, so each item's bids still reach the database in acceptance order
+    private void retry(PendingBid pending, Exception first) {
+        Exception last = first;
+        long backoff = writeBackoffMillis;
+        for (int attempt = 2; attempt <= writeAttempts; attempt++) {
+            logger.warn("Failed to persist bid on item {} ({}); attempt {} of {} in {} ms",
+                    pending.bid().itemId(), last.getMessage(), attempt, writeAttempts, backoff);
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoff *= 2;
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> write(List.of(pending)));
+                stored(pending, ids.get(0));
+                return;
+            } catch (Exception e) {
+                last = e;
+            }
+        }
+        failed(pending, last);
+    }
+
+    private List<Long> write(List<PendingBid> batch) {
+        List<Bid> bids = new ArrayList<>(batch.size());
+        List<StoredBid> stored = new ArrayList<>(batch.size());
+        Map<Long, AcceptedBid> highestPerItem = new LinkedHashMap<>();
+        Map<String, User> bidders = new LinkedHashMap<>();
+        for (PendingBid pending : batch) {
+            AcceptedBid accepted = pending.bid();
+            User bidder = bidders.computeIfAbsent(accepted.bidderEmail(), this::bidderReference);
+            Item item = itemRepository.getReferenceById(accepted.itemId());
+            Bid bid = bidRepository.save(new Bid(item, bidder, accepted.amount(), accepted.bidTime()));
+            bids.add(bid);
+            outbox.bidPlaced(accepted.withBidId(bid.getId()));
+            stored.add(new StoredBid(bid.getId(), bidder.getId(), accepted));
+            // Acceptance order, so the last bid per item is its highest
+            highestPerItem.put(accepted.itemId(), accepted);
+        }
+        for (AcceptedBid highest : highestPerItem.values()) {
+            // Conditional, so a replayed or late write can never lower the stored price
+            if (!itemService.applyEngineBid(highest.itemId(), bidders.get(highest.bidderEmail()), highest.amount(),
+                    highest.auctionEndTime())) {
+                logger.warn("Item {} already ahead of engine bid {} by {}; stored bid only.",
+                        highest.itemId(), highest.amount(), highest.bidderEmail());
+            }
+        }
+        dashboard.bidsStored(stored);
+        return bids.stream().map(Bid::getId).toList();
+    }
+
+    private User bidderReference(String email) {
+        Long bidderId = userIdentityCache.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Bidder not found with email: " + email))
+                .userId();
+        return userRepository.getReferenceById(bidderId);
+    }
+
+    private void stored(PendingBid pending, Long bidId) {
+        AcceptedBid bid = pending.bid();
+        markWritten(bid);
+        eventPublisher.publishEvent(new BidStoredEvent(bid.itemId(), bid.amountMinor(), bidId));
+        if (pending.journaled() != null) {
+            journal.stored(pending.journaled());
+        }
+        if (pending.stored() != null) {
+            pending.stored().complete(bidId);
+        }
+    }
+
+    // The bid is dropped, so its journal record is discarded rather than replayed after a restart. The event
+    // evicts the book before the item's count goes down, so a bid waiting to reload it (see BidEngine.book)
+    // reads the database without this bid.
+    private void failed(PendingBid pending, Exception e) {
+        AcceptedBid bid = pending.bid();
+        logger.error("Failed to persist accepted bid: ItemID={}, BidderEmail={}, Amount={}",
+                bid.itemId(), bid.bidderEmail(), bid.amount(), e);
+        if (pending.journaled() != null) {
+            journal.discard(pending.journaled());
+        }
+        eventPublisher.publishEvent(new BidNotStoredEvent(bid));
+        markWritten(bid);
+        if (pending.stored() != null) {
+            pending.stored().completeExceptionally(e);
+        }
+    }
+
+    private void markWritten(AcceptedBid bid) {
+        AtomicInteger itemUnwritten = unwritten.get(bid.itemId());
+        if (itemUnwritten != null) {
+            itemUnwritten.decrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Stores the bids a previous run journaled but did not get into the database, then applies each item's
+     * highest to the item row. Runs before the writer (and so the engine) takes new bids. The writer stores
+     * each item's bids in acceptance order, one batch per transaction, and bids it gave up on are discarded
+     * in the journal and not read back, so what is stored is a prefix of the rest: anything above an item's
+     * highest stored amount is missing.
+     */
+    private void replayJournal() throws IOException {
+        List<BidJournal.JournaledBid> journaled = journal.previousRun();
+        if (journaled.isEmpty()) {
+            journal.discardPreviousRun();
+            return;
+        }
+        Map<Long, Long> storedUpTo = new HashMap<>();
+        List<BidJournal.JournaledBid> missing = new ArrayList<>();
+        for (BidJournal.JournaledBid bid : journaled) {
+            long highestStored = storedUpTo.computeIfAbsent(bid.itemId(), itemId ->
+                    bidRepository.findTopBids(itemId, Limit.of(1)).stream()
+                            .map(listing -> Money.toMinorUnits(listing.bidAmount())).findFirst().orElse(0L));
+            if (bid.amountMinor() > highestStored) {
+                missing.add(bid);
+            }
+        }
+        try {
+            for (int from = 0; from < missing.size(); from += batchSize) {
+                List<BidJournal.JournaledBid> chunk = missing.subList(from, Math.min(from + batchSize, missing.size()));
+                transactionTemplate.executeWithoutResult(status -> replay(chunk));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Replaying the bid journal failed; keeping it for the next startup", e);
+            return;
+        }
+        journal.discardPreviousRun();
+        logger.info("Replayed bid journal: {} bids journaled, {} were missing from the database", journaled.size(), missing.size());
+    }
+
+    private void replay(List<BidJournal.JournaledBid> bids) {
+        List<StoredBid> stored = new ArrayList<>(bids.size());
+        Map<Long, BidJournal.JournaledBid> highestPerItem = new LinkedHashMap<>();
+        for (BidJournal.JournaledBid bid : bids) {
+            Item item = itemRepository.getReferenceById(bid.itemId());
+            User bidder = userRepository.getReferenceById(bid.bidderId());
+            Bid saved = bidRepository.save(new Bid(item, bidder, bid.amount(), bid.bidTime()));
+            AcceptedBid accepted = new AcceptedBid(saved.getId(), bid.itemId(), item.getName(), item.getCategory(),
+                    bidder.getEmail(), bid.amountMinor(), bid.bidTime(), bid.auctionEndTime());
+            outbox.bidPlaced(accepted);
+            stored.add(new StoredBid(saved.getId(), bid.bidderId(), accepted));
+            highestPerItem.put(bid.itemId(), bid);
+        }
+        for (BidJournal.JournaledBid highest : highestPerItem.values()) {
+            itemService.applyEngineBid(highest.itemId(), userRepository.getReferenceById(highest.bidderId()),
+                    highest.amount(), highest.auctionEndTime());
+        }
+        dashboard.bidsStored(stored);
+    }
+
+    private record PendingBid(AcceptedBid bid, BidJournal.Entry journaled, CompletableFuture<Long> stored) {
+    }
+}
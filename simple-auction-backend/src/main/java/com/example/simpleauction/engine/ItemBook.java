@@ -0,0 +1,232 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.lifecycle.SoftClosePolicy;
+import com.example.simpleauction.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory "order book" for one live item: current price (in {@link Money} minor units), highest bidder,
+ * the leader's hidden maximum bid if any, and end time (which soft close can push back).
+ * All mutation happens under the book's lock (see {@link BidEngine}). A {@link ReentrantLock} rather than
+ * a monitor so a virtual thread blocked while holding it does not pin its carrier thread.
+ */
+public class ItemBook {
+
+    private final Long itemId;
+    private final String itemName;
+    private final String category;
+    private final String sellerEmail;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private LocalDateTime auctionEndTime;
+    private long currentPrice;
+    private String highestBidderEmail;
+    private boolean closed;
+    // The leader's hidden maximum, if they set one (see proposeMax); never persisted, only the bids it places
+    private String proxyBidderEmail;
+    private long proxyMax;
+
+    public ItemBook(Long itemId, String itemName, String category, String sellerEmail,
+                    LocalDateTime auctionEndTime, long currentPrice, String highestBidderEmail) {
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.category = category;
+        this.sellerEmail = sellerEmail;
+        this.auctionEndTime = auctionEndTime;
+        this.currentPrice = currentPrice;
+        this.highestBidderEmail = highestBidderEmail;
+    }
+
+    /**
+     * Validates a bid and returns what it would do, without changing the book; {@link #apply} makes it
+     * current. Split so the bids can be journaled in between. Same rules (and messages) as the database path
+     * in BidService, plus proxy bidding: against another bidder's hidden maximum the bid is placed and then
+     * answered up to that maximum, and a bid above the maximum first shows the maximum as that bidder's bid.
+     * Caller must hold the book's lock.
+     */
+    BidResolution propose(String bidderEmail, long amount, LocalDateTime now, SoftClosePolicy softClose,
+                          BidIncrements increments) {
+        checkOpen(bidderEmail, now);
+        checkAbovePrice(amount);
+        Proposal proposal = new Proposal(now, softClose);
+        if (proxyBidderEmail == null || proxyBidderEmail.equals(bidderEmail)) {
+            proposal.bid(bidderEmail, amount);
+            // A leader bidding up to their own maximum keeps what is left of it
+            return proxyBidderEmail != null && amount < proxyMax
+                    ? proposal.resolve(proxyMax) : proposal.resolve(0);
+        }
+        if (amount < proxyMax) {
+            proposal.bid(bidderEmail, amount);
+            proposal.bid(proxyBidderEmail, Math.min(proxyMax, increments.after(amount)));
+            return proposal.resolve(proxyMax);
+        }
+        if (amount == proxyMax) {
+            // The earlier maximum wins a tie, and a bid row must beat the price to be stored
+            throw new BidRejectedException(BidRejectedException.Reason.TOO_LOW,
+                    "Bid amount must be higher than $" + Money.format(amount) + ": another bidder's maximum bid already covers it.");
+        }
+        if (proxyMax > currentPrice) {
+            proposal.bid(proxyBidderEmail, proxyMax);
+        }
+        proposal.bid(bidderEmail, amount);
+        return proposal.resolve(0);
+    }
+
+    /**
+     * Validates a maximum bid and returns what it would do, like {@link #propose}. Only the leader's maximum
+     * is kept: when two maximums meet, the lower one is shown as its bidder's bid and the higher answers it by
+     * one increment (the earlier wins a tie), so every other maximum ends at or below the price and could
+     * never bid again. A new maximum is therefore settled against at most one other, in constant time however
+     * many have been set on the item. A leader raising their own maximum moves nothing visible.
+     * Caller must hold the book's lock.
+     */
+    BidResolution proposeMax(String bidderEmail, long max, LocalDateTime now, SoftClosePolicy softClose,
+                             BidIncrements increments) {
+        checkOpen(bidderEmail, now);
+        checkAbovePrice(max);
+        Proposal proposal = new Proposal(now, softClose);
+        if (bidderEmail.equals(highestBidderEmail)) {
+            if (bidderEmail.equals(proxyBidderEmail) && max <= proxyMax) {
+                throw new BidRejectedException(BidRejectedException.Reason.TOO_LOW,
+                        "Maximum bid can only be raised; yours is $" + Money.format(proxyMax) + ".");
+            }
+            return proposal.resolve(max);
+        }
+        if (proxyBidderEmail == null) {
+            proposal.bid(bidderEmail, Math.min(max, increments.after(currentPrice)));
+            return proposal.resolve(max);
+        }
+        if (max > proxyMax) {
+            if (proxyMax > currentPrice) {
+                proposal.bid(proxyBidderEmail, proxyMax);
+            }
+            proposal.bid(bidderEmail, Math.min(max, increments.after(proxyMax)));
+            return proposal.resolve(max);
+        }
+        if (max < proxyMax) {
+            proposal.bid(bidderEmail, max);
+        }
+        proposal.bid(proxyBidderEmail, Math.min(proxyMax, increments.after(max)));
+        return proposal.resolve(proxyMax);
+    }
+
+    /** Makes a resolution returned by {@link #propose} or {@link #proposeMax} current. Caller must hold the book's lock. */
+    void apply(BidResolution resolution) {
+        for (AcceptedBid accepted : resolution.bids()) {
+            currentPrice = accepted.amountMinor();
+            highestBidderEmail = accepted.bidderEmail();
+            auctionEndTime = accepted.auctionEndTime();
+        }
+        proxyMax = resolution.proxyMax();
+        proxyBidderEmail = proxyMax > 0 ? resolution.highestBidderEmail() : null;
+    }
+
+    private void checkOpen(String bidderEmail, LocalDateTime now) {
+        if (closed || auctionEndTime == null || !now.isBefore(auctionEndTime)) {
+            throw new AuctionEndedException(itemName);
+        }
+        if (sellerEmail != null && sellerEmail.equals(bidderEmail)) {
+            throw new BidRejectedException(BidRejectedException.Reason.SELF_BID, "Seller cannot bid on their own item.");
+        }
+    }
+
+    private void checkAbovePrice(long amount) {
+        if (amount <= currentPrice) {
+            throw new BidRejectedException(BidRejectedException.Reason.TOO_LOW,
+                    "Bid amount must be provided and higher than the current price of $" + Money.format(currentPrice));
+        }
+    }
+
+    /**
+     * Stops the book taking bids if it is due at {@code now}; returns false if a soft-close extension
+     * moved the end past {@code now}. Caller must hold the book's lock.
+     */
+    boolean closeIfDue(LocalDateTime now) {
+        if (auctionEndTime != null && now.isBefore(auctionEndTime)) {
+            return false;
+        }
+        closed = true;
+        return true;
+    }
+
+    public Long getItemId() { return itemId; }
+    public String getItemName() { return itemName; }
+    public String getCategory() { return category; }
+    public String getSellerEmail() { return sellerEmail; }
+    ReentrantLock lock() { return lock; }
+
+    /** Price, leader and end time read together under the lock. */
+    public Snapshot snapshot() {
+        lock.lock();
+        try {
+            return new Snapshot(currentPrice, highestBidderEmail, auctionEndTime);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public LocalDateTime getAuctionEndTime() {
+        lock.lock();
+        try {
+            return auctionEndTime;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCurrentPrice() {
+        lock.lock();
+        try {
+            return currentPrice;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getHighestBidderEmail() {
+        lock.lock();
+        try {
+            return highestBidderEmail;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Visible bids being proposed, each seeing the end time the previous one left (soft close). */
+    private final class Proposal {
+        private final LocalDateTime now;
+        private final SoftClosePolicy softClose;
+        private AcceptedBid first;
+        private AcceptedBid second;
+
+        Proposal(LocalDateTime now, SoftClosePolicy softClose) {
+            this.now = now;
+            this.softClose = softClose;
+        }
+
+        void bid(String bidderEmail, long amount) {
+            AcceptedBid previous = second != null ? second : first;
+            LocalDateTime end = softClose.extendedEnd(previous != null ? previous.auctionEndTime() : auctionEndTime, now);
+            AcceptedBid bid = new AcceptedBid(null, itemId, itemName, category, bidderEmail, amount, now, end);
+            if (first == null) {
+                first = bid;
+            } else {
+                second = bid;
+            }
+        }
+
+        BidResolution resolve(long leaderMax) {
+            AcceptedBid last = second != null ? second : first;
+            List<AcceptedBid> bids = first == null ? List.of() : second == null ? List.of(first) : List.of(first, second);
+            return last == null
+                    ? new BidResolution(bids, currentPrice, highestBidderEmail, leaderMax)
+                    : new BidResolution(bids, last.amountMinor(), last.bidderEmail(), leaderMax);
+        }
+    }
+
+    public record Snapshot(long currentPrice, String highestBidderEmail, LocalDateTime auctionEndTime) {
+    }
+}
@@ -6,11 +6,17 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "bids")
+@Table(name = "bids", indexes = {
+        @Index(name = "idx_bids_item_id", columnList = "item_id, id"), // history pages per item
+        @Index(name = "idx_bids_item_amount", columnList = "item_id, bidAmount") // top bids per item
+})
 public class Bid {
 
+    // Pooled sequence rather than IDENTITY: IDs are allocated in blocks without a round trip per row,
+    // which is what lets Hibernate batch the bid writer's inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bids_seq")
+    @SequenceGenerator(name = "bids_seq", sequenceName = "bids_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,45 @@
+package com.example.simpleauction.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * A running backend node, as it last announced itself (see {@code ClusterMembership}). Times are epoch millis.
+ */
+@Entity
+@Table(name = "cluster_nodes")
+public class ClusterNode {
+
+    @Id
+    @Column(length = 64)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private String baseUrl;
+
+    private long joinedAtMillis;
+
+    private long heartbeatAtMillis;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ClusterNode() {
+    }
+
+    public ClusterNode(String nodeId, String baseUrl, long joinedAtMillis, long heartbeatAtMillis) {
+        this.nodeId = nodeId;
+        this.baseUrl = baseUrl;
+        this.joinedAtMillis = joinedAtMillis;
+        this.heartbeatAtMillis = heartbeatAtMillis;
+    }
+
+    // --- Getters and Setters ---
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+    public String getBaseUrl() { return baseUrl; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+    public long getJoinedAtMillis() { return joinedAtMillis; }
+    public void setJoinedAtMillis(long joinedAtMillis) { this.joinedAtMillis = joinedAtMillis; }
+    public long getHeartbeatAtMillis() { return heartbeatAtMillis; }
+    public void setHeartbeatAtMillis(long heartbeatAtMillis) { this.heartbeatAtMillis = heartbeatAtMillis; }
+}
@@ -0,0 +1,147 @@
+package com.example.simpleauction.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of a user's dashboard (see {@code UserDashboardProjection}): an item they listed ({@link #SELLER})
+ * or bid on ({@link #BIDDER}), with the item's current state copied in so a page is read from this table
+ * alone. {@code sortKey} orders the page newest first: the item ID for listings, the user's latest bid ID
+ * for bids. Seller rows carry the listing fields, bidder rows the user's own bidding.
+ */
+@Entity
+@Table(name = "dashboard_entries", indexes = {
+        @Index(name = "idx_dashboard_user_page", columnList = "userId, role, sortKey"), // keyset pages
+        @Index(name = "idx_dashboard_item", columnList = "itemId") // fan-out of price, close and payment changes
+})
+@IdClass(DashboardEntry.Key.class)
+public class DashboardEntry implements Persistable<DashboardEntry.Key> {
+
+    public static final String SELLER = "SELLER";
+    public static final String BIDDER = "BIDDER";
+
+    @Id
+    private Long userId;
+
+    @Id
+    private Long itemId;
+
+    @Id
+    @Column(length = 8)
+    private String role;
+
+    private long sortKey;
+
+    @Column(nullable = false)
+    private String itemName;
+
+    @Column(length = 1000)
+    private String description;
+
+    private String category;
+
+    private String imageUrl;
+
+    private BigDecimal startingPrice;
+
+    private BigDecimal currentPrice;
+
+    private LocalDateTime auctionEndTime;
+
+    @Column(length = 16)
+    private String auctionStatus;
+
+    private String paymentStatus;
+
+    private Long highestBidderId;
+
+    private String highestBidderEmail;
+
+    // Bidder rows only
+    private BigDecimal myHighestBid;
+
+    private long myBidCount;
+
+    private LocalDateTime lastBidTime;
+
+    @Transient
+    private boolean isNew = true; // saved with persist, not merge: no select before each insert
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public DashboardEntry() {
+    }
+
+    public DashboardEntry(Long userId, Long itemId, String role, long sortKey, String itemName, String category,
+                          LocalDateTime auctionEndTime) {
+        this.userId = userId;
+        this.itemId = itemId;
+        this.role = role;
+        this.sortKey = sortKey;
+        this.itemName = itemName;
+        this.category = category;
+        this.auctionEndTime = auctionEndTime;
+        this.auctionStatus = "OPEN";
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(userId, itemId, role);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    /** Whether this user holds the item's highest bid (and so wins it once closed). */
+    public boolean isLeading() {
+        return userId.equals(highestBidderId);
+    }
+
+    // --- Getters and Setters ---
+    public Long getUserId() { return userId; }
+    public Long getItemId() { return itemId; }
+    public String getRole() { return role; }
+    public long getSortKey() { return sortKey; }
+    public void setSortKey(long sortKey) { this.sortKey = sortKey; }
+    public String getItemName() { return itemName; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public String getCategory() { return category; }
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public BigDecimal getStartingPrice() { return startingPrice; }
+    public void setStartingPrice(BigDecimal startingPrice) { this.startingPrice = startingPrice; }
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public void setCurrentPrice(BigDecimal currentPrice) { this.currentPrice = currentPrice; }
+    public LocalDateTime getAuctionEndTime() { return auctionEndTime; }
+    public String getAuctionStatus() { return auctionStatus; }
+    public void setAuctionStatus(String auctionStatus) { this.auctionStatus = auctionStatus; }
+    public String getPaymentStatus() { return paymentStatus; }
+    public void setPaymentStatus(String paymentStatus) { this.paymentStatus = paymentStatus; }
+    public Long getHighestBidderId() { return highestBidderId; }
+    public void setHighestBidderId(Long highestBidderId) { this.highestBidderId = highestBidderId; }
+    public String getHighestBidderEmail() { return highestBidderEmail; }
+    public void setHighestBidderEmail(String highestBidderEmail) { this.highestBidderEmail = highestBidderEmail; }
+    public BigDecimal getMyHighestBid() { return myHighestBid; }
+    public void setMyHighestBid(BigDecimal myHighestBid) { this.myHighestBid = myHighestBid; }
+    public long getMyBidCount() { return myBidCount; }
+    public void setMyBidCount(long myBidCount) { this.myBidCount = myBidCount; }
+    public LocalDateTime getLastBidTime() { return lastBidTime; }
+    public void setLastBidTime(LocalDateTime lastBidTime) { this.lastBidTime = lastBidTime; }
+
+    public record Key(Long userId, Long itemId, String role) implements Serializable {
+    }
+}
@@ -6,7 +6,11 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_category_id", columnList = "category, id"), // keyset pages per category
+        @Index(name = "idx_items_status_end", columnList = "auctionStatus, auctionEndTime"), // close schedule
+        @Index(name = "idx_items_gateway_order", columnList = "gatewayOrderId") // payment webhooks
+})
 public class Item { // Removed Lombok @Data, @NoArgsConstructor
 
     @Id
@@ -32,9 +36,18 @@ public class Item { // Removed Lombok @Data, @NoArgsConstructor
     @Column(nullable = false)
     private LocalDateTime auctionEndTime;
 
+    @Column(length = 16) // "OPEN" until the close engine flips it to "CLOSED" (null on legacy rows = open)
+    private String auctionStatus;
+
     @Column(nullable = true) // Added payment status tracking
     private String paymentStatus; // e.g., "PENDING", "PAID", "FAILED", null (Not Won/Not Ended)
 
+    @Column(length = 64) // Idempotency key of the current/last payment attempt
+    private String paymentReference;
+
+    @Column(length = 64) // Provider's order for that attempt, once it is awaiting the customer
+    private String gatewayOrderId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id", nullable = false)
     private User seller;
@@ -43,6 +56,9 @@ public class Item { // Removed Lombok @Data, @NoArgsConstructor
     @JoinColumn(name = "highest_bidder_id", nullable = true)
     private User highestBidder;
 
+    @Version // Bumped on every accepted bid (see ItemRepository.raiseHighestBid)
+    private Long version;
+
     // --- Manual Constructors ---
     /**
      * Default constructor required by JPA.
@@ -62,6 +78,7 @@ public class Item { // Removed Lombok @Data, @NoArgsConstructor
         this.imageUrl = imageUrl;
         this.auctionEndTime = endTime;
         this.seller = seller;
+        this.auctionStatus = "OPEN";
         this.paymentStatus = null; // Default status
     }
 
@@ -82,12 +99,20 @@ public class Item { // Removed Lombok @Data, @NoArgsConstructor
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     public LocalDateTime getAuctionEndTime() { return auctionEndTime; }
     public void setAuctionEndTime(LocalDateTime auctionEndTime) { this.auctionEndTime = auctionEndTime; }
+    public String getAuctionStatus() { return auctionStatus; }
+    public void setAuctionStatus(String auctionStatus) { this.auctionStatus = auctionStatus; }
     public String getPaymentStatus() { return paymentStatus; }
     public void setPaymentStatus(String paymentStatus) { this.paymentStatus = paymentStatus; }
+    public String getPaymentReference() { return paymentReference; }
+    public void setPaymentReference(String paymentReference) { this.paymentReference = paymentReference; }
+    public String getGatewayOrderId() { return gatewayOrderId; }
+    public void setGatewayOrderId(String gatewayOrderId) { this.gatewayOrderId = gatewayOrderId; }
     public User getSeller() { return seller; }
     public void setSeller(User seller) { this.seller = seller; }
     public User getHighestBidder() { return highestBidder; }
     public void setHighestBidder(User highestBidder) { this.highestBidder = highestBidder; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 
     // --- Manual equals, hashCode, toString (Generated by IDE) ---
     @Override
@@ -112,6 +137,7 @@ public class Item { // Removed Lombok @Data, @NoArgsConstructor
                ", startingPrice=" + startingPrice +
                ", currentBidPrice=" + currentBidPrice +
                ", auctionEndTime=" + auctionEndTime +
+               ", auctionStatus='" + auctionStatus + '\'' +
                ", paymentStatus='" + paymentStatus + '\'' +
                '}';
     }
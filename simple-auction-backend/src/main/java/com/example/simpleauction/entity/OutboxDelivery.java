@@ -0,0 +1,60 @@
+package com.example.simpleauction.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+/**
+ * An outbox event still owed to one consumer (a sink): written with the event, deleted once the relay has
+ * delivered it there. The primary key orders a consumer's rows by event ID, so the relay's poll is one range scan.
+ */
+@Entity
+@Table(name = "outbox_deliveries")
+@IdClass(OutboxDelivery.Key.class)
+public class OutboxDelivery implements Persistable<OutboxDelivery.Key> {
+
+    @Id
+    @Column(length = 64)
+    private String consumer;
+
+    @Id
+    private Long eventId;
+
+    @Transient
+    private boolean isNew = true; // saved with persist, not merge: no select before each insert
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public OutboxDelivery() {
+    }
+
+    public OutboxDelivery(String consumer, Long eventId) {
+        this.consumer = consumer;
+        this.eventId = eventId;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(consumer, eventId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    // --- Getters ---
+    public String getConsumer() { return consumer; }
+    public Long getEventId() { return eventId; }
+
+    public record Key(String consumer, Long eventId) implements Serializable {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.simpleauction.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A state change recorded in the same transaction that made it (see {@code Outbox}), waiting to be published
+ * by {@code OutboxRelay}. {@code payload} is the event as JSON.
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    // Pooled sequence, like Bid: the bid writer adds one event per bid to its batched inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 40)
+    private String type;
+
+    private Long itemId;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String type, Long itemId, String payload, LocalDateTime createdAt) {
+        this.type = type;
+        this.itemId = itemId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public Long getItemId() { return itemId; }
+    public void setItemId(Long itemId) { this.itemId = itemId; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,40 @@
+package com.example.simpleauction.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per outbox consumer (a sink), locked while a batch is delivered to it so nodes take turns.
+ * {@code lastEventId} is the last event delivered, for monitoring; what is still owed is in {@link OutboxDelivery}.
+ */
+@Entity
+@Table(name = "outbox_offsets")
+public class OutboxOffset {
+
+    @Id
+    @Column(length = 64)
+    private String consumer;
+
+    private long lastEventId;
+
+    private long updatedAtMillis;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public OutboxOffset() {
+    }
+
+    public OutboxOffset(String consumer, long lastEventId, long updatedAtMillis) {
+        this.consumer = consumer;
+        this.lastEventId = lastEventId;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    // --- Getters and Setters ---
+    public String getConsumer() { return consumer; }
+    public void setConsumer(String consumer) { this.consumer = consumer; }
+    public long getLastEventId() { return lastEventId; }
+    public void setLastEventId(long lastEventId) { this.lastEventId = lastEventId; }
+    public long getUpdatedAtMillis() { return updatedAtMillis; }
+    public void setUpdatedAtMillis(long updatedAtMillis) { this.updatedAtMillis = updatedAtMillis; }
+}
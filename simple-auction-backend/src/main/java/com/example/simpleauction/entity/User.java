@@ -32,8 +32,6 @@ public class User {
         this.email = email;
         this.password = password;
     }
-    // Default constructor for JPA
-    public User() {}
     
 	public Long getId() {
 		return id;
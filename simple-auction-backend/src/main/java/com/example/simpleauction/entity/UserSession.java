@@ -0,0 +1,51 @@
+package com.example.simpleauction.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Persisted login session (see {@code JpaSessionStore}). Times are epoch millis.
+ */
+@Entity
+@Table(name = "user_sessions", indexes = @Index(name = "idx_user_sessions_expires", columnList = "expiresAtMillis"))
+public class UserSession {
+
+    @Id
+    @Column(length = 64)
+    private String token;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String email;
+
+    private long createdAtMillis;
+
+    private long expiresAtMillis;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public UserSession() {
+    }
+
+    public UserSession(String token, Long userId, String email, long createdAtMillis, long expiresAtMillis) {
+        this.token = token;
+        this.userId = userId;
+        this.email = email;
+        this.createdAtMillis = createdAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    // --- Getters and Setters ---
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
+    public void setCreatedAtMillis(long createdAtMillis) { this.createdAtMillis = createdAtMillis; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+    public void setExpiresAtMillis(long expiresAtMillis) { this.expiresAtMillis = expiresAtMillis; }
+}
@@ -0,0 +1,49 @@
+package com.example.simpleauction.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Unsynchronized char-at-a-time reads over a fixed buffer; the row readers scan every character, and
+ * {@link java.io.BufferedReader#read()} takes a lock per call.
+ */
+final class CharSource implements Closeable {
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+
+    CharSource(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    /** The next char, or -1 at the end of the input. */
+    int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /** The next char without consuming it, or -1 at the end of the input. */
+    int peek() throws IOException {
+        int c = read();
+        if (c != -1) {
+            position--;
+        }
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
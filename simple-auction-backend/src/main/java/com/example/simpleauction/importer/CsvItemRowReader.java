@@ -0,0 +1,156 @@
+package com.example.simpleauction.importer;
+
+import com.example.simpleauction.dto.AddItemRequest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV: a header row naming the columns (the fields of {@code POST /api/items}, any order, case
+ * ignored, unknown columns ignored), then one item per record. Quoted fields may contain commas, line
+ * breaks and doubled quotes. Empty optional fields are null.
+ */
+class CsvItemRowReader implements ItemRowReader {
+
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String STARTING_PRICE = "startingprice";
+    private static final String CATEGORY = "category";
+    private static final String IMAGE_URL = "imageurl";
+    private static final String AUCTION_END_TIME = "auctionendtime";
+    private static final List<String> REQUIRED = List.of(NAME, STARTING_PRICE, CATEGORY, AUCTION_END_TIME);
+
+    private final CharSource reader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private String[] columns; // header position -> lower-cased column name
+    private long line = 1;    // physical line the next record starts on
+    private int recordChars;
+
+    CsvItemRowReader(CharSource reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        while (true) {
+            long start = line;
+            if (!readRecord()) {
+                return null;
+            }
+            if (recordChars > MAX_ROW_CHARS) {
+                return ItemRow.unreadable(start, "Row is longer than " + MAX_ROW_CHARS + " characters.");
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // blank line
+            }
+            if (fields.size() != columns.length) {
+                return ItemRow.unreadable(start, "Expected " + columns.length + " fields, found " + fields.size() + ".");
+            }
+            AddItemRequest request = new AddItemRequest();
+            for (int i = 0; i < columns.length; i++) {
+                String value = fields.get(i).isEmpty() ? null : fields.get(i);
+                switch (columns[i]) {
+                    case NAME -> request.setName(value);
+                    case DESCRIPTION -> request.setDescription(value);
+                    case CATEGORY -> request.setCategory(value);
+                    case IMAGE_URL -> request.setImageUrl(value);
+                    case AUCTION_END_TIME -> request.setAuctionEndTime(value != null ? value.trim() : null);
+                    case STARTING_PRICE -> {
+                        try {
+                            request.setStartingPrice(value != null ? new BigDecimal(value.trim()) : null);
+                        } catch (NumberFormatException e) {
+                            return ItemRow.unreadable(start, "startingPrice is not a number: " + value);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return ItemRow.parsed(start, request);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (!readRecord()) {
+            throw new IllegalArgumentException("CSV import is empty; expected a header row.");
+        }
+        columns = new String[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            String name = fields.get(i).trim().toLowerCase(Locale.ROOT);
+            columns[i] = i == 0 && name.startsWith("\uFEFF") ? name.substring(1) : name; // Excel's byte order mark
+        }
+        List<String> missing = new ArrayList<>(REQUIRED);
+        missing.removeAll(List.of(columns));
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing column(s) " + missing
+                    + "; expected name, description, startingPrice, category, imageUrl, auctionEndTime.");
+        }
+    }
+
+    // Reads one record into fields; false at the end of the input. Chars past MAX_ROW_CHARS are dropped.
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordChars = 0;
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        boolean quoted = false;
+        boolean started = false; // a quote only opens a field at its first char
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    if (reader.peek() == '"') {
+                        append((char) reader.read());
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append((char) c);
+                }
+            } else if (c == '"' && !started) {
+                quoted = true;
+                started = true;
+            } else if (c == ',') {
+                endField();
+                started = false;
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                append((char) c);
+                started = true;
+            }
+            c = reader.read();
+        }
+        endField();
+        return true;
+    }
+
+    private void append(char c) {
+        if (++recordChars <= MAX_ROW_CHARS) {
+            field.append(c);
+        }
+    }
+
+    private void endField() {
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.simpleauction.importer;
+
+import com.example.simpleauction.dto.AddItemRequest;
+
+/**
+ * One row of a bulk import: the parsed request, or why it could not be parsed. {@code line} is where the row
+ * starts in the uploaded file (1-based, counting a CSV header), for error reports.
+ */
+public record ItemRow(long line, AddItemRequest request, String error) {
+
+    static ItemRow parsed(long line, AddItemRequest request) {
+        return new ItemRow(line, request, null);
+    }
+
+    static ItemRow unreadable(long line, String error) {
+        return new ItemRow(line, null, error);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.simpleauction.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pulls item rows one at a time from an upload, so an import holds one row (plus a read buffer) in
+ * memory however large the file is. A malformed row is returned as {@link ItemRow#unreadable} and
+ * reading carries on with the next one.
+ */
+public interface ItemRowReader extends Closeable {
+
+    String NDJSON = "application/x-ndjson";
+    String CSV = "text/csv";
+
+    // Longer rows are reported and skipped rather than buffered
+    int MAX_ROW_CHARS = 16_384;
+
+    /** The next row, or null at the end of the input. */
+    ItemRow next() throws IOException;
+
+    /** A reader for {@code contentType} ({@value #NDJSON} or {@value #CSV}); UTF-8 unless a charset is given. */
+    static ItemRowReader open(MediaType contentType, InputStream body, ObjectMapper objectMapper) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        CharSource reader = new CharSource(new InputStreamReader(body, charset), 64 * 1024);
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON))) {
+            return new NdjsonItemRowReader(reader, objectMapper);
+        } else if (contentType.isCompatibleWith(MediaType.parseMediaType(CSV))) {
+            return new CsvItemRowReader(reader);
+        }
+        throw new IllegalArgumentException("Unsupported import format " + contentType + "; use " + NDJSON + " or " + CSV + ".");
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.simpleauction.importer;
+
+import com.example.simpleauction.dto.AddItemRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+
+/**
+ * One JSON object per line, with the fields of {@code POST /api/items}. Blank lines are skipped.
+ */
+class NdjsonItemRowReader implements ItemRowReader {
+
+    private final CharSource reader;
+    private final ObjectReader rowReader;
+    private final StringBuilder line = new StringBuilder();
+    private long lineNumber;
+
+    NdjsonItemRowReader(CharSource reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.rowReader = objectMapper.readerFor(AddItemRequest.class);
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        while (true) {
+            int length = readLine();
+            if (length < 0) {
+                return null;
+            }
+            lineNumber++;
+            if (length > MAX_ROW_CHARS) {
+                return ItemRow.unreadable(lineNumber, "Row is longer than " + MAX_ROW_CHARS + " characters.");
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            try {
+                return ItemRow.parsed(lineNumber, rowReader.readValue(line.toString()));
+            } catch (JsonProcessingException e) {
+                return ItemRow.unreadable(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // Length of the next line (without its terminator), or -1 at the end; keeps at most MAX_ROW_CHARS + 1 chars
+    private int readLine() throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (length++ <= MAX_ROW_CHARS && c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return c == -1 && length == 0 ? -1 : length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.simpleauction.lifecycle;
+
+import com.example.simpleauction.cluster.ClusterClient;
+import com.example.simpleauction.cluster.ItemMovingException;
+import com.example.simpleauction.cluster.ItemOwnership;
+import com.example.simpleauction.dashboard.UserDashboardProjection;
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.engine.BidEngine;
+import com.example.simpleauction.engine.ItemBook;
+import com.example.simpleauction.outbox.Outbox;
+import com.example.simpleauction.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Closes auctions at their {@code auctionEndTime}.
+ * <p>
+ * Open auctions are loaded once at startup (paged by ID) into a {@link TimerWheel}; new items are
+ * added as they are created. Each tick's expirations are closed in batches by primary key: lock the
+ * rows that really are due (an item may have been extended since it was scheduled), flip them to
+ * CLOSED with one UPDATE, and publish an {@link AuctionClosedEvent} per item. The items table is
+ * never scanned after startup.
+ * <p>
+ * Soft-close extensions reschedule the item. When the in-memory bid engine holds a book for the item it
+ * has the final say (its end time may be ahead of the database): the book is closed to new bids first
+ * and the writer drained, so the close always sees the last accepted bid.
+ * <p>
+ * A batch whose close fails (a database error, a lock timeout) is rescheduled after a backoff that doubles
+ * per failed attempt, up to {@code auction.close.max-retry-backoff}, so its auctions still close once the
+ * database recovers.
+ * <p>
+ * In a cluster every node's wheel holds the auctions it knows of, but only an item's owner closes it: due
+ * items owned elsewhere are sent to their owner, and items being handed over wait for the next tick.
+ */
+@Component
+public class AuctionCloseScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(AuctionCloseScheduler.class);
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final long WRITER_DRAIN_TIMEOUT_MILLIS = 1_000;
+
+    private final ItemRepository itemRepository;
+    // Provider because the engine depends (via BidWriter and ItemService) on this scheduler
+    private final ObjectProvider<BidEngine> bidEngine;
+    private final SoftClosePolicy softClosePolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final Outbox outbox;
+    private final UserDashboardProjection dashboard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemOwnership ownership;
+    private final ObjectProvider<ClusterClient> clusterClient;
+    private final TimerWheel wheel;
+    // Last end time scheduled per soft-closed item, so a storm of bids in the window schedules each extension once
+    private final Map<Long, LocalDateTime> extendedEnds = new ConcurrentHashMap<>();
+    // Failed close attempts per item since its last successful one, for the retry backoff
+    private final Map<Long, Integer> closeFailures = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    // Closing runs off the tick thread so slow DB batches don't delay later ticks
+    private final ExecutorService closer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auction-closer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AuctionCloseScheduler(ItemRepository itemRepository, ObjectProvider<BidEngine> bidEngine,
+                                 SoftClosePolicy softClosePolicy, TransactionTemplate transactionTemplate,
+                                 Outbox outbox, UserDashboardProjection dashboard, ApplicationEventPublisher eventPublisher, ItemOwnership ownership,
+                                 ObjectProvider<ClusterClient> clusterClient,
+                                 @Value("${auction.close.tick:PT1S}") Duration tick,
+                                 @Value("${auction.close.wheel-size:512}") int wheelSize,
+                                 @Value("${auction.close.batch-size:500}") int batchSize,
+                                 @Value("${auction.close.retry-backoff:PT1S}") Duration retryBackoff,
+                                 @Value("${auction.close.max-retry-backoff:PT1M}") Duration maxRetryBackoff) {
+        this.itemRepository = itemRepository;
+        this.bidEngine = bidEngine;
+        this.softClosePolicy = softClosePolicy;
+        this.transactionTemplate = transactionTemplate;
+        this.outbox = outbox;
+        this.dashboard = dashboard;
+        this.eventPublisher = eventPublisher;
+        this.ownership = ownership;
+        this.clusterClient = clusterClient;
+        this.batchSize = batchSize;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.wheel = new TimerWheel("auction-close-wheel", tick.toMillis(), wheelSize,
+                expired -> closer.execute(() -> close(expired)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long afterId = 0;
+        int loaded = 0;
+        List<ScheduledClose> page;
+        do {
+            page = itemRepository.findOpenAuctionsAfter(afterId, Limit.of(LOAD_PAGE_SIZE));
+            for (ScheduledClose auction : page) {
+                schedule(auction.id(), auction.auctionEndTime());
+                afterId = auction.id();
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        wheel.start();
+        logger.info("Auction close engine started with {} open auctions.", loaded);
+    }
+
+    public void schedule(Long itemId, LocalDateTime auctionEndTime) {
+        if (auctionEndTime != null) {
+            wheel.schedule(itemId, auctionEndTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    // A bid in the soft-close window moved the end time; the old timeout will find the item not yet due
+    @EventListener
+    public void onBidAccepted(AcceptedBid bid) {
+        if (softClosePolicy.mayHaveExtended(bid.auctionEndTime(), bid.bidTime())
+                && !bid.auctionEndTime().equals(extendedEnds.put(bid.itemId(), bid.auctionEndTime()))) {
+            schedule(bid.itemId(), bid.auctionEndTime());
+        }
+    }
+
+    /** Items another node found due; closed on the next tick if they are still due and owned here. */
+    public void closeWhenDue(List<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        itemIds.forEach(itemId -> schedule(itemId, now));
+    }
+
+    /** Auctions waiting to close. */
+    public int getScheduledCount() {
+        return wheel.size();
+    }
+
+    void close(List<Long> expired) {
+        BidEngine engine = bidEngine.getObject();
+        // Rescheduled items can expire more than once
+        List<Long> dueItemIds = ownedHere(expired.stream().distinct().toList());
+        for (int from = 0; from < dueItemIds.size(); from += batchSize) {
+            List<Long> batch = closeBooks(engine, dueItemIds.subList(from, Math.min(from + batchSize, dueItemIds.size())));
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                if (!engine.awaitWrites(batch, WRITER_DRAIN_TIMEOUT_MILLIS)) {
+                    // Books stay closed to bids; try again next tick rather than close on a stale price
+                    logger.debug("Bids still being written ({} queued); deferring close of {} auctions.", engine.pendingWrites(), batch.size());
+                    LocalDateTime retryAt = LocalDateTime.now();
+                    batch.forEach(itemId -> schedule(itemId, retryAt));
+                    continue;
+                }
+                List<AuctionClosedEvent> closed = transactionTemplate.execute(status -> closeBatch(batch));
+                batch.forEach(closeFailures::remove);
+                closed.forEach(event -> extendedEnds.remove(event.itemId()));
+                closed.forEach(eventPublisher::publishEvent);
+                logger.debug("Closed {} of {} due auctions.", closed.size(), batch.size());
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                // The books were closed to bids; drop them so the next bid reloads the (still open) item
+                batch.forEach(engine::evict);
+                LocalDateTime now = LocalDateTime.now();
+                batch.forEach(itemId -> schedule(itemId, now.plus(nextRetryDelay(itemId))));
+                logger.error("Failed to close auctions {}; retrying", batch, e);
+            }
+        }
+    }
+
+    // retry-backoff after the first failure, doubling with each further one up to max-retry-backoff
+    private Duration nextRetryDelay(Long itemId) {
+        int failures = closeFailures.merge(itemId, 1, Integer::sum);
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(failures - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    // Sends items owned by other nodes to their owners; keeps the rest (retrying any being handed over)
+    private List<Long> ownedHere(List<Long> itemIds) {
+        if (!ownership.isEnabled()) {
+            return itemIds;
+        }
+        List<Long> owned = new ArrayList<>(itemIds.size());
+        Map<String, List<Long>> remote = new HashMap<>();
+        LocalDateTime retryAt = LocalDateTime.now();
+        for (Long itemId : itemIds) {
+            try {
+                String ownerUrl = ownership.ownerUrl(itemId);
+                if (ownerUrl == null) {
+                    owned.add(itemId);
+                } else {
+                    remote.computeIfAbsent(ownerUrl, url -> new ArrayList<>()).add(itemId);
+                }
+            } catch (ItemMovingException e) {
+                schedule(itemId, retryAt);
+            }
+        }
+        remote.forEach((ownerUrl, ids) -> {
+            try {
+                clusterClient.getObject().closeDue(ownerUrl, ids);
+            } catch (RuntimeException e) {
+                logger.debug("Could not pass {} due auctions to {}; retrying next tick: {}", ids.size(), ownerUrl, e.getMessage());
+                ids.forEach(itemId -> schedule(itemId, retryAt));
+            }
+        });
+        return owned;
+    }
+
+    // Items whose in-memory book was extended past now are rescheduled rather than closed. Peeks, so a book
+    // evicted in between is not reloaded here; its end time then comes from the database.
+    private List<Long> closeBooks(BidEngine engine, List<Long> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = new ArrayList<>(batch.size());
+        for (Long itemId : batch) {
+            if (engine.closeIfDue(itemId, now)) {
+                due.add(itemId);
+                continue;
+            }
+            ItemBook book = engine.peek(itemId);
+            if (book != null) {
+                schedule(itemId, book.getAuctionEndTime());
+            } else {
+                itemRepository.findOpenAuction(itemId).ifPresent(auction -> schedule(itemId, auction.auctionEndTime()));
+            }
+        }
+        return due;
+    }
+
+    private List<AuctionClosedEvent> closeBatch(List<Long> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = itemRepository.lockClosableIds(batch, now);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        itemRepository.markClosed(due);
+        dashboard.auctionsClosed(due);
+        List<AuctionClosedEvent> closed = itemRepository.findClosedAuctionEvents(due);
+        closed.forEach(outbox::auctionClosed);
+        return closed;
+    }
+
+    @PreDestroy
+    void stop() {
+        wheel.stop();
+        closer.shutdownNow();
+    }
+}
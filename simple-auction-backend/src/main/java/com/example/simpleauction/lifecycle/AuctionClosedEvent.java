@@ -0,0 +1,11 @@
+package com.example.simpleauction.lifecycle;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published once per item when the close engine flips it to CLOSED. {@code winnerEmail} is null if nobody bid.
+ */
+public record AuctionClosedEvent(Long itemId, String itemName, String category, BigDecimal finalPrice,
+                                 String winnerEmail, LocalDateTime auctionEndTime) {
+}
@@ -0,0 +1,9 @@
+package com.example.simpleauction.lifecycle;
+
+import java.time.LocalDateTime;
+
+/**
+ * ID and end time of an open auction, projected for loading the close schedule.
+ */
+public record ScheduledClose(Long id, LocalDateTime auctionEndTime) {
+}
@@ -0,0 +1,61 @@
+package com.example.simpleauction.lifecycle;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Anti-sniping soft close: a bid accepted within the last {@code window} before the auction ends pushes
+ * the end time forward by {@code extension}. A zero window disables it.
+ * <p>
+ * Both must be whole seconds: the database bid path extends the end in SQL by {@link #getExtensionSeconds()},
+ * so a fraction would be dropped there but kept by the in-memory engine, and the same bid would end the
+ * auction at different times depending on the path.
+ */
+@Component
+public class SoftClosePolicy {
+
+    private final Duration window;
+    private final Duration extension;
+
+    public SoftClosePolicy(@Value("${auction.soft-close.window:PT0S}") Duration window,
+                           @Value("${auction.soft-close.extension:PT1M}") Duration extension) {
+        this.window = requireWholeSeconds(window, "auction.soft-close.window");
+        this.extension = requireWholeSeconds(extension, "auction.soft-close.extension");
+    }
+
+    private static Duration requireWholeSeconds(Duration duration, String property) {
+        if (duration.isNegative() || duration.getNano() != 0) {
+            throw new IllegalArgumentException(property + " must be a whole, non-negative number of seconds, not " + duration);
+        }
+        return duration;
+    }
+
+    public boolean isEnabled() {
+        return !window.isZero() && !extension.isZero();
+    }
+
+    /** End time after accepting a bid at {@code bidTime} on an auction currently ending at {@code auctionEndTime}. */
+    public LocalDateTime extendedEnd(LocalDateTime auctionEndTime, LocalDateTime bidTime) {
+        if (isEnabled() && auctionEndTime.isBefore(windowEnd(bidTime))) {
+            return auctionEndTime.plus(extension);
+        }
+        return auctionEndTime;
+    }
+
+    /** Auctions ending before this instant are inside the soft-close window for a bid at {@code bidTime}. */
+    public LocalDateTime windowEnd(LocalDateTime bidTime) {
+        return bidTime.plus(window);
+    }
+
+    public long getExtensionSeconds() {
+        return isEnabled() ? extension.toSeconds() : 0;
+    }
+
+    /** True if a bid at {@code bidTime} may have moved the end to {@code auctionEndTime}. */
+    public boolean mayHaveExtended(LocalDateTime auctionEndTime, LocalDateTime bidTime) {
+        return isEnabled() && auctionEndTime.isBefore(windowEnd(bidTime).plus(extension));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.simpleauction.lifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: O(1) scheduling, one bucket visited per tick, and deadlines beyond one
+ * revolution tracked with a remaining-rounds counter. Everything that expires on a tick is
+ * delivered to the handler as a single batch.
+ * <p>
+ * Scheduling is thread-safe (new timeouts are queued and moved onto the wheel by the tick thread);
+ * buckets themselves are only touched by the tick thread. There is no cancellation: handlers are
+ * expected to re-check the real deadline, which also makes rescheduling (e.g. soft-close) a plain
+ * second {@link #schedule} call.
+ */
+public class TimerWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Timeout>[] buckets;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Consumer<List<Long>> onExpired;
+    private final Thread worker;
+    private final long startMillis;
+    private long tick;
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(String name, long tickMillis, int wheelSize, Consumer<List<Long>> onExpired) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.onExpired = onExpired;
+        this.startMillis = System.currentTimeMillis();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /** Schedules {@code key} to expire at {@code deadlineMillis} (epoch millis). Past deadlines fire on the next tick. */
+    public void schedule(long key, long deadlineMillis) {
+        pending.add(new Timeout(key, deadlineMillis));
+        size.incrementAndGet();
+    }
+
+    /** Timeouts scheduled and not yet expired. */
+    public int size() {
+        return size.get();
+    }
+
+    private void run() {
+        while (running) {
+            long tickDeadline = startMillis + (tick + 1) * tickMillis;
+            long sleep = tickDeadline - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+                continue; // re-check: woke early or interrupted
+            }
+            transferPending();
+            List<Long> expired = expire(buckets[(int) (tick & mask)]);
+            tick++;
+            if (!expired.isEmpty()) {
+                size.addAndGet(-expired.size());
+                onExpired.accept(expired);
+            }
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            long dueTick = Math.max((timeout.deadlineMillis - startMillis) / tickMillis, tick);
+            timeout.remainingRounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private List<Long> expire(List<Timeout> bucket) {
+        List<Long> expired = new ArrayList<>();
+        int kept = 0;
+        for (Timeout timeout : bucket) {
+            if (timeout.remainingRounds <= 0) {
+                expired.add(timeout.key);
+            } else {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+        return expired;
+    }
+
+    private static final class Timeout {
+        private final long key;
+        private final long deadlineMillis;
+        private long remainingRounds;
+
+        Timeout(long key, long deadlineMillis) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
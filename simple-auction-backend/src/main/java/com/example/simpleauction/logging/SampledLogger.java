@@ -0,0 +1,62 @@
+package com.example.simpleauction.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate-limits one log statement on a hot path: at most one line per interval, the rest counted and reported
+ * as "(N similar suppressed)" on the next line that is written. For outcomes that are routine under load
+ * (outbid, auction ended, unknown item) and already counted by metrics, so a bidding storm doesn't turn
+ * into a logging storm. One instance per call site, so a noisy site doesn't hide a quiet one.
+ */
+public final class SampledLogger {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final AtomicLong nextNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder suppressed = new LongAdder();
+
+    public SampledLogger(Logger logger, Duration interval) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public void warn(String format, Object arg) {
+        if (acquire()) {
+            long skipped = suppressed.sumThenReset();
+            if (skipped > 0) {
+                logger.warn(format + " ({} similar suppressed)", arg, skipped);
+            } else {
+                logger.warn(format, arg);
+            }
+        }
+    }
+
+    public void warn(String format, Object arg1, Object arg2) {
+        if (acquire()) {
+            long skipped = suppressed.sumThenReset();
+            if (skipped > 0) {
+                logger.warn(format + " ({} similar suppressed)", arg1, arg2, skipped);
+            } else {
+                logger.warn(format, arg1, arg2);
+            }
+        }
+    }
+
+    // One CAS per interval wins; everyone else in the interval only bumps the adder
+    private boolean acquire() {
+        if (!logger.isWarnEnabled()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        long next = nextNanos.get();
+        if (now - next >= 0 && nextNanos.compareAndSet(next, now + intervalNanos)) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+}
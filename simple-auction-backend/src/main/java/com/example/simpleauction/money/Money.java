@@ -0,0 +1,54 @@
+package com.example.simpleauction.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money as a primitive {@code long} count of minor units (cents), used by the bid engine,
+ * its events and the in-memory caches so that validating and ranking bids is plain {@code long}
+ * arithmetic with no allocation.
+ * <p>
+ * {@link BigDecimal} stays at the edges (REST DTOs, JPA entities); conversions here are exact, and an
+ * amount with more than {@link #SCALE} decimal places is rejected rather than rounded.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    private static final long MINOR_PER_MAJOR = 100;
+    private static final int EXACT_DOUBLE_DIGITS = 15;
+
+    private Money() {
+    }
+
+    /** Exact conversion; throws IllegalArgumentException for sub-cent amounts or values out of range. */
+    public static long toMinorUnits(BigDecimal amount) {
+        int scale = amount.scale();
+        if (scale >= 0 && scale <= SCALE && amount.precision() <= EXACT_DOUBLE_DIGITS) {
+            // Every request amount: at most 15 digits, so the double is within far less than half a cent of
+            // the exact value and rounding recovers it, without the BigInteger unscaledValue() allocates
+            return Math.round(amount.doubleValue() * MINOR_PER_MAJOR);
+        }
+        BigDecimal minorUnits;
+        try {
+            minorUnits = amount.setScale(SCALE, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + SCALE + " decimal places: " + amount.toPlainString());
+        }
+        try {
+            return minorUnits.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is out of range: " + amount.toPlainString());
+        }
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /** Plain decimal form ("1234.50"), as {@code toBigDecimal(minorUnits).toPlainString()} would print it. */
+    public static String format(long minorUnits) {
+        long major = Math.abs(minorUnits / MINOR_PER_MAJOR);
+        long minor = Math.abs(minorUnits % MINOR_PER_MAJOR);
+        return (minorUnits < 0 ? "-" : "") + major + (minor < 10 ? ".0" : ".") + minor;
+    }
+}
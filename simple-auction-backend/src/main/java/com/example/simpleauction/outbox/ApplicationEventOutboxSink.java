@@ -0,0 +1,31 @@
+package com.example.simpleauction.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-process bus: publishes each event as an {@link OutboxMessage} application event, for
+ * {@code @EventListener} consumers in this JVM. Listeners run on the relay thread, so a slow one
+ * delays delivery to every sink but never a request.
+ */
+@Component
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "events";
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        batch.forEach(eventPublisher::publishEvent);
+    }
+}
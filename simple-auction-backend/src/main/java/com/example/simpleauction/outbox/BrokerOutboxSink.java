@@ -0,0 +1,39 @@
+package com.example.simpleauction.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broker adapter: sends each event to the topic named after its type ({@code bid.placed}, ...), keyed by
+ * item ID so each item's events stay in order, with the {@link OutboxMessage#toJson envelope} as the value.
+ */
+@Component
+public class BrokerOutboxSink implements OutboxSink {
+
+    private final ObjectProvider<MessageBroker> broker;
+    private final ObjectMapper objectMapper;
+
+    public BrokerOutboxSink(ObjectProvider<MessageBroker> broker, ObjectMapper objectMapper) {
+        this.broker = broker;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "broker";
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) throws Exception {
+        List<MessageBroker.Message> messages = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            messages.add(new MessageBroker.Message(message.type(),
+                    message.itemId() != null ? message.itemId().toString() : null, message.toJson(objectMapper)));
+        }
+        broker.getObject().send(messages);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.simpleauction.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A broker in this JVM, for development, tests and single-node deployments: each topic is an in-memory
+ * log of the last {@code auction.outbox.broker.retention} records, and consumer groups read it by offset
+ * with {@link #poll} and {@link #commit}, like Kafka's. Nothing survives a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.outbox.broker", havingValue = "embedded", matchIfMissing = true)
+public class EmbeddedMessageBroker implements MessageBroker {
+
+    private final Map<String, TopicLog> topics = new ConcurrentHashMap<>();
+    // "group/topic" -> next offset to read
+    private final Map<String, Long> committed = new ConcurrentHashMap<>();
+    private final int retention;
+
+    public EmbeddedMessageBroker(@Value("${auction.outbox.broker.retention:100000}") int retention) {
+        this.retention = retention;
+    }
+
+    @Override
+    public void send(List<Message> messages) {
+        for (Message message : messages) {
+            topics.computeIfAbsent(message.topic(), topic -> new TopicLog()).append(message.key(), message.value());
+        }
+    }
+
+    /**
+     * Up to {@code max} records after the group's committed offset. Records already dropped by retention
+     * are skipped, so a group that falls that far behind resumes at the oldest record kept.
+     */
+    public List<Record> poll(String topic, String group, int max) {
+        TopicLog log = topics.get(topic);
+        return log == null ? List.of() : log.read(committed.getOrDefault(group + "/" + topic, 0L), max);
+    }
+
+    /** Marks every record before {@code nextOffset} as consumed by the group. */
+    public void commit(String topic, String group, long nextOffset) {
+        committed.merge(group + "/" + topic, nextOffset, Math::max);
+    }
+
+    /** The offset the next record sent to the topic will get. */
+    public long endOffset(String topic) {
+        TopicLog log = topics.get(topic);
+        return log == null ? 0 : log.endOffset();
+    }
+
+    public record Record(long offset, String key, String value) {
+    }
+
+    private final class TopicLog {
+        private final Deque<Record> records = new ArrayDeque<>();
+        private long nextOffset;
+
+        synchronized void append(String key, String value) {
+            records.addLast(new Record(nextOffset++, key, value));
+            if (records.size() > retention) {
+                records.removeFirst();
+            }
+        }
+
+        synchronized List<Record> read(long fromOffset, int max) {
+            List<Record> batch = new ArrayList<>(Math.min(max, records.size()));
+            for (Record record : records) {
+                if (batch.size() == max) {
+                    break;
+                }
+                if (record.offset() >= fromOffset) {
+                    batch.add(record);
+                }
+            }
+            return batch;
+        }
+
+        synchronized long endOffset() {
+            return nextOffset;
+        }
+    }
+}
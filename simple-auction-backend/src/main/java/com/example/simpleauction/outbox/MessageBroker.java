@@ -0,0 +1,16 @@
+package com.example.simpleauction.outbox;
+
+import java.util.List;
+
+/**
+ * What {@link BrokerOutboxSink} publishes to. {@link EmbeddedMessageBroker} runs in this JVM; an adapter
+ * for an external broker (Kafka, RabbitMQ, ...) implements this and is selected with {@code auction.outbox.broker}.
+ */
+public interface MessageBroker {
+
+    /** Appends every message to its topic, keeping order per key; returns once the broker has them all. */
+    void send(List<Message> messages) throws Exception;
+
+    record Message(String topic, String key, String value) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.simpleauction.outbox;
+
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.entity.OutboxDelivery;
+import com.example.simpleauction.entity.OutboxEvent;
+import com.example.simpleauction.lifecycle.AuctionClosedEvent;
+import com.example.simpleauction.payment.PaymentTicket;
+import com.example.simpleauction.repository.OutboxDeliveryRepository;
+import com.example.simpleauction.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records state changes as {@link OutboxEvent} rows in the transaction making the change, so an event exists
+ * if and only if the change committed; {@link OutboxRelay} publishes them afterwards, off the request path.
+ * Each event also gets an {@link OutboxDelivery} row per sink in {@code auction.outbox.sinks}, so a sink
+ * configured later receives only events recorded after it was added.
+ * Every method must be called inside that transaction. A no-op unless {@code auction.outbox.enabled}.
+ */
+@Component
+public class Outbox {
+
+    public static final String BID_PLACED = "bid.placed";
+    public static final String AUCTION_CLOSED = "auction.closed";
+    public static final String PAYMENT_UPDATED = "payment.updated";
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxDeliveryRepository deliveryRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<String> sinks;
+
+    public Outbox(OutboxEventRepository eventRepository, OutboxDeliveryRepository deliveryRepository,
+                  ObjectMapper objectMapper,
+                  @Value("${auction.outbox.enabled:false}") boolean enabled,
+                  @Value("${auction.outbox.sinks:events}") String sinkNames) {
+        this.eventRepository = eventRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.sinks = sinkNames(sinkNames);
+    }
+
+    /** The sink names in {@code auction.outbox.sinks}, in order, without blanks or repeats. */
+    static List<String> sinkNames(String property) {
+        return Arrays.stream(property.split(",")).map(String::trim).filter(s -> !s.isEmpty()).distinct().toList();
+    }
+
+    /** A stored bid; {@code bid} must carry its ID. */
+    public void bidPlaced(AcceptedBid bid) {
+        record(BID_PLACED, bid.itemId(), bid);
+    }
+
+    public void auctionClosed(AuctionClosedEvent event) {
+        record(AUCTION_CLOSED, event.itemId(), event);
+    }
+
+    /** A payment moved to {@code ticket.status()} (PENDING, PAID or FAILED). */
+    public void paymentUpdated(PaymentTicket ticket) {
+        record(PAYMENT_UPDATED, ticket.itemId(), ticket);
+    }
+
+    private void record(String type, Long itemId, Object payload) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be recorded in the transaction making the change: " + type);
+        }
+        try {
+            OutboxEvent event = eventRepository.save(new OutboxEvent(type, itemId, objectMapper.writeValueAsString(payload), LocalDateTime.now()));
+            for (String sink : sinks) {
+                deliveryRepository.save(new OutboxDelivery(sink, event.getId()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event for item " + itemId, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.simpleauction.outbox;
+
+import com.example.simpleauction.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event as sinks receive it. {@code id} increases with commit order (give or take the relay's
+ * settle time) and is the same on every delivery, so consumers can de-duplicate the at-least-once stream by it.
+ * Also published as an application event by {@link ApplicationEventOutboxSink}.
+ */
+public record OutboxMessage(long id, String type, Long itemId, String payload, LocalDateTime createdAt) {
+
+    static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getType(), event.getItemId(), event.getPayload(), event.getCreatedAt());
+    }
+
+    /** The envelope sinks write out: {@code id}, {@code type}, {@code itemId}, {@code createdAt}, {@code payload}. */
+    public String toJson(ObjectMapper objectMapper) throws JsonProcessingException {
+        ObjectNode envelope = objectMapper.createObjectNode()
+                .put("id", id)
+                .put("type", type)
+                .put("itemId", itemId)
+                .put("createdAt", createdAt.toString());
+        envelope.putRawValue("payload", new RawValue(payload));
+        return objectMapper.writeValueAsString(envelope);
+    }
+}
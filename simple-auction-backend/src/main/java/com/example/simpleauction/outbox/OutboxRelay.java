@@ -0,0 +1,195 @@
+package com.example.simpleauction.outbox;
+
+import com.example.simpleauction.entity.OutboxEvent;
+import com.example.simpleauction.entity.OutboxOffset;
+import com.example.simpleauction.repository.OutboxDeliveryRepository;
+import com.example.simpleauction.repository.OutboxEventRepository;
+import com.example.simpleauction.repository.OutboxOffsetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers {@link Outbox} events to the sinks named in {@code auction.outbox.sinks}, in batches of
+ * {@code auction.outbox.batch-size}, on a background thread. Each event is owed to each sink as its own
+ * {@code outbox_deliveries} row; a batch is published and its rows deleted in one transaction that holds the
+ * sink's {@code outbox_offsets} row lock, so nodes share the work without racing. Delivery is at least once:
+ * if publishing succeeds but the commit does not, the batch goes out again, so consumers dedupe by event ID.
+ * A failing sink backs off (doubling up to 30s) without holding up the others.
+ * <p>
+ * Batches are in ID order, but IDs come from pooled sequences and transactions commit in any order, so an
+ * event may commit after higher IDs have gone out; it is delivered in a later batch rather than skipped.
+ * Events no sink is still owed are deleted once older than {@code auction.outbox.retention}; delete a retired
+ * sink's {@code outbox_deliveries} rows or they hold them back.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long PURGE_INTERVAL_MILLIS = 60_000;
+
+    private final OutboxEventRepository eventRepository;
+    private final OutboxDeliveryRepository deliveryRepository;
+    private final OutboxOffsetRepository offsetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Consumer> consumers = new ArrayList<>();
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final Duration retention;
+    private final Thread worker = new Thread(this::run, "outbox-relay");
+    private volatile boolean running = true;
+    private long nextPurgeMillis;
+
+    public OutboxRelay(List<OutboxSink> sinks, OutboxEventRepository eventRepository,
+                       OutboxDeliveryRepository deliveryRepository, OutboxOffsetRepository offsetRepository, TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${auction.outbox.sinks:events}") String sinkNames,
+                       @Value("${auction.outbox.batch-size:500}") int batchSize,
+                       @Value("${auction.outbox.poll-interval:PT0.5S}") Duration pollInterval,
+                       @Value("${auction.outbox.retention:PT24H}") Duration retention) {
+        this.eventRepository = eventRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.offsetRepository = offsetRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.retention = retention;
+        for (String name : Outbox.sinkNames(sinkNames)) {
+            OutboxSink sink = sinks.stream().filter(candidate -> candidate.name().equals(name)).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Unknown outbox sink in auction.outbox.sinks: " + name));
+            consumers.add(new Consumer(sink,
+                    Counter.builder("auction.outbox.delivered")
+                            .description("Outbox events delivered, by sink")
+                            .tag("sink", name)
+                            .register(meterRegistry),
+                    Counter.builder("auction.outbox.failures")
+                            .description("Failed outbox deliveries, by sink")
+                            .tag("sink", name)
+                            .register(meterRegistry)));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        for (Consumer consumer : consumers) {
+            String name = consumer.sink.name();
+            if (!offsetRepository.existsById(name)) {
+                try {
+                    offsetRepository.save(new OutboxOffset(name, 0, System.currentTimeMillis()));
+                } catch (DataIntegrityViolationException e) {
+                    // Another node created it first
+                }
+            }
+        }
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Outbox relay delivering to {}", consumers.stream().map(consumer -> consumer.sink.name()).toList());
+    }
+
+    private void run() {
+        while (running) {
+            boolean more = false;
+            for (Consumer consumer : consumers) {
+                if (running && System.currentTimeMillis() >= consumer.retryAtMillis) {
+                    more |= deliver(consumer) == batchSize;
+                }
+            }
+            purgeIfDue();
+            if (!more) {
+                // Parking, not sleep: an interrupt would close the file sink's channel mid-write
+                LockSupport.parkNanos(pollIntervalNanos);
+            }
+        }
+    }
+
+    /** Delivers the next batch to one sink; returns how many events went out. */
+    private int deliver(Consumer consumer) {
+        String name = consumer.sink.name();
+        try {
+            Integer delivered = transactionTemplate.execute(status -> {
+                OutboxOffset offset = offsetRepository.lockByConsumer(name)
+                        .orElseThrow(() -> new IllegalStateException("No outbox offset row for sink " + name));
+                List<Long> pending = deliveryRepository.findPendingEventIds(name, Limit.of(batchSize));
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                List<OutboxEvent> events = eventRepository.findAllInOrder(pending);
+                try {
+                    consumer.sink.publish(events.stream().map(OutboxMessage::of).toList());
+                } catch (Exception e) {
+                    throw new IllegalStateException("Outbox sink " + name + " failed", e);
+                }
+                deliveryRepository.deleteDelivered(name, pending);
+                offset.setLastEventId(events.get(events.size() - 1).getId());
+                offset.setUpdatedAtMillis(System.currentTimeMillis());
+                return pending.size();
+            });
+            int count = delivered != null ? delivered : 0;
+            consumer.delivered.increment(count);
+            consumer.backoffMillis = 0;
+            return count;
+        } catch (RuntimeException e) {
+            consumer.failures.increment();
+            consumer.backoffMillis = Math.min(MAX_BACKOFF_MILLIS,
+                    consumer.backoffMillis == 0 ? TimeUnit.NANOSECONDS.toMillis(pollIntervalNanos) * 2 : consumer.backoffMillis * 2);
+            consumer.retryAtMillis = System.currentTimeMillis() + consumer.backoffMillis;
+            logger.warn("Outbox delivery to {} failed, retrying in {} ms: {}", name, consumer.backoffMillis, e.getMessage());
+            return 0;
+        }
+    }
+
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        if (now < nextPurgeMillis) {
+            return;
+        }
+        nextPurgeMillis = now + PURGE_INTERVAL_MILLIS;
+        try {
+            int purged = eventRepository.deleteDelivered(LocalDateTime.now().minus(retention));
+            if (purged > 0) {
+                logger.debug("Purged {} delivered outbox events", purged);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(5_000);
+    }
+
+    private static final class Consumer {
+        final OutboxSink sink;
+        final Counter delivered;
+        final Counter failures;
+        // Touched only by the relay thread
+        long backoffMillis;
+        long retryAtMillis;
+
+        Consumer(OutboxSink sink, Counter delivered, Counter failures) {
+            this.sink = sink;
+            this.delivered = delivered;
+            this.failures = failures;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.simpleauction.outbox;
+
+import java.util.List;
+
+/**
+ * Somewhere {@link OutboxRelay} delivers outbox events, picked by name in {@code auction.outbox.sinks}.
+ * Each sink has its own offset. A batch that throws is delivered again, in full, on a later attempt,
+ * so {@link #publish} should be idempotent per event ID or its consumers should tolerate repeats.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    /** Delivers a batch, in ID order; returns only once it is durable at the destination. */
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
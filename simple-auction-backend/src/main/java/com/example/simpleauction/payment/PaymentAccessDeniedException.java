@@ -0,0 +1,12 @@
+package com.example.simpleauction.payment;
+
+/**
+ * The caller is neither the item's seller nor its highest bidder, so its payment (status, idempotency key and
+ * gateway order) is not theirs to see. Answered with 403.
+ */
+public class PaymentAccessDeniedException extends RuntimeException {
+
+    public PaymentAccessDeniedException(Long itemId) {
+        super("Only the seller and the winning bidder can see the payment for item " + itemId + ".");
+    }
+}
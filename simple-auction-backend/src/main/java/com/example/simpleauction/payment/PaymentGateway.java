@@ -0,0 +1,14 @@
+package com.example.simpleauction.payment;
+
+/**
+ * A payment provider. Implementations must treat {@link PaymentRequest#idempotencyKey()} as the identity
+ * of the charge: retrying the same key must never charge twice.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charges (or starts charging) the winner. Throws {@link PaymentGatewayException} for transient
+     * failures worth retrying; a decline is a normal {@link PaymentResult}, not an exception.
+     */
+    PaymentResult charge(PaymentRequest request) throws PaymentGatewayException;
+}
@@ -0,0 +1,15 @@
+package com.example.simpleauction.payment;
+
+/**
+ * A transient gateway failure (network, timeout, 5xx). The payment worker retries these.
+ */
+public class PaymentGatewayException extends Exception {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.simpleauction.payment;
+
+import java.math.BigDecimal;
+
+public record PaymentRequest(String idempotencyKey, Long itemId, String payerEmail, BigDecimal amount) {
+}
@@ -0,0 +1,24 @@
+package com.example.simpleauction.payment;
+
+/**
+ * Outcome of one gateway call. {@code gatewayReference} is the provider's ID for the charge/order, if any.
+ */
+public record PaymentResult(Outcome outcome, String gatewayReference, String message) {
+
+    public enum Outcome {
+        /** Money captured; the item becomes PAID. */
+        PAID,
+        /** Definitive decline; the item becomes FAILED and the winner may try again. */
+        DECLINED,
+        /** The provider accepted the request but the customer still has to complete it; the item stays PENDING. */
+        AWAITING_CUSTOMER
+    }
+
+    public static PaymentResult paid(String reference) {
+        return new PaymentResult(Outcome.PAID, reference, null);
+    }
+
+    public static PaymentResult declined(String reference, String message) {
+        return new PaymentResult(Outcome.DECLINED, reference, message);
+    }
+}
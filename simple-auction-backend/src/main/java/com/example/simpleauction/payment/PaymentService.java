@@ -0,0 +1,315 @@
+package com.example.simpleauction.payment;
+
+import com.example.simpleauction.config.WorkerThreads;
+import com.example.simpleauction.dashboard.UserDashboardProjection;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.outbox.Outbox;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.service.ItemDetailCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Asynchronous payment pipeline.
+ * <p>
+ * {@link #initiatePayment} validates the winner and flips the item to PENDING in one short transaction,
+ * then hands a job to a worker pool and returns immediately. Workers call the {@link PaymentGateway}
+ * outside any transaction, with a per-call timeout and a bounded number of retries (same idempotency key
+ * each time), and record the outcome with a second short update. No DB connection is held while the
+ * gateway is working. PENDING jobs left over from a restart are resumed on startup, except those the gateway
+ * already handed to the customer: their order ID is stored and the gateway's webhook settles them
+ * ({@link #settleGatewayOrder}).
+ * <p>
+ * Metrics: {@code auction.payment.job} (claim to final outcome, including retries and backoff, tagged by
+ * outcome), {@code auction.payment.gateway.call} (each attempt) and {@code auction.payment.retries}.
+ */
+@Service
+public class PaymentService {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
+
+    public static final String PENDING = "PENDING";
+    public static final String PAID = "PAID";
+    public static final String FAILED = "FAILED";
+    // Razorpay caps an order's receipt, which carries the key, at 40 characters
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 40;
+
+    private final ItemRepository itemRepository;
+    private final ItemDetailCache itemDetailCache;
+    private final PaymentGateway gateway;
+    private final TransactionTemplate transactionTemplate;
+    private final Outbox outbox;
+    private final UserDashboardProjection dashboard;
+    private final Duration callTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final ExecutorService workers;
+    private final ExecutorService gatewayCalls;
+    private final ScheduledExecutorService retryScheduler;
+    private final MeterRegistry meterRegistry;
+    private final Counter retries;
+
+    public PaymentService(ItemRepository itemRepository, ItemDetailCache itemDetailCache, PaymentGateway gateway,
+                          TransactionTemplate transactionTemplate, Outbox outbox, UserDashboardProjection dashboard,
+                          MeterRegistry meterRegistry, WorkerThreads workerThreads,
+                          @Value("${auction.payment.workers:8}") int workerCount,
+                          @Value("${auction.payment.timeout:PT5S}") Duration callTimeout,
+                          @Value("${auction.payment.max-attempts:3}") int maxAttempts,
+                          @Value("${auction.payment.retry-backoff:PT1S}") Duration retryBackoff) {
+        this.itemRepository = itemRepository;
+        this.itemDetailCache = itemDetailCache;
+        this.gateway = gateway;
+        this.transactionTemplate = transactionTemplate;
+        this.outbox = outbox;
+        this.dashboard = dashboard;
+        this.callTimeout = callTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        // Virtual in the virtual-thread execution mode; the pool sizes still cap concurrent jobs and gateway calls
+        this.workers = Executors.newFixedThreadPool(workerCount, workerThreads.factory("payment-worker-"));
+        this.gatewayCalls = Executors.newFixedThreadPool(workerCount, workerThreads.factory("payment-gateway-"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("payment-retry-"));
+        this.meterRegistry = meterRegistry;
+        this.retries = Counter.builder("auction.payment.retries")
+                .description("Payment gateway calls retried after a timeout or transient failure")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts (or joins) the payment for an ended auction. Idempotent: while a payment is PENDING or once
+     * it is PAID, calling again returns the existing ticket instead of charging again.
+     *
+     * @param idempotencyKey optional client-supplied key of at most {@link #MAX_IDEMPOTENCY_KEY_LENGTH}
+     *                       characters; generated if null
+     */
+    public PaymentTicket initiatePayment(Long itemId, String winningUserEmail, String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters.");
+        }
+        Claim claim = transactionTemplate.execute(status -> claim(itemId, winningUserEmail, idempotencyKey));
+        if (claim.job() != null) {
+            itemDetailCache.invalidate(itemId); // after commit, so a reload sees PENDING
+            submit(claim.job());
+        }
+        return claim.ticket();
+    }
+
+    /** The item's payment, for its seller or highest bidder; anyone else gets {@link PaymentAccessDeniedException}. */
+    public PaymentTicket getPaymentStatus(Long itemId, String callerEmail) {
+        Item item = itemRepository.findWithParticipantsById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Item not found with ID: " + itemId));
+        boolean seller = item.getSeller().getEmail().equals(callerEmail);
+        boolean winner = item.getHighestBidder() != null && item.getHighestBidder().getEmail().equals(callerEmail);
+        if (!seller && !winner) {
+            throw new PaymentAccessDeniedException(itemId);
+        }
+        return new PaymentTicket(itemId, item.getPaymentStatus(), item.getPaymentReference(), item.getGatewayOrderId());
+    }
+
+    /**
+     * Settles a payment the gateway left awaiting the customer, from the gateway's verified notification that
+     * the order was paid (or that the customer's payment failed, so they may try again). A paid order wins even
+     * over an earlier failure: the customer may retry on the same order after a declined attempt. Returns false
+     * if no pending payment has that order; a repeated notification changes nothing.
+     */
+    public boolean settleGatewayOrder(String gatewayOrderId, boolean paid) {
+        Optional<Item> item = itemRepository.findByGatewayOrderId(gatewayOrderId);
+        if (item.isEmpty()) {
+            logger.warn("Payment notification for unknown gateway order {}", gatewayOrderId);
+            return false;
+        }
+        Long itemId = item.get().getId();
+        boolean moved = paid
+                ? record(itemId, item.get().getPaymentReference(), PAID,
+                        () -> itemRepository.markGatewayOrderPaid(itemId, gatewayOrderId))
+                : record(itemId, item.get().getPaymentReference(), FAILED);
+        if (moved) {
+            logger.info("Gateway order {} for item ID: {} {}.", gatewayOrderId, itemId, paid ? "paid" : "failed");
+        }
+        return moved;
+    }
+
+    private Claim claim(Long itemId, String winningUserEmail, String requestedKey) {
+        Item item = itemRepository.findWithParticipantsById(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Item not found with ID: " + itemId));
+
+        // Not the end time: the bid engine may hold soft-close extensions the row doesn't have yet. The close
+        // engine sets CLOSED only once the engine's writes for the item have drained.
+        if (!"CLOSED".equals(item.getAuctionStatus())) {
+            logger.debug("Payment attempt for ongoing auction. Item ID: {}, User: {}", itemId, winningUserEmail);
+            throw new IllegalStateException("Auction has not ended yet.");
+        }
+        if (item.getHighestBidder() == null || !item.getHighestBidder().getEmail().equals(winningUserEmail)) {
+            logger.debug("Non-winner payment attempt. Item ID: {}, User: {}", itemId, winningUserEmail);
+            throw new IllegalArgumentException("You are not the highest bidder for this item.");
+        }
+        if (PAID.equalsIgnoreCase(item.getPaymentStatus()) || PENDING.equalsIgnoreCase(item.getPaymentStatus())) {
+            return new Claim(new PaymentTicket(itemId, item.getPaymentStatus(), item.getPaymentReference(),
+                    item.getGatewayOrderId()), null);
+        }
+
+        String key = requestedKey != null && !requestedKey.isBlank() ? requestedKey : newIdempotencyKey();
+        if (itemRepository.markPaymentPending(itemId, key) == 0) {
+            // Another request claimed it between our read and update
+            return new Claim(new PaymentTicket(itemId, PENDING, null), null);
+        }
+        PaymentRequest request = new PaymentRequest(key, itemId, winningUserEmail, item.getCurrentBidPrice());
+        PaymentTicket ticket = new PaymentTicket(itemId, PENDING, key);
+        outbox.paymentUpdated(ticket);
+        dashboard.paymentUpdated(itemId, PENDING);
+        return new Claim(ticket, new PaymentJob(request));
+    }
+
+    // 36 characters, within MAX_IDEMPOTENCY_KEY_LENGTH
+    static String newIdempotencyKey() {
+        return "pay-" + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingPayments() {
+        for (Item item : itemRepository.findPendingPayments()) {
+            logger.info("Resuming pending payment for item {} (key {})", item.getId(), item.getPaymentReference());
+            submit(new PaymentJob(new PaymentRequest(item.getPaymentReference(), item.getId(),
+                    item.getHighestBidder().getEmail(), item.getCurrentBidPrice())));
+        }
+    }
+
+    private void submit(PaymentJob job) {
+        workers.execute(() -> attempt(job));
+    }
+
+    private void attempt(PaymentJob job) {
+        int attempt = job.attempts.incrementAndGet();
+        long started = System.nanoTime();
+        Future<PaymentResult> call = gatewayCalls.submit(() -> gateway.charge(job.request()));
+        try {
+            PaymentResult result = call.get(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            time("auction.payment.gateway.call", "ok", started);
+            complete(job, result);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            time("auction.payment.gateway.call", "timeout", started);
+            retryOrFail(job, attempt, "gateway call timed out after " + callTimeout.toMillis() + " ms");
+        } catch (ExecutionException e) {
+            time("auction.payment.gateway.call", "error", started);
+            retryOrFail(job, attempt, String.valueOf(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt(); // shutting down; the job resumes on next startup
+        } catch (RuntimeException e) {
+            logger.error("Failed to record payment outcome for item {}", job.request().itemId(), e);
+        }
+    }
+
+    private void retryOrFail(PaymentJob job, int attempt, String reason) {
+        Long itemId = job.request().itemId();
+        if (attempt < maxAttempts) {
+            long delay = retryBackoff.toMillis() * attempt;
+            logger.warn("Payment attempt {} for item {} failed ({}); retrying in {} ms", attempt, itemId, reason, delay);
+            retries.increment();
+            retryScheduler.schedule(() -> submit(job), delay, TimeUnit.MILLISECONDS);
+        } else {
+            logger.error("Payment for item {} failed after {} attempts: {}", itemId, attempt, reason);
+            record(itemId, job.request().idempotencyKey(), FAILED);
+            time("auction.payment.job", "failed", job.queuedAtNanos());
+        }
+    }
+
+    private void complete(PaymentJob job, PaymentResult result) {
+        Long itemId = job.request().itemId();
+        String key = job.request().idempotencyKey();
+        switch (result.outcome()) {
+            case PAID -> {
+                record(itemId, key, PAID);
+                time("auction.payment.job", "paid", job.queuedAtNanos());
+                logger.info("Payment successful for item ID: {} (gateway ref {}).", itemId, result.gatewayReference());
+            }
+            case DECLINED -> {
+                record(itemId, key, FAILED);
+                time("auction.payment.job", "declined", job.queuedAtNanos());
+                logger.warn("Payment declined for item ID: {} (gateway ref {}): {}", itemId, result.gatewayReference(), result.message());
+            }
+            case AWAITING_CUSTOMER -> {
+                // Stored, so a restart does not create a second order and the webhook can find the item
+                transactionTemplate.executeWithoutResult(tx -> itemRepository.recordGatewayOrder(itemId, key, result.gatewayReference()));
+                time("auction.payment.job", "awaiting_customer", job.queuedAtNanos());
+                logger.info("Payment for item ID: {} awaiting customer (gateway ref {}).", itemId, result.gatewayReference());
+            }
+        }
+    }
+
+    private boolean record(Long itemId, String key, String status) {
+        return record(itemId, key, status, () -> itemRepository.completePayment(itemId, key, status));
+    }
+
+    private boolean record(Long itemId, String key, String status, IntSupplier update) {
+        Boolean moved = transactionTemplate.execute(tx -> {
+            // Only the update that actually moved the payment gets an event
+            if (update.getAsInt() == 0) {
+                return false;
+            }
+            outbox.paymentUpdated(new PaymentTicket(itemId, status, key));
+            dashboard.paymentUpdated(itemId, status);
+            return true;
+        });
+        itemDetailCache.invalidate(itemId);
+        return Boolean.TRUE.equals(moved);
+    }
+
+    // Few outcomes and rare enough (once per payment) that a registry lookup per call is fine
+    private void time(String name, String outcome, long startedNanos) {
+        Timer.builder(name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdownNow();
+        gatewayCalls.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Claim(PaymentTicket ticket, PaymentJob job) {
+    }
+
+    private record PaymentJob(PaymentRequest request, AtomicInteger attempts, long queuedAtNanos) {
+        PaymentJob(PaymentRequest request) {
+            this(request, new AtomicInteger(), System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.simpleauction.payment;
+
+/**
+ * Returned by POST /api/items/{id}/pay: the job was accepted (or already finished) and can be polled
+ * via GET /api/items/{id}/payment or followed on the item's bid stream. {@code gatewayOrderId} is set once
+ * the gateway is waiting for the customer (Razorpay: the order to open checkout with).
+ */
+public record PaymentTicket(Long itemId, String status, String idempotencyKey, String gatewayOrderId) {
+
+    public PaymentTicket(Long itemId, String status, String idempotencyKey) {
+        this(itemId, status, idempotencyKey, null);
+    }
+}
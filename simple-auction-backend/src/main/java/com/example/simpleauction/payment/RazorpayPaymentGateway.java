@@ -0,0 +1,107 @@
+package com.example.simpleauction.payment;
+
+import com.razorpay.Order;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import com.razorpay.Utils;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Razorpay implementation. Creates an order carrying the idempotency key as its {@code receipt}, which Razorpay
+ * caps at 40 characters ({@link PaymentService#MAX_IDEMPOTENCY_KEY_LENGTH}). Razorpay does not deduplicate on
+ * receipts, so a retry (say after a timed-out create that went through) first looks the receipt up and reuses
+ * the order it finds. The customer then completes checkout on the client, so the item stays PENDING until
+ * Razorpay's webhook ({@link #readWebhook}, signed with {@code razorpay.webhook.secret}) confirms it.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.payment.gateway", havingValue = "razorpay")
+public class RazorpayPaymentGateway implements PaymentGateway {
+
+    private final RazorpayClient client;
+    private final String currency;
+    private final String webhookSecret;
+
+    public RazorpayPaymentGateway(@Value("${razorpay.key.id}") String keyId,
+                                  @Value("${razorpay.key.secret}") String keySecret,
+                                  @Value("${razorpay.webhook.secret}") String webhookSecret,
+                                  @Value("${auction.payment.currency:INR}") String currency) throws RazorpayException {
+        this.client = new RazorpayClient(keyId, keySecret);
+        this.webhookSecret = webhookSecret;
+        this.currency = currency;
+    }
+
+    @Override
+    public PaymentResult charge(PaymentRequest request) throws PaymentGatewayException {
+        JSONObject orderRequest = new JSONObject();
+        // Razorpay amounts are in the currency's minor unit (paise for INR)
+        orderRequest.put("amount", request.amount().setScale(2, RoundingMode.UNNECESSARY).movePointRight(2).longValueExact());
+        orderRequest.put("currency", currency);
+        orderRequest.put("receipt", request.idempotencyKey());
+        orderRequest.put("notes", new JSONObject().put("itemId", request.itemId()).put("payer", request.payerEmail()));
+        try {
+            List<Order> existing = findOrders(request.idempotencyKey());
+            if (!existing.isEmpty()) {
+                return new PaymentResult(PaymentResult.Outcome.AWAITING_CUSTOMER, existing.get(0).get("id"), "Order exists");
+            }
+        } catch (RazorpayException e) {
+            // Creating now could duplicate an order we can't see; retry the lookup instead
+            throw new PaymentGatewayException("Razorpay order lookup failed for receipt " + request.idempotencyKey(), e);
+        }
+        try {
+            Order order = createOrder(orderRequest);
+            return new PaymentResult(PaymentResult.Outcome.AWAITING_CUSTOMER, order.get("id"), "Order created");
+        } catch (RazorpayException e) {
+            throw new PaymentGatewayException("Razorpay order creation failed for receipt " + request.idempotencyKey(), e);
+        }
+    }
+
+    // Overridden by tests in place of calls to Razorpay
+    List<Order> findOrders(String receipt) throws RazorpayException {
+        return client.orders.fetchAll(new JSONObject().put("receipt", receipt));
+    }
+
+    // Overridden by tests in place of calls to Razorpay
+    Order createOrder(JSONObject orderRequest) throws RazorpayException {
+        return client.orders.create(orderRequest);
+    }
+
+    /**
+     * Checks a webhook delivery's {@code X-Razorpay-Signature} and reads which order it settles: PAID for
+     * {@code order.paid} and {@code payment.captured}, DECLINED for {@code payment.failed}, empty for any other
+     * event. Throws {@link IllegalArgumentException} if the signature does not match or the body is not an event.
+     */
+    public Optional<PaymentResult> readWebhook(String payload, String signature) {
+        try {
+            if (signature == null || !Utils.verifyWebhookSignature(payload, signature, webhookSecret)) {
+                throw new IllegalArgumentException("Invalid Razorpay webhook signature.");
+            }
+        } catch (RazorpayException e) {
+            throw new IllegalArgumentException("Could not verify Razorpay webhook signature.", e);
+        }
+        try {
+            JSONObject event = new JSONObject(payload);
+            JSONObject body = event.getJSONObject("payload");
+            return switch (event.getString("event")) {
+                case "order.paid" -> Optional.of(PaymentResult.paid(body.getJSONObject("order").getJSONObject("entity").getString("id")));
+                case "payment.captured" -> Optional.of(PaymentResult.paid(payment(body).getString("order_id")));
+                case "payment.failed" -> Optional.of(PaymentResult.declined(payment(body).getString("order_id"),
+                        payment(body).optString("error_description", "Payment failed")));
+                default -> Optional.empty();
+            };
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Malformed Razorpay webhook: " + e.getMessage(), e);
+        }
+    }
+
+    private static JSONObject payment(JSONObject body) {
+        return body.getJSONObject("payment").getJSONObject("entity");
+    }
+}
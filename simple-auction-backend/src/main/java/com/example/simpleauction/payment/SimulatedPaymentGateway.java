@@ -0,0 +1,49 @@
+package com.example.simpleauction.payment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for a real provider: sleeps for a configurable latency and approves most charges.
+ * Remembers outcomes per idempotency key, like a real gateway would, so retries never charge twice.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.payment.gateway", havingValue = "simulator", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final Map<String, PaymentResult> outcomes = new ConcurrentHashMap<>();
+    private final Duration latency;
+    private final double successRate;
+
+    public SimulatedPaymentGateway(@Value("${auction.payment.simulator.latency:PT0.75S}") Duration latency,
+                                   @Value("${auction.payment.simulator.success-rate:0.85}") double successRate) {
+        this.latency = latency;
+        this.successRate = successRate;
+    }
+
+    @Override
+    public PaymentResult charge(PaymentRequest request) throws PaymentGatewayException {
+        PaymentResult previous = outcomes.get(request.idempotencyKey());
+        if (previous != null) {
+            return previous;
+        }
+        try {
+            Thread.sleep(latency.toMillis()); // Simulate network delay
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Simulated gateway call interrupted", e);
+        }
+        String reference = "sim_" + UUID.randomUUID();
+        PaymentResult result = Math.random() < successRate
+                ? PaymentResult.paid(reference)
+                : PaymentResult.declined(reference, "Simulated decline");
+        PaymentResult winner = outcomes.putIfAbsent(request.idempotencyKey(), result);
+        return winner != null ? winner : result;
+    }
+}
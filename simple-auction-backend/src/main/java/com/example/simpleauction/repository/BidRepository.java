@@ -1,14 +1,27 @@
 package com.example.simpleauction.repository;
 
+import com.example.simpleauction.dto.BidListing;
 import com.example.simpleauction.entity.Bid;
-import com.example.simpleauction.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface BidRepository extends JpaRepository<Bid, Long> {
-    List<Bid> findByBidderOrderByBidTimeDesc(User bidder);
+    String BID_LISTING_SELECT = "select new com.example.simpleauction.dto.BidListing(b.id, i.id, i.name, u.email, " +
+            "b.bidAmount, b.bidTime) from Bid b join b.item i join b.bidder u ";
+
     List<Bid> findByBidderEmailOrderByBidTimeDesc(String email);
     List<Bid> findByItemIdOrderByBidAmountDesc(Long itemId);
-}
\ No newline at end of file
+
+    // Highest bids on an item (seeds the in-memory leaderboard)
+    @Query(BID_LISTING_SELECT + "where i.id = :itemId order by b.bidAmount desc")
+    List<BidListing> findTopBids(@Param("itemId") Long itemId, Limit limit);
+
+    // Keyset page of an item's history, newest first
+    @Query(BID_LISTING_SELECT + "where i.id = :itemId and b.id < :beforeId order by b.id desc")
+    List<BidListing> findHistoryBefore(@Param("itemId") Long itemId, @Param("beforeId") Long beforeId, Limit limit);
+}
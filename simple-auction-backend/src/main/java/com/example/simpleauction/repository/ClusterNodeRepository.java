@@ -0,0 +1,22 @@
+package com.example.simpleauction.repository;
+
+import com.example.simpleauction.entity.ClusterNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    List<ClusterNode> findByHeartbeatAtMillisGreaterThan(long sinceMillis);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ClusterNode n where n.heartbeatAtMillis < :before")
+    int deleteSilentSince(@Param("before") long beforeMillis);
+}
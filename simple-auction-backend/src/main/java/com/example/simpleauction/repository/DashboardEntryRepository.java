@@ -0,0 +1,63 @@
+package com.example.simpleauction.repository;
+
+import com.example.simpleauction.entity.DashboardEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DashboardEntryRepository extends JpaRepository<DashboardEntry, DashboardEntry.Key> {
+
+    // One range scan of idx_dashboard_user_page per page
+    @Query("select e from DashboardEntry e where e.userId = :userId and e.role = :role and e.sortKey < :before " +
+           "order by e.sortKey desc")
+    List<DashboardEntry> findPage(@Param("userId") Long userId, @Param("role") String role,
+                                  @Param("before") long before, Limit limit);
+
+    // A superset of the (bidder, item) pairs in a write batch; the caller picks its pairs out
+    @Query("select e from DashboardEntry e where e.role = 'BIDDER' and e.itemId in :itemIds and e.userId in :userIds")
+    List<DashboardEntry> findBidderEntries(@Param("itemIds") Collection<Long> itemIds, @Param("userIds") Collection<Long> userIds);
+
+    // Conditional like ItemRepository.raiseHighestBid, so a replayed or late write never lowers the price
+    @Modifying(flushAutomatically = true)
+    @Query("update DashboardEntry e set e.currentPrice = :price, e.highestBidderId = :bidderId, " +
+           "e.highestBidderEmail = :bidderEmail, e.auctionEndTime = :endTime, e.paymentStatus = null " +
+           "where e.itemId = :itemId and (e.currentPrice is null or e.currentPrice <= :price)")
+    int applyHighestBid(@Param("itemId") Long itemId, @Param("price") BigDecimal price, @Param("bidderId") Long bidderId,
+                        @Param("bidderEmail") String bidderEmail, @Param("endTime") LocalDateTime endTime);
+
+    @Modifying
+    @Query("update DashboardEntry e set e.auctionStatus = 'CLOSED' where e.itemId in :itemIds")
+    int markClosed(@Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying
+    @Query("update DashboardEntry e set e.paymentStatus = :status where e.itemId = :itemId")
+    int updatePaymentStatus(@Param("itemId") Long itemId, @Param("status") String status);
+
+    // --- Rebuild from the write model ---
+    @Modifying
+    @Query("insert into DashboardEntry (userId, itemId, role, sortKey, itemName, description, category, imageUrl, " +
+           "startingPrice, currentPrice, auctionEndTime, auctionStatus, paymentStatus, highestBidderId, highestBidderEmail, myBidCount) " +
+           "select i.seller.id, i.id, 'SELLER', i.id, i.name, i.description, i.category, i.imageUrl, " +
+           "i.startingPrice, i.currentBidPrice, i.auctionEndTime, coalesce(i.auctionStatus, 'OPEN'), i.paymentStatus, hb.id, hb.email, 0 " +
+           "from Item i left join i.highestBidder hb")
+    int insertSellerEntries();
+
+    @Modifying
+    @Query("insert into DashboardEntry (userId, itemId, role, sortKey, itemName, category, currentPrice, auctionEndTime, " +
+           "auctionStatus, paymentStatus, highestBidderId, highestBidderEmail, myHighestBid, myBidCount, lastBidTime) " +
+           "select b.bidder.id, i.id, 'BIDDER', max(b.id), i.name, i.category, i.currentBidPrice, i.auctionEndTime, " +
+           "coalesce(i.auctionStatus, 'OPEN'), i.paymentStatus, hb.id, hb.email, max(b.bidAmount), count(b), max(b.bidTime) " +
+           "from Bid b join b.item i left join i.highestBidder hb " +
+           "group by b.bidder.id, i.id, i.name, i.category, i.currentBidPrice, i.auctionEndTime, i.auctionStatus, " +
+           "i.paymentStatus, hb.id, hb.email")
+    int insertBidderEntries();
+}
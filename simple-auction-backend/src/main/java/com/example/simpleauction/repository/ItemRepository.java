@@ -1,15 +1,162 @@
 package com.example.simpleauction.repository;
 
+import com.example.simpleauction.dto.ItemBidState;
+import com.example.simpleauction.dto.ItemListing;
 import com.example.simpleauction.entity.Item;
 import com.example.simpleauction.entity.User;
+import com.example.simpleauction.lifecycle.AuctionClosedEvent;
+import com.example.simpleauction.lifecycle.ScheduledClose;
+import com.example.simpleauction.search.ItemSearchDocument;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByCategoryIgnoreCase(String category);
-    List<Item> findBySeller(User seller); // Find by seller entity
-    List<Item> findBySellerEmail(String email); // Find by seller email directly
-    List<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String nameTerm, String descriptionTerm);
+    String LISTING_SELECT = "select new com.example.simpleauction.dto.ItemListing(i.id, i.name, i.description, " +
+            "i.startingPrice, i.currentBidPrice, i.category, i.imageUrl, i.auctionEndTime, i.auctionStatus, i.paymentStatus, " +
+            "s.email, hb.email) from Item i join i.seller s left join i.highestBidder hb ";
+
+    // --- Keyset (cursor) pages ordered by ID: each page is one indexed range scan, no N+1 ---
+    @Query(LISTING_SELECT + "where i.id > :afterId order by i.id")
+    List<ItemListing> findListingsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(LISTING_SELECT + "where lower(i.category) = lower(:category) and i.id > :afterId order by i.id")
+    List<ItemListing> findListingsByCategoryAfter(@Param("category") String category, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(LISTING_SELECT + "where (lower(i.name) like :pattern or lower(i.description) like :pattern) " +
+           "and (:category is null or lower(i.category) = lower(:category)) and i.id > :afterId order by i.id")
+    List<ItemListing> searchListingsAfter(@Param("pattern") String pattern, @Param("category") String category,
+                                          @Param("afterId") Long afterId, Limit limit);
+
+    // --- Auction close engine (see AuctionCloseScheduler) ---
+    @Query("select new com.example.simpleauction.lifecycle.ScheduledClose(i.id, i.auctionEndTime) from Item i " +
+           "where (i.auctionStatus is null or i.auctionStatus = 'OPEN') and i.id > :afterId order by i.id")
+    List<ScheduledClose> findOpenAuctionsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.example.simpleauction.lifecycle.ScheduledClose(i.id, i.auctionEndTime) from Item i " +
+           "where i.id = :id and (i.auctionStatus is null or i.auctionStatus = 'OPEN')")
+    Optional<ScheduledClose> findOpenAuction(@Param("id") Long id);
+
+    // Locks the rows so a concurrent soft-close extension can't slip between the check and the close
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from Item i where i.id in :ids and i.auctionEndTime <= :now " +
+           "and (i.auctionStatus is null or i.auctionStatus = 'OPEN')")
+    List<Long> lockClosableIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Item i set i.auctionStatus = 'CLOSED' where i.id in :ids")
+    int markClosed(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.example.simpleauction.lifecycle.AuctionClosedEvent(i.id, i.name, i.category, " +
+           "coalesce(i.currentBidPrice, i.startingPrice), hb.email, i.auctionEndTime) " +
+           "from Item i left join i.highestBidder hb where i.id in :ids")
+    List<AuctionClosedEvent> findClosedAuctionEvents(@Param("ids") Collection<Long> ids);
+
+    // --- Payment state transitions (short, conditional updates; see PaymentService) ---
+    @Modifying
+    @Query("update Item i set i.paymentStatus = 'PENDING', i.paymentReference = :key, i.gatewayOrderId = null " +
+           "where i.id = :id and (i.paymentStatus is null or i.paymentStatus = 'FAILED')")
+    int markPaymentPending(@Param("id") Long id, @Param("key") String idempotencyKey);
+
+    @Modifying
+    @Query("update Item i set i.paymentStatus = :status " +
+           "where i.id = :id and i.paymentReference = :key and i.paymentStatus = 'PENDING'")
+    int completePayment(@Param("id") Long id, @Param("key") String idempotencyKey, @Param("status") String status);
+
+    // The order recorded for the current attempt was paid: settles it even after a failed try on that order
+    @Modifying
+    @Query("update Item i set i.paymentStatus = 'PAID' " +
+           "where i.id = :id and i.gatewayOrderId = :orderId and i.paymentStatus in ('PENDING', 'FAILED')")
+    int markGatewayOrderPaid(@Param("id") Long id, @Param("orderId") String gatewayOrderId);
+
+    @Modifying
+    @Query("update Item i set i.gatewayOrderId = :orderId " +
+           "where i.id = :id and i.paymentReference = :key and i.paymentStatus = 'PENDING'")
+    int recordGatewayOrder(@Param("id") Long id, @Param("key") String idempotencyKey, @Param("orderId") String gatewayOrderId);
+
+    @Query("select i from Item i where i.gatewayOrderId = :orderId")
+    Optional<Item> findByGatewayOrderId(@Param("orderId") String gatewayOrderId);
+
+    // Not yet handed to the gateway; one awaiting the customer is settled by the gateway's webhook instead
+    @Query("select i from Item i join fetch i.highestBidder where i.paymentStatus = 'PENDING' " +
+           "and i.paymentReference is not null and i.gatewayOrderId is null")
+    List<Item> findPendingPayments();
+
+    @Query(LISTING_SELECT + "where i.id in :ids")
+    List<ItemListing> findListingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Text fields only, paged by ID, for building the in-memory search index
+    @Query("select new com.example.simpleauction.search.ItemSearchDocument(i.id, i.name, i.description, i.category) " +
+           "from Item i where i.id > :afterId order by i.id")
+    List<ItemSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Loads seller and highest bidder in the same select (used to seed the in-memory bid engine)
+    @Query("select i from Item i join fetch i.seller left join fetch i.highestBidder where i.id = :id")
+    Optional<Item> findWithParticipantsById(@Param("id") Long id);
+
+    /**
+     * Atomically records a new highest bid: only succeeds while the auction is open at {@code bidTime},
+     * the bidder is not the seller and {@code amount} beats the current price. Returns rows updated (0 or 1).
+     * <p>
+     * Soft close is applied in the same statement: if the auction ends before {@code softCloseFrom}
+     * (bid time plus the soft-close window), its end moves forward by {@code extensionSeconds}.
+     */
+    @Modifying
+    @Query("update Item i set i.currentBidPrice = :amount, i.highestBidder = :bidder, i.paymentStatus = null, " +
+           "i.auctionEndTime = case when i.auctionEndTime < :softCloseFrom " +
+           "then i.auctionEndTime + :extensionSeconds second else i.auctionEndTime end, " +
+           "i.version = coalesce(i.version, 0) + 1 " +
+           "where i.id = :id and i.auctionEndTime > :bidTime and i.seller <> :bidder " +
+           "and (i.auctionStatus is null or i.auctionStatus = 'OPEN') " +
+           "and coalesce(i.currentBidPrice, i.startingPrice) < :amount")
+    int raiseHighestBid(@Param("id") Long id, @Param("bidder") User bidder,
+                        @Param("amount") BigDecimal amount, @Param("bidTime") LocalDateTime bidTime,
+                        @Param("softCloseFrom") LocalDateTime softCloseFrom,
+                        @Param("extensionSeconds") long extensionSeconds);
+
+    /**
+     * {@link #raiseHighestBid} for a caller that already knows the end time: matches only while the auction
+     * still ends at {@code expectedEndTime}, and sets the end to {@code endTime} (the caller's soft-close
+     * result), so the stored end is known without reading the row back. Returns 0 if the end has moved too.
+     */
+    @Modifying
+    @Query("update Item i set i.currentBidPrice = :amount, i.highestBidder = :bidder, i.paymentStatus = null, " +
+           "i.auctionEndTime = :endTime, i.version = coalesce(i.version, 0) + 1 " +
+           "where i.id = :id and i.auctionEndTime = :expectedEndTime and i.auctionEndTime > :bidTime " +
+           "and i.seller <> :bidder and (i.auctionStatus is null or i.auctionStatus = 'OPEN') " +
+           "and coalesce(i.currentBidPrice, i.startingPrice) < :amount")
+    int raiseHighestBidFrom(@Param("id") Long id, @Param("bidder") User bidder,
+                            @Param("amount") BigDecimal amount, @Param("bidTime") LocalDateTime bidTime,
+                            @Param("expectedEndTime") LocalDateTime expectedEndTime,
+                            @Param("endTime") LocalDateTime endTime);
+
+    // Read back after raiseHighestBid, so the end time includes any extension
+    @Query("select new com.example.simpleauction.dto.ItemBidState(i.name, i.category, i.auctionEndTime) " +
+           "from Item i where i.id = :id")
+    Optional<ItemBidState> findBidState(@Param("id") Long id);
+
+    /**
+     * Records the highest of a batch of bids already accepted by the in-memory engine, taking the engine's
+     * end time (which already includes its soft-close extensions) rather than re-deriving it. Never lowers
+     * the price or moves the end earlier, so a replayed or late write is harmless.
+     */
+    @Modifying
+    @Query("update Item i set i.currentBidPrice = :amount, i.highestBidder = :bidder, i.paymentStatus = null, " +
+           "i.auctionEndTime = case when i.auctionEndTime < :auctionEndTime then :auctionEndTime else i.auctionEndTime end, " +
+           "i.version = coalesce(i.version, 0) + 1 " +
+           "where i.id = :id and (i.auctionStatus is null or i.auctionStatus = 'OPEN') " +
+           "and coalesce(i.currentBidPrice, i.startingPrice) < :amount")
+    int applyEngineBid(@Param("id") Long id, @Param("bidder") User bidder, @Param("amount") BigDecimal amount,
+                       @Param("auctionEndTime") LocalDateTime auctionEndTime);
 }
@@ -0,0 +1,24 @@
+package com.example.simpleauction.repository;
+
+import com.example.simpleauction.entity.OutboxDelivery;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxDeliveryRepository extends JpaRepository<OutboxDelivery, OutboxDelivery.Key> {
+
+    // Range scan of the primary key: the consumer's oldest undelivered events
+    @Query("select d.eventId from OutboxDelivery d where d.consumer = :consumer order by d.eventId")
+    List<Long> findPendingEventIds(@Param("consumer") String consumer, Limit limit);
+
+    @Modifying
+    @Query("delete from OutboxDelivery d where d.consumer = :consumer and d.eventId in :eventIds")
+    int deleteDelivered(@Param("consumer") String consumer, @Param("eventIds") Collection<Long> eventIds);
+}
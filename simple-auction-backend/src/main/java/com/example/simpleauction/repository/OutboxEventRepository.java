@@ -0,0 +1,27 @@
+package com.example.simpleauction.repository;
+
+import com.example.simpleauction.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e where e.id in :ids order by e.id")
+    List<OutboxEvent> findAllInOrder(@Param("ids") Collection<Long> ids);
+
+    // Events no consumer is still owed
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.createdAt < :before and not exists " +
+           "(select d.eventId from OutboxDelivery d where d.eventId = e.id)")
+    int deleteDelivered(@Param("before") LocalDateTime before);
+}
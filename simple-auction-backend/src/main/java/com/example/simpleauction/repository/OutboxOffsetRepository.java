@@ -0,0 +1,20 @@
+package com.example.simpleauction.repository;
+
+import com.example.simpleauction.entity.OutboxOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+
+    // Held while a batch is delivered, so nodes relaying the same consumer take turns instead of racing
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from OutboxOffset o where o.consumer = :consumer")
+    Optional<OutboxOffset> lockByConsumer(@Param("consumer") String consumer);
+}
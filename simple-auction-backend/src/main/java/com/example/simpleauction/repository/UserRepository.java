@@ -1,7 +1,10 @@
 package com.example.simpleauction.repository;
 
+import com.example.simpleauction.auth.CallerIdentity;
 import com.example.simpleauction.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -9,4 +12,11 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // ID and email only (no password), for UserIdentityCache
+    @Query("select new com.example.simpleauction.auth.CallerIdentity(u.id, u.email) from User u where u.email = :email")
+    Optional<CallerIdentity> findIdentityByEmail(@Param("email") String email);
+
+    @Query("select new com.example.simpleauction.auth.CallerIdentity(u.id, u.email) from User u where u.id = :id")
+    Optional<CallerIdentity> findIdentityById(@Param("id") Long id);
+}
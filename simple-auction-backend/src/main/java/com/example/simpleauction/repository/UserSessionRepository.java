@@ -0,0 +1,24 @@
+package com.example.simpleauction.repository;
+
+import com.example.simpleauction.entity.UserSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSession, String> {
+
+    // Only ever moves expiry forward, so nodes sliding the same session can't shorten it
+    @Transactional
+    @Modifying
+    @Query("update UserSession s set s.expiresAtMillis = :expiresAt where s.token = :token and s.expiresAtMillis < :expiresAt")
+    int extend(@Param("token") String token, @Param("expiresAt") long expiresAtMillis);
+
+    @Transactional
+    @Modifying
+    @Query("delete from UserSession s where s.expiresAtMillis <= :now")
+    int deleteExpired(@Param("now") long nowMillis);
+}
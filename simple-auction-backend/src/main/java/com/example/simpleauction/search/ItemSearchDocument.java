@@ -0,0 +1,7 @@
+package com.example.simpleauction.search;
+
+/**
+ * The indexed fields of an item, projected straight from the items table.
+ */
+public record ItemSearchDocument(Long id, String name, String description, String category) {
+}
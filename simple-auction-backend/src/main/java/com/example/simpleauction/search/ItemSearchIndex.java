@@ -0,0 +1,327 @@
+package com.example.simpleauction.search;
+
+import com.example.simpleauction.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded inverted index over item name, description and category.
+ * <p>
+ * Built in the background once the application is ready (paging through {@link ItemRepository} by ID)
+ * and kept in sync by {@code ItemService} as items are created. Queries are tokenised, AND-ed,
+ * BM25-ranked (name hits weigh more than description hits), the last query token is prefix-expanded
+ * for type-ahead, and results can be restricted to a category. Until the first build completes
+ * {@link #isReady()} is false and callers fall back to the database.
+ * <p>
+ * Postings are packed {@code int}s: document ordinal in the high 24 bits, weighted term frequency
+ * (capped at 255) in the low 8 bits.
+ */
+@Component
+public class ItemSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ItemSearchIndex.class);
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int MAX_TERM_FREQUENCY = 0xFF;
+    private static final int MAX_DOCUMENTS = 1 << 24;
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final float PREFIX_MATCH_WEIGHT = 0.8f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    // --- Guarded by lock ---
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> ordinalsByItemId = new HashMap<>();
+    private long[] itemIds = new long[1024];
+    private String[] categories = new String[1024];
+    private int[] lengths = new int[1024];
+    private int documentCount;
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${auction.search.index.enabled:true}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::build, "item-search-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    void build() {
+        long began = System.nanoTime();
+        long afterId = 0;
+        List<ItemSearchDocument> page;
+        try {
+            do {
+                page = itemRepository.findSearchDocumentsAfter(afterId, Limit.of(BUILD_PAGE_SIZE));
+                lock.writeLock().lock();
+                try {
+                    for (ItemSearchDocument document : page) {
+                        addLocked(document);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == BUILD_PAGE_SIZE);
+            ready = true;
+            logger.info("Item search index built: {} items, {} terms in {} ms", documentCount, terms.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+        } catch (Exception e) {
+            logger.error("Failed to build item search index; search stays on the database.", e);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /** Adds a newly created item. Re-indexing an item already present is a no-op. */
+    public void index(ItemSearchDocument document) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            addLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Hits {@code offset} to {@code offset + limit} (exclusive) of the ranking for {@code query}. */
+    public SearchHits search(String query, String category, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Search offset must not be negative and limit must be positive.");
+        }
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new SearchHits(Collections.emptyList(), false);
+        }
+        String categoryFilter = category == null || category.isBlank() ? null : category.toLowerCase();
+
+        lock.readLock().lock();
+        try {
+            if (documentCount == 0) {
+                return new SearchHits(Collections.emptyList(), false);
+            }
+            List<QueryTerm> queryTerms = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                QueryTerm term = expand(tokens.get(i), i == tokens.size() - 1);
+                if (term.documentFrequency == 0) {
+                    return new SearchHits(Collections.emptyList(), false); // AND semantics: one miss means no hits
+                }
+                queryTerms.add(term);
+            }
+            // Rarest term first keeps the candidate set as small as possible
+            queryTerms.sort(Comparator.comparingInt(term -> term.documentFrequency));
+            return rank(queryTerms, categoryFilter, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Internals (callers hold the lock) ---
+
+    private void addLocked(ItemSearchDocument document) {
+        if (ordinalsByItemId.containsKey(document.id())) {
+            return;
+        }
+        if (documentCount == MAX_DOCUMENTS) {
+            throw new IllegalStateException("Item search index is full (" + MAX_DOCUMENTS + " items).");
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : Tokenizer.tokenize(document.name())) {
+            frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : Tokenizer.tokenize(document.description())) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        int ordinal = documentCount;
+        ensureCapacity(ordinal + 1);
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            int frequency = Math.min(entry.getValue(), MAX_TERM_FREQUENCY);
+            terms.computeIfAbsent(entry.getKey(), key -> new Postings()).add((ordinal << 8) | frequency);
+            length += frequency;
+        }
+        itemIds[ordinal] = document.id();
+        categories[ordinal] = document.category() == null ? null : document.category().toLowerCase().intern();
+        lengths[ordinal] = length;
+        totalLength += length;
+        ordinalsByItemId.put(document.id(), ordinal);
+        documentCount++;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > itemIds.length) {
+            int capacity = Math.max(required, itemIds.length * 2);
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+    }
+
+    private QueryTerm expand(String token, boolean prefix) {
+        QueryTerm term = new QueryTerm();
+        Postings exact = terms.get(token);
+        if (exact != null) {
+            term.add(exact, 1f);
+        }
+        if (prefix) {
+            for (Map.Entry<String, Postings> entry : terms.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (term.postings.size() >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                term.add(entry.getValue(), PREFIX_MATCH_WEIGHT);
+            }
+        }
+        return term;
+    }
+
+    private SearchHits rank(List<QueryTerm> queryTerms, String categoryFilter, int offset, int limit) {
+        Scratch work = scratch.get();
+        work.ensureCapacity(documentCount);
+        double averageLength = (double) totalLength / documentCount;
+        try {
+            for (int t = 0; t < queryTerms.size(); t++) {
+                QueryTerm term = queryTerms.get(t);
+                for (int p = 0; p < term.postings.size(); p++) {
+                    Postings postings = term.postings.get(p);
+                    double idf = Math.log(1 + (documentCount - postings.size + 0.5) / (postings.size + 0.5));
+                    float weight = term.weights.get(p);
+                    for (int i = 0; i < postings.size; i++) {
+                        int entry = postings.entries[i];
+                        int ordinal = entry >>> 8;
+                        int matched = work.matched[ordinal];
+                        if (matched != t && matched != t + 1) {
+                            continue; // missed an earlier (rarer) term
+                        }
+                        if (t == 0 && matched == 0) {
+                            work.touch(ordinal);
+                        }
+                        int frequency = entry & MAX_TERM_FREQUENCY;
+                        double norm = frequency + K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                        work.scores[ordinal] += (float) (weight * idf * frequency * (K1 + 1) / norm);
+                        work.matched[ordinal] = t + 1;
+                    }
+                }
+            }
+
+            int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            // Ties go to the older item, so the ranking is the same on every page and offsets neither skip nor repeat
+            PriorityQueue<Integer> top = new PriorityQueue<>(Comparator.<Integer>comparingDouble(ordinal -> work.scores[ordinal])
+                    .thenComparing(Comparator.reverseOrder()));
+            int total = 0;
+            for (int i = 0; i < work.touchedCount; i++) {
+                int ordinal = work.touched[i];
+                if (work.matched[ordinal] != queryTerms.size()
+                        || (categoryFilter != null && !categoryFilter.equals(categories[ordinal]))) {
+                    continue;
+                }
+                total++;
+                top.add(ordinal);
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(itemIds[top.poll()]);
+            }
+            Collections.reverse(ranked);
+            List<Long> page = offset >= ranked.size() ? Collections.emptyList() : ranked.subList(offset, ranked.size());
+            return new SearchHits(new ArrayList<>(page), total > wanted);
+        } finally {
+            work.reset();
+        }
+    }
+
+    private static final class Postings {
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+    }
+
+    private static final class QueryTerm {
+        private final List<Postings> postings = new ArrayList<>();
+        private final List<Float> weights = new ArrayList<>();
+        private int documentFrequency;
+
+        void add(Postings list, float weight) {
+            postings.add(list);
+            weights.add(weight);
+            documentFrequency += list.size;
+        }
+    }
+
+    // Per-thread score accumulators, reused across queries and cleared via the touched list
+    private static final class Scratch {
+        private float[] scores = new float[0];
+        private int[] matched = new int[0];
+        private int[] touched = new int[1024];
+        private int touchedCount;
+
+        void ensureCapacity(int documents) {
+            if (scores.length < documents) {
+                scores = new float[Math.max(documents, scores.length * 2)];
+                matched = new int[scores.length];
+            }
+        }
+
+        void touch(int ordinal) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = ordinal;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0f;
+                matched[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.simpleauction.search;
+
+import java.util.List;
+
+/**
+ * Ranked item IDs for one page of a search, best match first.
+ */
+public record SearchHits(List<Long> itemIds, boolean hasMore) {
+}
@@ -1,33 +1,68 @@
 package com.example.simpleauction.service;
 
+import com.example.simpleauction.auth.CallerIdentity;
+import com.example.simpleauction.auth.SignedToken;
+import com.example.simpleauction.auth.SignedTokenService;
+import com.example.simpleauction.auth.TokenRevocationList;
+import com.example.simpleauction.auth.UserIdentityCache;
 import com.example.simpleauction.dto.AuthRequest;
 import com.example.simpleauction.dto.AuthResponse;
 import com.example.simpleauction.dto.MessageResponse;
 import com.example.simpleauction.entity.User;
 import com.example.simpleauction.repository.UserRepository;
+import com.example.simpleauction.session.Session;
+import com.example.simpleauction.session.SessionStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 // Note: No PasswordEncoder here for simplicity, add for real app
 // import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class AuthService {
     private final UserRepository userRepository;
-    // VERY basic in-memory token store. NOT SECURE.
-    // Should use JWTs and potentially a blacklist/refresh mechanism in production.
-    final Map<String, String> activeTokens = new ConcurrentHashMap<>();
+    // auction.auth.token-mode: "session" = opaque random tokens looked up in the session store (see auction.session.*),
+    // "signed" = stateless HMAC tokens verified locally, with a per-node revocation list for logouts
+    private final boolean signedTokens;
+    private final SessionStore sessionStore;
+    private final SignedTokenService signedTokenService;
+    private final TokenRevocationList revocationList;
+    private final UserIdentityCache userIdentityCache;
+    private final Counter tokensIssued;
 
     // Inject PasswordEncoder if using hashing
     // private final PasswordEncoder passwordEncoder;
 
-    public AuthService(UserRepository userRepository /*, PasswordEncoder passwordEncoder */) {
+    public AuthService(UserRepository userRepository, SessionStore sessionStore, SignedTokenService signedTokenService,
+                       TokenRevocationList revocationList, UserIdentityCache userIdentityCache, MeterRegistry meterRegistry,
+                       @Value("${auction.auth.token-mode:session}") String tokenMode /*, PasswordEncoder passwordEncoder */) {
         this.userRepository = userRepository;
+        this.sessionStore = sessionStore;
+        this.signedTokenService = signedTokenService;
+        this.revocationList = revocationList;
+        this.userIdentityCache = userIdentityCache;
+        this.signedTokens = "signed".equalsIgnoreCase(tokenMode);
+        this.tokensIssued = Counter.builder("auction.auth.tokens.issued")
+                .description("Login tokens issued")
+                .tag("mode", signedTokens ? "signed" : "session")
+                .register(meterRegistry);
+        // Signed tokens are stateless, so no node knows how many are live; their revocation list is what it holds
+        if (signedTokens) {
+            Gauge.builder("auction.auth.tokens.revoked", revocationList, TokenRevocationList::size)
+                    .description("Logged-out signed tokens not yet expired (this node)")
+                    .register(meterRegistry);
+        } else {
+            Gauge.builder("auction.auth.tokens.active", sessionStore, SessionStore::size)
+                    .description("Sessions held in memory on this node")
+                    .register(meterRegistry);
+        }
         // this.passwordEncoder = passwordEncoder;
     }
 
@@ -38,6 +73,7 @@ public class AuthService {
         // HASH THE PASSWORD in real app: passwordEncoder.encode(signUpRequest.getPassword())
         User user = new User(signUpRequest.getEmail(), signUpRequest.getPassword());
         userRepository.save(user);
+        userIdentityCache.invalidate(user.getEmail());
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
 
@@ -47,21 +83,40 @@ public class AuthService {
             User user = userData.get();
             // COMPARE HASHED PASSWORDS in real app: passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())
             if (user.getPassword().equals(loginRequest.getPassword())) {
-                String token = UUID.randomUUID().toString();
-                activeTokens.put(token, user.getEmail());
+                // Warm the identity cache so this user's first bid doesn't query users
+                userIdentityCache.put(new CallerIdentity(user.getId(), user.getEmail()));
+                String token;
+                if (signedTokens) {
+                    token = signedTokenService.issue(user.getId(), user.getEmail());
+                } else {
+                    token = UUID.randomUUID().toString();
+                    sessionStore.open(token, user.getId(), user.getEmail());
+                }
+                tokensIssued.increment();
                 return ResponseEntity.ok(new AuthResponse("Login successful", token, user.getEmail()));
             }
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Error: Invalid credentials"));
     }
 
-    // Helper to get email from the simple token map
+    // Helper to get email from the token
     public String getUserEmailFromToken(String bearerToken) {
-        if (bearerToken != null && bearerToken.startsWith("Bearer ") && bearerToken.length() > 7) {
-            String token = bearerToken.substring(7);
-            return activeTokens.get(token); // Returns email or null if token not found/valid
+        CallerIdentity caller = resolveCaller(bearerToken);
+        return caller != null ? caller.email() : null; // Returns email or null if token not found/expired
+    }
+
+    // Caller behind an "Authorization: Bearer ..." header value, or null. Never touches the users table.
+    public CallerIdentity resolveCaller(String bearerToken) {
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ") || bearerToken.length() <= 7) {
+            return null;
+        }
+        String token = bearerToken.substring(7);
+        if (signedTokens) {
+            SignedToken signed = signedTokenService.verify(token);
+            return signed != null && !revocationList.isRevoked(signed) ? new CallerIdentity(signed.userId(), signed.email()) : null;
         }
-        return null;
+        Session session = sessionStore.get(token);
+        return session != null ? new CallerIdentity(session.getUserId(), session.getEmail()) : null;
     }
 
      // Simple check for validity (token exists in map)
@@ -72,7 +127,14 @@ public class AuthService {
     public void logoutUser(String bearerToken) {
          if (bearerToken != null && bearerToken.startsWith("Bearer ") && bearerToken.length() > 7) {
             String token = bearerToken.substring(7);
-            activeTokens.remove(token);
+            if (signedTokens) {
+                SignedToken signed = signedTokenService.verify(token);
+                if (signed != null) {
+                    revocationList.revoke(signed);
+                }
+            } else {
+                sessionStore.close(token);
+            }
         }
     }
 }
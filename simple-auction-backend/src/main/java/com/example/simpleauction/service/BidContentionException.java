@@ -0,0 +1,13 @@
+package com.example.simpleauction.service;
+
+/**
+ * A database-path bid kept losing lock or serialization races on its item and was given up after the last
+ * retry. Nothing was stored. A server-side failure (503) that is safe to retry, not a refusal like
+ * {@link IllegalStateException}.
+ */
+public class BidContentionException extends RuntimeException {
+
+    public BidContentionException(Long itemId, Throwable cause) {
+        super("Bidding on item " + itemId + " is busy, please try again.", cause);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.dto.BidDTO;
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.engine.BidNotStoredEvent;
+import com.example.simpleauction.engine.BidStoredEvent;
+import com.example.simpleauction.engine.BidWriter;
+import com.example.simpleauction.money.Money;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Top {@code auction.leaderboard.size} bids per item, highest first, kept in memory from
+ * {@link AcceptedBid} events. Reading the top N copies at most N references from an immutable array:
+ * no DB access once a board is seeded. Boards rank by {@link Money} minor units, so inserting a bid
+ * compares {@code long}s.
+ * <p>
+ * A board is seeded from the database on its first read and merged with any bids that arrived before
+ * that (on the engine path the writer may not have stored them yet); bids are keyed by amount, which is
+ * unique per item because every accepted bid must beat the last; the {@link BidWriter} fills in IDs of engine
+ * bids once it has stored them, and drops any it had to give up on. Boards for at most
+ * {@code auction.leaderboard.max-items} items are kept (Caffeine, {@code cache=bid-leaderboard}; hit ratio as
+ * {@code auction.leaderboard.hit.ratio}).
+ */
+@Component
+public class BidLeaderboard {
+
+    private final Cache<Long, Board> boards;
+    private final int size;
+
+    public BidLeaderboard(MeterRegistry meterRegistry,
+                          @Value("${auction.leaderboard.size:20}") int size,
+                          @Value("${auction.leaderboard.max-items:50000}") long maxItems) {
+        this.size = size;
+        this.boards = Caffeine.newBuilder().maximumSize(maxItems).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, boards, "bid-leaderboard");
+        Gauge.builder("auction.leaderboard.hit.ratio", boards, c -> c.stats().hitRate())
+                .description("Share of top-bid reads served by a board already in memory")
+                .register(meterRegistry);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Highest {@code limit} bids on the item (capped at the board size). {@code seed} loads the top bids
+     * from the database and is only called the first time a board is read.
+     */
+    public List<BidDTO> top(Long itemId, int limit, Function<Long, List<BidDTO>> seed) {
+        Board board = boards.get(itemId, id -> new Board());
+        if (!board.seeded) {
+            board.seed(seed.apply(itemId));
+        }
+        BidDTO[] ranked = board.ranking.bids();
+        return Arrays.asList(Arrays.copyOf(ranked, Math.min(Math.max(limit, 0), ranked.length)));
+    }
+
+    @EventListener
+    public void onBidAccepted(AcceptedBid bid) {
+        BidDTO dto = new BidDTO();
+        dto.setId(bid.bidId());
+        dto.setItemId(bid.itemId());
+        dto.setItemName(bid.itemName());
+        dto.setBidderEmail(bid.bidderEmail());
+        dto.setBidAmount(bid.amount());
+        dto.setBidTime(bid.bidTime());
+        boards.get(bid.itemId(), id -> new Board()).add(bid.amountMinor(), dto);
+    }
+
+    /** Fills in the ID of a bid the engine accepted before it was stored, here or on a peer. */
+    @EventListener
+    public void onBidStored(BidStoredEvent event) {
+        Board board = boards.getIfPresent(event.itemId());
+        if (board != null) {
+            board.assignId(event.amountMinor(), event.bidId());
+        }
+    }
+
+    @EventListener
+    public void onBidNotStored(BidNotStoredEvent event) {
+        Board board = boards.getIfPresent(event.bid().itemId());
+        if (board != null) {
+            board.remove(event.bid().amountMinor());
+        }
+    }
+
+    private class Board {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Highest first; replaced, never modified, so readers need no lock
+        private volatile Ranking ranking = new Ranking(new long[0], new BidDTO[0]);
+        private volatile boolean seeded;
+
+        void add(long amount, BidDTO bid) {
+            lock.lock();
+            try {
+                ranking = insert(ranking, amount, bid);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void assignId(long amount, Long bidId) {
+            lock.lock();
+            try {
+                Ranking current = ranking;
+                for (int i = 0; i < current.amounts().length; i++) {
+                    if (current.amounts()[i] == amount) {
+                        if (current.bids()[i].getId() == null) {
+                            BidDTO[] withId = current.bids().clone();
+                            withId[i] = withId(withId[i], bidId);
+                            ranking = new Ranking(current.amounts(), withId);
+                        }
+                        return;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Only an entry still without an ID: one the writer stored under the same amount stays
+        void remove(long amount) {
+            lock.lock();
+            try {
+                Ranking current = ranking;
+                for (int i = 0; i < current.amounts().length; i++) {
+                    if (current.amounts()[i] == amount) {
+                        if (current.bids()[i].getId() == null) {
+                            ranking = new Ranking(without(current.amounts(), i), without(current.bids(), i));
+                        }
+                        return;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void seed(List<BidDTO> stored) {
+            lock.lock();
+            try {
+                if (seeded) {
+                    return;
+                }
+                Ranking merged = ranking;
+                for (BidDTO bid : stored) {
+                    merged = insert(merged, Money.toMinorUnits(bid.getBidAmount()), bid);
+                }
+                ranking = merged;
+                seeded = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Sorted insert, dropping duplicates (same amount) and anything beyond the board size. Bids nearly
+        // always arrive in increasing order, so this is usually a prepend.
+        private Ranking insert(Ranking current, long amount, BidDTO bid) {
+            long[] amounts = current.amounts();
+            BidDTO[] bids = current.bids();
+            int position = 0;
+            while (position < amounts.length && amounts[position] > amount) {
+                position++;
+            }
+            if (position < amounts.length && amounts[position] == amount) {
+                if (bids[position].getId() == null && bid.getId() != null) {
+                    BidDTO[] withId = bids.clone();
+                    withId[position] = bid; // the stored copy carries the ID the engine path lacked
+                    return new Ranking(amounts, withId);
+                }
+                return current;
+            }
+            if (position >= size) {
+                return current;
+            }
+            int length = Math.min(amounts.length + 1, size);
+            long[] nextAmounts = new long[length];
+            BidDTO[] nextBids = new BidDTO[length];
+            System.arraycopy(amounts, 0, nextAmounts, 0, position);
+            System.arraycopy(bids, 0, nextBids, 0, position);
+            nextAmounts[position] = amount;
+            nextBids[position] = bid;
+            System.arraycopy(amounts, position, nextAmounts, position + 1, length - position - 1);
+            System.arraycopy(bids, position, nextBids, position + 1, length - position - 1);
+            return new Ranking(nextAmounts, nextBids);
+        }
+    }
+
+    // Parallel arrays, published together: amounts[i] is bids[i]'s amount in minor units
+    private record Ranking(long[] amounts, BidDTO[] bids) {
+    }
+
+    private static long[] without(long[] values, int index) {
+        long[] copy = new long[values.length - 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index + 1, copy, index, copy.length - index);
+        return copy;
+    }
+
+    private static BidDTO[] without(BidDTO[] values, int index) {
+        BidDTO[] copy = new BidDTO[values.length - 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index + 1, copy, index, copy.length - index);
+        return copy;
+    }
+
+    // Copy rather than set: readers may be holding the array entry
+    private static BidDTO withId(BidDTO source, Long bidId) {
+        BidDTO copy = new BidDTO();
+        copy.setId(bidId);
+        copy.setItemId(source.getItemId());
+        copy.setItemName(source.getItemName());
+        copy.setBidderEmail(source.getBidderEmail());
+        copy.setBidAmount(source.getBidAmount());
+        copy.setBidTime(source.getBidTime());
+        return copy;
+    }
+}
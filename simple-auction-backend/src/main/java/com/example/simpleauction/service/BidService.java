@@ -1,84 +1,313 @@
  package com.example.simpleauction.service;
 
+ import com.example.simpleauction.auth.UserIdentityCache;
+ import com.example.simpleauction.cluster.ClusterClient;
+ import com.example.simpleauction.cluster.ItemMovingException;
+ import com.example.simpleauction.cluster.ItemOwnership;
+ import com.example.simpleauction.dashboard.StoredBid;
+ import com.example.simpleauction.dashboard.UserDashboardProjection;
  import com.example.simpleauction.dto.BidDTO;
+ import com.example.simpleauction.dto.BidListing;
+ import com.example.simpleauction.dto.BidPage;
  import com.example.simpleauction.dto.BidRequest;
+ import com.example.simpleauction.dto.ItemBidState;
+ import com.example.simpleauction.dto.MaxBidResponse;
  import com.example.simpleauction.entity.Bid;
- import com.example.simpleauction.entity.Item;
  import com.example.simpleauction.entity.User;
+ import com.example.simpleauction.engine.AcceptedBid;
+ import com.example.simpleauction.engine.AuctionEndedException;
+ import com.example.simpleauction.engine.BidEngine;
+ import com.example.simpleauction.engine.BidRejectedException;
+ import com.example.simpleauction.engine.BidResolution;
+ import com.example.simpleauction.money.Money;
+ import com.example.simpleauction.outbox.Outbox;
  import com.example.simpleauction.repository.BidRepository;
  import com.example.simpleauction.repository.UserRepository;
+ import io.micrometer.core.instrument.Counter;
+ import io.micrometer.core.instrument.MeterRegistry;
  import jakarta.persistence.EntityNotFoundException;
  import org.slf4j.Logger;
  import org.slf4j.LoggerFactory;
+ import org.springframework.beans.factory.ObjectProvider;
+ import org.springframework.beans.factory.annotation.Value;
+ import org.springframework.context.ApplicationEventPublisher;
+ import org.springframework.dao.TransientDataAccessException;
+ import org.springframework.data.domain.Limit;
  import org.springframework.stereotype.Service;
- import org.springframework.transaction.annotation.Transactional;
+ import org.springframework.transaction.support.TransactionTemplate;
 
  import java.math.BigDecimal;
  import java.time.LocalDateTime;
+ import java.util.EnumMap;
  import java.util.List;
+ import java.util.Map;
  import java.util.stream.Collectors;
 
  @Service
  public class BidService {
      private static final Logger logger = LoggerFactory.getLogger(BidService.class);
+     private static final int MAX_BID_ATTEMPTS = 3;
+     public static final int DEFAULT_TOP_BIDS = 10;
+     public static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+     public static final int MAX_HISTORY_PAGE_SIZE = 200;
 
      private final BidRepository bidRepository;
      private final UserRepository userRepository;
+     private final UserIdentityCache userIdentityCache;
      private final ItemService itemService;
+     private final BidLeaderboard leaderboard;
+     private final BidEngine bidEngine;
+     private final TransactionTemplate transactionTemplate;
+     private final Outbox outbox;
+     private final UserDashboardProjection dashboard;
+     private final ApplicationEventPublisher eventPublisher;
+     private final ItemOwnership ownership;
+     private final ClusterClient clusterClient; // null unless auction.cluster.enabled
+     private final boolean bidEngineEnabled;
+     // auction.bids{outcome,reason}: accepted, rejected by an auction rule, or failed (bad request, busy, error)
+     private final Counter accepted;
+     private final Counter rejectedEnded;
+     private final Map<BidRejectedException.Reason, Counter> rejectedByRule = new EnumMap<>(BidRejectedException.Reason.class);
+     private final Counter failedInvalid;
+     private final Counter failedNotFound;
+     private final Counter failedBusy;
+     private final Counter failedOther;
+     private final Counter retries;
 
-     public BidService(BidRepository bidRepository, UserRepository userRepository, ItemService itemService) {
+     public BidService(BidRepository bidRepository, UserRepository userRepository, UserIdentityCache userIdentityCache,
+                       ItemService itemService, BidLeaderboard leaderboard,
+                       BidEngine bidEngine, TransactionTemplate transactionTemplate, Outbox outbox,
+                       UserDashboardProjection dashboard,
+                       ApplicationEventPublisher eventPublisher, ItemOwnership ownership,
+                       ObjectProvider<ClusterClient> clusterClient, MeterRegistry meterRegistry,
+                       @Value("${auction.bid-engine.enabled:true}") boolean bidEngineEnabled) {
          this.bidRepository = bidRepository;
          this.userRepository = userRepository;
+         this.userIdentityCache = userIdentityCache;
          this.itemService = itemService;
+         this.leaderboard = leaderboard;
+         this.bidEngine = bidEngine;
+         this.transactionTemplate = transactionTemplate;
+         this.outbox = outbox;
+         this.dashboard = dashboard;
+         this.eventPublisher = eventPublisher;
+         this.ownership = ownership;
+         this.clusterClient = clusterClient.getIfAvailable();
+         this.bidEngineEnabled = bidEngineEnabled;
+         this.accepted = bidCounter(meterRegistry, "accepted", "none");
+         this.rejectedEnded = bidCounter(meterRegistry, "rejected", "ended");
+         for (BidRejectedException.Reason reason : BidRejectedException.Reason.values()) {
+             rejectedByRule.put(reason, bidCounter(meterRegistry, "rejected", reason.name().toLowerCase()));
+         }
+         this.failedInvalid = bidCounter(meterRegistry, "failed", "invalid");
+         this.failedNotFound = bidCounter(meterRegistry, "failed", "not_found");
+         this.failedBusy = bidCounter(meterRegistry, "failed", "busy");
+         this.failedOther = bidCounter(meterRegistry, "failed", "error");
+         this.retries = Counter.builder("auction.bid.retries")
+                 .description("Database-path bid transactions retried after a lock or serialization failure")
+                 .register(meterRegistry);
+     }
+
+     private static Counter bidCounter(MeterRegistry meterRegistry, String outcome, String reason) {
+         return Counter.builder("auction.bids")
+                 .description("Bids placed, by outcome and rejection reason")
+                 .tag("outcome", outcome)
+                 .tag("reason", reason)
+                 .register(meterRegistry);
      }
 
-     @Transactional
+     /**
+      * Places a bid and, once it is accepted (and committed, on the database path), publishes an
+      * {@link AcceptedBid} application event for live watchers and other listeners. On the engine path the bid
+      * may be answered at once by another bidder's maximum; those bids are published too. In a cluster, a bid
+      * on an item another node owns is forwarded there (see {@link ItemOwnership}); that node publishes it.
+      */
      public BidDTO placeBid(Long itemId, BidRequest bidRequest, String bidderEmail) {
-         User bidder = userRepository.findByEmail(bidderEmail)
-                 .orElseThrow(() -> new EntityNotFoundException("Bidder not found with email: " + bidderEmail));
+         String ownerUrl = ownerUrl(itemId);
+         if (ownerUrl != null) {
+             return clusterClient.placeBid(ownerUrl, itemId, bidRequest.getAmount(), bidderEmail);
+         }
+         return placeOwnedBid(itemId, bidRequest.getAmount(), bidderEmail);
+     }
+
+     /** {@link #placeBid} on this node, which owns the item (or was asked to by another node that thinks so). */
+     public BidDTO placeOwnedBid(Long itemId, BigDecimal amount, String bidderEmail) {
+         List<AcceptedBid> bids;
+         try {
+             long amountMinor = toMinorUnits(amount);
+             bids = bidEngineEnabled
+                     ? bidEngine.placeBid(itemId, bidderEmail, amountMinor).bids()
+                     : List.of(placeBidInDatabase(itemId, amountMinor, bidderEmail));
+         } catch (RuntimeException e) {
+             outcomeCounter(e).increment();
+             throw e;
+         }
+         accepted.increment();
+         bids.forEach(eventPublisher::publishEvent);
+         return convertToDto(bids.stream().filter(bid -> bid.bidderEmail().equals(bidderEmail)).findFirst().orElseThrow());
+     }
 
-         Item item = itemService.getItemEntityById(itemId); // Get managed entity
+     /**
+      * Sets or raises the caller's hidden maximum on an item (engine path only): the engine bids for them,
+      * one increment at a time, up to that amount. Publishes the visible bids like {@link #placeBid}, and is
+      * forwarded to the item's owner the same way.
+      */
+     public MaxBidResponse placeMaxBid(Long itemId, BidRequest bidRequest, String bidderEmail) {
+         String ownerUrl = ownerUrl(itemId);
+         if (ownerUrl != null) {
+             return clusterClient.placeMaxBid(ownerUrl, itemId, bidRequest.getAmount(), bidderEmail);
+         }
+         return placeOwnedMaxBid(itemId, bidRequest.getAmount(), bidderEmail);
+     }
+
+     /** {@link #placeMaxBid} on this node, which owns the item. */
+     public MaxBidResponse placeOwnedMaxBid(Long itemId, BigDecimal maxAmount, String bidderEmail) {
+         BidResolution resolution;
+         try {
+             if (!bidEngineEnabled) {
+                 throw new IllegalStateException("Maximum bids are not available on this server.");
+             }
+             resolution = bidEngine.placeMaxBid(itemId, bidderEmail, toMinorUnits(maxAmount));
+         } catch (RuntimeException e) {
+             outcomeCounter(e).increment();
+             throw e;
+         }
+         accepted.increment();
+         resolution.bids().forEach(eventPublisher::publishEvent);
+         return new MaxBidResponse(maxAmount, Money.toBigDecimal(resolution.currentPrice()),
+                 bidderEmail.equals(resolution.highestBidderEmail()),
+                 resolution.bids().stream().map(this::convertToDto).collect(Collectors.toList()));
+     }
 
-         // --- Validation ---
-         if (item.getAuctionEndTime() == null || LocalDateTime.now().isAfter(item.getAuctionEndTime())) {
-             throw new IllegalStateException("Auction has ended for item: " + item.getName());
+     // Only engine books are owned; the database path serialises bids in the database on any node
+     private String ownerUrl(Long itemId) {
+         if (!bidEngineEnabled) {
+             return null;
+         }
+         try {
+             return ownership.ownerUrl(itemId);
+         } catch (ItemMovingException e) {
+             failedOther.increment();
+             throw e;
          }
-         if (item.getSeller() != null && item.getSeller().getId().equals(bidder.getId())) {
-             throw new IllegalArgumentException("Seller cannot bid on their own item.");
+     }
+
+     private Counter outcomeCounter(RuntimeException e) {
+         if (e instanceof AuctionEndedException) {
+             return rejectedEnded;
+         } else if (e instanceof BidRejectedException rejected) {
+             return rejectedByRule.get(rejected.getReason());
+         } else if (e instanceof EntityNotFoundException) {
+             return failedNotFound;
+         } else if (e instanceof IllegalArgumentException) {
+             return failedInvalid;
+         } else if (e instanceof BidContentionException) {
+             return failedBusy;
          }
-         BigDecimal currentPrice = item.getCurrentBidPrice() != null ? item.getCurrentBidPrice() : item.getStartingPrice();
-         if (bidRequest.getAmount() == null || bidRequest.getAmount().compareTo(currentPrice) <= 0) {
-              throw new IllegalArgumentException("Bid amount must be provided and higher than the current price of $" + currentPrice.toPlainString());
+         return failedOther;
+     }
+
+     // Exact conversion at the API boundary: sub-cent amounts are rejected, not rounded
+     private static long toMinorUnits(BigDecimal amount) {
+         if (amount == null) {
+             throw new IllegalArgumentException("Bid amount must be provided.");
          }
-         // --- End Validation ---
+         return Money.toMinorUnits(amount);
+     }
 
-         Bid bid = new Bid(item, bidder, bidRequest.getAmount(), LocalDateTime.now());
-         Bid savedBid = bidRepository.save(bid);
-         logger.info("Bid saved: ID={}, ItemID={}, BidderEmail={}, Amount={}",
-                     savedBid.getId(), itemId, bidderEmail, bidRequest.getAmount());
+     // On the engine path the Bid row is written asynchronously, so the DTO has no ID yet
+     BidDTO convertToDto(AcceptedBid accepted) {
+         BidDTO dto = new BidDTO();
+         dto.setId(accepted.bidId());
+         dto.setItemId(accepted.itemId());
+         dto.setItemName(accepted.itemName());
+         dto.setBidderEmail(accepted.bidderEmail());
+         dto.setBidAmount(accepted.amount());
+         dto.setBidTime(accepted.bidTime());
+         return dto;
+     }
 
-         // Update item's current highest bid and bidder (now done in ItemService)
-         itemService.updateHighestBidder(itemId, bidder, bidRequest.getAmount());
+     // One conditional UPDATE plus one INSERT per attempt; only lock/serialization failures are retried
+     private AcceptedBid placeBidInDatabase(Long itemId, long amountMinor, String bidderEmail) {
+         User bidder = userReference(bidderEmail, "Bidder");
+         BigDecimal amount = Money.toBigDecimal(amountMinor);
 
-         return convertToDto(savedBid);
+         for (int attempt = 1; ; attempt++) {
+             try {
+                 return transactionTemplate.execute(status -> {
+                     LocalDateTime now = LocalDateTime.now();
+                     ItemBidState item = itemService.updateHighestBidder(itemId, bidder, amount, now);
+                     if (item == null) {
+                         throw itemService.explainRejectedBid(itemId, bidder, amount, now);
+                     }
+                     Bid savedBid = bidRepository.save(new Bid(itemService.getItemReference(itemId), bidder, amount, now));
+                     logger.debug("Bid saved: ID={}, ItemID={}, BidderEmail={}, Amount={}",
+                                 savedBid.getId(), itemId, bidderEmail, amount);
+                     AcceptedBid accepted = new AcceptedBid(savedBid.getId(), itemId, item.name(), item.category(),
+                             bidderEmail, amountMinor, now, item.auctionEndTime());
+                     outbox.bidPlaced(accepted);
+                     dashboard.bidsStored(List.of(new StoredBid(savedBid.getId(), bidder.getId(), accepted)));
+                     return accepted;
+                 });
+             } catch (TransientDataAccessException e) {
+                 if (attempt >= MAX_BID_ATTEMPTS) {
+                     logger.warn("Giving up on bid for item {} after {} attempts: {}", itemId, attempt, e.getMessage());
+                     throw new BidContentionException(itemId, e);
+                 }
+                 retries.increment();
+             }
+         }
      }
 
-     public List<BidDTO> getBidsByUserEmail(String email) {
-          User bidder = userRepository.findByEmail(email)
-                 .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
-         return bidRepository.findByBidderOrderByBidTimeDesc(bidder).stream()
+     // Highest bids, from the in-memory leaderboard (the DB is only read to seed an item's board once)
+      public List<BidDTO> getBidsForItem(Long itemId, Integer limit) {
+         if (limit != null && limit < 1) {
+             throw new IllegalArgumentException("limit must be at least 1.");
+         }
+         int count = limit != null ? Math.min(limit, leaderboard.getSize()) : DEFAULT_TOP_BIDS;
+         return leaderboard.top(itemId, count, id -> bidRepository.findTopBids(id, Limit.of(leaderboard.getSize())).stream()
                  .map(this::convertToDto)
-                 .collect(Collectors.toList());
+                 .collect(Collectors.toList()));
      }
 
-      public List<BidDTO> getBidsForItem(Long itemId) {
-         return bidRepository.findByItemIdOrderByBidAmountDesc(itemId).stream()
+     /**
+      * Keyset page of an item's bid history, newest first, starting after bid {@code cursor} (exclusive).
+      * One projection query per page, whatever the number of bids.
+      */
+     public BidPage getBidHistory(Long itemId, Long cursor, Integer limit) {
+         if (limit != null && limit < 1) {
+             throw new IllegalArgumentException("limit must be at least 1.");
+         }
+         int pageSize = limit == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.min(limit, MAX_HISTORY_PAGE_SIZE);
+         long beforeId = cursor != null ? cursor : Long.MAX_VALUE;
+         List<BidDTO> bids = bidRepository.findHistoryBefore(itemId, beforeId, Limit.of(pageSize)).stream()
                  .map(this::convertToDto)
                  .collect(Collectors.toList());
+         Long nextCursor = bids.size() == pageSize ? bids.get(bids.size() - 1).getId() : null;
+         return new BidPage(bids, nextCursor);
+     }
+
+     // Proxy from the identity cache: no users query for a user seen before
+     private User userReference(String email, String role) {
+         Long userId = userIdentityCache.findByEmail(email)
+                 .orElseThrow(() -> new EntityNotFoundException(role + " not found with email: " + email))
+                 .userId();
+         return userRepository.getReferenceById(userId);
+     }
+
+     // --- Helper Methods ---
+     BidDTO convertToDto(BidListing listing) {
+         BidDTO dto = new BidDTO();
+         dto.setId(listing.id());
+         dto.setItemId(listing.itemId());
+         dto.setItemName(listing.itemName());
+         dto.setBidderEmail(listing.bidderEmail());
+         dto.setBidAmount(listing.bidAmount());
+         dto.setBidTime(listing.bidTime());
+         return dto;
      }
 
-     // --- Helper Method ---
-     private BidDTO convertToDto(Bid bid) {
+     BidDTO convertToDto(Bid bid) {
          BidDTO dto = new BidDTO();
          dto.setId(bid.getId());
          dto.setBidAmount(bid.getBidAmount());
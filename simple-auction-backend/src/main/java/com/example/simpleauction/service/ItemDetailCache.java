@@ -0,0 +1,180 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.engine.BidEngine;
+import com.example.simpleauction.engine.BidNotStoredEvent;
+import com.example.simpleauction.engine.ItemBook;
+import com.example.simpleauction.lifecycle.AuctionClosedEvent;
+import com.example.simpleauction.money.Money;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of fully built {@link ItemDTO}s for {@code GET /api/items/{id}}.
+ * <p>
+ * Caffeine (W-TinyLFU admission) bounded by estimated memory ({@code auction.item-cache.max-memory}),
+ * with {@code auction.item-cache.ttl} as a backstop for changes made by other nodes. On this node an
+ * entry is never behind the last accepted bid: {@link AcceptedBid} events update entries in place
+ * (replacing the DTO, never mutating one a reader may hold), a load overlays the in-memory bid book
+ * when the engine is ahead of the database, and payment and close changes (and bids the writer dropped) invalidate.
+ * <p>
+ * Metrics: Caffeine's {@code cache.*} meters tagged {@code cache=item-detail}, plus
+ * {@code auction.item.cache.hit.ratio} and {@code auction.item.cache.staleness} (age of the entry served).
+ */
+@Component
+public class ItemDetailCache {
+
+    private static final String CACHE_NAME = "item-detail";
+
+    private final Cache<Long, CachedItem> cache;
+    // Provider because the engine depends (via BidWriter) on ItemService, which uses this cache
+    private final ObjectProvider<BidEngine> bidEngine;
+    private final Timer staleness;
+    private final Counter bidUpdates;
+    private final Counter invalidations;
+
+    public ItemDetailCache(ObjectProvider<BidEngine> bidEngine, MeterRegistry meterRegistry,
+                           @Value("${auction.item-cache.max-memory:64MB}") DataSize maxMemory,
+                           @Value("${auction.item-cache.ttl:PT5M}") Duration ttl) {
+        this.bidEngine = bidEngine;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((Long id, CachedItem cached) -> estimateBytes(cached.dto()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("auction.item.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of item detail reads served from the cache")
+                .register(meterRegistry);
+        this.staleness = Timer.builder("auction.item.cache.staleness")
+                .description("Time since a served item detail entry was loaded or last updated")
+                .register(meterRegistry);
+        this.bidUpdates = Counter.builder("auction.item.cache.updates").tag("kind", "bid").register(meterRegistry);
+        this.invalidations = Counter.builder("auction.item.cache.updates").tag("kind", "invalidate").register(meterRegistry);
+    }
+
+    public Optional<ItemDTO> get(Long itemId, Function<Long, Optional<ItemDTO>> loader) {
+        CachedItem cached = cache.get(itemId, id -> loader.apply(id)
+                .map(this::overlayBook)
+                .map(CachedItem::of)
+                .orElse(null));
+        if (cached == null) {
+            return Optional.empty();
+        }
+        staleness.record(System.nanoTime() - cached.writtenAtNanos(), TimeUnit.NANOSECONDS);
+        return Optional.of(cached.dto());
+    }
+
+    /** The cached item without loading it, or recording a hit or miss. */
+    public Optional<ItemDTO> peek(Long itemId) {
+        CachedItem cached = cache.asMap().get(itemId);
+        return cached == null ? Optional.empty() : Optional.of(cached.dto());
+    }
+
+    public void put(ItemDTO dto) {
+        cache.put(dto.getId(), CachedItem.of(dto));
+    }
+
+    public void invalidate(Long itemId) {
+        cache.invalidate(itemId);
+        invalidations.increment();
+    }
+
+    // computeIfPresent runs under the entry's lock, so it also waits for (and then corrects) an in-flight load
+    @EventListener
+    public void onBidAccepted(AcceptedBid bid) {
+        cache.asMap().computeIfPresent(bid.itemId(), (id, cached) -> {
+            if (cached.priceMinor() >= bid.amountMinor()) {
+                return cached;
+            }
+            ItemDTO updated = copyOf(cached.dto());
+            updated.setCurrentBidPrice(bid.amount());
+            updated.setHighestBidderEmail(bid.bidderEmail());
+            updated.setAuctionEndTime(bid.auctionEndTime());
+            updated.setPaymentStatus(null);
+            bidUpdates.increment();
+            return new CachedItem(updated, bid.amountMinor(), System.nanoTime());
+        });
+    }
+
+    @EventListener
+    public void onAuctionClosed(AuctionClosedEvent event) {
+        invalidate(event.itemId());
+    }
+
+    // The engine has evicted the book first (its listener is ordered ahead), so a reload reads the database alone
+    @EventListener
+    public void onBidNotStored(BidNotStoredEvent event) {
+        invalidate(event.bid().itemId());
+    }
+
+    // The bid writer may not have stored the engine's latest bid yet
+    private ItemDTO overlayBook(ItemDTO dto) {
+        ItemBook book = bidEngine.getObject().peek(dto.getId());
+        if (book == null) {
+            return dto;
+        }
+        ItemBook.Snapshot live = book.snapshot();
+        if (dto.getCurrentBidPrice() != null && Money.toMinorUnits(dto.getCurrentBidPrice()) >= live.currentPrice()) {
+            return dto;
+        }
+        dto.setCurrentBidPrice(Money.toBigDecimal(live.currentPrice()));
+        dto.setHighestBidderEmail(live.highestBidderEmail());
+        dto.setAuctionEndTime(live.auctionEndTime());
+        dto.setPaymentStatus(null);
+        return dto;
+    }
+
+    private static ItemDTO copyOf(ItemDTO source) {
+        ItemDTO copy = new ItemDTO();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setStartingPrice(source.getStartingPrice());
+        copy.setCurrentBidPrice(source.getCurrentBidPrice());
+        copy.setCategory(source.getCategory());
+        copy.setImageUrl(source.getImageUrl());
+        copy.setAuctionEndTime(source.getAuctionEndTime());
+        copy.setSellerEmail(source.getSellerEmail());
+        copy.setHighestBidderEmail(source.getHighestBidderEmail());
+        copy.setAuctionStatus(source.getAuctionStatus());
+        copy.setPaymentStatus(source.getPaymentStatus());
+        return copy;
+    }
+
+    // Rough heap footprint: fixed object/field overhead plus two bytes per char of the variable-length strings
+    private static int estimateBytes(ItemDTO dto) {
+        return 400 + 2 * (length(dto.getName()) + length(dto.getDescription()) + length(dto.getCategory())
+                + length(dto.getImageUrl()) + length(dto.getSellerEmail()) + length(dto.getHighestBidderEmail()));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    // priceMinor mirrors the DTO's current bid price in minor units (-1 when there is none) so bid events
+    // compare longs instead of BigDecimals
+    private record CachedItem(ItemDTO dto, long priceMinor, long writtenAtNanos) {
+        static CachedItem of(ItemDTO dto) {
+            long price = dto.getCurrentBidPrice() != null ? Money.toMinorUnits(dto.getCurrentBidPrice()) : -1;
+            return new CachedItem(dto, price, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.auth.CallerIdentity;
+import com.example.simpleauction.auth.UserIdentityCache;
+import com.example.simpleauction.dashboard.UserDashboardProjection;
+import com.example.simpleauction.dto.ItemImportError;
+import com.example.simpleauction.dto.ItemImportResult;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.importer.ItemRow;
+import com.example.simpleauction.importer.ItemRowReader;
+import com.example.simpleauction.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk item creation for sellers onboarding a catalogue (see {@code POST /api/items/import}).
+ * <p>
+ * Rows are pulled from an {@link ItemRowReader} one at a time, validated with the same rules as a single
+ * create ({@link ItemService#newItem}), and inserted with plain JDBC in batches of
+ * {@code auction.import.batch-size}, one transaction per batch: Item IDs are IDENTITY, so Hibernate would
+ * insert them one statement at a time. Memory stays bounded by one batch plus the reported errors, whatever
+ * the file size. Rows already committed stay imported if a later row or batch fails; a batch the database
+ * refuses is retried row by row so only the offending rows are rejected.
+ */
+@Service
+public class ItemImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ItemImportService.class);
+
+    private static final String INSERT_ITEM = "insert into items (name, description, starting_price, current_bid_price, "
+            + "category, image_url, auction_end_time, auction_status, seller_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final ItemService itemService;
+    private final UserDashboardProjection dashboard;
+    private final UserIdentityCache userIdentityCache;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ItemImportService(ItemService itemService, UserDashboardProjection dashboard, UserIdentityCache userIdentityCache, UserRepository userRepository,
+                             JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                             @Value("${auction.import.batch-size:1000}") int batchSize,
+                             @Value("${auction.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.itemService = itemService;
+        this.dashboard = dashboard;
+        this.userIdentityCache = userIdentityCache;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports every valid row of {@code body} ({@value ItemRowReader#NDJSON} or {@value ItemRowReader#CSV}) as an
+     * item listed by {@code sellerEmail}. Throws IllegalArgumentException for an unsupported format or a
+     * CSV header without the required columns; bad rows are reported in the result instead.
+     */
+    public ItemImportResult importItems(MediaType contentType, InputStream body, String sellerEmail) throws IOException {
+        CallerIdentity sellerIdentity = userIdentityCache.findByEmail(sellerEmail)
+                .orElseThrow(() -> new EntityNotFoundException("Seller not found with email: " + sellerEmail));
+        try (ItemRowReader rows = ItemRowReader.open(contentType, body, objectMapper)) {
+            return importItems(rows, sellerIdentity, sellerEmail);
+        }
+    }
+
+    private ItemImportResult importItems(ItemRowReader rows, CallerIdentity sellerIdentity, String sellerEmail) throws IOException {
+        User seller = userRepository.getReferenceById(sellerIdentity.userId());
+        Progress progress = new Progress();
+        long started = System.nanoTime();
+
+        List<Item> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        for (ItemRow row = rows.next(); row != null; row = rows.next()) {
+            if (row.error() != null) {
+                progress.reject(row.line(), row.error());
+                continue;
+            }
+            try {
+                batch.add(itemService.newItem(row.request(), seller));
+                batchLines.add(row.line());
+            } catch (IllegalArgumentException e) {
+                progress.reject(row.line(), e.getMessage());
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                store(batch, batchLines, sellerIdentity.userId(), progress);
+                batch.clear();
+                batchLines.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            store(batch, batchLines, sellerIdentity.userId(), progress);
+        }
+        logger.info("Imported {} items for {} in {} ms ({} rows rejected)", progress.imported, sellerEmail,
+                (System.nanoTime() - started) / 1_000_000, progress.rejected);
+        return new ItemImportResult(progress.imported, progress.rejected, progress.errors);
+    }
+
+    private void store(List<Item> batch, List<Long> lines, Long sellerId, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch, sellerId));
+        } catch (DataAccessException e) {
+            logger.warn("Import batch of {} items failed ({}); retrying one at a time", batch.size(), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                List<Item> single = List.of(batch.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(single, sellerId));
+                    created(single, progress);
+                } catch (DataAccessException rowFailure) {
+                    progress.reject(lines.get(i), "Item could not be stored: " + rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+            return;
+        }
+        created(batch, progress);
+    }
+
+    // One multi-row batch; generated IDs are set on the items in order
+    private void insert(List<Item> items, Long sellerId) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ITEM, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Item item = items.get(i);
+                        statement.setString(1, item.getName());
+                        statement.setString(2, item.getDescription());
+                        statement.setBigDecimal(3, item.getStartingPrice());
+                        statement.setBigDecimal(4, item.getCurrentBidPrice());
+                        statement.setString(5, item.getCategory());
+                        statement.setString(6, item.getImageUrl());
+                        statement.setTimestamp(7, Timestamp.valueOf(item.getAuctionEndTime()));
+                        statement.setString(8, item.getAuctionStatus());
+                        statement.setLong(9, sellerId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> ids = keys.getKeyList();
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setId(((Number) ids.get(i).values().iterator().next()).longValue());
+        }
+        dashboard.itemsListed(items, sellerId);
+    }
+
+    // After commit, like a single create: searchable and scheduled to close
+    private void created(List<Item> items, Progress progress) {
+        for (Item item : items) {
+            itemService.onItemCreated(item);
+        }
+        progress.imported += items.size();
+    }
+
+    private final class Progress {
+        private long imported;
+        private long rejected;
+        private final List<ItemImportError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ItemImportError(line, message));
+            }
+        }
+    }
+}
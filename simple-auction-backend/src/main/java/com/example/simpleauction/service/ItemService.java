@@ -1,82 +1,188 @@
 package com.example.simpleauction.service;
 
+import com.example.simpleauction.auth.CallerIdentity;
+import com.example.simpleauction.auth.UserIdentityCache;
+import com.example.simpleauction.dashboard.UserDashboardProjection;
 import com.example.simpleauction.dto.AddItemRequest;
+import com.example.simpleauction.dto.ItemBidState;
 import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.dto.ItemListing;
+import com.example.simpleauction.dto.ItemPage;
 import com.example.simpleauction.entity.Item;
 import com.example.simpleauction.entity.User;
+import com.example.simpleauction.engine.AuctionEndedException;
+import com.example.simpleauction.engine.BidRejectedException;
+import com.example.simpleauction.lifecycle.AuctionCloseScheduler;
+import com.example.simpleauction.lifecycle.SoftClosePolicy;
+import com.example.simpleauction.money.Money;
 import com.example.simpleauction.repository.ItemRepository;
 import com.example.simpleauction.repository.UserRepository;
+import com.example.simpleauction.search.ItemSearchDocument;
+import com.example.simpleauction.search.ItemSearchIndex;
+import com.example.simpleauction.search.SearchHits;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal; // Make sure this is imported
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ItemService {
     private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final ItemSearchIndex searchIndex;
+    private final ItemDetailCache itemDetailCache;
+    private final AuctionCloseScheduler closeScheduler;
+    private final SoftClosePolicy softClosePolicy;
+    private final UserDashboardProjection dashboard;
 
-    public ItemService(ItemRepository itemRepository, UserRepository userRepository) {
+    public ItemService(ItemRepository itemRepository, UserRepository userRepository, UserIdentityCache userIdentityCache,
+                       ItemSearchIndex searchIndex, ItemDetailCache itemDetailCache,
+                       AuctionCloseScheduler closeScheduler, SoftClosePolicy softClosePolicy,
+                       UserDashboardProjection dashboard) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.searchIndex = searchIndex;
+        this.itemDetailCache = itemDetailCache;
+        this.closeScheduler = closeScheduler;
+        this.softClosePolicy = softClosePolicy;
+        this.dashboard = dashboard;
     }
 
     // --- Getters ---
-    public List<ItemDTO> getAllItems() {
-        return itemRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-    }
-
-    public Optional<ItemDTO> getItemDtoById(Long id) {
-        return itemRepository.findById(id).map(this::convertToDto);
-    }
-
-     public List<ItemDTO> getItemsByCategory(String category) {
-        return itemRepository.findByCategoryIgnoreCase(category).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /**
+     * Keyset page of items after {@code cursor} (exclusive), optionally filtered by category and/or search term.
+     * Cost per page is independent of catalogue size. A new search goes through the in-memory index once it is
+     * built; its results are ranked by relevance and paged by {@code offset} into the ranking instead (see
+     * {@link ItemPage}), so a walk started on either path continues on it.
+     */
+    public ItemPage getItemsPage(String category, String searchTerm, Long cursor, Integer offset, Integer limit) {
+        if (cursor != null && cursor < 0) {
+            throw new IllegalArgumentException("cursor must not be negative.");
+        }
+        if (offset != null && offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative.");
+        }
+        if (cursor != null && offset != null) {
+            throw new IllegalArgumentException("Pass either cursor or offset, not both.");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterId = cursor == null ? 0L : cursor;
+        boolean hasCategory = category != null && !category.isBlank();
+        boolean hasSearch = searchTerm != null && !searchTerm.isBlank();
+        if (offset != null && !hasSearch) {
+            throw new IllegalArgumentException("offset only pages a search; use cursor.");
+        }
+        List<ItemListing> rows;
+        if (hasSearch && cursor == null && (offset != null || searchIndex.isReady())) {
+            if (!searchIndex.isReady()) {
+                throw new IllegalStateException("Ranked search is not available; start the search again.");
+            }
+            return searchIndexed(searchTerm, hasCategory ? category : null, offset == null ? 0 : offset, pageSize);
+        } else if (hasSearch) {
+            String pattern = "%" + searchTerm.trim().toLowerCase() + "%";
+            rows = itemRepository.searchListingsAfter(pattern, hasCategory ? category : null, afterId, Limit.of(pageSize));
+        } else if (hasCategory) {
+            rows = itemRepository.findListingsByCategoryAfter(category, afterId, Limit.of(pageSize));
+        } else {
+            rows = itemRepository.findListingsAfter(afterId, Limit.of(pageSize));
+        }
+        List<ItemDTO> items = rows.stream().map(this::convertToDto).collect(Collectors.toList());
+        Long nextCursor = rows.size() == pageSize ? rows.get(rows.size() - 1).id() : null;
+        return new ItemPage(items, nextCursor);
     }
 
-     public List<ItemDTO> searchItems(String searchTerm) {
-         if (searchTerm == null || searchTerm.isBlank()) {
-             return getAllItems();
-         }
-        return itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(searchTerm, searchTerm).stream()
+    private ItemPage searchIndexed(String searchTerm, String category, int offset, int pageSize) {
+        SearchHits hits = searchIndex.search(searchTerm, category, offset, pageSize);
+        if (hits.itemIds().isEmpty()) {
+            return new ItemPage(List.of(), null);
+        }
+        // Hydrate from the DB (one PK lookup) so prices and bidders are always current, then restore rank order
+        Map<Long, ItemListing> rows = itemRepository.findListingsByIdIn(hits.itemIds()).stream()
+                .collect(Collectors.toMap(ItemListing::id, Function.identity()));
+        List<ItemDTO> items = hits.itemIds().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        // hasMore means more than offset + pageSize hits, so the next offset fits in an int
+        return new ItemPage(items, null, hits.hasMore() ? offset + pageSize : null);
     }
 
-    public List<ItemDTO> getItemsBySellerEmail(String email) {
-        return itemRepository.findBySellerEmail(email).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // Served from ItemDetailCache; a miss loads the listing projection (seller/bidder emails in the same query)
+    public Optional<ItemDTO> getItemDtoById(Long id) {
+        return itemDetailCache.get(id, itemId -> itemRepository.findListingsByIdIn(List.of(itemId)).stream()
+                .findFirst()
+                .map(this::convertToDto));
     }
 
     // --- Item Creation ---
     @Transactional
     public ItemDTO createItem(AddItemRequest request, String sellerEmail) {
-        User seller = userRepository.findByEmail(sellerEmail)
+        CallerIdentity sellerIdentity = userIdentityCache.findByEmail(sellerEmail)
                 .orElseThrow(() -> new EntityNotFoundException("Seller not found with email: " + sellerEmail));
+        User seller = userRepository.getReferenceById(sellerIdentity.userId());
+
+        Item savedItem = itemRepository.save(newItem(request, seller));
+        dashboard.itemsListed(List.of(savedItem), sellerIdentity.userId());
+        logger.info("Created Item: ID={}, Name={}, Seller={}", savedItem.getId(), savedItem.getName(), sellerEmail);
+        ItemDTO created = convertToDto(savedItem, sellerEmail);
+        // Only once committed: an item that is rolled back must not be searchable, scheduled or cached
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onItemCreated(savedItem);
+                itemDetailCache.put(created);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * A new, unsaved OPEN item from {@code request}, with the same rules for single creates and bulk imports.
+     * Throws IllegalArgumentException with a user-facing message if the request is invalid.
+     */
+    public Item newItem(AddItemRequest request, User seller) {
+        requireText(request.getName(), "name", MAX_TEXT_LENGTH);
+        requireText(request.getCategory(), "category", MAX_TEXT_LENGTH);
+        checkLength(request.getDescription(), "description", MAX_DESCRIPTION_LENGTH);
+        checkLength(request.getImageUrl(), "imageUrl", MAX_TEXT_LENGTH);
+        if (request.getStartingPrice() == null) {
+            throw new IllegalArgumentException("startingPrice cannot be null.");
+        }
+        // Exact to the cent, so the bid engine can carry it as minor units
+        BigDecimal startingPrice = Money.toBigDecimal(Money.toMinorUnits(request.getStartingPrice()));
 
         Item item = new Item();
         item.setName(request.getName());
         item.setDescription(request.getDescription());
-        item.setStartingPrice(request.getStartingPrice());
-        item.setCurrentBidPrice(request.getStartingPrice());
+        item.setStartingPrice(startingPrice);
+        item.setCurrentBidPrice(startingPrice);
         item.setCategory(request.getCategory());
         item.setImageUrl(request.getImageUrl());
         item.setSeller(seller);
+        item.setAuctionStatus("OPEN");
         item.setPaymentStatus(null); // Explicitly null on creation
 
         try {
@@ -86,10 +192,27 @@ public class ItemService {
         } catch (NullPointerException e) {
              throw new IllegalArgumentException("auctionEndTime cannot be null.", e);
         }
+        return item;
+    }
 
-        Item savedItem = itemRepository.save(item);
-        logger.info("Created Item: ID={}, Name={}, Seller={}", savedItem.getId(), savedItem.getName(), sellerEmail);
-        return convertToDto(savedItem);
+    /** Makes a committed item searchable and schedules its close; {@code item} must have its ID. */
+    public void onItemCreated(Item item) {
+        searchIndex.index(new ItemSearchDocument(item.getId(), item.getName(), item.getDescription(), item.getCategory()));
+        closeScheduler.schedule(item.getId(), item.getAuctionEndTime());
+    }
+
+    // Column sizes in items: VARCHAR(255) by default, description 1000
+    private static void requireText(String value, String field, int maxLength) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " cannot be empty.");
+        }
+        checkLength(value, field, maxLength);
+    }
+
+    private static void checkLength(String value, String field, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " must be at most " + maxLength + " characters.");
+        }
     }
 
     // --- Bidding Related (used by BidService or ItemController) ---
@@ -98,75 +221,83 @@ public class ItemService {
              .orElseThrow(() -> new EntityNotFoundException("Item not found with ID: " + id));
     }
 
-    @Transactional
-    public void updateHighestBidder(Long itemId, User bidder, BigDecimal amount) {
-         Item item = getItemEntityById(itemId);
-         item.setCurrentBidPrice(amount);
-         item.setHighestBidder(bidder);
-         item.setPaymentStatus(null); // Reset payment status if a new higher bid comes in
-         itemRepository.save(item);
-         logger.info("Updated highest bidder for Item ID: {} to User ID: {} with Amount: {}", itemId, bidder.getId(), amount);
-     }
-
-    // --- NEW Payment Simulation Method ---
-    @Transactional
-    public boolean initiatePayment(Long itemId, String winningUserEmail) {
-        Item item = getItemEntityById(itemId);
+    // Proxy only; lets callers reference the item in a new Bid without loading it
+    public Item getItemReference(Long id) {
+        return itemRepository.getReferenceById(id);
+    }
 
-        // 1. Verify Auction Ended
-        if (item.getAuctionEndTime() == null || LocalDateTime.now().isBefore(item.getAuctionEndTime())) {
-            logger.warn("Payment attempt for ongoing auction. Item ID: {}, User: {}", itemId, winningUserEmail);
-            throw new IllegalStateException("Auction has not ended yet.");
+    /**
+     * Conditionally raises the item's highest bid, extending the auction if the bid falls in the soft-close
+     * window. Returns the item's name, category and end time after the bid, or null if the bid no longer
+     * qualifies; use {@link #explainRejectedBid} to turn that into a user-facing error.
+     * <p>
+     * With the item in {@link ItemDetailCache} this is a single UPDATE and no read: the new end is worked out
+     * from the cached one, and the UPDATE only matches while the row still ends there. Otherwise (or once
+     * another node has moved the end) the end is extended in SQL and read back with the name and category.
+     */
+    @Transactional
+    public ItemBidState updateHighestBidder(Long itemId, User bidder, BigDecimal amount, LocalDateTime bidTime) {
+        ItemDTO known = itemDetailCache.peek(itemId).orElse(null);
+        if (known != null && known.getAuctionEndTime() != null) {
+            LocalDateTime endTime = softClosePolicy.extendedEnd(known.getAuctionEndTime(), bidTime);
+            if (itemRepository.raiseHighestBidFrom(itemId, bidder, amount, bidTime, known.getAuctionEndTime(), endTime) == 1) {
+                logger.debug("Updated highest bidder for Item ID: {} to User ID: {} with Amount: {}", itemId, bidder.getId(), amount);
+                return new ItemBidState(known.getName(), known.getCategory(), endTime);
+            }
         }
-
-        // 2. Verify Winner
-        if (item.getHighestBidder() == null || !item.getHighestBidder().getEmail().equals(winningUserEmail)) {
-             logger.warn("Non-winner payment attempt. Item ID: {}, User: {}, Highest Bidder: {}", itemId, winningUserEmail, item.getHighestBidder() != null ? item.getHighestBidder().getEmail() : "None");
-            throw new IllegalArgumentException("You are not the highest bidder for this item.");
+        if (itemRepository.raiseHighestBid(itemId, bidder, amount, bidTime,
+                softClosePolicy.windowEnd(bidTime), softClosePolicy.getExtensionSeconds()) != 1) {
+            return null;
         }
+        logger.debug("Updated highest bidder for Item ID: {} to User ID: {} with Amount: {}", itemId, bidder.getId(), amount);
+        return itemRepository.findBidState(itemId).orElseThrow();
+    }
+
+    /** Engine path: see {@link ItemRepository#applyEngineBid}. Returns false if the item is already ahead. */
+    @Transactional
+    public boolean applyEngineBid(Long itemId, User bidder, BigDecimal amount, LocalDateTime auctionEndTime) {
+        return itemRepository.applyEngineBid(itemId, bidder, amount, auctionEndTime) == 1;
+    }
 
-        // 3. Check Current Payment Status
-        if ("PAID".equalsIgnoreCase(item.getPaymentStatus())) {
-             logger.info("Item {} already marked as PAID for user {}.", itemId, winningUserEmail);
-             return true; // Already paid
+    // Only called after a conditional update matched no row, so the extra read is off the happy path
+    public RuntimeException explainRejectedBid(Long itemId, User bidder, BigDecimal amount, LocalDateTime bidTime) {
+        Item item = getItemEntityById(itemId);
+        if (item.getAuctionEndTime() == null || !bidTime.isBefore(item.getAuctionEndTime())
+                || "CLOSED".equals(item.getAuctionStatus())) {
+            return new AuctionEndedException(item.getName());
         }
-         if ("PENDING".equalsIgnoreCase(item.getPaymentStatus())) {
-             logger.info("Payment for item {} is already PENDING for user {}. Allowing retry simulation.", itemId, winningUserEmail);
-             // Allow simulation to proceed for demo purposes
+        if (item.getSeller() != null && item.getSeller().getId().equals(bidder.getId())) {
+            return new BidRejectedException(BidRejectedException.Reason.SELF_BID, "Seller cannot bid on their own item.");
         }
+        BigDecimal currentPrice = item.getCurrentBidPrice() != null ? item.getCurrentBidPrice() : item.getStartingPrice();
+        return new BidRejectedException(BidRejectedException.Reason.TOO_LOW,
+                "Bid amount must be provided and higher than the current price of $" + currentPrice.toPlainString());
+    }
 
-
-        // 4. SIMULATE Payment Gateway Call
-        logger.info("Simulating payment gateway interaction for item ID: {}, Amount: {}, User: {}",
-                   itemId, item.getCurrentBidPrice(), winningUserEmail);
-        boolean paymentSuccess = simulateGatewayCall();
-
-        // 5. Update Status based on simulation
-        if (paymentSuccess) {
-            item.setPaymentStatus("PAID");
-            logger.info("Payment successful for item ID: {}. Status updated to PAID.", itemId);
-        } else {
-            item.setPaymentStatus("FAILED");
-            logger.error("Simulated payment failed for item ID: {}.", itemId);
-        }
-        itemRepository.save(item);
-        return paymentSuccess;
+    // --- Helper DTO Conversion ---
+    ItemDTO convertToDto(ItemListing listing) {
+        ItemDTO dto = new ItemDTO();
+        dto.setId(listing.id());
+        dto.setName(listing.name());
+        dto.setDescription(listing.description());
+        dto.setStartingPrice(listing.startingPrice());
+        dto.setCurrentBidPrice(listing.currentBidPrice());
+        dto.setCategory(listing.category());
+        dto.setImageUrl(listing.imageUrl());
+        dto.setAuctionEndTime(listing.auctionEndTime());
+        dto.setAuctionStatus(listing.auctionStatus());
+        dto.setPaymentStatus(listing.paymentStatus());
+        dto.setSellerEmail(listing.sellerEmail());
+        dto.setHighestBidderEmail(listing.highestBidderEmail());
+        return dto;
     }
 
-    // --- Payment Gateway Simulation ---
-    private boolean simulateGatewayCall() {
-        try {
-            Thread.sleep(750); // Simulate network delay slightly longer
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false; // Treat interrupt as failure
-        }
-        // Simulate success/failure
-        return Math.random() > 0.15; // ~85% success rate
+    ItemDTO convertToDto(Item item) {
+        return convertToDto(item, item.getSeller() != null ? item.getSeller().getEmail() : null);
     }
 
-    // --- Helper DTO Conversion ---
-    private ItemDTO convertToDto(Item item) {
+    // Seller email passed in, so a seller held as an uninitialised reference isn't loaded just for the DTO
+    ItemDTO convertToDto(Item item, String sellerEmail) {
         ItemDTO dto = new ItemDTO();
         // Use manual getters
         dto.setId(item.getId());
@@ -177,10 +308,9 @@ public class ItemService {
         dto.setCategory(item.getCategory());
         dto.setImageUrl(item.getImageUrl());
         dto.setAuctionEndTime(item.getAuctionEndTime());
+        dto.setAuctionStatus(item.getAuctionStatus());
         dto.setPaymentStatus(item.getPaymentStatus()); // Include payment status
-        if (item.getSeller() != null) {
-            dto.setSellerEmail(item.getSeller().getEmail());
-        }
+        dto.setSellerEmail(sellerEmail);
          if (item.getHighestBidder() != null) {
             dto.setHighestBidderEmail(item.getHighestBidder().getEmail());
         }
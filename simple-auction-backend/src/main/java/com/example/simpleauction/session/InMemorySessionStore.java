@@ -0,0 +1,123 @@
+package com.example.simpleauction.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process-local sessions in a {@link ConcurrentHashMap}: a lookup is one lock-free map read plus a
+ * clock read. Bounded by {@code auction.session.max-sessions}; when full, expired sessions are dropped
+ * first and then those closest to expiry. A background sweep removes expired sessions.
+ * <p>
+ * Also used as the near cache in front of {@link JpaSessionStore}.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.session.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySessionStore implements SessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySessionStore.class);
+
+    // Share of the store freed when it is full of live sessions, so eviction doesn't run on every login
+    private static final double EVICTION_FRACTION = 0.1;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final long ttlMillis;
+    private final long maxLifetimeMillis;
+    private final int maxSessions;
+
+    public InMemorySessionStore(@Value("${auction.session.ttl:PT30M}") Duration ttl,
+                                @Value("${auction.session.max-lifetime:PT12H}") Duration maxLifetime,
+                                @Value("${auction.session.max-sessions:100000}") int maxSessions) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxLifetimeMillis = maxLifetime.toMillis();
+        this.maxSessions = maxSessions;
+    }
+
+    @Override
+    public Session open(String token, Long userId, String email) {
+        long now = now();
+        Session session = new Session(token, userId, email, now, Math.min(now + ttlMillis, now + maxLifetimeMillis), now);
+        put(session);
+        return session;
+    }
+
+    @Override
+    public Session get(String token) {
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = now();
+        if (session.isExpired(now)) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.touch(now, ttlMillis, maxLifetimeMillis);
+        return session;
+    }
+
+    @Override
+    public void close(String token) {
+        sessions.remove(token);
+    }
+
+    @Override
+    public int size() {
+        return sessions.size();
+    }
+
+    void put(Session session) {
+        if (sessions.size() >= maxSessions) {
+            makeRoom();
+        }
+        sessions.put(session.getToken(), session);
+    }
+
+    @Scheduled(fixedDelayString = "${auction.session.sweep-interval:PT1M}")
+    public void sweep() {
+        long now = now();
+        int before = sessions.size();
+        sessions.values().removeIf(session -> session.isExpired(now));
+        int removed = before - sessions.size();
+        if (removed > 0) {
+            logger.debug("Swept {} expired sessions; {} remain.", removed, sessions.size());
+        }
+    }
+
+    // Overridden by tests to control the clock
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    private void makeRoom() {
+        // One thread evicts; the rest go ahead and overshoot the bound briefly
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            sweep();
+            int excess = sessions.size() - maxSessions + (int) Math.ceil(maxSessions * EVICTION_FRACTION);
+            if (excess <= 0) {
+                return;
+            }
+            List<Session> oldest = sessions.values().stream()
+                    .sorted(Comparator.comparingLong(Session::getExpiresAtMillis))
+                    .limit(excess)
+                    .toList();
+            oldest.forEach(session -> sessions.remove(session.getToken(), session));
+            logger.warn("Session store full ({} max); evicted {} live sessions closest to expiry.", maxSessions, oldest.size());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.simpleauction.session;
+
+import com.example.simpleauction.entity.UserSession;
+import com.example.simpleauction.repository.UserSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sessions in the {@code user_sessions} table, so they survive restarts and are shared by every node
+ * on the same database, with an {@link InMemorySessionStore} as near cache. A near-cache hit costs the
+ * same as the in-memory store; entries older than {@code auction.session.near-cache-ttl} are re-read,
+ * which bounds how long a logout on another node goes unnoticed here.
+ * <p>
+ * Sliding expiry is written back only once it has moved by a tenth of the TTL, not on every request.
+ */
+@Component
+@ConditionalOnProperty(name = "auction.session.store", havingValue = "jpa")
+public class JpaSessionStore implements SessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(JpaSessionStore.class);
+
+    private final UserSessionRepository sessionRepository;
+    private final InMemorySessionStore nearCache;
+    private final long ttlMillis;
+    private final long maxLifetimeMillis;
+    private final long nearCacheTtlMillis;
+    private final long writeBackMillis;
+
+    public JpaSessionStore(UserSessionRepository sessionRepository,
+                           @Value("${auction.session.ttl:PT30M}") Duration ttl,
+                           @Value("${auction.session.max-lifetime:PT12H}") Duration maxLifetime,
+                           @Value("${auction.session.max-sessions:100000}") int maxSessions,
+                           @Value("${auction.session.near-cache-ttl:PT30S}") Duration nearCacheTtl) {
+        this.sessionRepository = sessionRepository;
+        this.nearCache = new InMemorySessionStore(ttl, maxLifetime, maxSessions) {
+            @Override
+            long now() {
+                return JpaSessionStore.this.now();
+            }
+        };
+        this.ttlMillis = ttl.toMillis();
+        this.maxLifetimeMillis = maxLifetime.toMillis();
+        this.nearCacheTtlMillis = nearCacheTtl.toMillis();
+        this.writeBackMillis = Math.max(1_000, ttlMillis / 10);
+    }
+
+    @Override
+    public Session open(String token, Long userId, String email) {
+        Session session = nearCache.open(token, userId, email);
+        sessionRepository.save(new UserSession(token, userId, email, session.getCreatedAtMillis(), session.getExpiresAtMillis()));
+        return session;
+    }
+
+    @Override
+    public Session get(String token) {
+        long now = now();
+        Session session = nearCache.get(token);
+        if (session == null || now - session.getLoadedAtMillis() >= nearCacheTtlMillis) {
+            session = load(token, now);
+            if (session == null) {
+                return null;
+            }
+        }
+        if (session.getExpiresAtMillis() - session.getPersistedExpiresAtMillis() >= writeBackMillis) {
+            writeBack(session);
+        }
+        return session;
+    }
+
+    @Override
+    public void close(String token) {
+        nearCache.close(token);
+        sessionRepository.deleteById(token);
+    }
+
+    @Override
+    public int size() {
+        return nearCache.size();
+    }
+
+    @Scheduled(fixedDelayString = "${auction.session.sweep-interval:PT1M}")
+    public void sweep() {
+        nearCache.sweep();
+        int removed = sessionRepository.deleteExpired(now());
+        if (removed > 0) {
+            logger.debug("Deleted {} expired persisted sessions.", removed);
+        }
+    }
+
+    // Overridden by tests to control the clock
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    private Session load(String token, long now) {
+        UserSession stored = sessionRepository.findById(token).orElse(null);
+        if (stored == null || now >= stored.getExpiresAtMillis()) {
+            nearCache.close(token);
+            return null;
+        }
+        Session session = new Session(stored.getToken(), stored.getUserId(), stored.getEmail(),
+                stored.getCreatedAtMillis(), stored.getExpiresAtMillis(), now);
+        session.touch(now, ttlMillis, maxLifetimeMillis);
+        nearCache.put(session);
+        return session;
+    }
+
+    private void writeBack(Session session) {
+        long expiresAt = session.getExpiresAtMillis();
+        try {
+            sessionRepository.extend(session.getToken(), expiresAt);
+            session.setPersistedExpiresAtMillis(expiresAt);
+        } catch (Exception e) {
+            // The session is still valid; the next request retries the write
+            logger.warn("Could not extend persisted session: {}", e.getMessage());
+        }
+    }
+}
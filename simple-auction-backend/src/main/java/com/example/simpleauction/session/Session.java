@@ -0,0 +1,51 @@
+package com.example.simpleauction.session;
+
+/**
+ * A logged-in session: the token plus the user it resolves to. Expiry slides forward on use
+ * (see {@link #touch}) but never past {@code createdAtMillis + maxLifetime}.
+ */
+public class Session {
+
+    // Sliding expiry is only rewritten when it moves by more than this, so hot tokens don't write on every read
+    private static final long TOUCH_GRANULARITY_MILLIS = 1_000;
+
+    private final String token;
+    private final Long userId;
+    private final String email;
+    private final long createdAtMillis;
+    private final long loadedAtMillis;
+    private volatile long expiresAtMillis;
+    private volatile long persistedExpiresAtMillis;
+
+    public Session(String token, Long userId, String email, long createdAtMillis, long expiresAtMillis, long loadedAtMillis) {
+        this.token = token;
+        this.userId = userId;
+        this.email = email;
+        this.createdAtMillis = createdAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+        this.persistedExpiresAtMillis = expiresAtMillis;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    /** Slides expiry to {@code nowMillis + ttlMillis}, capped at the session's absolute lifetime. */
+    void touch(long nowMillis, long ttlMillis, long maxLifetimeMillis) {
+        long slid = Math.min(nowMillis + ttlMillis, createdAtMillis + maxLifetimeMillis);
+        if (slid - expiresAtMillis > TOUCH_GRANULARITY_MILLIS) {
+            expiresAtMillis = slid;
+        }
+    }
+
+    public String getToken() { return token; }
+    public Long getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public long getCreatedAtMillis() { return createdAtMillis; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+    // When this copy was read from the backing store (near-cache staleness)
+    long getLoadedAtMillis() { return loadedAtMillis; }
+    long getPersistedExpiresAtMillis() { return persistedExpiresAtMillis; }
+    void setPersistedExpiresAtMillis(long persistedExpiresAtMillis) { this.persistedExpiresAtMillis = persistedExpiresAtMillis; }
+}
@@ -0,0 +1,20 @@
+package com.example.simpleauction.session;
+
+/**
+ * Where login tokens live. Sessions expire after {@code auction.session.ttl} without use and
+ * after {@code auction.session.max-lifetime} regardless; expired sessions are never returned.
+ * Chosen with {@code auction.session.store} ({@code memory} or {@code jpa}).
+ */
+public interface SessionStore {
+
+    /** Creates and stores a new session for {@code token}. */
+    Session open(String token, Long userId, String email);
+
+    /** The live session for {@code token} (extending its expiry), or null if unknown or expired. */
+    Session get(String token);
+
+    void close(String token);
+
+    /** Sessions currently held in memory. */
+    int size();
+}
@@ -0,0 +1,272 @@
+package com.example.simpleauction.stream;
+
+import com.example.simpleauction.config.WorkerThreads;
+import com.example.simpleauction.engine.AcceptedBid;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans accepted bids out to Server-Sent Event subscribers watching an item or a whole category.
+ * <p>
+ * Connections are async servlet requests, so no request thread is held per watcher. Each subscriber
+ * gets a small bounded buffer drained by a shared dispatcher pool; a subscriber whose buffer is full
+ * (a slow consumer) is disconnected rather than allowed to back up the hub. A servlet write blocks, so a
+ * subscriber whose send has not finished within {@code auction.stream.send-timeout} (a stalled TCP peer)
+ * is disconnected too, and the dispatcher thread stuck in its write is replaced until the write returns,
+ * so stalled clients can't hold up delivery to everyone else. Clients are expected to reconnect
+ * (EventSource does this automatically) and re-read the item once.
+ */
+@Component
+public class BidStreamHub {
+    private static final Logger logger = LoggerFactory.getLogger(BidStreamHub.class);
+
+    private static final String HEARTBEAT = "heartbeat";
+    // Subscriber.sendState
+    private static final int IDLE = 0;
+    private static final int SENDING = 1;
+    private static final int STALLED = 2;
+
+    private final Map<Long, Set<Subscriber>> itemSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> categorySubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+    private final ThreadPoolExecutor dispatcher;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+
+    public BidStreamHub(@Value("${auction.stream.buffer-size:32}") int bufferSize,
+                        @Value("${auction.stream.max-subscribers:50000}") int maxSubscribers,
+                        @Value("${auction.stream.timeout:PT30M}") Duration timeout,
+                        @Value("${auction.stream.dispatcher-threads:4}") int dispatcherThreads,
+                        @Value("${auction.stream.send-timeout:PT5S}") Duration sendTimeout,
+                        WorkerThreads workerThreads) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), workerThreads.factory("bid-stream-"));
+    }
+
+    public SseEmitter subscribeToItem(Long itemId) {
+        return subscribe(itemSubscribers, itemId);
+    }
+
+    public SseEmitter subscribeToCategory(String category) {
+        return subscribe(categorySubscribers, category.toLowerCase());
+    }
+
+    @EventListener
+    public void onBidAccepted(AcceptedBid bid) {
+        publish(itemSubscribers.get(bid.itemId()), bid);
+        if (bid.category() != null) {
+            publish(categorySubscribers.get(bid.category().toLowerCase()), bid);
+        }
+    }
+
+    // Keeps idle connections open through proxies and surfaces dead ones so they get cleaned up
+    @Scheduled(fixedDelayString = "${auction.stream.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        itemSubscribers.values().forEach(subscribers -> publish(subscribers, HEARTBEAT));
+        categorySubscribers.values().forEach(subscribers -> publish(subscribers, HEARTBEAT));
+    }
+
+    /**
+     * Disconnects subscribers stuck in a send for longer than the send timeout. Each one's dispatcher thread
+     * is covered by an extra pool thread until its write returns (the container fails it once its own write
+     * timeout passes), so delivery to the other subscribers carries on meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${auction.stream.stall-check-interval:PT1S}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        itemSubscribers.values().forEach(subscribers -> dropStalled(subscribers, now));
+        categorySubscribers.values().forEach(subscribers -> dropStalled(subscribers, now));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getDroppedSubscriberCount() {
+        return droppedSubscribers.get();
+    }
+
+    private <K> SseEmitter subscribe(Map<K, Set<Subscriber>> registry, K key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many live bid watchers, please try again later.");
+        }
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        // Adds and removals (with the empty check) run inside the map's per-key operations, so a subscriber is
+        // never added to a set that a concurrent close has just taken out of the registry
+        Subscriber subscriber = new Subscriber(emitter, bufferSize, () -> {
+            registry.computeIfPresent(key, (k, subscribers) -> {
+                subscribers.removeIf(candidate -> candidate.emitter == emitter);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            subscriberCount.decrementAndGet();
+        });
+        registry.compute(key, (k, subscribers) -> {
+            Set<Subscriber> current = subscribers != null ? subscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return emitter;
+    }
+
+    private void publish(Set<Subscriber> subscribers, Object event) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(event)) {
+                logger.debug("Dropping slow bid stream subscriber ({} buffered events)", bufferSize);
+                drop(subscriber);
+            } else if (subscriber.scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(subscriber::drain);
+            }
+        }
+    }
+
+    private void dropStalled(Set<Subscriber> subscribers, long now) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sendState.get() != SENDING || now - subscriber.sendStartedNanos <= sendTimeoutNanos) {
+                continue;
+            }
+            // Stand-in first: the stuck thread gives it back as soon as its send returns, which may be right away
+            resizeDispatcher(1);
+            if (subscriber.sendState.compareAndSet(SENDING, STALLED)) {
+                logger.debug("Dropping stalled bid stream subscriber (send pending for over {} ms)",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                drop(subscriber);
+            } else {
+                resizeDispatcher(-1);
+            }
+        }
+    }
+
+    // Never completes the emitter here: that waits for a send in progress, which is what a slow client holds up
+    private void drop(Subscriber subscriber) {
+        if (subscriber.close()) {
+            droppedSubscribers.incrementAndGet();
+            subscriber.dropped = true;
+            if (subscriber.scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(subscriber::drain); // nothing else will run it to complete the emitter
+            }
+        }
+    }
+
+    // The core size may never exceed the maximum: raise the maximum first when growing, lower it last when shrinking
+    private synchronized void resizeDispatcher(int delta) {
+        int size = dispatcher.getCorePoolSize() + delta;
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    // Overridden by tests to stand in for the servlet response
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Object> buffer;
+        private final Runnable onClose;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+        private volatile long sendStartedNanos;
+        private volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter, int bufferSize, Runnable onClose) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.onClose = onClose;
+        }
+
+        boolean offer(Object event) {
+            return closed.get() || buffer.offer(event);
+        }
+
+        void drain() {
+            do {
+                try {
+                    Object event;
+                    while (!closed.get() && (event = buffer.poll()) != null) {
+                        send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close(); // client went away
+                } finally {
+                    scheduled.set(false);
+                }
+                // An event may have arrived between the last poll and clearing the flag
+            } while (!closed.get() && !buffer.isEmpty() && scheduled.compareAndSet(false, true));
+            if (dropped && completed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        private void send(Object event) throws IOException {
+            sendStartedNanos = System.nanoTime();
+            sendState.set(SENDING);
+            try {
+                if (event == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment(HEARTBEAT));
+                } else {
+                    emitter.send(SseEmitter.event().name("bid").data(event));
+                }
+            } finally {
+                if (sendState.getAndSet(IDLE) == STALLED) {
+                    resizeDispatcher(-1); // the write finally returned; give back the stand-in thread
+                }
+            }
+        }
+
+        /** Unregisters the subscriber; false if it already was. */
+        boolean close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                onClose.run();
+                return true;
+            }
+            return false;
+        }
+    }
+}
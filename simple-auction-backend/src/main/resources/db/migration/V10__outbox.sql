@@ -0,0 +1,34 @@
+-- Transactional outbox (OutboxEvent): written with the bid, close or payment change it describes
+CREATE TABLE outbox_events (
+    id         BIGINT        NOT NULL,
+    type       VARCHAR(40)   NOT NULL,
+    item_id    BIGINT,
+    payload    VARCHAR(4000) NOT NULL,
+    created_at DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+-- Retention deletes by age
+CREATE INDEX idx_outbox_events_created ON outbox_events (created_at);
+
+-- Pooled generator for outbox_events.id (blocks of 50), emulated with a single-row table as for bids_seq
+CREATE TABLE outbox_events_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO outbox_events_seq (next_val) VALUES (1);
+
+-- Events each consumer has yet to receive (OutboxDelivery)
+CREATE TABLE outbox_deliveries (
+    consumer VARCHAR(64) NOT NULL,
+    event_id BIGINT      NOT NULL,
+    PRIMARY KEY (consumer, event_id)
+) ENGINE = InnoDB;
+-- Retention keeps events some consumer still has pending
+CREATE INDEX idx_outbox_deliveries_event ON outbox_deliveries (event_id);
+
+-- Last event each consumer has been handed (OutboxOffset)
+CREATE TABLE outbox_offsets (
+    consumer          VARCHAR(64) NOT NULL,
+    last_event_id     BIGINT      NOT NULL,
+    updated_at_millis BIGINT      NOT NULL,
+    PRIMARY KEY (consumer)
+) ENGINE = InnoDB;
@@ -0,0 +1,27 @@
+-- One row per (user, item, role) for the user dashboards (DashboardEntry); filled from items and bids at
+-- startup while empty (UserDashboardProjection.rebuild)
+CREATE TABLE dashboard_entries (
+    user_id              BIGINT         NOT NULL,
+    item_id              BIGINT         NOT NULL,
+    role                 VARCHAR(8)     NOT NULL,
+    sort_key             BIGINT         NOT NULL,
+    item_name            VARCHAR(255)   NOT NULL,
+    description          VARCHAR(1000),
+    category             VARCHAR(255),
+    image_url            VARCHAR(255),
+    starting_price       DECIMAL(38, 2),
+    current_price        DECIMAL(38, 2),
+    auction_end_time     DATETIME(6),
+    auction_status       VARCHAR(16),
+    payment_status       VARCHAR(255),
+    highest_bidder_id    BIGINT,
+    highest_bidder_email VARCHAR(255),
+    my_highest_bid       DECIMAL(38, 2),
+    my_bid_count         BIGINT         NOT NULL,
+    last_bid_time        DATETIME(6),
+    PRIMARY KEY (user_id, item_id, role)
+) ENGINE = InnoDB;
+-- Keyset pages of one user's listings or bids
+CREATE INDEX idx_dashboard_user_page ON dashboard_entries (user_id, role, sort_key);
+-- Fan-out of price, close and payment changes to every row for an item
+CREATE INDEX idx_dashboard_item ON dashboard_entries (item_id);
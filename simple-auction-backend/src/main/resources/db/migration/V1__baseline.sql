@@ -0,0 +1,38 @@
+-- Schema as it stood before migrations were introduced. A database that already has these tables is
+-- baselined at version 1 (spring.flyway.baseline-on-migrate) and skips this script.
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE items (
+    id                BIGINT         NOT NULL AUTO_INCREMENT,
+    name              VARCHAR(255)   NOT NULL,
+    description       VARCHAR(1000),
+    starting_price    DECIMAL(38, 2) NOT NULL,
+    current_bid_price DECIMAL(38, 2),
+    category          VARCHAR(255)   NOT NULL,
+    image_url         VARCHAR(255),
+    auction_end_time  DATETIME(6)    NOT NULL,
+    payment_status    VARCHAR(255),
+    seller_id         BIGINT         NOT NULL,
+    highest_bidder_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_items_seller FOREIGN KEY (seller_id) REFERENCES users (id),
+    CONSTRAINT fk_items_highest_bidder FOREIGN KEY (highest_bidder_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE bids (
+    id         BIGINT         NOT NULL AUTO_INCREMENT,
+    item_id    BIGINT         NOT NULL,
+    bidder_id  BIGINT         NOT NULL,
+    bid_amount DECIMAL(38, 2) NOT NULL,
+    bid_time   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bids_item FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT fk_bids_bidder FOREIGN KEY (bidder_id) REFERENCES users (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,2 @@
+-- Item.version: bumped by every accepted bid's conditional UPDATE (ItemRepository.raiseHighestBid)
+ALTER TABLE items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
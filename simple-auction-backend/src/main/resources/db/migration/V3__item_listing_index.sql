@@ -0,0 +1,2 @@
+-- Keyset pages of GET /api/items within a category (ItemRepository.findListingsByCategoryAfter)
+CREATE INDEX idx_items_category_id ON items (category, id);
@@ -0,0 +1,5 @@
+-- The current payment attempt: its idempotency key, and the gateway's order once it awaits the customer
+ALTER TABLE items ADD COLUMN payment_reference VARCHAR(64);
+ALTER TABLE items ADD COLUMN gateway_order_id VARCHAR(64);
+-- Webhooks find the item by its order (ItemRepository.findByGatewayOrderId)
+CREATE INDEX idx_items_gateway_order ON items (gateway_order_id);
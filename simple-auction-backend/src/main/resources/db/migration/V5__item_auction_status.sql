@@ -0,0 +1,4 @@
+-- OPEN until the close engine flips it to CLOSED; NULL on rows from before this column reads as OPEN
+ALTER TABLE items ADD COLUMN auction_status VARCHAR(16);
+-- Open auctions by end time, loaded by the close engine at startup
+CREATE INDEX idx_items_status_end ON items (auction_status, auction_end_time);
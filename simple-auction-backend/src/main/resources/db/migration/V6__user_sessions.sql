@@ -0,0 +1,11 @@
+-- Login sessions for auction.session.store=jpa (UserSession); times are epoch millis
+CREATE TABLE user_sessions (
+    token VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    created_at_millis BIGINT NOT NULL,
+    expires_at_millis BIGINT NOT NULL,
+    PRIMARY KEY (token)
+) ENGINE=InnoDB;
+-- The sweep deletes by expiry (UserSessionRepository.deleteExpired)
+CREATE INDEX idx_user_sessions_expires ON user_sessions (expires_at_millis);
@@ -0,0 +1,4 @@
+-- Bid history pages per item, newest first (BidRepository.findHistoryBefore)
+CREATE INDEX idx_bids_item_id ON bids (item_id, id);
+-- Highest bids per item, read once to seed its leaderboard (BidRepository.findTopBids)
+CREATE INDEX idx_bids_item_amount ON bids (item_id, bid_amount);
@@ -0,0 +1,8 @@
+-- Bid IDs come from the pooled bids_seq generator (blocks of 50) instead of AUTO_INCREMENT.
+-- MySQL has no sequences, so Hibernate emulates one with a single-row table.
+CREATE TABLE bids_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+-- Start past every existing ID with a block to spare
+INSERT INTO bids_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM bids;
+ALTER TABLE bids MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,8 @@
+-- Live nodes for auction.cluster.enabled=true (ClusterNode); each heartbeats its row, silent rows are deleted
+CREATE TABLE cluster_nodes (
+    node_id             VARCHAR(64)  NOT NULL,
+    base_url            VARCHAR(255) NOT NULL,
+    joined_at_millis    BIGINT       NOT NULL,
+    heartbeat_at_millis BIGINT       NOT NULL,
+    PRIMARY KEY (node_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,42 @@
+package com.example.simpleauction;
+
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.service.BidService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * The Flyway migrations build the schema the entities expect: the application starts on them with
+ * {@code ddl-auto=validate} and the MySQL dialect, as in production, on H2 in MySQL mode, and stores a bid
+ * through the table-emulated {@code bids_seq}.
+ */
+class SchemaMigrationTest {
+
+    @Test
+    void migrationsMatchTheEntities() {
+        try (ConfigurableApplicationContext context = TestApplication.start(WebApplicationType.NONE,
+                "spring.datasource.url=jdbc:h2:mem:migrate-" + UUID.randomUUID()
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=validate",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+                "auction.bid-engine.enabled=false")) {
+            assertEquals("11", context.getBean(Flyway.class).info().current().getVersion().getVersion());
+
+            Item item = TestApplication.saveItem(context, "Migrated lot", LocalDateTime.now().plusHours(1));
+            BidRequest bid = new BidRequest();
+            bid.setAmount(new BigDecimal("2.00"));
+            assertNotNull(context.getBean(BidService.class).placeBid(item.getId(), bid, "bidder2@example.com").getId());
+        }
+    }
+}
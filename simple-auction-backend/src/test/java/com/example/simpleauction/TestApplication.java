@@ -0,0 +1,54 @@
+package com.example.simpleauction;
+
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Starts the application for tests that need a context of their own (a private database, several nodes, a
+ * restart), and lists items in it. Settings are {@code name=value} pairs passed as command-line arguments, so
+ * they override the test application.properties.
+ */
+public final class TestApplication {
+
+    public static final String SELLER = "seller@example.com";
+
+    private TestApplication() {
+    }
+
+    /** Without a web server, on a fresh in-memory database. */
+    public static ConfigurableApplicationContext start(String... settings) {
+        String[] withDatabase = Arrays.copyOf(settings, settings.length + 1);
+        withDatabase[settings.length] = "spring.datasource.url=jdbc:h2:mem:test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        return start(WebApplicationType.NONE, withDatabase);
+    }
+
+    /** With {@code settings} naming the database, e.g. one several nodes share or one that outlives a restart. */
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... settings) {
+        return new SpringApplicationBuilder(SimpleAuctionBackendApplication.class)
+                .web(webApplicationType)
+                .run(Arrays.stream(settings).map(setting -> "--" + setting).toArray(String[]::new));
+    }
+
+    public static User seller(ConfigurableApplicationContext context) {
+        return context.getBean(UserRepository.class).findByEmail(SELLER).orElseThrow();
+    }
+
+    /**
+     * An open item listed by the sample seller at 1.00, ending at {@code end}. Saved straight to the repository,
+     * so it is neither indexed for search nor scheduled to close.
+     */
+    public static Item saveItem(ConfigurableApplicationContext context, String name, LocalDateTime end) {
+        return context.getBean(ItemRepository.class).save(new Item(name, name + " (test lot)", new BigDecimal("1.00"),
+                "Test", null, end, seller(context)));
+    }
+}
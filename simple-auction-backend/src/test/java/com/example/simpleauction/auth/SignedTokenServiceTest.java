@@ -0,0 +1,74 @@
+package com.example.simpleauction.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A token verifies on any node with the same secret until it expires; a changed payload or signature, another
+ * secret or anything that is not a token at all verifies as null rather than throwing.
+ */
+class SignedTokenServiceTest {
+
+    private final SignedTokenService tokens = new SignedTokenService("test-secret", Duration.ofHours(1));
+
+    @Test
+    void roundTripsTheClaims() {
+        long before = System.currentTimeMillis();
+        // The email is the last claim, so a separator in it survives
+        SignedToken token = tokens.verify(tokens.issue(42L, "a|b@example.com"));
+        assertNotNull(token);
+        assertEquals(42L, token.userId());
+        assertEquals("a|b@example.com", token.email());
+        assertTrue(token.expiresAtMillis() >= before + Duration.ofHours(1).toMillis());
+
+        SignedToken other = tokens.verify(tokens.issue(42L, "a|b@example.com"));
+        assertNotEquals(token.tokenId(), other.tokenId());
+        assertNotNull(new SignedTokenService("test-secret", Duration.ofHours(1)).verify(tokens.issue(42L, "x@example.com")),
+                "another node with the same secret");
+    }
+
+    @Test
+    void rejectsATamperedSignature() {
+        String token = tokens.issue(42L, "x@example.com");
+        int dot = token.indexOf('.');
+        byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        signature[0] ^= 1;
+        assertNull(tokens.verify(token.substring(0, dot + 1) + encode(signature)));
+        assertNull(new SignedTokenService("other-secret", Duration.ofHours(1)).verify(token));
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String token = tokens.issue(42L, "x@example.com");
+        int dot = token.indexOf('.');
+        String claims = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+        String forged = encode(claims.replaceFirst("^42\\|", "1|").getBytes(StandardCharsets.UTF_8));
+        assertNull(tokens.verify(forged + token.substring(dot)));
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        SignedTokenService expired = new SignedTokenService("test-secret", Duration.ZERO);
+        assertNull(expired.verify(expired.issue(42L, "x@example.com")));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        for (String malformed : new String[] {"", ".", "no-dot", "payload.", ".signature", "!!!.???", "a.b.c"}) {
+            assertNull(tokens.verify(malformed), malformed);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
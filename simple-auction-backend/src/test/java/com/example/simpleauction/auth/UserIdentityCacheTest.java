@@ -0,0 +1,104 @@
+package com.example.simpleauction.auth;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.dto.AuthRequest;
+import com.example.simpleauction.repository.UserRepository;
+import com.example.simpleauction.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A user is read from {@code users} once and then served from the cache by email and by ID; unknown users are
+ * not cached; registration drops a cached identity for its email; hits and misses show up in the metrics.
+ */
+class UserIdentityCacheTest {
+
+    private static ConfigurableApplicationContext context;
+    private static UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.start();
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void loadsOnAMissAndServesBothKeysFromTheCacheAfterwards() {
+        UserIdentityCache cache = new UserIdentityCache(userRepository, meterRegistry, 100);
+        Long id = userRepository.findByEmail(TestApplication.SELLER).orElseThrow().getId();
+
+        assertEquals(Optional.of(new CallerIdentity(id, TestApplication.SELLER)), cache.findByEmail(TestApplication.SELLER));
+        assertEquals(Optional.of(new CallerIdentity(id, TestApplication.SELLER)), cache.findById(id));
+        assertEquals(Optional.of(new CallerIdentity(id, TestApplication.SELLER)), cache.findByEmail(TestApplication.SELLER));
+
+        assertEquals(1, gets("user-identity-email", "miss"));
+        assertEquals(1, gets("user-identity-email", "hit"));
+        assertEquals(1, gets("user-identity-id", "hit"), "the email lookup filled the ID side too");
+        assertEquals(0, gets("user-identity-id", "miss"));
+        assertEquals(0.5, hitRatio("email"));
+        assertEquals(1.0, hitRatio("id"));
+    }
+
+    @Test
+    void doesNotCacheUnknownUsers() {
+        UserIdentityCache cache = new UserIdentityCache(userRepository, meterRegistry, 100);
+
+        assertTrue(cache.findByEmail("nobody@example.com").isEmpty());
+        assertTrue(cache.findByEmail("nobody@example.com").isEmpty());
+        assertTrue(cache.findById(-1L).isEmpty());
+
+        assertEquals(2, gets("user-identity-email", "miss"));
+        assertEquals(0, gets("user-identity-email", "hit"));
+        assertEquals(1, gets("user-identity-id", "miss"));
+    }
+
+    @Test
+    void registrationReplacesACachedIdentityForTheSameEmail() {
+        UserIdentityCache cache = context.getBean(UserIdentityCache.class);
+        AuthService authService = context.getBean(AuthService.class);
+        String email = "returning@example.com";
+
+        authService.registerUser(request(email));
+        CallerIdentity first = cache.findByEmail(email).orElseThrow();
+        userRepository.deleteById(first.userId());
+        // The removed account is still cached: hits never go back to the table
+        assertEquals(Optional.of(first), cache.findByEmail(email));
+
+        authService.registerUser(request(email));
+        CallerIdentity second = cache.findByEmail(email).orElseThrow();
+        assertNotEquals(first.userId(), second.userId());
+        assertEquals(Optional.of(second), cache.findById(second.userId()));
+        assertTrue(cache.findById(first.userId()).isEmpty());
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+
+    private double hitRatio(String key) {
+        return meterRegistry.get("auction.user.cache.hit.ratio").tag("key", key).gauge().value();
+    }
+
+    private static AuthRequest request(String email) {
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        request.setPassword("password");
+        return request;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.simpleauction.cluster;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.dto.MaxBidResponse;
+import com.example.simpleauction.engine.BidEngine;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.service.BidService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Three nodes on localhost ports sharing one database. Bids sent to any node end up on the item's owner,
+ * which alone holds the item's book; when a node leaves, its items move to the others and bidding carries on
+ * from the stored price.
+ */
+class ClusterRoutingTest {
+
+    private static final int ITEMS = 12;
+    private static final int BIDS_PER_ROUND = 6;
+
+    private final String databaseUrl = "jdbc:h2:mem:cluster-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final Random random = new Random(42);
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void bidsAreServedByTheItemsOwnerAcrossRebalancing() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            nodes.add(start("node-" + i));
+        }
+        awaitMembers(3);
+
+        ConfigurableApplicationContext first = nodes.get(0);
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(TestApplication.saveItem(first, "Cluster lot " + i, LocalDateTime.now().plusHours(1)).getId());
+        }
+
+        bidRound(itemIds, 0);
+        awaitStoredPrices(itemIds, BIDS_PER_ROUND);
+        for (Long itemId : itemIds) {
+            assertEquals(1, nodes.stream().filter(node -> node.getBean(BidEngine.class).peek(itemId) != null).count(),
+                    "item " + itemId + " has exactly one book");
+        }
+
+        // A maximum bid sent to a node that does not own the item is settled by the owner
+        Long proxied = TestApplication.saveItem(first, "Proxy lot", LocalDateTime.now().plusHours(1)).getId();
+        ConfigurableApplicationContext notOwner = nodes.stream()
+                .filter(node -> node.getBean(ItemOwnership.class).ownerUrl(proxied) != null).findFirst().orElseThrow();
+        MaxBidResponse max = retry(() -> notOwner.getBean(BidService.class).placeMaxBid(proxied, request(amount(100)), "test@example.com"));
+        assertTrue(max.leading());
+        assertEquals(0, new BigDecimal("1.50").compareTo(max.currentPrice()));
+
+        nodes.remove(2).close();
+        awaitMembers(2);
+        bidRound(itemIds, BIDS_PER_ROUND);
+        awaitStoredPrices(itemIds, 2 * BIDS_PER_ROUND);
+    }
+
+    // ddl-auto=update: the test properties' create-drop would drop the shared schema when the first node stops
+    private ConfigurableApplicationContext start(String nodeId) {
+        return TestApplication.start(WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.datasource.url=" + databaseUrl,
+                "spring.jpa.hibernate.ddl-auto=update",
+                "auction.cluster.enabled=true",
+                "auction.cluster.node-id=" + nodeId,
+                "auction.cluster.secret=test-secret",
+                "auction.cluster.heartbeat-interval=PT0.2S",
+                "auction.cluster.node-timeout=PT1S",
+                "auction.cluster.handoff-delay=PT0.5S");
+    }
+
+    // Bids i + 1 .. i + BIDS_PER_ROUND on every item, alternating bidders, each sent to a random node
+    private void bidRound(List<Long> itemIds, int offset) {
+        for (int i = offset + 1; i <= offset + BIDS_PER_ROUND; i++) {
+            for (Long itemId : itemIds) {
+                BidService bidService = nodes.get(random.nextInt(nodes.size())).getBean(BidService.class);
+                String bidder = i % 2 == 0 ? "test@example.com" : "bidder2@example.com";
+                BigDecimal amount = amount(i);
+                retry(() -> bidService.placeBid(itemId, request(amount), bidder));
+            }
+        }
+    }
+
+    private void awaitStoredPrices(List<Long> itemIds, int lastBid) throws InterruptedException {
+        ItemRepository itemRepository = nodes.get(0).getBean(ItemRepository.class);
+        long deadline = System.currentTimeMillis() + 10_000;
+        for (Long itemId : itemIds) {
+            Item item;
+            while ((item = itemRepository.findWithParticipantsById(itemId).orElseThrow()).getCurrentBidPrice() == null
+                    || item.getCurrentBidPrice().compareTo(amount(lastBid)) != 0) {
+                assertTrue(System.currentTimeMillis() < deadline, "item " + itemId + " stored at " + item.getCurrentBidPrice());
+                Thread.sleep(20);
+            }
+            assertEquals(lastBid % 2 == 0 ? "test@example.com" : "bidder2@example.com", item.getHighestBidder().getEmail());
+        }
+    }
+
+    // Until every node sees the same members and has taken over its items
+    private void awaitMembers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!nodes.stream().allMatch(node -> node.getBean(ItemOwnership.class).peerUrls().size() == count - 1)) {
+            assertTrue(System.currentTimeMillis() < deadline, "cluster did not settle on " + count + " nodes");
+            Thread.sleep(20);
+        }
+    }
+
+    // Items are briefly unavailable while moving between nodes
+    private static <T> T retry(Supplier<T> placement) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return placement.get();
+            } catch (ItemMovingException e) {
+                if (attempt == 200) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static BidRequest request(BigDecimal amount) {
+        BidRequest request = new BidRequest();
+        request.setAmount(amount);
+        return request;
+    }
+
+    private static BigDecimal amount(int i) {
+        return BigDecimal.valueOf(1 + i);
+    }
+}
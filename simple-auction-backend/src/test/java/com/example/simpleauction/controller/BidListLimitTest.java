@@ -0,0 +1,52 @@
+package com.example.simpleauction.controller;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.entity.Item;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Top bids and bid history take the same {@code limit} rule: absent means the default, below 1 is a 400.
+ */
+class BidListLimitTest {
+
+    private static ConfigurableApplicationContext context;
+    private static ItemController controller;
+    private static Long itemId;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.start();
+        controller = context.getBean(ItemController.class);
+        Item item = TestApplication.saveItem(context, "Limit lot", LocalDateTime.now().plusHours(1));
+        itemId = item.getId();
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void topBidsRejectALimitBelowOne() {
+        assertEquals(HttpStatus.OK, controller.getBidsForItem(itemId, null).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.getBidsForItem(itemId, 1).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getBidsForItem(itemId, 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getBidsForItem(itemId, -5).getStatusCode());
+    }
+
+    @Test
+    void bidHistoryRejectsALimitBelowOne() {
+        assertEquals(HttpStatus.OK, controller.getBidHistory(itemId, null, null).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.getBidHistory(itemId, null, 1).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getBidHistory(itemId, null, 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getBidHistory(itemId, null, -5).getStatusCode());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.simpleauction.controller;
+
+import com.example.simpleauction.SimpleAuctionBackendApplication;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A burst of slow {@code /pay} calls mixed with item reads, served on platform and on virtual request threads.
+ * Each run checks that every request was answered and logs throughput and read latency, so the two modes can
+ * be compared. Tomcat is capped at a small pool, so in the platform run the slow payments can occupy every
+ * request thread.
+ * <p>
+ * {@code mvn test -Pbenchmark} runs the platform mode on any JDK. The virtual mode needs a Java 21+ runtime and
+ * is skipped otherwise; {@code mvn test -Pbenchmark,jdk21} fails the build on an older JDK instead of skipping it.
+ */
+@Tag("benchmark")
+class ExecutionModeLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeLoadTest.class);
+
+    private static final int REQUEST_THREADS = 32;
+    private static final int PAYMENTS = 200;
+    private static final int READS = 4_000;
+    private static final int CLIENT_CONCURRENCY = 256;
+
+    @Test
+    void platformThreads() throws Exception {
+        logger.info("platform threads: {}", run(false));
+    }
+
+    @Test
+    void virtualThreads() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "virtual threads need a Java 21+ runtime");
+        logger.info("virtual threads:  {}", run(true));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleAuctionBackendApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + REQUEST_THREADS)
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api";
+            List<Long> wonItems = seedWonItems(context, PAYMENTS);
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+            String token = login(client, base);
+
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENT_CONCURRENCY);
+            List<Future<Sent>> payments = new ArrayList<>();
+            List<Future<Sent>> reads = new ArrayList<>();
+            long began = System.nanoTime();
+            for (Long itemId : wonItems) {
+                payments.add(clients.submit(() -> send(client, HttpRequest.newBuilder(URI.create(base + "/items/" + itemId + "/pay"))
+                        .header("Authorization", "Bearer " + token)
+                        .POST(HttpRequest.BodyPublishers.noBody()).build())));
+            }
+            for (int i = 0; i < READS; i++) {
+                long itemId = 1 + (i % 5);
+                reads.add(clients.submit(() -> send(client, HttpRequest.newBuilder(URI.create(base + "/items/" + itemId)).GET().build())));
+            }
+            long[] readLatencies = new long[READS];
+            for (int i = 0; i < READS; i++) {
+                Sent read = reads.get(i).get();
+                assertEquals(200, read.status(), "item read");
+                readLatencies[i] = read.nanos();
+            }
+            for (Future<Sent> payment : payments) {
+                int status = payment.get().status();
+                assertTrue(status == 200 || status == 202, "payment answered " + status);
+            }
+            long elapsed = System.nanoTime() - began;
+            clients.shutdown();
+            clients.awaitTermination(1, TimeUnit.MINUTES);
+
+            Arrays.sort(readLatencies);
+            return new Result((PAYMENTS + READS) / (elapsed / 1e9),
+                    readLatencies[READS / 2] / 1e6, readLatencies[READS * 99 / 100] / 1e6, readLatencies[READS - 1] / 1e6);
+        }
+    }
+
+    // Items whose auction already ended with test@example.com on top, so every /pay call reaches the gateway
+    private List<Long> seedWonItems(ConfigurableApplicationContext context, int count) {
+        UserRepository users = context.getBean(UserRepository.class);
+        ItemRepository items = context.getBean(ItemRepository.class);
+        User seller = users.findByEmail("seller@example.com").orElseThrow();
+        User winner = users.findByEmail("test@example.com").orElseThrow();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Item item = new Item("Won lot " + i, "Ended auction", new BigDecimal("10.00"), "Load", null,
+                    LocalDateTime.now().minusMinutes(1), seller);
+            item.setHighestBidder(winner);
+            item.setCurrentBidPrice(new BigDecimal("15.00"));
+            item.setAuctionStatus("CLOSED"); // as the close engine would have left it; payment waits for that
+            ids.add(items.save(item).getId());
+        }
+        return ids;
+    }
+
+    private String login(HttpClient client, String base) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"test@example.com\",\"password\":\"password\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"").matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private Sent send(HttpClient client, HttpRequest request) throws Exception {
+        long began = System.nanoTime();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        return new Sent(status, System.nanoTime() - began);
+    }
+
+    private record Sent(int status, long nanos) {
+    }
+
+    private record Result(double requestsPerSecond, double readP50Millis, double readP99Millis, double readMaxMillis) {
+        @Override
+        public String toString() {
+            return String.format("%,.0f req/s, item reads p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    requestsPerSecond, readP50Millis, readP99Millis, readMaxMillis);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.simpleauction.dashboard;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.auth.CallerIdentity;
+import com.example.simpleauction.auth.UserIdentityCache;
+import com.example.simpleauction.dto.AddItemRequest;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.dto.ItemPage;
+import com.example.simpleauction.dto.MyBidDTO;
+import com.example.simpleauction.dto.MyBidPage;
+import com.example.simpleauction.engine.BidEngine;
+import com.example.simpleauction.entity.DashboardEntry;
+import com.example.simpleauction.repository.DashboardEntryRepository;
+import com.example.simpleauction.service.BidService;
+import com.example.simpleauction.service.ItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The dashboards are derived from the sample data at startup, then kept current as items are listed, bid on
+ * and closed: the winning and outbid flags follow each bid, pages walk every row once, and the incrementally
+ * maintained rows match a rebuild from the items and bids tables.
+ */
+class UserDashboardTest {
+
+    @Test
+    void dashboardsFollowListingsBidsAndCloses() throws InterruptedException {
+        try (ConfigurableApplicationContext context = TestApplication.start("auction.close.tick=PT0.1S")) {
+            UserIdentityCache identities = context.getBean(UserIdentityCache.class);
+            CallerIdentity tester = identities.findByEmail("test@example.com").orElseThrow();
+            CallerIdentity seller = identities.findByEmail(TestApplication.SELLER).orElseThrow();
+            CallerIdentity rival = identities.findByEmail("bidder2@example.com").orElseThrow();
+            UserDashboardService dashboards = context.getBean(UserDashboardService.class);
+            ItemService itemService = context.getBean(ItemService.class);
+
+            // Sample data: the tester leads on the Lancer model and was outbid on the running shoes
+            List<MyBidDTO> seeded = dashboards.getMyBids(tester, null, null).bids();
+            assertEquals(2, seeded.size());
+            assertTrue(bidOn(seeded, "Vintage Lancer Model").winning());
+            assertTrue(bidOn(seeded, "Running Shoes").outbid());
+
+            Long lot = itemService.createItem(item("Dashboard lot", LocalDateTime.now().plusHours(1)), seller.email()).getId();
+            Long closing = itemService.createItem(item("Closing lot", LocalDateTime.now().plusSeconds(2)), seller.email()).getId();
+
+            bid(context, lot, "2.00", tester);
+            bid(context, lot, "3.00", rival);
+            MyBidDTO outbid = dashboards.getMyBids(tester, null, null).bids().get(0);
+            assertEquals(lot, outbid.itemId());
+            assertTrue(outbid.outbid());
+            assertEquals(0, new BigDecimal("2.00").compareTo(outbid.myHighestBid()));
+            assertEquals(0, new BigDecimal("3.00").compareTo(outbid.currentBidPrice()));
+            assertTrue(bidOn(dashboards.getMyBids(rival, null, null).bids(), "Dashboard lot").winning());
+
+            bid(context, lot, "4.00", tester);
+            MyBidDTO winning = dashboards.getMyBids(tester, null, null).bids().get(0);
+            assertTrue(winning.winning());
+            assertFalse(winning.outbid());
+            assertEquals(2, winning.myBidCount());
+            assertTrue(bidOn(dashboards.getMyBids(rival, null, null).bids(), "Dashboard lot").outbid());
+
+            bid(context, closing, "5.00", rival);
+            long deadline = System.currentTimeMillis() + 15_000;
+            while (!"CLOSED".equals(bidOn(dashboards.getMyBids(rival, null, null).bids(), "Closing lot").auctionStatus())) {
+                assertTrue(System.currentTimeMillis() < deadline, "closing lot not closed on the dashboard");
+                Thread.sleep(20);
+            }
+            assertTrue(bidOn(dashboards.getMyBids(rival, null, null).bids(), "Closing lot").winning());
+
+            // Four sample listings plus two new ones, walked two at a time
+            List<ItemDTO> listed = new ArrayList<>();
+            Long cursor = null;
+            do {
+                ItemPage page = dashboards.getListedItems(seller, cursor, 2);
+                listed.addAll(page.items());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertEquals(6, listed.size());
+            assertEquals(List.of(closing, lot), listed.subList(0, 2).stream().map(ItemDTO::getId).toList());
+            assertEquals("test@example.com", listed.get(1).getHighestBidderEmail());
+            MyBidPage firstBidPage = dashboards.getMyBids(tester, null, 1);
+            assertEquals(lot, firstBidPage.bids().get(0).itemId());
+            assertEquals(2, dashboards.getMyBids(tester, firstBidPage.nextCursor(), 10).bids().size());
+            assertNull(dashboards.getMyBids(tester, firstBidPage.nextCursor(), 10).nextCursor());
+
+            DashboardEntryRepository entryRepository = context.getBean(DashboardEntryRepository.class);
+            List<String> incremental = snapshot(entryRepository);
+            context.getBean(UserDashboardProjection.class).rebuild();
+            assertEquals(snapshot(entryRepository), incremental);
+        }
+    }
+
+    // Placed on the engine, then waited for until written, when the dashboards see it
+    private static void bid(ConfigurableApplicationContext context, Long itemId, String amount, CallerIdentity bidder)
+            throws InterruptedException {
+        BidRequest request = new BidRequest();
+        request.setAmount(new BigDecimal(amount));
+        context.getBean(BidService.class).placeBid(itemId, request, bidder.email());
+        assertTrue(context.getBean(BidEngine.class).awaitWrites(List.of(itemId), 10_000));
+    }
+
+    private static AddItemRequest item(String name, LocalDateTime end) {
+        AddItemRequest request = new AddItemRequest();
+        request.setName(name);
+        request.setDescription(name + " for the dashboard test");
+        request.setStartingPrice(new BigDecimal("1.00"));
+        request.setCategory("Dashboard");
+        request.setAuctionEndTime(end.toString());
+        return request;
+    }
+
+    private static MyBidDTO bidOn(List<MyBidDTO> bids, String itemName) {
+        return bids.stream().filter(bid -> bid.itemName().equals(itemName)).findFirst().orElseThrow();
+    }
+
+    private static List<String> snapshot(DashboardEntryRepository entryRepository) {
+        return entryRepository.findAll().stream()
+                .sorted(Comparator.comparing(DashboardEntry::getRole).thenComparing(DashboardEntry::getUserId)
+                        .thenComparing(DashboardEntry::getItemId))
+                .map(entry -> String.join("|", entry.getRole(), String.valueOf(entry.getUserId()),
+                        String.valueOf(entry.getItemId()), String.valueOf(entry.getSortKey()),
+                        plain(entry.getCurrentPrice()), plain(entry.getMyHighestBid()), String.valueOf(entry.getMyBidCount()),
+                        String.valueOf(entry.getHighestBidderId()), entry.getAuctionStatus(), String.valueOf(entry.getAuctionEndTime()),
+                        String.valueOf(entry.getLastBidTime())))
+                .toList();
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount == null ? "null" : amount.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import com.example.simpleauction.service.BidService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bids/sec on a single hot item: database path vs. in-memory bid engine.
+ * Run with {@code mvn test -Pbenchmark}. The engine queue is sized to absorb the whole
+ * burst, which is what a closing-minute rush looks like; sustained throughput is bounded
+ * by how fast {@link BidWriter} can drain.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "auction.bid-engine.queue-capacity=100000")
+class BidEngineBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(BidEngineBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+    private static final int DATABASE_BIDS = 4_000;
+    private static final int ENGINE_BIDS = 50_000;
+
+    @Autowired private BidService bidService;
+    @Autowired private BidWriter bidWriter;
+    @Autowired private ItemRepository itemRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void hotItemThroughput() throws Exception {
+        User seller = userRepository.findByEmail("seller@example.com").orElseThrow();
+        List<String> bidders = List.of("test@example.com", "bidder2@example.com");
+
+        ReflectionTestUtils.setField(bidService, "bidEngineEnabled", false);
+        double databaseRate = run(newItem(seller), bidders, DATABASE_BIDS);
+
+        ReflectionTestUtils.setField(bidService, "bidEngineEnabled", true);
+        double engineRate = run(newItem(seller), bidders, ENGINE_BIDS);
+        while (bidWriter.pending() > 0) {
+            Thread.sleep(50);
+        }
+
+        logger.info(String.format("database path: %,.0f bids/s, engine: %,.0f bids/s (%.1fx)",
+                databaseRate, engineRate, engineRate / databaseRate));
+        assertTrue(engineRate >= databaseRate * 10, "engine should be at least 10x faster on a hot item");
+    }
+
+    private Long newItem(User seller) {
+        Item item = new Item("Benchmark Lot", "Hot item", new BigDecimal("1.00"), "Benchmark", null,
+                LocalDateTime.now().plusHours(1), seller);
+        return itemRepository.save(item).getId();
+    }
+
+    private double run(Long itemId, List<String> bidders, int totalBids) throws InterruptedException {
+        AtomicLong nextAmount = new AtomicLong(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        int perThread = totalBids / THREADS;
+        for (int t = 0; t < THREADS; t++) {
+            String bidder = bidders.get(t % bidders.size());
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    BidRequest request = new BidRequest();
+                    request.setAmount(BigDecimal.valueOf(nextAmount.getAndIncrement()));
+                    try {
+                        bidService.placeBid(itemId, request, bidder);
+                    } catch (RuntimeException rejected) {
+                        // Rejections (outbid in a race, lock timeouts) still count as handled requests
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - began;
+        return (double) perThread * THREADS / elapsed * TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.simpleauction.engine;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Append latency of the {@link BidJournal}, with and without waiting for the group-commit force.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BidJournalBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(BidJournalBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+    private static final int APPENDS_PER_THREAD = 100_000;
+    private static final int FORCED_APPENDS_PER_THREAD = 2_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendLatency() throws Exception {
+        String append = run(dir.resolve("append"), false, APPENDS_PER_THREAD);
+        String forced = run(dir.resolve("forced"), true, FORCED_APPENDS_PER_THREAD);
+        logger.info("append only:    {}", append);
+        logger.info("append + force: {}", forced);
+    }
+
+    private String run(Path journalDir, boolean awaitForce, int perThread) throws Exception {
+        BidJournal journal = new BidJournal(journalDir, DataSize.ofMegabytes(16), Duration.ofMillis(1), awaitForce);
+        journal.open();
+        try {
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            List<Future<long[]>> threads = new ArrayList<>();
+            long began = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                long itemId = t + 1;
+                threads.add(pool.submit(() -> {
+                    long[] latencies = new long[perThread];
+                    LocalDateTime end = LocalDateTime.now().plusHours(1);
+                    for (int i = 0; i < perThread; i++) {
+                        AcceptedBid bid = new AcceptedBid(null, itemId, "Lot", "Benchmark", "bidder@example.com",
+                                (i + 2) * 100L, LocalDateTime.now(), end);
+                        long start = System.nanoTime();
+                        BidJournal.Entry entry = journal.append(bid, 42);
+                        if (awaitForce) {
+                            journal.awaitForced(entry);
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> thread : threads) {
+                long[] latencies = thread.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            long elapsed = System.nanoTime() - began;
+            pool.shutdown();
+            Arrays.sort(all);
+            return String.format("%,d appends, %,.0f/s, p50 %.1f us, p99 %.1f us, p99.9 %.1f us",
+                    all.length, all.length / (elapsed / 1e9), all[all.length / 2] / 1e3,
+                    all[all.length * 99 / 100] / 1e3, all[all.length * 999 / 1000] / 1e3);
+        } finally {
+            journal.close();
+            BidJournal reopened = new BidJournal(journalDir, DataSize.ofMegabytes(16), Duration.ofMillis(1), false);
+            reopened.open();
+            assertEquals(THREADS * perThread, reopened.previousRun().size(), "every append is readable after close");
+            reopened.close();
+        }
+    }
+}
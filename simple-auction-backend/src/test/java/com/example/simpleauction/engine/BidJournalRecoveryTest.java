@@ -0,0 +1,96 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.repository.BidRepository;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.service.BidService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bids accepted and journaled, but lost from the writer's queue by a "crash", are stored on the next startup,
+ * and the item ends up with the journaled price, leader and soft-close end time.
+ */
+class BidJournalRecoveryTest {
+
+    private static final int BIDS = 1_000;
+    private static final int STORED_BEFORE_CRASH = 200;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void replaysUnstoredBidsOnStartup() {
+        Long itemId;
+        LocalDateTime extendedEnd;
+        try (ConfigurableApplicationContext context = start()) {
+            itemId = TestApplication.saveItem(context, "Journal lot", LocalDateTime.now().plusHours(1)).getId();
+            BidService bidService = context.getBean(BidService.class);
+            BidWriter bidWriter = context.getBean(BidWriter.class);
+
+            for (int i = 0; i < STORED_BEFORE_CRASH; i++) {
+                bid(bidService, itemId, i);
+            }
+            bidWriter.awaitWritten(List.of(itemId), 30_000);
+
+            // Crash: the writer stops, so everything accepted from here on is only in the journal
+            ReflectionTestUtils.setField(bidWriter, "running", false);
+            Thread worker = (Thread) ReflectionTestUtils.getField(bidWriter, "worker");
+            worker.interrupt();
+            worker.join();
+            for (int i = STORED_BEFORE_CRASH; i < BIDS; i++) {
+                bid(bidService, itemId, i);
+            }
+            extendedEnd = context.getBean(BidEngine.class).peek(itemId).getAuctionEndTime();
+            assertEquals(STORED_BEFORE_CRASH, context.getBean(BidRepository.class).findByItemIdOrderByBidAmountDesc(itemId).size());
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            assertEquals(BIDS, context.getBean(BidRepository.class).findByItemIdOrderByBidAmountDesc(itemId).size());
+            Item item = context.getBean(ItemRepository.class).findWithParticipantsById(itemId).orElseThrow();
+            assertEquals(0, amount(BIDS - 1).compareTo(item.getCurrentBidPrice()));
+            assertEquals(bidder(BIDS - 1), item.getHighestBidder().getEmail());
+            assertEquals(extendedEnd, item.getAuctionEndTime());
+        }
+    }
+
+    // A file database that survives the restart (the test properties' create-drop would not)
+    private ConfigurableApplicationContext start() {
+        return TestApplication.start(WebApplicationType.NONE,
+                "spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("db"),
+                "spring.jpa.hibernate.ddl-auto=update",
+                "auction.bid-journal.enabled=true",
+                "auction.bid-journal.dir=" + dataDir.resolve("journal"),
+                "auction.bid-journal.segment-size=8KB", // several segment rolls
+                "auction.soft-close.window=PT2H",
+                "auction.soft-close.extension=PT1S");
+    }
+
+    private static void bid(BidService bidService, Long itemId, int i) {
+        BidRequest request = new BidRequest();
+        request.setAmount(amount(i));
+        bidService.placeBid(itemId, request, bidder(i));
+    }
+
+    private static BigDecimal amount(int i) {
+        return new BigDecimal("2.00").add(new BigDecimal("0.25").multiply(BigDecimal.valueOf(i)));
+    }
+
+    private static String bidder(int i) {
+        return i % 2 == 0 ? "test@example.com" : "bidder2@example.com";
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.simpleauction.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A bid the writer dropped is marked discarded in the journal, so the next run neither replays it nor stops
+ * reading at it.
+ */
+class BidJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void discardedRecordsAreNotReplayed() throws Exception {
+        BidJournal journal = open();
+        journal.append(bid(200), 1);
+        BidJournal.Entry dropped = journal.append(bid(300), 2);
+        journal.append(bid(400), 1);
+        journal.discard(dropped);
+        journal.close();
+
+        BidJournal reopened = open();
+        List<Long> amounts = reopened.previousRun().stream().map(BidJournal.JournaledBid::amountMinor).toList();
+        reopened.close();
+        assertEquals(List.of(200L, 400L), amounts);
+    }
+
+    private BidJournal open() throws Exception {
+        BidJournal journal = new BidJournal(dir, DataSize.ofKilobytes(8), Duration.ofMillis(1), false);
+        journal.open();
+        return journal;
+    }
+
+    private static AcceptedBid bid(long amountMinor) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AcceptedBid(null, 7L, "Lot", "Journal", "bidder@example.com", amountMinor, now, now.plusHours(1));
+    }
+}
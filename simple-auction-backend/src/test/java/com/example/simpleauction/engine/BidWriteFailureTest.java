@@ -0,0 +1,42 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.service.BidService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A bid the writer cannot store (here: its item was deleted under a loaded book) is retried, then dropped:
+ * the bidder gets a {@link BidNotStoredException} and the engine no longer holds the book that applied it.
+ */
+class BidWriteFailureTest {
+
+    @Test
+    void droppedBidEvictsTheBookAndFailsTheBidder() {
+        try (ConfigurableApplicationContext context = TestApplication.start(
+                "auction.bid-engine.durability=sync", "auction.bid-engine.write-backoff=PT0.01S")) {
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            Long itemId = TestApplication.saveItem(context, "Vanishing lot", LocalDateTime.now().plusHours(1)).getId();
+            BidEngine engine = context.getBean(BidEngine.class);
+            engine.book(itemId);
+            itemRepository.deleteById(itemId);
+
+            BidService bidService = context.getBean(BidService.class);
+            BidRequest request = new BidRequest();
+            request.setAmount(new BigDecimal("2.00"));
+            assertThrows(BidNotStoredException.class, () -> bidService.placeBid(itemId, request, "test@example.com"));
+            assertNull(engine.peek(itemId));
+            // The reload reads the database, which never had the bid (or, here, the item)
+            assertThrows(EntityNotFoundException.class, () -> bidService.placeBid(itemId, request, "test@example.com"));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.SimpleAuctionBackendApplication;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.repository.BidRepository;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import com.example.simpleauction.service.BidService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bid inserts/sec for each {@link BidDurability} mode. Run with {@code mvn test -Pbenchmark}.
+ * <p>
+ * Bidders hammer a few hot items for a fixed time; the rate counts bid rows committed from the first bid
+ * until the writer has drained, and the latency is what an accepted bidder waited for its acknowledgement.
+ * Sync pays one transaction per bid; group commit shares one between every bid queued during the previous
+ * commit; write-behind batches by size or time and acknowledges before any of it.
+ */
+@Tag("benchmark")
+class BidWriterBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(BidWriterBenchmarkTest.class);
+
+    private static final int BIDDERS = 32;
+    private static final int ITEMS = 4;
+    private static final Duration DURATION = Duration.ofSeconds(3);
+
+    @Test
+    void insertsPerSecondByDurability() throws Exception {
+        for (BidDurability durability : BidDurability.values()) {
+            logger.info("{} {}", String.format("%-12s", durability), run(durability));
+        }
+    }
+
+    private Result run(BidDurability durability) throws Exception {
+        String name = durability.name().toLowerCase();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleAuctionBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:writer-" + name + ";DB_CLOSE_DELAY=-1",
+                        "auction.bid-engine.durability=" + durability,
+                        "auction.bid-engine.queue-capacity=100000")
+                .run()) {
+            BidService bidService = context.getBean(BidService.class);
+            BidWriter bidWriter = context.getBean(BidWriter.class);
+            BidRepository bids = context.getBean(BidRepository.class);
+            ItemRepository items = context.getBean(ItemRepository.class);
+            UserRepository users = context.getBean(UserRepository.class);
+            assertEquals(durability, bidWriter.getDurability());
+
+            User seller = users.findByEmail("seller@example.com").orElseThrow();
+            List<Long> itemIds = new ArrayList<>();
+            List<AtomicLong> nextAmounts = new ArrayList<>();
+            for (int i = 0; i < ITEMS; i++) {
+                nextAmounts.add(new AtomicLong(2));
+                itemIds.add(items.save(new Item("Writer lot " + i, "Benchmark", new BigDecimal("1.00"), "Benchmark", null,
+                        LocalDateTime.now().plusHours(1), seller)).getId());
+            }
+            long storedBefore = bids.count();
+
+            ExecutorService pool = Executors.newFixedThreadPool(BIDDERS);
+            long began = System.nanoTime();
+            long stopAt = began + DURATION.toNanos();
+            List<Future<long[]>> bidders = new ArrayList<>();
+            for (int b = 0; b < BIDDERS; b++) {
+                Long itemId = itemIds.get(b % ITEMS);
+                AtomicLong nextAmount = nextAmounts.get(b % ITEMS);
+                bidders.add(pool.submit(() -> {
+                    long[] latencies = new long[1 << 16];
+                    int count = 0;
+                    while (System.nanoTime() < stopAt) {
+                        BidRequest request = new BidRequest();
+                        request.setAmount(BigDecimal.valueOf(nextAmount.getAndIncrement()));
+                        long sent = System.nanoTime();
+                        try {
+                            bidService.placeBid(itemId, request, "test@example.com");
+                        } catch (IllegalArgumentException outbid) {
+                            continue; // a higher amount got there first
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> bidder : bidders) {
+                long[] latencies = bidder.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            pool.shutdown();
+            assertTrue(bidWriter.awaitWritten(itemIds, TimeUnit.MINUTES.toMillis(2)), "writer never drained");
+            long elapsed = System.nanoTime() - began;
+
+            long stored = bids.count() - storedBefore;
+            assertEquals(all.length, stored, "every accepted bid is stored");
+            Arrays.sort(all);
+            return new Result(stored, stored / (elapsed / 1e9), all[all.length / 2] / 1e3, all[all.length * 99 / 100] / 1e3);
+        }
+    }
+
+    private record Result(long stored, double insertsPerSecond, double ackP50Micros, double ackP99Micros) {
+        @Override
+        public String toString() {
+            return String.format("%,d bids stored, %,.0f inserts/s, ack p50 %,.0f us, p99 %,.0f us",
+                    stored, insertsPerSecond, ackP50Micros, ackP99Micros);
+        }
+    }
+}
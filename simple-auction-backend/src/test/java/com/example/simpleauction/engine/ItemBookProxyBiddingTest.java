@@ -0,0 +1,149 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.lifecycle.SoftClosePolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Maximum bids on one {@link ItemBook}: which visible bids a proxy war produces, who leads and at what price.
+ * Amounts are in minor units; the price starts at 10.00.
+ */
+class ItemBookProxyBiddingTest {
+
+    private static final String SELLER = "seller@example.com";
+    private static final String ALICE = "alice@example.com";
+    private static final String BOB = "bob@example.com";
+    private static final String CAROL = "carol@example.com";
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final SoftClosePolicy softClose = new SoftClosePolicy(Duration.ZERO, Duration.ofMinutes(1));
+    private final BidIncrements increments = new BidIncrements("0:0.50,10:1,50:2.50");
+    private final ItemBook book = new ItemBook(1L, "Lot", "Test", SELLER, now.plusHours(1), 1_000, null);
+
+    @Test
+    void firstMaximumBidsOneIncrement() {
+        BidResolution resolution = max(ALICE, 2_000);
+        assertBids(resolution, ALICE, 1_100);
+        assertEquals(ALICE, book.getHighestBidderEmail());
+        assertEquals(2_000, resolution.proxyMax());
+    }
+
+    @Test
+    void lowerMaximumIsShownThenAnswered() {
+        max(ALICE, 2_000);
+        BidResolution resolution = max(BOB, 1_500);
+        assertBids(resolution, BOB, 1_500, ALICE, 1_600);
+        assertEquals(ALICE, resolution.highestBidderEmail());
+        assertEquals(2_000, resolution.proxyMax());
+    }
+
+    @Test
+    void higherMaximumTakesOverOneIncrementAboveTheOld() {
+        max(ALICE, 2_000);
+        BidResolution resolution = max(BOB, 9_000);
+        assertBids(resolution, ALICE, 2_000, BOB, 2_100);
+        assertEquals(BOB, book.getHighestBidderEmail());
+        assertEquals(9_000, resolution.proxyMax());
+    }
+
+    @Test
+    void incrementNeverTakesAProxyPastItsMaximum() {
+        max(ALICE, 2_000);
+        assertBids(max(BOB, 2_050), ALICE, 2_000, BOB, 2_050);
+    }
+
+    @Test
+    void earlierMaximumWinsATie() {
+        max(ALICE, 2_000);
+        BidResolution resolution = max(BOB, 2_000);
+        assertBids(resolution, ALICE, 2_000);
+        assertEquals(ALICE, book.getHighestBidderEmail());
+    }
+
+    @Test
+    void manualBidBelowAMaximumIsAnswered() {
+        max(ALICE, 2_000);
+        assertBids(bid(BOB, 1_200), BOB, 1_200, ALICE, 1_300);
+        assertEquals(ALICE, book.getHighestBidderEmail());
+    }
+
+    @Test
+    void manualBidEqualToAMaximumIsRejected() {
+        max(ALICE, 2_000);
+        BidRejectedException e = assertThrows(BidRejectedException.class, () -> bid(BOB, 2_000));
+        assertEquals(BidRejectedException.Reason.TOO_LOW, e.getReason());
+        assertEquals(1_100, book.getCurrentPrice());
+    }
+
+    @Test
+    void manualBidAboveAMaximumUsesItUp() {
+        max(ALICE, 2_000);
+        assertBids(bid(BOB, 2_500), ALICE, 2_000, BOB, 2_500);
+        // Alice's maximum is spent, so nothing answers for her any more
+        assertBids(bid(CAROL, 2_600), CAROL, 2_600);
+    }
+
+    @Test
+    void leaderRaisesTheirMaximumWithoutMovingThePrice() {
+        max(ALICE, 2_000);
+        BidResolution resolution = max(ALICE, 3_000);
+        assertTrue(resolution.bids().isEmpty());
+        assertEquals(1_100, book.getCurrentPrice());
+        assertThrows(BidRejectedException.class, () -> max(ALICE, 2_500));
+        assertBids(max(BOB, 2_800), BOB, 2_800, ALICE, 2_900);
+    }
+
+    @Test
+    void sellerCannotSetAMaximum() {
+        BidRejectedException e = assertThrows(BidRejectedException.class, () -> max(SELLER, 2_000));
+        assertEquals(BidRejectedException.Reason.SELF_BID, e.getReason());
+    }
+
+    @Test
+    void thousandsOfMaximumsSettleTwoBidsAtATime() {
+        long lastMax = 0;
+        long lastPrice = 0;
+        for (int i = 0; i < 5_000; i++) {
+            long maxAmount = 2_000 + i * 300L;
+            BidResolution resolution = max("bidder" + i + "@example.com", maxAmount);
+            assertTrue(resolution.bids().size() <= 2);
+            for (AcceptedBid bid : resolution.bids()) {
+                assertTrue(bid.amountMinor() > lastPrice, "visible bids only go up");
+                lastPrice = bid.amountMinor();
+            }
+            lastMax = maxAmount;
+        }
+        assertEquals("bidder4999@example.com", book.getHighestBidderEmail());
+        // One increment above the runner-up's maximum
+        assertEquals(increments.after(lastMax - 300), book.getCurrentPrice());
+    }
+
+    private BidResolution max(String bidder, long maxAmount) {
+        BidResolution resolution = book.proposeMax(bidder, maxAmount, now, softClose, increments);
+        book.apply(resolution);
+        return resolution;
+    }
+
+    private BidResolution bid(String bidder, long amount) {
+        BidResolution resolution = book.propose(bidder, amount, now, softClose, increments);
+        book.apply(resolution);
+        return resolution;
+    }
+
+    // Expected bids as bidder, amount pairs in acceptance order
+    private static void assertBids(BidResolution resolution, Object... expected) {
+        List<AcceptedBid> bids = resolution.bids();
+        assertEquals(expected.length / 2, bids.size(), "bids: " + bids);
+        for (int i = 0; i < bids.size(); i++) {
+            assertEquals(expected[2 * i], bids.get(i).bidderEmail());
+            assertEquals(((Number) expected[2 * i + 1]).longValue(), bids.get(i).amountMinor());
+        }
+    }
+}
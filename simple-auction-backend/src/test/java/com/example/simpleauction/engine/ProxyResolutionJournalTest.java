@@ -0,0 +1,90 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.entity.Bid;
+import com.example.simpleauction.money.Money;
+import com.example.simpleauction.repository.BidRepository;
+import com.example.simpleauction.service.BidService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A bid answered by another bidder's maximum journals several records. If one of them cannot be appended, the
+ * whole resolution is rejected and the records already appended are discarded, so a restart replays exactly the
+ * bids that were stored.
+ */
+class ProxyResolutionJournalTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void failedAppendDiscardsTheResolutionsEarlierRecords() throws Exception {
+        try (ConfigurableApplicationContext context = TestApplication.start(
+                "auction.bid-journal.enabled=true",
+                "auction.bid-journal.dir=" + dataDir.resolve("journal"),
+                "auction.bid-engine.durability=sync")) {
+            FailingJournal journal = new FailingJournal(dataDir.resolve("failing"));
+            journal.open();
+            BidEngine engine = context.getBean(BidEngine.class);
+            ReflectionTestUtils.setField(engine, "journal", journal);
+            BidService bidService = context.getBean(BidService.class);
+            Long itemId = TestApplication.saveItem(context, "Proxy lot", LocalDateTime.now().plusHours(1)).getId();
+
+            bidService.placeMaxBid(itemId, request("10.00"), "test@example.com");
+            long price = engine.peek(itemId).snapshot().currentPrice();
+
+            // The bid and the maximum's answer to it: the first append succeeds, the second fails
+            journal.failAt = journal.appends + 2;
+            assertThrows(IllegalStateException.class, () -> bidService.placeBid(itemId, request("2.00"), "bidder2@example.com"));
+            assertEquals(journal.failAt, journal.appends);
+            assertEquals(price, engine.peek(itemId).snapshot().currentPrice());
+            journal.close();
+
+            BidJournal reopened = new BidJournal(dataDir.resolve("failing"), DataSize.ofKilobytes(8), Duration.ofMillis(1), false);
+            reopened.open();
+            List<Long> replayed = reopened.previousRun().stream().map(BidJournal.JournaledBid::amountMinor).sorted().toList();
+            reopened.close();
+            List<Long> stored = context.getBean(BidRepository.class).findByItemIdOrderByBidAmountDesc(itemId).stream()
+                    .map(Bid::getBidAmount).map(Money::toMinorUnits).sorted().toList();
+            assertEquals(stored, replayed);
+        }
+    }
+
+    private static BidRequest request(String amount) {
+        BidRequest request = new BidRequest();
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    /** Fails the {@code failAt}-th append (counting from 1), as a full disk would. */
+    private static final class FailingJournal extends BidJournal {
+        private int appends;
+        private int failAt = Integer.MAX_VALUE;
+
+        FailingJournal(Path directory) {
+            super(directory, DataSize.ofKilobytes(8), Duration.ofMillis(1), false);
+        }
+
+        @Override
+        Entry append(AcceptedBid bid, long bidderId) {
+            if (++appends == failAt) {
+                throw new IllegalStateException("Bid journal is full.");
+            }
+            return super.append(bid, bidderId);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.simpleauction.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Both import formats parse quoted and escaped values, report each bad row with the line it starts on, and
+ * carry on with the rows after it.
+ */
+class ItemRowReaderTest {
+
+    private static final String END = "2030-01-01T12:00";
+
+    @Test
+    void csvQuotedFieldsEscapedQuotesAndLineBreaks() throws IOException {
+        List<ItemRow> rows = read(ItemRowReader.CSV, String.join("\r\n",
+                "\uFEFFName,Category,startingPrice,auctionEndTime,description,notes",
+                "\"Lamp, brass\",Home,12.50," + END + ",\"Says \"\"antique\"\"\",ignored",
+                "Clock,Home,3," + END + ",\"Two\nlines\",",
+                "",
+                "Vase,Home,abc," + END + ",,",
+                "Chair,Home,4," + END,
+                "Table,Home,\" 9.99 \"," + END + ",,"));
+
+        assertEquals(List.of(2L, 3L, 6L, 7L, 8L), rows.stream().map(ItemRow::line).toList());
+        assertEquals("Lamp, brass", rows.get(0).request().getName());
+        assertEquals("Says \"antique\"", rows.get(0).request().getDescription());
+        assertEquals(0, rows.get(0).request().getStartingPrice().compareTo(new BigDecimal("12.50")));
+        assertEquals("Two\nlines", rows.get(1).request().getDescription());
+        assertNull(rows.get(1).request().getImageUrl());
+        assertEquals("startingPrice is not a number: abc", rows.get(2).error());
+        assertEquals("Expected 6 fields, found 4.", rows.get(3).error());
+        assertEquals(0, rows.get(4).request().getStartingPrice().compareTo(new BigDecimal("9.99")));
+        assertEquals(END, rows.get(4).request().getAuctionEndTime());
+    }
+
+    @Test
+    void csvHeaderMustNameTheRequiredColumns() {
+        assertThrows(IllegalArgumentException.class, () -> read(ItemRowReader.CSV, "name,category\nLamp,Home\n"));
+        assertThrows(IllegalArgumentException.class, () -> read(ItemRowReader.CSV, ""));
+    }
+
+    @Test
+    void ndjsonReportsBadLinesAndCarriesOn() throws IOException {
+        List<ItemRow> rows = read(ItemRowReader.NDJSON, String.join("\n",
+                "{\"name\":\"Lamp\",\"category\":\"Home\",\"startingPrice\":12.5,\"auctionEndTime\":\"" + END + "\"}",
+                "",
+                "{\"name\":\"Clock\",",
+                "{\"name\":\"Quote \\\" and \\n break\",\"category\":\"Home\"}\r",
+                "x".repeat(ItemRowReader.MAX_ROW_CHARS + 1),
+                "{\"name\":\"Vase\"}"));
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L), rows.stream().map(ItemRow::line).toList());
+        assertEquals("Lamp", rows.get(0).request().getName());
+        assertTrue(rows.get(1).error().startsWith("Invalid JSON"), rows.get(1).error());
+        assertEquals("Quote \" and \n break", rows.get(2).request().getName());
+        assertEquals("Row is longer than " + ItemRowReader.MAX_ROW_CHARS + " characters.", rows.get(3).error());
+        assertEquals("Vase", rows.get(4).request().getName());
+    }
+
+    private static List<ItemRow> read(String format, String body) throws IOException {
+        List<ItemRow> rows = new ArrayList<>();
+        try (ItemRowReader reader = ItemRowReader.open(MediaType.parseMediaType(format),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), new ObjectMapper())) {
+            for (ItemRow row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
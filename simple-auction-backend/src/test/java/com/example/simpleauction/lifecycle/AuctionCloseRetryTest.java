@@ -0,0 +1,72 @@
+package com.example.simpleauction.lifecycle;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A close that fails, here on a lock timeout while another transaction holds the item's row, is retried
+ * with backoff, so the auction still closes once the row is free instead of staying open until a restart.
+ */
+class AuctionCloseRetryTest {
+
+    @Test
+    void closesTheAuctionOnceAFailedCloseCanBeRetried() throws Exception {
+        try (ConfigurableApplicationContext context = TestApplication.start(WebApplicationType.NONE,
+                "spring.datasource.url=jdbc:h2:mem:close-retry-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=300",
+                "auction.close.tick=PT0.05S",
+                "auction.close.retry-backoff=PT0.1S",
+                "auction.close.max-retry-backoff=PT0.4S")) {
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            Item item = TestApplication.saveItem(context, "Locked lot", LocalDateTime.now().plusNanos(200_000_000));
+
+            CountDownLatch locked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService holder = Executors.newSingleThreadExecutor();
+            try {
+                Future<?> lock = holder.submit(() -> context.getBean(TransactionTemplate.class).executeWithoutResult(tx -> {
+                    context.getBean(JdbcTemplate.class).queryForList("select id from items where id = ? for update", item.getId());
+                    locked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+                assertTrue(locked.await(5, TimeUnit.SECONDS));
+                context.getBean(AuctionCloseScheduler.class).schedule(item.getId(), item.getAuctionEndTime());
+
+                // Long enough for the first close to wait out the lock timeout and fail
+                Thread.sleep(1_500);
+                assertEquals("OPEN", itemRepository.findById(item.getId()).orElseThrow().getAuctionStatus());
+                release.countDown();
+                lock.get(5, TimeUnit.SECONDS);
+
+                long deadline = System.currentTimeMillis() + 10_000;
+                while (!"CLOSED".equals(itemRepository.findById(item.getId()).orElseThrow().getAuctionStatus())) {
+                    assertTrue(System.currentTimeMillis() < deadline, "auction not closed after the lock was released");
+                    Thread.sleep(50);
+                }
+            } finally {
+                release.countDown();
+                holder.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.simpleauction.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A bid in the window moves the end by exactly the extension, which the database path applies in whole
+ * seconds; settings with a fraction of a second are refused at startup rather than rounded on one path only.
+ */
+class SoftClosePolicyTest {
+
+    private static final LocalDateTime END = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Test
+    void extendsOnlyBidsInsideTheWindow() {
+        SoftClosePolicy policy = new SoftClosePolicy(Duration.ofSeconds(30), Duration.ofMinutes(1));
+
+        assertEquals(END.plusMinutes(1), policy.extendedEnd(END, END.minusSeconds(10)));
+        assertEquals(END, policy.extendedEnd(END, END.minusSeconds(31)));
+        assertEquals(60, policy.getExtensionSeconds());
+    }
+
+    @Test
+    void rejectsDurationsThatAreNotWholeSeconds() {
+        assertThrows(IllegalArgumentException.class, () -> new SoftClosePolicy(Duration.ofSeconds(30), Duration.ofMillis(1_500)));
+        assertThrows(IllegalArgumentException.class, () -> new SoftClosePolicy(Duration.ofMillis(500), Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new SoftClosePolicy(Duration.ofSeconds(30), Duration.ofSeconds(-1)));
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.simpleauction.lifecycle;
+
+import com.example.simpleauction.SimpleAuctionBackendApplication;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import com.example.simpleauction.service.BidService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-of-auction bidding storm with and without soft close, on both bid paths. Run with {@code mvn test -Pbenchmark}.
+ * <p>
+ * Bidders hammer one item from shortly before its end time for a fixed storm duration. Without soft close
+ * the auction ends mid-storm and the rest are rejected; with it every bid in the window pushes the end back,
+ * so the auction closes only after the storm dies down. Either way the close must see the last accepted bid.
+ */
+@Tag("benchmark")
+class SoftCloseStormBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(SoftCloseStormBenchmarkTest.class);
+
+    private static final int BIDDERS = 64;
+    private static final Duration LEAD_IN = Duration.ofMillis(1500);
+    private static final Duration STORM = Duration.ofSeconds(4);
+
+    @Test
+    void endOfAuctionStorm() throws Exception {
+        for (boolean engine : new boolean[] {true, false}) {
+            for (boolean softClose : new boolean[] {false, true}) {
+                logger.info("{}{}{}", engine ? "engine  " : "database", softClose ? " soft close: " : " hard close: ",
+                        run(engine, softClose));
+            }
+        }
+    }
+
+    private Result run(boolean engine, boolean softClose) throws Exception {
+        String name = (engine ? "engine" : "database") + "-" + (softClose ? "soft" : "hard");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleAuctionBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:storm-" + name + ";DB_CLOSE_DELAY=-1",
+                        "auction.bid-engine.enabled=" + engine,
+                        "auction.close.tick=PT0.1S",
+                        "auction.soft-close.window=" + (softClose ? "PT1S" : "PT0S"),
+                        "auction.soft-close.extension=PT1S")
+                .run()) {
+            BidService bidService = context.getBean(BidService.class);
+            ItemRepository items = context.getBean(ItemRepository.class);
+            UserRepository users = context.getBean(UserRepository.class);
+            AtomicReference<AuctionClosedEvent> closedEvent = new AtomicReference<>();
+            CountDownLatch closed = new CountDownLatch(1);
+            context.addApplicationListener(event -> {
+                if (event instanceof PayloadApplicationEvent<?> payload
+                        && payload.getPayload() instanceof AuctionClosedEvent closedAuction) {
+                    closedEvent.set(closedAuction);
+                    closed.countDown();
+                }
+            });
+
+            User seller = users.findByEmail("seller@example.com").orElseThrow();
+            LocalDateTime originalEnd = LocalDateTime.now().plus(LEAD_IN);
+            Item item = items.save(new Item("Storm lot", "Sniped item", new BigDecimal("1.00"), "Storm", null, originalEnd, seller));
+            context.getBean(AuctionCloseScheduler.class).schedule(item.getId(), originalEnd);
+            List<String> bidders = new ArrayList<>();
+            for (int i = 0; i < BIDDERS; i++) {
+                bidders.add(users.save(new User("storm-" + name + "-" + i + "@example.com", "password")).getEmail());
+            }
+
+            AtomicLong nextAmount = new AtomicLong(2);
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger outbid = new AtomicInteger();
+            AtomicInteger ended = new AtomicInteger();
+            AtomicReference<String> topBidder = new AtomicReference<>();
+            AtomicLong topAmount = new AtomicLong();
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            long stormEnd = System.nanoTime() + STORM.toNanos();
+
+            ExecutorService pool = Executors.newFixedThreadPool(BIDDERS);
+            for (String bidder : bidders) {
+                pool.submit(() -> {
+                    while (System.nanoTime() < stormEnd) {
+                        long amount = nextAmount.getAndIncrement();
+                        BidRequest request = new BidRequest();
+                        request.setAmount(BigDecimal.valueOf(amount));
+                        long began = System.nanoTime();
+                        try {
+                            bidService.placeBid(item.getId(), request, bidder);
+                            accepted.incrementAndGet();
+                            synchronized (topAmount) {
+                                if (amount > topAmount.get()) {
+                                    topAmount.set(amount);
+                                    topBidder.set(bidder);
+                                }
+                            }
+                        } catch (IllegalArgumentException e) {
+                            outbid.incrementAndGet();
+                        } catch (IllegalStateException e) {
+                            ended.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - began);
+                    }
+                    return null;
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+            long stormFinished = System.nanoTime();
+            assertTrue(closed.await(30, TimeUnit.SECONDS), "auction never closed");
+
+            // The close saw the last accepted bid, and nothing slipped in after it
+            AuctionClosedEvent event = closedEvent.get();
+            assertNotNull(topBidder.get());
+            assertEquals(0, BigDecimal.valueOf(topAmount.get()).compareTo(event.finalPrice()));
+            assertEquals(topBidder.get(), event.winnerEmail());
+            Item stored = items.findById(item.getId()).orElseThrow();
+            assertEquals("CLOSED", stored.getAuctionStatus());
+
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(accepted.get(), outbid.get(), ended.get(),
+                    accepted.get() / ((stormFinished - (stormEnd - STORM.toNanos())) / 1e9),
+                    sorted[sorted.length * 99 / 100] / 1e6,
+                    Duration.between(originalEnd, stored.getAuctionEndTime()).toMillis());
+        }
+    }
+
+    private record Result(int accepted, int outbid, int ended, double acceptedPerSecond, double p99Millis,
+                          long extendedMillis) {
+        @Override
+        public String toString() {
+            return String.format("%,d accepted (%,.0f/s), %,d outbid, %,d after close, p99 %.2f ms, end moved %,d ms",
+                    accepted, acceptedPerSecond, outbid, ended, p99Millis, extendedMillis);
+        }
+    }
+}
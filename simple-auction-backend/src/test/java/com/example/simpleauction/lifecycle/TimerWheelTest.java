@@ -0,0 +1,128 @@
+package com.example.simpleauction.lifecycle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Timeouts never fire before their deadline, whether due within the current revolution, several
+ * revolutions out or after the tick count has wrapped the wheel; those due on the same tick arrive as one
+ * batch, and a rescheduled key fires at both deadlines, leaving the handler to check which is real.
+ */
+class TimerWheelTest {
+
+    private static final long TICK_MILLIS = 20;
+    private static final int WHEEL_SIZE = 4; // one revolution: 80 ms
+    private static final long SLACK_MILLIS = 2_000; // a busy single-CPU build can delay the tick thread
+
+    private final BlockingQueue<Expiry> expiries = new LinkedBlockingQueue<>();
+    private final TimerWheel wheel = new TimerWheel("test-wheel", TICK_MILLIS, WHEEL_SIZE,
+            keys -> expiries.add(new Expiry(keys, System.currentTimeMillis())));
+
+    @AfterEach
+    void stop() {
+        wheel.stop();
+    }
+
+    @Test
+    void rejectsAWheelSizeThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel("bad", TICK_MILLIS, 6, keys -> { }));
+    }
+
+    @Test
+    void deliversEverythingDueOnOneTickAsOneBatch() throws InterruptedException {
+        wheel.start();
+        long deadline = System.currentTimeMillis() + 3 * TICK_MILLIS;
+        wheel.schedule(1, deadline);
+        wheel.schedule(2, deadline);
+        wheel.schedule(3, deadline);
+        assertEquals(3, wheel.size());
+
+        Expiry expiry = next();
+        assertEquals(List.of(1L, 2L, 3L), expiry.keys());
+        assertNotBefore(deadline, expiry);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firesAPastDeadlineOnTheNextTick() throws InterruptedException {
+        wheel.start();
+        wheel.schedule(1, System.currentTimeMillis() - 10 * TICK_MILLIS);
+        assertEquals(List.of(1L), next().keys());
+    }
+
+    @Test
+    void waitsOutDeadlinesSeveralRevolutionsAway() throws InterruptedException {
+        wheel.start();
+        long now = System.currentTimeMillis();
+        // Same bucket as the first, but one and two revolutions later
+        long first = now + 2 * TICK_MILLIS;
+        long revolution = TICK_MILLIS * WHEEL_SIZE;
+        wheel.schedule(3, first + 2 * revolution);
+        wheel.schedule(2, first + revolution);
+        wheel.schedule(1, first);
+
+        for (long key = 1; key <= 3; key++) {
+            Expiry expiry = next();
+            assertEquals(List.of(key), expiry.keys());
+            assertNotBefore(first + (key - 1) * revolution, expiry);
+        }
+        assertNull(expiries.poll(revolution, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void placesTimeoutsCorrectlyAfterTheTickCountWrapsTheWheel() throws InterruptedException {
+        wheel.start();
+        // A marker several revolutions out lets the tick count wrap the wheel first
+        long marker = System.currentTimeMillis() + 3 * TICK_MILLIS * WHEEL_SIZE;
+        wheel.schedule(0, marker);
+        assertEquals(List.of(0L), next().keys());
+
+        long deadline = System.currentTimeMillis() + 5 * TICK_MILLIS; // wraps past the last bucket
+        wheel.schedule(1, deadline);
+        Expiry expiry = next();
+        assertEquals(List.of(1L), expiry.keys());
+        assertNotBefore(deadline, expiry);
+    }
+
+    @Test
+    void firesARescheduledKeyAtBothDeadlines() throws InterruptedException {
+        wheel.start();
+        long now = System.currentTimeMillis();
+        long original = now + 2 * TICK_MILLIS;
+        long extended = now + 8 * TICK_MILLIS;
+        wheel.schedule(1, original);
+        wheel.schedule(1, extended); // e.g. a soft-close extension
+        assertEquals(2, wheel.size());
+
+        assertNotBefore(original, next());
+        Expiry second = next();
+        assertEquals(List.of(1L), second.keys());
+        assertNotBefore(extended, second);
+        assertEquals(0, wheel.size());
+    }
+
+    private Expiry next() throws InterruptedException {
+        Expiry expiry = expiries.poll(SLACK_MILLIS, TimeUnit.MILLISECONDS);
+        assertNotNull(expiry, "nothing expired within " + SLACK_MILLIS + " ms");
+        return expiry;
+    }
+
+    private static void assertNotBefore(long deadline, Expiry expiry) {
+        assertTrue(expiry.atMillis() >= deadline,
+                "fired " + (deadline - expiry.atMillis()) + " ms before its deadline");
+    }
+
+    private record Expiry(List<Long> keys, long atMillis) {
+    }
+}
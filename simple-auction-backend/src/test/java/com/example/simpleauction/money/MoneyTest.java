@@ -0,0 +1,68 @@
+package com.example.simpleauction.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conversions to minor units are exact on both sides of the 15-digit double fast path, for negative amounts
+ * and at the edges of the {@code long} range; sub-cent and out-of-range amounts are rejected, never rounded.
+ */
+class MoneyTest {
+
+    @Test
+    void convertsExactlyAroundTheFastPathBoundary() {
+        assertEquals(0, minor("0"));
+        assertEquals(1, minor("0.01"));
+        assertEquals(1250, minor("12.5"));
+        assertEquals(110, minor("1.100")); // three places, but whole cents
+        assertEquals(10_000, minor("1E+2"));
+        assertEquals(999_999_999_999_999L, minor("9999999999999.99"));      // 15 digits: double
+        assertEquals(1_234_567_890_123_456L, minor("12345678901234.56"));   // 16 digits: BigDecimal
+        assertEquals(12_345_678_901_234_567L, minor("123456789012345.67")); // 17 digits: BigDecimal
+
+        // Alternately up to 15 digits (double) and up to 17 (BigDecimal)
+        Random random = new Random(17);
+        for (int i = 0; i < 100_000; i++) {
+            long expected = random.nextLong() % (i % 2 == 0 ? 1_000_000_000_000_000L : 100_000_000_000_000_000L);
+            BigDecimal amount = BigDecimal.valueOf(expected, Money.SCALE);
+            assertEquals(expected, Money.toMinorUnits(amount), amount.toPlainString());
+        }
+    }
+
+    @Test
+    void convertsNegativeAmounts() {
+        assertEquals(-1, minor("-0.01"));
+        assertEquals(-1234, minor("-12.34"));
+        assertEquals(-999_999_999_999_999L, minor("-9999999999999.99"));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals(0, Money.toBigDecimal(-1234).compareTo(new BigDecimal("-12.34")));
+    }
+
+    @Test
+    void rejectsSubMinorUnitAmounts() {
+        for (String amount : new String[] {"0.001", "1.005", "-0.001", "12345678901234.567", "0.0000000000000001"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> minor(amount), amount);
+            assertTrue(e.getMessage().contains("decimal places"), e.getMessage());
+        }
+    }
+
+    @Test
+    void rejectsAmountsOutsideTheLongRange() {
+        assertEquals(Long.MAX_VALUE, minor("92233720368547758.07"));
+        assertEquals(Long.MIN_VALUE, minor("-92233720368547758.08"));
+        for (String amount : new String[] {"92233720368547758.08", "-92233720368547758.09", "1E+30"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> minor(amount), amount);
+            assertTrue(e.getMessage().contains("out of range"), e.getMessage());
+        }
+    }
+
+    private static long minor(String amount) {
+        return Money.toMinorUnits(new BigDecimal(amount));
+    }
+}
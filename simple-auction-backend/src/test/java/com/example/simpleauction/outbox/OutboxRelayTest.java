@@ -0,0 +1,185 @@
+package com.example.simpleauction.outbox;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.lifecycle.AuctionCloseScheduler;
+import com.example.simpleauction.payment.PaymentService;
+import com.example.simpleauction.payment.PaymentTicket;
+import com.example.simpleauction.repository.OutboxOffsetRepository;
+import com.example.simpleauction.service.BidService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bids, the auction's close and its payment each leave an outbox event, which the relay delivers in ID order
+ * to every configured sink (in-process events, the file log and the embedded broker), moving each sink's offset.
+ * An event whose transaction commits after higher IDs have gone out is still delivered.
+ */
+class OutboxRelayTest {
+
+    private static final int BIDS = 5;
+
+    @TempDir
+    Path outboxDir;
+
+    @Test
+    void deliversBidCloseAndPaymentEventsToEverySink() throws Exception {
+        try (ConfigurableApplicationContext context = start()) {
+            Queue<OutboxMessage> received = listen(context);
+
+            Item item = TestApplication.saveItem(context, "Outbox lot", LocalDateTime.now().plusSeconds(2));
+            Long itemId = item.getId();
+            context.getBean(AuctionCloseScheduler.class).schedule(itemId, item.getAuctionEndTime());
+            BidService bidService = context.getBean(BidService.class);
+            for (int i = 1; i <= BIDS; i++) {
+                BidRequest request = new BidRequest();
+                request.setAmount(BigDecimal.valueOf(1 + i));
+                bidService.placeBid(itemId, request, i % 2 == 0 ? "test@example.com" : "bidder2@example.com");
+            }
+
+            awaitEvents(received, Outbox.AUCTION_CLOSED, 1);
+            context.getBean(PaymentService.class).initiatePayment(itemId, "bidder2@example.com", "pay-outbox-test");
+            awaitEvents(received, Outbox.PAYMENT_UPDATED, 2);
+
+            List<OutboxMessage> events = new ArrayList<>(received);
+            assertEquals(BIDS + 3, events.size());
+            for (int i = 1; i < events.size(); i++) {
+                assertTrue(events.get(i).id() > events.get(i - 1).id(), "delivered in ID order");
+            }
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            for (OutboxMessage event : events) {
+                assertEquals(itemId, event.itemId());
+                if (event.type().equals(Outbox.BID_PLACED)) {
+                    assertNotNull(objectMapper.readTree(event.payload()).get("bidId").numberValue());
+                }
+            }
+            JsonNode closed = objectMapper.readTree(events.get(BIDS).payload());
+            assertEquals("bidder2@example.com", closed.get("winnerEmail").asText());
+            assertEquals(List.of("PENDING", "PAID"), events.subList(BIDS + 1, events.size()).stream()
+                    .map(event -> readStatus(objectMapper, event)).toList());
+
+            long lastId = events.get(events.size() - 1).id();
+            awaitOffsets(context.getBean(OutboxOffsetRepository.class), lastId);
+            assertEquals(events.stream().map(OutboxMessage::id).toList(), fileLogIds(objectMapper));
+            EmbeddedMessageBroker broker = context.getBean(EmbeddedMessageBroker.class);
+            List<EmbeddedMessageBroker.Record> bids = broker.poll(Outbox.BID_PLACED, "test", 100);
+            assertEquals(BIDS, bids.size());
+            assertTrue(bids.stream().allMatch(record -> record.key().equals(itemId.toString())));
+            assertEquals(2, broker.endOffset(Outbox.PAYMENT_UPDATED));
+        }
+    }
+
+    @Test
+    void deliversEventsCommittedOutOfIdOrder() throws Exception {
+        try (ConfigurableApplicationContext context = start()) {
+            Queue<OutboxMessage> received = listen(context);
+            Outbox outbox = context.getBean(Outbox.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            CountDownLatch recorded = new CountDownLatch(1);
+            CountDownLatch commit = new CountDownLatch(1);
+            // Draws the lower ID, but commits only once a later event has been delivered
+            Thread slow = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+                outbox.paymentUpdated(new PaymentTicket(1L, "PENDING", "slow"));
+                recorded.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            slow.start();
+            assertTrue(recorded.await(10, TimeUnit.SECONDS));
+            transactionTemplate.executeWithoutResult(status -> outbox.paymentUpdated(new PaymentTicket(2L, "PENDING", "fast")));
+            awaitEvents(received, Outbox.PAYMENT_UPDATED, 1);
+            commit.countDown();
+            slow.join(10_000);
+
+            awaitEvents(received, Outbox.PAYMENT_UPDATED, 2);
+            List<OutboxMessage> events = new ArrayList<>(received);
+            assertEquals(List.of(2L, 1L), events.stream().map(OutboxMessage::itemId).toList());
+            assertTrue(events.get(1).id() < events.get(0).id());
+        }
+    }
+
+    private static Queue<OutboxMessage> listen(ConfigurableApplicationContext context) {
+        Queue<OutboxMessage> received = new ConcurrentLinkedQueue<>();
+        context.addApplicationListener(ApplicationListener.forPayload(payload -> {
+            if (payload instanceof OutboxMessage message) {
+                received.add(message);
+            }
+        }));
+        return received;
+    }
+
+    private ConfigurableApplicationContext start() {
+        return TestApplication.start(
+                "auction.outbox.enabled=true",
+                "auction.outbox.sinks=events,file,broker",
+                "auction.outbox.file.dir=" + outboxDir,
+                "auction.outbox.poll-interval=PT0.05S",
+                "auction.close.tick=PT0.1S",
+                "auction.payment.simulator.latency=PT0S",
+                "auction.payment.simulator.success-rate=1.0");
+    }
+
+    private static void awaitEvents(Queue<OutboxMessage> received, String type, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (received.stream().filter(message -> message.type().equals(type)).count() < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "no " + count + " " + type + " events in " + received);
+            Thread.sleep(20);
+        }
+    }
+
+    private static void awaitOffsets(OutboxOffsetRepository offsetRepository, long lastId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        for (String sink : List.of("events", "file", "broker")) {
+            while (offsetRepository.findById(sink).orElseThrow().getLastEventId() != lastId) {
+                assertTrue(System.currentTimeMillis() < deadline, sink + " offset did not reach " + lastId);
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private List<Long> fileLogIds(ObjectMapper objectMapper) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(outboxDir)) {
+            for (Path file : files.sorted().toList()) {
+                for (String line : Files.readAllLines(file)) {
+                    ids.add(objectMapper.readTree(line).get("id").asLong());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String readStatus(ObjectMapper objectMapper, OutboxMessage event) {
+        try {
+            return objectMapper.readTree(event.payload()).get("status").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
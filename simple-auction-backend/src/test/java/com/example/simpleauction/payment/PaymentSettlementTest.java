@@ -0,0 +1,101 @@
+package com.example.simpleauction.payment;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checkout waits for the close engine rather than the stored end time and refuses idempotency keys too long for
+ * a gateway receipt; a paid order settles the payment even after a failed attempt on the same order; only the
+ * seller and the winner can read the payment.
+ */
+class PaymentSettlementTest {
+
+    private static final String WINNER = "test@example.com";
+
+    private static ConfigurableApplicationContext context;
+    private static ItemRepository itemRepository;
+    private static PaymentService paymentService;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.start();
+        itemRepository = context.getBean(ItemRepository.class);
+        paymentService = context.getBean(PaymentService.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void refusesCheckoutUntilTheAuctionIsClosed() {
+        Item item = won("Unclosed lot", "OPEN", null, null, null); // past its stored end, but not closed yet
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> paymentService.initiatePayment(item.getId(), WINNER, null));
+        assertEquals("Auction has not ended yet.", e.getMessage());
+        assertNull(reload(item).getPaymentStatus());
+    }
+
+    @Test
+    void refusesAnIdempotencyKeyTooLongForAReceipt() {
+        Item item = won("Long key lot", "CLOSED", null, null, null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> paymentService.initiatePayment(item.getId(), WINNER, "k".repeat(PaymentService.MAX_IDEMPOTENCY_KEY_LENGTH + 1)));
+        assertNull(reload(item).getPaymentStatus());
+    }
+
+    @Test
+    void paidOrderWinsOverAnEarlierFailedAttempt() {
+        Item item = won("Retried lot", "CLOSED", PaymentService.PENDING, "pay-retry", "order_retry");
+
+        assertTrue(paymentService.settleGatewayOrder("order_retry", false));
+        assertEquals(PaymentService.FAILED, reload(item).getPaymentStatus());
+
+        assertTrue(paymentService.settleGatewayOrder("order_retry", true));
+        assertEquals(PaymentService.PAID, reload(item).getPaymentStatus());
+
+        assertFalse(paymentService.settleGatewayOrder("order_retry", true));
+        assertFalse(paymentService.settleGatewayOrder("order_retry", false));
+        assertEquals(PaymentService.PAID, reload(item).getPaymentStatus());
+    }
+
+    @Test
+    void showsThePaymentOnlyToTheSellerAndTheWinner() {
+        Item item = won("Private lot", "CLOSED", PaymentService.PENDING, "pay-private", "order_private");
+
+        assertEquals("order_private", paymentService.getPaymentStatus(item.getId(), WINNER).gatewayOrderId());
+        assertEquals("pay-private", paymentService.getPaymentStatus(item.getId(), TestApplication.SELLER).idempotencyKey());
+        assertThrows(PaymentAccessDeniedException.class, () -> paymentService.getPaymentStatus(item.getId(), "bidder2@example.com"));
+    }
+
+    private static Item won(String name, String auctionStatus, String paymentStatus, String key, String orderId) {
+        Item item = TestApplication.saveItem(context, name, LocalDateTime.now().minusMinutes(1));
+        item.setHighestBidder(context.getBean(UserRepository.class).findByEmail(WINNER).orElseThrow());
+        item.setAuctionStatus(auctionStatus);
+        item.setPaymentStatus(paymentStatus);
+        item.setPaymentReference(key);
+        item.setGatewayOrderId(orderId);
+        return itemRepository.save(item);
+    }
+
+    private static Item reload(Item item) {
+        return itemRepository.findById(item.getId()).orElseThrow();
+    }
+}
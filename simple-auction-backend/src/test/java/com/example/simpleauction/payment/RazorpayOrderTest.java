@@ -0,0 +1,73 @@
+package com.example.simpleauction.payment;
+
+import com.razorpay.Order;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An order carries the payment's idempotency key as its receipt, within Razorpay's 40-character limit, and a
+ * retry with the same key reuses the order found by that receipt instead of creating another.
+ */
+class RazorpayOrderTest {
+
+    private final List<JSONObject> created = new ArrayList<>();
+    private final List<Order> existing = new ArrayList<>();
+    private final RazorpayPaymentGateway gateway = gateway();
+
+    @Test
+    void generatedKeysFitTheReceipt() throws Exception {
+        String key = PaymentService.newIdempotencyKey();
+
+        PaymentResult result = gateway.charge(new PaymentRequest(key, 123_456_789_012L, "winner@example.com", new BigDecimal("12.50")));
+
+        assertEquals(PaymentResult.Outcome.AWAITING_CUSTOMER, result.outcome());
+        String receipt = created.get(0).getString("receipt");
+        assertEquals(key, receipt);
+        assertTrue(receipt.length() <= PaymentService.MAX_IDEMPOTENCY_KEY_LENGTH, receipt);
+        assertEquals(1250L, created.get(0).getLong("amount"));
+    }
+
+    @Test
+    void reusesTheOrderFoundByReceipt() throws Exception {
+        existing.add(order("order_existing"));
+
+        PaymentResult result = gateway.charge(new PaymentRequest("pay-retried", 1L, "winner@example.com", BigDecimal.TEN));
+
+        assertEquals("order_existing", result.gatewayReference());
+        assertTrue(created.isEmpty());
+    }
+
+    private RazorpayPaymentGateway gateway() {
+        try {
+            return new RazorpayPaymentGateway("rzp_test_key", "key-secret", "webhook-secret", "INR") {
+                @Override
+                List<Order> findOrders(String receipt) {
+                    return existing;
+                }
+
+                @Override
+                Order createOrder(JSONObject orderRequest) {
+                    created.add(orderRequest);
+                    return order("order_" + created.size());
+                }
+            };
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Order order(String id) {
+        try {
+            return new Order(new JSONObject().put("id", id));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
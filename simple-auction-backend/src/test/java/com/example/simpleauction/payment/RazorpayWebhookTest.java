@@ -0,0 +1,82 @@
+package com.example.simpleauction.payment;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Webhook deliveries are trusted only with a valid signature, and map to the order they settle.
+ */
+class RazorpayWebhookTest {
+
+    private static final String SECRET = "webhook-secret";
+
+    private final RazorpayPaymentGateway gateway = gateway();
+
+    @Test
+    void orderPaidSettlesTheOrder() {
+        String payload = "{\"event\":\"order.paid\",\"payload\":{\"order\":{\"entity\":{\"id\":\"order_1\"}}," +
+                "\"payment\":{\"entity\":{\"id\":\"pay_1\",\"order_id\":\"order_1\"}}}}";
+        PaymentResult result = gateway.readWebhook(payload, sign(payload)).orElseThrow();
+        assertEquals(PaymentResult.Outcome.PAID, result.outcome());
+        assertEquals("order_1", result.gatewayReference());
+    }
+
+    @Test
+    void failedPaymentDeclinesTheOrder() {
+        String payload = "{\"event\":\"payment.failed\",\"payload\":{\"payment\":{\"entity\":{\"id\":\"pay_2\"," +
+                "\"order_id\":\"order_2\",\"error_description\":\"Card declined\"}}}}";
+        PaymentResult result = gateway.readWebhook(payload, sign(payload)).orElseThrow();
+        assertEquals(PaymentResult.Outcome.DECLINED, result.outcome());
+        assertEquals("order_2", result.gatewayReference());
+        assertEquals("Card declined", result.message());
+    }
+
+    @Test
+    void otherEventsSettleNothing() {
+        String payload = "{\"event\":\"refund.created\",\"payload\":{}}";
+        assertEquals(Optional.empty(), gateway.readWebhook(payload, sign(payload)));
+    }
+
+    @Test
+    void rejectsMissingOrWrongSignatures() {
+        String payload = "{\"event\":\"order.paid\",\"payload\":{\"order\":{\"entity\":{\"id\":\"order_1\"}}}}";
+        assertThrows(IllegalArgumentException.class, () -> gateway.readWebhook(payload, null));
+        assertThrows(IllegalArgumentException.class, () -> gateway.readWebhook(payload, sign(payload + " ")));
+        String tampered = payload.replace("order_1", "order_9");
+        assertThrows(IllegalArgumentException.class, () -> gateway.readWebhook(tampered, sign(payload)));
+    }
+
+    @Test
+    void rejectsSignedBodiesThatAreNotEvents() {
+        String payload = "[]";
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> gateway.readWebhook(payload, sign(payload)));
+        assertTrue(e.getMessage().startsWith("Malformed"));
+    }
+
+    private static RazorpayPaymentGateway gateway() {
+        try {
+            return new RazorpayPaymentGateway("rzp_test_key", "key-secret", SECRET, "INR");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
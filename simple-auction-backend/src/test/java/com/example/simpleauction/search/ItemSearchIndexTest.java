@@ -0,0 +1,42 @@
+package com.example.simpleauction.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ranked search pages by offset: walking the offsets visits every hit once, an offset near
+ * {@code Integer.MAX_VALUE} is an empty page rather than an overflow, and a negative offset is rejected.
+ */
+class ItemSearchIndexTest {
+
+    @Test
+    void pagesTheRankingByOffset() {
+        ItemSearchIndex index = new ItemSearchIndex(null, true);
+        for (long id = 1; id <= 5; id++) {
+            index.index(new ItemSearchDocument(id, "Camera " + id, "A film camera", "Photo"));
+        }
+
+        List<Long> walked = new ArrayList<>();
+        int offset = 0;
+        SearchHits hits;
+        do {
+            hits = index.search("camera", null, offset, 2);
+            walked.addAll(hits.itemIds());
+            offset += 2;
+        } while (hits.hasMore());
+        assertEquals(5, walked.size());
+        assertEquals(5, walked.stream().distinct().count());
+
+        SearchHits past = index.search("camera", null, Integer.MAX_VALUE - 1, 100);
+        assertTrue(past.itemIds().isEmpty());
+        assertFalse(past.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> index.search("camera", null, -1, 2));
+    }
+}
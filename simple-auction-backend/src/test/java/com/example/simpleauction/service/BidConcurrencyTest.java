@@ -0,0 +1,138 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.entity.Bid;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.entity.User;
+import com.example.simpleauction.repository.BidRepository;
+import com.example.simpleauction.repository.ItemRepository;
+import com.example.simpleauction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 500 concurrent bidders on one item through the optimistic (database) bid path, and the soft-close end time
+ * that path reports whether or not the item detail cache knows the item (or knows a stale end time).
+ */
+@SpringBootTest(properties = {"auction.bid-engine.enabled=false",
+        "auction.soft-close.window=PT5M", "auction.soft-close.extension=PT1M"})
+class BidConcurrencyTest {
+
+    private static final int BIDDERS = 500;
+
+    @Autowired private BidService bidService;
+    @Autowired private ItemRepository itemRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private BidRepository bidRepository;
+    @Autowired private ItemService itemService;
+
+    @Test
+    void concurrentBiddersNeverLoseOrReorderTheWinningBid() throws Exception {
+        User seller = userRepository.findByEmail("seller@example.com").orElseThrow();
+        Long itemId = itemRepository.save(new Item("Stress Lot", "Contended item", new BigDecimal("1.00"),
+                "Stress", null, LocalDateTime.now().plusHours(1), seller)).getId();
+
+        List<String> bidders = new ArrayList<>();
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (int i = 0; i < BIDDERS; i++) {
+            String email = "stress-" + i + "@example.com";
+            userRepository.save(new User(email, "password"));
+            bidders.add(email);
+            amounts.add(BigDecimal.valueOf(2 + i));
+        }
+        Collections.shuffle(amounts);
+
+        Map<BigDecimal, String> accepted = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(BIDDERS);
+        for (int i = 0; i < BIDDERS; i++) {
+            String bidder = bidders.get(i);
+            BigDecimal amount = amounts.get(i);
+            pool.submit(() -> {
+                start.await();
+                BidRequest request = new BidRequest();
+                request.setAmount(amount);
+                try {
+                    bidService.placeBid(itemId, request, bidder);
+                    accepted.put(amount, bidder);
+                } catch (IllegalArgumentException outbid) {
+                    // Lower than the price at the time of the UPDATE
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+
+        BigDecimal top = BigDecimal.valueOf(1 + BIDDERS);
+        assertTrue(accepted.containsKey(top), "the highest bid can never be rejected");
+
+        Item item = itemRepository.findWithParticipantsById(itemId).orElseThrow();
+        assertEquals(0, top.compareTo(item.getCurrentBidPrice()));
+        assertEquals(accepted.get(top), item.getHighestBidder().getEmail());
+        assertEquals(accepted.size(), item.getVersion().intValue(), "one version bump per accepted bid");
+
+        // Every stored bid beat the one before it, in insertion order, and none went missing
+        List<Bid> stored = bidRepository.findByItemIdOrderByBidAmountDesc(itemId);
+        assertEquals(accepted.size(), stored.size());
+        stored.sort((a, b) -> a.getId().compareTo(b.getId()));
+        for (int i = 1; i < stored.size(); i++) {
+            assertTrue(stored.get(i).getBidAmount().compareTo(stored.get(i - 1).getBidAmount()) > 0,
+                    "bid " + stored.get(i).getId() + " was accepted out of order");
+        }
+    }
+
+    @Test
+    void reportsTheExtendedEndTimeWithAndWithoutTheCachedItem() {
+        User seller = userRepository.findByEmail("seller@example.com").orElseThrow();
+        LocalDateTime end = LocalDateTime.now().plusSeconds(30).truncatedTo(ChronoUnit.MILLIS);
+        Long itemId = itemRepository.save(new Item("Closing Lot", "Soft close", new BigDecimal("1.00"),
+                "Stress", null, end, seller)).getId();
+
+        // Not cached: extended in SQL and read back
+        bid(itemId, "2.00");
+        assertEquals(end.plusMinutes(1), storedEnd(itemId));
+
+        // Cached: extended from the cached end, nothing read back
+        assertEquals(end.plusMinutes(1), itemService.getItemDtoById(itemId).orElseThrow().getAuctionEndTime());
+        bid(itemId, "3.00");
+        assertEquals(end.plusMinutes(2), storedEnd(itemId));
+        assertEquals(end.plusMinutes(2), itemService.getItemDtoById(itemId).orElseThrow().getAuctionEndTime());
+
+        // Moved behind the cache's back (as by another node): the cached end no longer matches, so it is read
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        item.setAuctionEndTime(end.plusMinutes(3));
+        itemRepository.save(item);
+        bid(itemId, "4.00");
+        assertEquals(end.plusMinutes(4), storedEnd(itemId));
+        assertEquals(end.plusMinutes(4), itemService.getItemDtoById(itemId).orElseThrow().getAuctionEndTime());
+    }
+
+    private void bid(Long itemId, String amount) {
+        BidRequest request = new BidRequest();
+        request.setAmount(new BigDecimal(amount));
+        bidService.placeBid(itemId, request, "test@example.com");
+    }
+
+    private LocalDateTime storedEnd(Long itemId) {
+        return itemRepository.findById(itemId).orElseThrow().getAuctionEndTime();
+    }
+}
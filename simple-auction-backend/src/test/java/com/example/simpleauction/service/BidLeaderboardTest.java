@@ -0,0 +1,129 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.cluster.RelayedBid;
+import com.example.simpleauction.dto.BidDTO;
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.engine.BidNotStoredEvent;
+import com.example.simpleauction.engine.BidStoredEvent;
+import com.example.simpleauction.money.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boards rank highest first up to their size, keep one bid per amount, merge the database seed with bids
+ * that arrived before it, and fill in or drop engine bids the writer stored or gave up on, including ones
+ * relayed from a peer.
+ */
+class BidLeaderboardTest {
+
+    private static final Long ITEM = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private final BidLeaderboard leaderboard = new BidLeaderboard(new SimpleMeterRegistry(), 3, 100);
+
+    @Test
+    void ranksHighestFirstAndKeepsTheBoardSize() {
+        for (long amount : new long[] {200, 500, 100, 400, 300}) {
+            leaderboard.onBidAccepted(accepted(null, amount));
+        }
+        assertEquals(List.of(500L, 400L, 300L), amounts(top(10)));
+        assertEquals(List.of(500L, 400L), amounts(top(2)));
+        assertEquals(List.of(), amounts(top(-1)));
+    }
+
+    @Test
+    void mergesTheSeedWithBidsThatArrivedFirst() {
+        leaderboard.onBidAccepted(accepted(null, 600));
+        leaderboard.onBidAccepted(accepted(null, 400));
+        List<Long> seedCalls = new ArrayList<>();
+
+        // 400 is stored by now, so the seed's copy carries the ID the accepted one lacked
+        List<BidDTO> top = leaderboard.top(ITEM, 10, id -> {
+            seedCalls.add(id);
+            return List.of(stored(11L, 400), stored(10L, 300), stored(9L, 200));
+        });
+        assertEquals(List.of(600L, 400L, 300L), amounts(top));
+        assertEquals(Arrays.asList(null, 11L, 10L), ids(top));
+
+        top(10);
+        assertEquals(List.of(ITEM), seedCalls);
+    }
+
+    @Test
+    void keepsOneBidPerAmount() {
+        leaderboard.onBidAccepted(accepted(7L, 500));
+        leaderboard.onBidAccepted(accepted(null, 500));
+        leaderboard.onBidAccepted(accepted(8L, 500));
+
+        assertEquals(List.of(500L), amounts(top(10)));
+        assertEquals(List.of(7L), ids(top(10)));
+    }
+
+    @Test
+    void fillsInTheIdOnceStored() {
+        leaderboard.onBidAccepted(accepted(null, 500));
+        leaderboard.onBidAccepted(accepted(null, 400));
+        leaderboard.onBidStored(new BidStoredEvent(ITEM, 400, 21L));
+        leaderboard.onBidStored(new BidStoredEvent(ITEM, 500, 22L));
+        leaderboard.onBidStored(new BidStoredEvent(ITEM, 500, 99L)); // already has one
+        leaderboard.onBidStored(new BidStoredEvent(2L, 500, 23L));   // no board
+
+        assertEquals(List.of(22L, 21L), ids(top(10)));
+    }
+
+    @Test
+    void dropsOnlyTheUnstoredBidTheWriterGaveUpOn() {
+        leaderboard.onBidAccepted(accepted(null, 500));
+        leaderboard.onBidAccepted(accepted(5L, 400));
+        leaderboard.onBidNotStored(new BidNotStoredEvent(accepted(null, 400)));
+        leaderboard.onBidNotStored(new BidNotStoredEvent(accepted(null, 500)));
+
+        assertEquals(List.of(400L), amounts(top(10)));
+        assertEquals(List.of(5L), ids(top(10)));
+    }
+
+    @Test
+    void fillsInTheIdOfABidRelayedBeforeItWasStored() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        leaderboard.onBidAccepted(RelayedBid.of(accepted(null, 500)).toAcceptedBid());
+
+        String json = objectMapper.writeValueAsString(RelayedBid.of(new BidStoredEvent(ITEM, 500, 31L)));
+        RelayedBid relayed = objectMapper.readValue(json, RelayedBid.class);
+        assertEquals(true, relayed.stored());
+        leaderboard.onBidStored(relayed.toStoredEvent());
+
+        assertEquals(List.of(31L), ids(top(10)));
+    }
+
+    private List<BidDTO> top(int limit) {
+        return leaderboard.top(ITEM, limit, id -> List.of());
+    }
+
+    private static AcceptedBid accepted(Long bidId, long amountMinor) {
+        return new AcceptedBid(bidId, ITEM, "Lamp", "Home", "bidder@example.com", amountMinor, NOW, NOW.plusDays(1));
+    }
+
+    private static BidDTO stored(Long bidId, long amountMinor) {
+        BidDTO bid = new BidDTO();
+        bid.setId(bidId);
+        bid.setItemId(ITEM);
+        bid.setBidAmount(Money.toBigDecimal(amountMinor));
+        return bid;
+    }
+
+    private static List<Long> amounts(List<BidDTO> bids) {
+        return bids.stream().map(bid -> Money.toMinorUnits(bid.getBidAmount())).toList();
+    }
+
+    private static List<Long> ids(List<BidDTO> bids) {
+        return bids.stream().map(BidDTO::getId).toList();
+    }
+}
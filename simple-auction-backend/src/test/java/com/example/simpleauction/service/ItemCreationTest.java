@@ -0,0 +1,52 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.dto.AddItemRequest;
+import com.example.simpleauction.search.ItemSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A created item becomes searchable and cached only once its transaction commits; one rolled back leaves no trace.
+ */
+@SpringBootTest
+class ItemCreationTest {
+
+    @Autowired private ItemService itemService;
+    @Autowired private ItemSearchIndex searchIndex;
+    @Autowired private ItemDetailCache itemDetailCache;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @Test
+    void sideEffectsFollowTheCommit() {
+        Long rolledBack = transactionTemplate.execute(status -> {
+            Long id = itemService.createItem(item("Quokka lamp"), "seller@example.com").getId();
+            assertTrue(itemDetailCache.peek(id).isEmpty(), "cached before commit");
+            status.setRollbackOnly();
+            return id;
+        });
+        assertTrue(itemDetailCache.peek(rolledBack).isEmpty());
+        assertTrue(searchIndex.search("quokka", null, 0, 10).itemIds().isEmpty());
+
+        Long committed = itemService.createItem(item("Wombat lamp"), "seller@example.com").getId();
+        assertEquals("Wombat lamp", itemDetailCache.peek(committed).orElseThrow().getName());
+        assertEquals(committed, searchIndex.search("wombat", null, 0, 10).itemIds().get(0));
+    }
+
+    private static AddItemRequest item(String name) {
+        AddItemRequest request = new AddItemRequest();
+        request.setName(name);
+        request.setDescription(name + " for the creation test");
+        request.setStartingPrice(new BigDecimal("1.00"));
+        request.setCategory("Lamps");
+        request.setAuctionEndTime(LocalDateTime.now().plusHours(1).toString());
+        return request;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.dto.AddItemRequest;
+import com.example.simpleauction.dto.BidRequest;
+import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A cached item detail is never behind a bid accepted on this node, on either bid path, and a created item is
+ * cached as created. Changes this node never hears of (another node's writes) are served stale for at most the TTL.
+ */
+class ItemDetailCacheTest {
+
+    @Test
+    void engineBidUpdatesTheCachedDetailInPlace() {
+        try (ConfigurableApplicationContext context = TestApplication.start()) {
+            assertBidReachesTheCachedDetail(context);
+        }
+    }
+
+    @Test
+    void databaseBidUpdatesTheCachedDetailInPlace() {
+        try (ConfigurableApplicationContext context = TestApplication.start("auction.bid-engine.enabled=false")) {
+            assertBidReachesTheCachedDetail(context);
+        }
+    }
+
+    @Test
+    void createdItemIsCachedAsCreated() {
+        try (ConfigurableApplicationContext context = TestApplication.start()) {
+            ItemService itemService = context.getBean(ItemService.class);
+
+            ItemDTO created = itemService.createItem(request("Teak chest"), TestApplication.SELLER);
+
+            ItemDTO cached = context.getBean(ItemDetailCache.class).peek(created.getId()).orElseThrow();
+            assertEquals("Teak chest", cached.getName());
+            assertEquals(TestApplication.SELLER, cached.getSellerEmail());
+            assertEquals(0, new BigDecimal("1.00").compareTo(itemService.getItemDtoById(created.getId()).orElseThrow().getStartingPrice()));
+        }
+    }
+
+    @Test
+    void changesMadeElsewhereAreServedStaleForAtMostTheTtl() throws InterruptedException {
+        try (ConfigurableApplicationContext context = TestApplication.start("auction.item-cache.ttl=PT0.3S")) {
+            ItemService itemService = context.getBean(ItemService.class);
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            Item item = TestApplication.saveItem(context, "Walnut desk", LocalDateTime.now().plusHours(1));
+            assertEquals("Walnut desk (test lot)", itemService.getItemDtoById(item.getId()).orElseThrow().getDescription());
+
+            // Written straight to the table, as another node would: nothing here hears of it
+            Item stored = itemRepository.findById(item.getId()).orElseThrow();
+            stored.setDescription("Walnut desk, relisted");
+            itemRepository.save(stored);
+            assertEquals("Walnut desk (test lot)", itemService.getItemDtoById(item.getId()).orElseThrow().getDescription());
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!"Walnut desk, relisted".equals(itemService.getItemDtoById(item.getId()).orElseThrow().getDescription())) {
+                assertTrue(System.currentTimeMillis() < deadline, "stale past the TTL");
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private static void assertBidReachesTheCachedDetail(ConfigurableApplicationContext context) {
+        ItemService itemService = context.getBean(ItemService.class);
+        ItemDetailCache itemDetailCache = context.getBean(ItemDetailCache.class);
+        Item item = TestApplication.saveItem(context, "Cedar box", LocalDateTime.now().plusHours(1));
+        itemService.getItemDtoById(item.getId()).orElseThrow();
+
+        BidRequest bid = new BidRequest();
+        bid.setAmount(new BigDecimal("5.00"));
+        context.getBean(BidService.class).placeBid(item.getId(), bid, "bidder2@example.com");
+
+        // peek does not load, so this is the entry that was cached before the bid
+        ItemDTO cached = itemDetailCache.peek(item.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("5.00").compareTo(cached.getCurrentBidPrice()));
+        assertEquals("bidder2@example.com", cached.getHighestBidderEmail());
+    }
+
+    private static AddItemRequest request(String name) {
+        AddItemRequest request = new AddItemRequest();
+        request.setName(name);
+        request.setDescription(name + " for the cache test");
+        request.setStartingPrice(new BigDecimal("1.00"));
+        request.setCategory("Furniture");
+        request.setAuctionEndTime(LocalDateTime.now().plusHours(1).toString());
+        return request;
+    }
+}
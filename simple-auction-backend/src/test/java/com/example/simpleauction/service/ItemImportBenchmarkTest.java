@@ -0,0 +1,114 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.SimpleAuctionBackendApplication;
+import com.example.simpleauction.dto.ItemImportResult;
+import com.example.simpleauction.importer.ItemRowReader;
+import com.example.simpleauction.repository.ItemRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports a generated 100k-row catalogue in each format. Run with {@code mvn test -Pbenchmark}.
+ * <p>
+ * Rows are generated as the importer reads them, so neither side ever holds the file; every thousandth row
+ * has a bad price and must be reported without failing its batch.
+ */
+@Tag("benchmark")
+class ItemImportBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(ItemImportBenchmarkTest.class);
+
+    private static final int ROWS = 100_000;
+    private static final int BAD_EVERY = 1_000;
+    private static final String SELLER = "seller@example.com";
+
+    @Test
+    void import100kRows() throws Exception {
+        for (String format : new String[] {ItemRowReader.CSV, ItemRowReader.NDJSON}) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleAuctionBackendApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties("spring.datasource.url=jdbc:h2:mem:import-" + format.replace('/', '-') + ";DB_CLOSE_DELAY=-1")
+                    .run()) {
+                ItemImportService importService = context.getBean(ItemImportService.class);
+                long itemsBefore = context.getBean(ItemRepository.class).count();
+
+                long started = System.nanoTime();
+                ItemImportResult result = importService.importItems(MediaType.parseMediaType(format), new GeneratedCatalogue(format), SELLER);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                logger.info(String.format("%-20s %,d imported, %,d rejected in %.2f s (%,.0f rows/s)", format,
+                        result.imported(), result.rejected(), seconds, ROWS / seconds));
+                assertEquals(ROWS - ROWS / BAD_EVERY, result.imported());
+                assertEquals(ROWS / BAD_EVERY, result.rejected());
+                assertEquals(itemsBefore + result.imported(), context.getBean(ItemRepository.class).count());
+            }
+        }
+    }
+
+    /** A catalogue file of {@link #ROWS} rows, produced line by line on read. */
+    private static final class GeneratedCatalogue extends InputStream {
+        private final boolean csv;
+        private final String endTime = LocalDateTime.now().plusDays(7).withNano(0).toString();
+        private byte[] line;
+        private int position;
+        private int row = -1;
+
+        GeneratedCatalogue(String format) {
+            this.csv = ItemRowReader.CSV.equals(format);
+            this.line = csv ? "name,description,startingPrice,category,imageUrl,auctionEndTime\n".getBytes(StandardCharsets.UTF_8) : new byte[0];
+        }
+
+        @Override
+        public int read() {
+            return fill() ? line[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() {
+            while (position == line.length) {
+                if (row + 1 == ROWS) {
+                    return false;
+                }
+                row++;
+                line = nextLine().getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return true;
+        }
+
+        private String nextLine() {
+            String price = row % BAD_EVERY == BAD_EVERY - 1 ? "12.345" : (10 + row % 500) + ".50";
+            String name = "Imported item " + row;
+            String category = "Category " + row % 20;
+            if (csv) {
+                return name + ",\"Lot " + row + ", as described\"," + price + "," + category + ",," + endTime + "\n";
+            }
+            return "{\"name\":\"" + name + "\",\"description\":\"Lot " + row + "\",\"startingPrice\":" + price
+                    + ",\"category\":\"" + category + "\",\"auctionEndTime\":\"" + endTime + "\"}\n";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.dto.ItemImportError;
+import com.example.simpleauction.dto.ItemImportResult;
+import com.example.simpleauction.importer.ItemRowReader;
+import com.example.simpleauction.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bad rows are reported by line and skipped without costing the valid rows of their batch, and the partial
+ * batch left at the end of the file is stored too.
+ */
+class ItemImportServiceTest {
+
+    private static final String END = "2030-01-01T12:00";
+
+    @Test
+    void importsEveryValidRowAcrossFullAndPartialBatches() throws Exception {
+        try (ConfigurableApplicationContext context = TestApplication.start("auction.import.batch-size=2")) {
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            long before = itemRepository.count();
+            String csv = String.join("\n",
+                    "name,category,startingPrice,auctionEndTime",
+                    "Lamp,Home,1.00," + END,
+                    "Clock,Home,2.00," + END,
+                    ",Home,3.00," + END,          // fails validation
+                    "Vase,Home,4.00," + END,
+                    "Chair,Home",                 // unreadable
+                    "Table,Home,5.00," + END,
+                    "Rug,Home,6.00," + END);      // alone in the last batch
+
+            ItemImportResult result = context.getBean(ItemImportService.class).importItems(MediaType.parseMediaType(ItemRowReader.CSV),
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TestApplication.SELLER);
+
+            assertEquals(5, result.imported());
+            assertEquals(2, result.rejected());
+            assertEquals(List.of(4L, 6L), result.errors().stream().map(ItemImportError::line).toList());
+            assertEquals("name cannot be empty.", result.errors().get(0).message());
+            assertEquals(before + 5, itemRepository.count());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.controller.ItemController;
+import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.dto.ItemPage;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.repository.ItemRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Keyset pages of GET /api/items: a walk by cursor visits every item once in ID order, filters keep their
+ * cursor, and the last page carries no cursor. The search index is off, so searches take the keyset path too.
+ */
+class ItemPagingTest {
+
+    private static ConfigurableApplicationContext context;
+    private static ItemService itemService;
+    private static List<Long> lighting;
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.start("auction.search.index.enabled=false");
+        itemService = context.getBean(ItemService.class);
+        lighting = List.of(save("Brass lantern"), save("Paper lantern"), save("Oak stool"));
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void cursorWalkVisitsEveryItemOnceInIdOrder() {
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        do {
+            ItemPage page = itemService.getItemsPage(null, null, cursor, null, 2);
+            page.items().forEach(item -> seen.add(item.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = context.getBean(ItemRepository.class).findAll().stream().map(Item::getId).sorted().toList();
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void categoryPagesContinueFromTheCursorAndEndWithout() {
+        ItemPage first = itemService.getItemsPage("lighting", null, null, null, 2);
+        assertEquals(lighting.subList(0, 2), ids(first));
+        assertEquals(lighting.get(1), first.nextCursor());
+
+        ItemPage last = itemService.getItemsPage("LIGHTING", null, first.nextCursor(), null, 2);
+        assertEquals(lighting.subList(2, 3), ids(last));
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void searchPagesByCursorWithinItsCategory() {
+        ItemPage first = itemService.getItemsPage("Lighting", "lantern", null, null, 1);
+        assertEquals(lighting.subList(0, 1), ids(first));
+
+        ItemPage second = itemService.getItemsPage("Lighting", "lantern", first.nextCursor(), null, 1);
+        assertEquals(lighting.subList(1, 2), ids(second));
+
+        ItemPage end = itemService.getItemsPage("Lighting", "lantern", second.nextCursor(), null, 1);
+        assertEquals(List.of(), end.items());
+        assertNull(end.nextCursor());
+        // A ranked page can't be served without the index; the client is told to start again
+        assertThrows(IllegalStateException.class, () -> itemService.getItemsPage("Lighting", "lantern", null, 1, 1));
+    }
+
+    @Test
+    void controllerReturnsTheCursorInAHeaderOnlyWhileMoreMayFollow() {
+        ItemController controller = context.getBean(ItemController.class);
+
+        ResponseEntity<?> first = controller.getItems("Lighting", null, null, null, 2);
+        assertEquals(String.valueOf(lighting.get(1)), first.getHeaders().getFirst(ItemController.NEXT_CURSOR_HEADER));
+
+        ResponseEntity<?> last = controller.getItems("Lighting", null, lighting.get(1), null, 2);
+        assertNull(last.getHeaders().getFirst(ItemController.NEXT_CURSOR_HEADER));
+        assertEquals(1, ((List<?>) last.getBody()).size());
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getItems(null, null, -1L, null, 2).getStatusCode());
+    }
+
+    private static Long save(String name) {
+        return context.getBean(ItemRepository.class).save(new Item(name, name + " (paging lot)", new BigDecimal("1.00"),
+                "Lighting", null, LocalDateTime.now().plusDays(1), TestApplication.seller(context))).getId();
+    }
+
+    private static List<Long> ids(ItemPage page) {
+        return page.items().stream().map(ItemDTO::getId).toList();
+    }
+}
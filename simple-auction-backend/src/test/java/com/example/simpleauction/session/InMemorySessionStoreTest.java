@@ -0,0 +1,123 @@
+package com.example.simpleauction.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Sessions expire a TTL after their last use, slide forward while used but never past the maximum lifetime,
+ * and a full store drops expired sessions before evicting the live ones closest to expiry.
+ */
+class InMemorySessionStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration MAX_LIFETIME = Duration.ofHours(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void expiresOneTtlAfterOpeningWhenUnused() {
+        InMemorySessionStore store = store(100);
+        store.open("t1", 1L, "a@example.com");
+
+        advance(TTL.minusMillis(1));
+        assertEquals(1, store.size());
+        advance(Duration.ofMillis(1));
+        assertNull(store.get("t1"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void slidesExpiryOnUse() {
+        InMemorySessionStore store = store(100);
+        long opened = clock.get();
+        store.open("t1", 1L, "a@example.com");
+
+        advance(Duration.ofMinutes(5));
+        assertEquals(opened + Duration.ofMinutes(15).toMillis(), store.get("t1").getExpiresAtMillis());
+        advance(Duration.ofMinutes(9)); // past the original expiry, within the slid one
+        assertNotNull(store.get("t1"));
+    }
+
+    @Test
+    void neverSlidesPastTheMaximumLifetime() {
+        InMemorySessionStore store = store(100);
+        long opened = clock.get();
+        store.open("t1", 1L, "a@example.com");
+
+        for (int minute = 5; minute <= 55; minute += 5) {
+            advance(Duration.ofMinutes(5));
+            assertNotNull(store.get("t1"), "used at minute " + minute);
+        }
+        assertEquals(opened + MAX_LIFETIME.toMillis(), store.get("t1").getExpiresAtMillis());
+        advance(Duration.ofMinutes(5));
+        assertNull(store.get("t1"));
+    }
+
+    @Test
+    void evictsTheLiveSessionsClosestToExpiryWhenFull() {
+        InMemorySessionStore store = store(10);
+        for (int i = 0; i < 10; i++) {
+            store.open("t" + i, (long) i, i + "@example.com");
+            advance(Duration.ofSeconds(1));
+        }
+
+        store.open("t10", 10L, "10@example.com");
+
+        assertEquals(10, store.size());
+        assertNull(store.get("t0"));
+        assertNotNull(store.get("t1"));
+        assertNotNull(store.get("t10"));
+    }
+
+    @Test
+    void dropsExpiredSessionsBeforeEvictingLiveOnes() {
+        InMemorySessionStore store = store(10);
+        for (int i = 0; i < 5; i++) {
+            store.open("old" + i, (long) i, i + "@example.com");
+        }
+        advance(TTL);
+        for (int i = 0; i < 5; i++) {
+            store.open("new" + i, (long) i, i + "@example.com");
+        }
+
+        store.open("newest", 99L, "99@example.com");
+
+        assertEquals(6, store.size());
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(store.get("new" + i));
+        }
+    }
+
+    @Test
+    void sweepRemovesExpiredSessions() {
+        InMemorySessionStore store = store(100);
+        store.open("t1", 1L, "a@example.com");
+        advance(Duration.ofMinutes(5));
+        store.open("t2", 2L, "b@example.com");
+
+        advance(Duration.ofMinutes(5));
+        store.sweep();
+
+        assertEquals(1, store.size());
+        assertNotNull(store.get("t2"));
+    }
+
+    private InMemorySessionStore store(int maxSessions) {
+        return new InMemorySessionStore(TTL, MAX_LIFETIME, maxSessions) {
+            @Override
+            long now() {
+                return clock.get();
+            }
+        };
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toMillis());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.simpleauction.session;
+
+import com.example.simpleauction.TestApplication;
+import com.example.simpleauction.repository.UserSessionRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Two stores on one database stand in for two nodes: sliding expiry reaches the table only once it has moved by
+ * a tenth of the TTL, a session opened on one node resolves on the other, and a logout on one node is seen by
+ * the other within the near-cache TTL.
+ */
+class JpaSessionStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration NEAR_CACHE_TTL = Duration.ofSeconds(30);
+
+    private static ConfigurableApplicationContext context;
+    private static UserSessionRepository repository;
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+    @BeforeAll
+    static void start() {
+        context = TestApplication.start();
+        repository = context.getBean(UserSessionRepository.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    void writesSlidingExpiryBackOnlyAfterATenthOfTheTtl() {
+        JpaSessionStore store = store();
+        String token = token();
+        long opened = clock.get();
+        store.open(token, 1L, "a@example.com");
+
+        advance(Duration.ofSeconds(30));
+        assertEquals(opened + TTL.plusSeconds(30).toMillis(), store.get(token).getExpiresAtMillis());
+        assertEquals(opened + TTL.toMillis(), persistedExpiry(token));
+
+        advance(Duration.ofSeconds(31));
+        store.get(token);
+        assertEquals(opened + TTL.plusSeconds(61).toMillis(), persistedExpiry(token));
+    }
+
+    @Test
+    void resolvesASessionOpenedOnAnotherNode() {
+        JpaSessionStore first = store();
+        JpaSessionStore second = store();
+        String token = token();
+        first.open(token, 7L, "b@example.com");
+
+        Session session = second.get(token);
+        assertNotNull(session);
+        assertEquals(7L, session.getUserId());
+        assertEquals("b@example.com", session.getEmail());
+    }
+
+    @Test
+    void seesALogoutOnAnotherNodeOnceItsNearCacheEntryIsStale() {
+        JpaSessionStore first = store();
+        JpaSessionStore second = store();
+        String token = token();
+        first.open(token, 1L, "a@example.com");
+        assertNotNull(second.get(token));
+
+        first.close(token);
+        assertNull(first.get(token));
+
+        advance(NEAR_CACHE_TTL.minusSeconds(1));
+        assertNotNull(second.get(token)); // still served from the near cache
+        advance(Duration.ofSeconds(1));
+        assertNull(second.get(token));
+        assertNull(second.get(token));
+    }
+
+    @Test
+    void ignoresAnExpiredRow() {
+        JpaSessionStore first = store();
+        String token = token();
+        first.open(token, 1L, "a@example.com");
+
+        advance(TTL);
+        assertNull(store().get(token));
+        assertNull(first.get(token));
+    }
+
+    private JpaSessionStore store() {
+        return new JpaSessionStore(repository, TTL, Duration.ofHours(12), 1_000, NEAR_CACHE_TTL) {
+            @Override
+            long now() {
+                return clock.get();
+            }
+        };
+    }
+
+    private static String token() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static long persistedExpiry(String token) {
+        return repository.findById(token).orElseThrow().getExpiresAtMillis();
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toMillis());
+    }
+}
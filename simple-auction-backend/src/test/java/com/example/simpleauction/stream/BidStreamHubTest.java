@@ -0,0 +1,176 @@
+package com.example.simpleauction.stream;
+
+import com.example.simpleauction.config.WorkerThreads;
+import com.example.simpleauction.engine.AcceptedBid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Events published while a subscriber's send is in progress are buffered and delivered in order; heartbeats
+ * reach every subscriber; a subscriber whose buffer overflows, or whose send outlasts the send timeout, is
+ * dropped, and a stalled one does not hold up delivery to the others.
+ */
+class BidStreamHubTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    private final List<TestEmitter> emitters = new ArrayList<>();
+    private BidStreamHub hub;
+
+    @AfterEach
+    void stop() {
+        emitters.forEach(emitter -> emitter.gate.countDown()); // free any dispatcher thread still held by a test
+        hub.shutdown();
+    }
+
+    @Test
+    void buffersEventsPublishedDuringASendAndDeliversThemInOrder() throws InterruptedException {
+        start(4, 1, Duration.ofMinutes(1));
+        TestEmitter emitter = (TestEmitter) hub.subscribeToItem(1L);
+        emitter.hold();
+
+        hub.onBidAccepted(bid(1L, 1));
+        emitter.awaitSendStarted();
+        hub.onBidAccepted(bid(1L, 2));
+        hub.onBidAccepted(bid(1L, 3));
+        emitter.release();
+
+        assertTrue(emitter.next().contains("amountMinor=100"));
+        assertTrue(emitter.next().contains("amountMinor=200"));
+        assertTrue(emitter.next().contains("amountMinor=300"));
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    @Test
+    void heartbeatReachesItemAndCategoryWatchers() throws InterruptedException {
+        start(4, 2, Duration.ofMinutes(1));
+        TestEmitter itemWatcher = (TestEmitter) hub.subscribeToItem(1L);
+        TestEmitter categoryWatcher = (TestEmitter) hub.subscribeToCategory("Art");
+
+        hub.heartbeat();
+
+        assertTrue(itemWatcher.next().startsWith(":heartbeat"));
+        assertTrue(categoryWatcher.next().startsWith(":heartbeat"));
+    }
+
+    @Test
+    void dropsASubscriberWhoseBufferOverflows() throws InterruptedException {
+        start(2, 1, Duration.ofMinutes(1));
+        TestEmitter emitter = (TestEmitter) hub.subscribeToItem(1L);
+        emitter.hold();
+
+        hub.onBidAccepted(bid(1L, 1));
+        emitter.awaitSendStarted();
+        hub.onBidAccepted(bid(1L, 2));
+        hub.onBidAccepted(bid(1L, 3)); // buffer now full
+        hub.onBidAccepted(bid(1L, 4));
+
+        assertEquals(1, hub.getDroppedSubscriberCount());
+        assertEquals(0, hub.getSubscriberCount());
+        emitter.release();
+        assertTrue(emitter.completed.await(WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void dropsAStalledSubscriberWithoutHoldingUpTheOthers() throws InterruptedException {
+        start(4, 1, Duration.ofMillis(50)); // one dispatcher thread, which the stalled send occupies
+        TestEmitter stalled = (TestEmitter) hub.subscribeToItem(1L);
+        stalled.hold();
+        hub.onBidAccepted(bid(1L, 1));
+        stalled.awaitSendStarted();
+        TestEmitter healthy = (TestEmitter) hub.subscribeToItem(1L);
+
+        Thread.sleep(100);
+        hub.dropStalledSubscribers();
+        hub.onBidAccepted(bid(1L, 2));
+
+        assertEquals(1, hub.getDroppedSubscriberCount());
+        assertEquals(1, hub.getSubscriberCount());
+        assertTrue(healthy.next().contains("amountMinor=200"));
+
+        stalled.release(); // the stuck write finally returns; the emitter is completed after it
+        assertTrue(stalled.completed.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(stalled.sent.stream().noneMatch(event -> event.contains("amountMinor=200")));
+    }
+
+    private void start(int bufferSize, int dispatcherThreads, Duration sendTimeout) {
+        hub = new BidStreamHub(bufferSize, 100, Duration.ofMinutes(30), dispatcherThreads, sendTimeout,
+                new WorkerThreads(new MockEnvironment())) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                TestEmitter emitter = new TestEmitter(timeoutMillis);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static AcceptedBid bid(Long itemId, long major) {
+        return new AcceptedBid(null, itemId, "Lot " + itemId, "Art", "bidder@example.com", major * 100,
+                LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+    }
+
+    /** Records what is sent instead of writing it; {@link #hold()} makes sends block like a stalled socket. */
+    private static final class TestEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile CountDownLatch sendStarted = new CountDownLatch(1);
+
+        TestEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        void awaitSendStarted() throws InterruptedException {
+            assertTrue(sendStarted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(WAIT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(event, "nothing sent");
+            return event;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendStarted.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.add(builder.build().stream().map(part -> String.valueOf(part.getData())).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.simpleauction.benchmark;
+
+import com.example.simpleauction.SimpleAuctionBackendApplication;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * The backend, started as in production but on an in-memory H2 database, for benchmarks to call into.
+ * <p>
+ * {@link #seeded} adds a fixed volume of users, items and bids, generated from a fixed seed so every run
+ * (and every commit) benchmarks the same data: {@value #USERS} users, {@value #ITEMS} items over
+ * {@link #CATEGORIES}, and bids whose count per item is skewed so a few items are hot and most see a
+ * handful, about {@value #MAX_BIDS_PER_ITEM}/4 per item on average. Rows are inserted with plain JDBC
+ * batches, bypassing the engine, so seeding takes seconds.
+ */
+public final class AuctionFixture implements AutoCloseable {
+
+    public static final int USERS = 5_000;
+    public static final int ITEMS = 20_000;
+    public static final int MAX_BIDS_PER_ITEM = 80;
+    public static final List<String> CATEGORIES = List.of("Art", "Collectibles", "Electronics", "Fashion", "Vehicle",
+            "Books", "Home", "Jewelry", "Music", "Sports", "Toys", "Watches");
+
+    private static final long SEED = 42;
+    private static final int BATCH = 5_000;
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> itemIds = new ArrayList<>();
+    private final List<String> userEmails = new ArrayList<>();
+    private long hotItemId;
+    private int hotItemBids;
+    private long hotItemFirstBidId;
+
+    private AuctionFixture(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /** The backend with only its demo data; {@code properties} as {@code name=value}, overriding the defaults. */
+    public static AuctionFixture start(String... properties) {
+        String[] args = Stream.concat(Stream.of(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.flyway.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // Not benchmarked; its background build would only compete for CPU
+                        "auction.search.index.enabled=false"), Arrays.stream(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new AuctionFixture(new SpringApplicationBuilder(SimpleAuctionBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args));
+    }
+
+    /** The backend with the seeded volume on top of its demo data. */
+    public static AuctionFixture seeded(String... properties) {
+        AuctionFixture fixture = start(properties);
+        fixture.seed();
+        return fixture;
+    }
+
+    /** A bean as the application wires it (so through any transaction proxy). */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** The object behind a proxied service, for benchmarks of its package-private helpers. */
+    @SuppressWarnings("unchecked")
+    public <T> T target(Class<T> type) {
+        T bean = context.getBean(type);
+        Object target = AopProxyUtils.getSingletonTarget(bean);
+        return target != null ? (T) target : bean;
+    }
+
+    public List<Long> getItemIds() {
+        return itemIds;
+    }
+
+    public List<String> getUserEmails() {
+        return userEmails;
+    }
+
+    /** The seeded item with the most bids. */
+    public long getHotItemId() {
+        return hotItemId;
+    }
+
+    public int getHotItemBids() {
+        return hotItemBids;
+    }
+
+    /** ID of the hot item's oldest bid: paging its history back from here reaches the end. */
+    public long getHotItemFirstBidId() {
+        return hotItemFirstBidId;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed() {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> users = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            String email = String.format("user%05d@bench.example.com", u);
+            userEmails.add(email);
+            users.add(new Object[]{email, "password"});
+        }
+        insert(jdbc, "insert into users (email, password) values (?, ?)", users);
+        List<Long> userIds = jdbc.queryForList("select id from users where email like '%@bench.example.com' order by id", Long.class);
+
+        // Each item's bids are generated with it, so its row carries the final price and leader
+        List<Object[]> items = new ArrayList<>();
+        List<long[]> bidsPerItem = new ArrayList<>(); // per item: bidder index, amount in cents, ...
+        for (int i = 0; i < ITEMS; i++) {
+            long startingPrice = 100 + random.nextInt(50_000);
+            long price = startingPrice;
+            int bidCount = (int) (Math.pow(random.nextDouble(), 3) * MAX_BIDS_PER_ITEM);
+            long[] bids = new long[bidCount * 2];
+            for (int b = 0; b < bidCount; b++) {
+                price += 100 + random.nextInt(2_500);
+                bids[b * 2] = random.nextInt(USERS);
+                bids[b * 2 + 1] = price;
+            }
+            bidsPerItem.add(bids);
+            items.add(new Object[]{
+                    String.format("Lot %05d", i),
+                    "Item " + i + " from the benchmark catalogue: good condition, ships in original packaging, "
+                            + "see photos for details.",
+                    BigDecimal.valueOf(startingPrice, 2),
+                    BigDecimal.valueOf(price, 2),
+                    CATEGORIES.get(random.nextInt(CATEGORIES.size())),
+                    "https://images.example.com/lots/" + i + ".jpg",
+                    Timestamp.valueOf(now.plusMinutes(60 + random.nextInt(7 * 24 * 60))),
+                    "OPEN",
+                    userIds.get(random.nextInt(USERS)),
+                    bidCount > 0 ? userIds.get((int) bids[bids.length - 2]) : null});
+        }
+        insert(jdbc, "insert into items (name, description, starting_price, current_bid_price, category, image_url, "
+                + "auction_end_time, auction_status, seller_id, highest_bidder_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", items);
+        itemIds.addAll(jdbc.queryForList("select id from items where name like 'Lot %' order by id", Long.class));
+
+        long bidId = jdbc.queryForObject("select coalesce(max(id), 0) from bids", Long.class);
+        List<Object[]> bids = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            long[] itemBids = bidsPerItem.get(i);
+            int count = itemBids.length / 2;
+            if (count > hotItemBids) {
+                hotItemId = itemIds.get(i);
+                hotItemBids = count;
+                hotItemFirstBidId = bidId + 1;
+            }
+            for (int b = 0; b < count; b++) {
+                bids.add(new Object[]{++bidId, itemIds.get(i), userIds.get((int) itemBids[b * 2]),
+                        BigDecimal.valueOf(itemBids[b * 2 + 1], 2), Timestamp.valueOf(now.minusMinutes(count - b))});
+            }
+            if (bids.size() >= BATCH) {
+                insert(jdbc, "insert into bids (id, item_id, bidder_id, bid_amount, bid_time) values (?, ?, ?, ?, ?)", bids);
+                bids.clear();
+            }
+        }
+        insert(jdbc, "insert into bids (id, item_id, bidder_id, bid_amount, bid_time) values (?, ?, ?, ?, ?)", bids);
+        // IDs were assigned here, so move the pooled generator past them before the engine stores any bid
+        jdbc.execute("alter sequence bids_seq restart with " + (bidId + 100));
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.simpleauction.controller;
+
+import com.example.simpleauction.benchmark.AuctionFixture;
+import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.service.ItemService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a page of {@link ItemDTO}s as the item list endpoints do, with the application's own
+ * {@link ObjectMapper}; {@code size} is the default and the maximum page size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ItemJsonBenchmark {
+
+    @Param({"50", "200"})
+    public int size;
+
+    private AuctionFixture fixture;
+    private ObjectMapper objectMapper;
+    private List<ItemDTO> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = AuctionFixture.seeded();
+        objectMapper = fixture.bean(ObjectMapper.class);
+        items = fixture.bean(ItemService.class).getItemsPage(null, null, null, null, size).items();
+        if (items.size() != size) {
+            throw new IllegalStateException("Expected a page of " + size + " items, got " + items.size());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] writeItemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
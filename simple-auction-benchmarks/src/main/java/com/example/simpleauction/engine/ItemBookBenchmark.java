@@ -0,0 +1,164 @@
+package com.example.simpleauction.engine;
+
+import com.example.simpleauction.lifecycle.SoftClosePolicy;
+import com.example.simpleauction.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of what the bid engine does per bid under the book lock ({@link ItemBook#propose}, the
+ * journal's amount field when {@code journal} is on, {@link ItemBook#apply}): {@link Money} minor units
+ * against {@link DecimalBook}, a copy of the book as it was when it held a {@code BigDecimal} price, with the
+ * journal's old conversion. With {@code -Djmh.args="ItemBook -prof gc"}, {@code gc.alloc.rate.norm} is the
+ * bytes allocated per bid.
+ * <p>
+ * Both sides get the request amount as the {@code BigDecimal} Jackson produced, so the minor-units side
+ * includes its one conversion at the API boundary.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemBookBenchmark {
+
+    private static final int AMOUNTS = 1024;
+    private static final String BIDDER = "bidder@example.com";
+
+    @Param({"false", "true"})
+    public boolean journal;
+
+    private final SoftClosePolicy softClose = new SoftClosePolicy(Duration.ofSeconds(30), Duration.ofMinutes(1));
+    private final BidIncrements increments = new BidIncrements("0:1");
+    private final LocalDateTime now = LocalDateTime.now();
+    private BigDecimal[] requested;
+    private String[] bidders;
+    private ItemBook book;
+    private DecimalBook decimalBook;
+    private int next;
+    private long journaled;
+
+    @Setup
+    public void setUp() {
+        requested = new BigDecimal[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            requested[i] = new BigDecimal((i + 2) + ".50"); // scale 2, as "12.50" in a request body parses
+        }
+        bidders = new String[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            bidders[i] = "bidder" + i + "@example.com";
+        }
+        book = new ItemBook(1L, "Lot", "Benchmark", "seller@example.com", now.plusHours(1), 100, null);
+        decimalBook = new DecimalBook(1L, "Lot", "Benchmark", "seller@example.com", now.plusHours(1), new BigDecimal("1.00"));
+    }
+
+    @Benchmark
+    public BidResolution minorUnits() {
+        if (next == 0) {
+            book = new ItemBook(1L, "Lot", "Benchmark", "seller@example.com", now.plusHours(1), 100, null);
+        }
+        BidResolution accepted = book.propose(BIDDER, Money.toMinorUnits(nextAmount()), now, softClose, increments);
+        if (journal) {
+            journaled = accepted.bids().get(0).amountMinor();
+        }
+        book.apply(accepted);
+        return accepted;
+    }
+
+    /**
+     * A proxy war: each call a different bidder (of {@code AMOUNTS}) sets a maximum above the last, so it is
+     * settled against the leader's maximum and produces two visible bids.
+     */
+    @Benchmark
+    public BidResolution maxBidWar() {
+        if (next == 0) {
+            book = new ItemBook(1L, "Lot", "Benchmark", "seller@example.com", now.plusHours(1), 100, null);
+        }
+        String bidder = bidders[next];
+        BidResolution accepted = book.proposeMax(bidder, Money.toMinorUnits(nextAmount()), now, softClose, increments);
+        book.apply(accepted);
+        return accepted;
+    }
+
+    @Benchmark
+    public DecimalBid bigDecimal() {
+        if (next == 0) {
+            decimalBook = new DecimalBook(1L, "Lot", "Benchmark", "seller@example.com", now.plusHours(1), new BigDecimal("1.00"));
+        }
+        DecimalBid accepted = decimalBook.propose(BIDDER, nextAmount(), now, softClose);
+        if (journal) {
+            journaled = accepted.amount().setScale(Money.SCALE).unscaledValue().longValueExact();
+        }
+        decimalBook.apply(accepted);
+        return accepted;
+    }
+
+    // Amounts only go up, so the book is restarted each time they wrap around
+    private BigDecimal nextAmount() {
+        BigDecimal amount = requested[next];
+        next = (next + 1) % AMOUNTS;
+        return amount;
+    }
+
+    /** The accepted bid as it was before minor units. */
+    public record DecimalBid(Long bidId, Long itemId, String itemName, String category, String bidderEmail,
+                             BigDecimal amount, LocalDateTime bidTime, LocalDateTime auctionEndTime) {
+    }
+
+    /** {@link ItemBook}'s validation as it was with a {@code BigDecimal} price: the baseline. */
+    static final class DecimalBook {
+        private final Long itemId;
+        private final String itemName;
+        private final String category;
+        private final String sellerEmail;
+        private LocalDateTime auctionEndTime;
+        private BigDecimal currentPrice;
+        private String highestBidderEmail;
+        private boolean closed;
+
+        DecimalBook(Long itemId, String itemName, String category, String sellerEmail,
+                    LocalDateTime auctionEndTime, BigDecimal currentPrice) {
+            this.itemId = itemId;
+            this.itemName = itemName;
+            this.category = category;
+            this.sellerEmail = sellerEmail;
+            this.auctionEndTime = auctionEndTime;
+            this.currentPrice = currentPrice;
+        }
+
+        DecimalBid propose(String bidderEmail, BigDecimal amount, LocalDateTime now, SoftClosePolicy softClose) {
+            if (closed || auctionEndTime == null || !now.isBefore(auctionEndTime)) {
+                throw new IllegalStateException("Auction has ended for item: " + itemName);
+            }
+            if (sellerEmail != null && sellerEmail.equals(bidderEmail)) {
+                throw new IllegalArgumentException("Seller cannot bid on their own item.");
+            }
+            if (amount == null || amount.compareTo(currentPrice) <= 0) {
+                throw new IllegalArgumentException("Bid amount must be provided and higher than the current price of $" + currentPrice.toPlainString());
+            }
+            return new DecimalBid(null, itemId, itemName, category, bidderEmail, amount, now,
+                    softClose.extendedEnd(auctionEndTime, now));
+        }
+
+        void apply(DecimalBid accepted) {
+            currentPrice = accepted.amount();
+            highestBidderEmail = accepted.bidderEmail();
+            auctionEndTime = accepted.auctionEndTime();
+        }
+    }
+}
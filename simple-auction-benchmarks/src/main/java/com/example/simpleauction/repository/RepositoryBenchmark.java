@@ -0,0 +1,88 @@
+package com.example.simpleauction.repository;
+
+import com.example.simpleauction.benchmark.AuctionFixture;
+import com.example.simpleauction.dto.BidListing;
+import com.example.simpleauction.dto.ItemListing;
+import com.example.simpleauction.entity.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The queries behind the item and bid read endpoints, against the {@link AuctionFixture#seeded} volume.
+ * Items are visited in a fixed order so each run reads the same rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class RepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private AuctionFixture fixture;
+    private ItemRepository itemRepository;
+    private BidRepository bidRepository;
+    private List<Long> itemIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = AuctionFixture.seeded();
+        itemRepository = fixture.bean(ItemRepository.class);
+        bidRepository = fixture.bean(BidRepository.class);
+        itemIds = fixture.getItemIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<BidListing> topBids() {
+        return bidRepository.findTopBids(fixture.getHotItemId(), Limit.of(20));
+    }
+
+    @Benchmark
+    public List<BidListing> bidHistoryPage() {
+        return bidRepository.findHistoryBefore(fixture.getHotItemId(), Long.MAX_VALUE, Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<ItemListing> itemListingsPage() {
+        return itemRepository.findListingsAfter(nextItemId(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<ItemListing> itemListingsByCategoryPage() {
+        return itemRepository.findListingsByCategoryAfter(AuctionFixture.CATEGORIES.get(next % AuctionFixture.CATEGORIES.size()),
+                nextItemId(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Optional<Item> itemWithParticipants() {
+        return itemRepository.findWithParticipantsById(nextItemId());
+    }
+
+    private Long nextItemId() {
+        next = (next + 1) % itemIds.size();
+        return itemIds.get(next);
+    }
+}
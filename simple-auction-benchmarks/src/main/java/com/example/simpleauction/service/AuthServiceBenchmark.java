@@ -0,0 +1,70 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.benchmark.AuctionFixture;
+import com.example.simpleauction.dto.AuthRequest;
+import com.example.simpleauction.dto.AuthResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the caller's email from an {@code Authorization} header, done on every authenticated request,
+ * in both {@code auction.auth.token-mode}s, for a live token and for one the node does not know.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AuthServiceBenchmark {
+
+    @Param({"session", "signed"})
+    public String tokenMode;
+
+    private AuctionFixture fixture;
+    private AuthService authService;
+    private String validHeader;
+    private String unknownHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = AuctionFixture.start("auction.auth.token-mode=" + tokenMode);
+        authService = fixture.bean(AuthService.class);
+        AuthRequest login = new AuthRequest();
+        login.setEmail("test@example.com");
+        login.setPassword("password");
+        String token = ((AuthResponse) authService.loginUser(login).getBody()).getToken();
+        validHeader = "Bearer " + token;
+        // Same shape as a real token, last character changed
+        unknownHeader = validHeader.substring(0, validHeader.length() - 1)
+                + (validHeader.endsWith("A") ? "B" : "A");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String validToken() {
+        return authService.getUserEmailFromToken(validHeader);
+    }
+
+    @Benchmark
+    public String unknownToken() {
+        return authService.getUserEmailFromToken(unknownHeader);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.benchmark.AuctionFixture;
+import com.example.simpleauction.dto.BidDTO;
+import com.example.simpleauction.dto.BidPage;
+import com.example.simpleauction.dto.BidRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BidService} on the seeded hot item: a bid the engine rejects as too low (validation only, nothing
+ * is written), the top-bids read served from the leaderboard, and the first bid history page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class BidServiceBenchmark {
+
+    private AuctionFixture fixture;
+    private BidService bidService;
+    private Long itemId;
+    private String bidder;
+    private BidRequest lowBid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = AuctionFixture.seeded();
+        bidService = fixture.bean(BidService.class);
+        itemId = fixture.getHotItemId();
+        bidder = fixture.getUserEmails().get(0);
+        lowBid = new BidRequest();
+        lowBid.setAmount(new BigDecimal("1.00"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public String placeBidOutbid() {
+        try {
+            return bidService.placeBid(itemId, lowBid, bidder).toString();
+        } catch (IllegalArgumentException rejected) {
+            return rejected.getMessage();
+        }
+    }
+
+    @Benchmark
+    public List<BidDTO> topBids() {
+        return bidService.getBidsForItem(itemId, null);
+    }
+
+    @Benchmark
+    public BidPage bidHistoryPage() {
+        return bidService.getBidHistory(itemId, null, null);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.simpleauction.service;
+
+import com.example.simpleauction.benchmark.AuctionFixture;
+import com.example.simpleauction.dto.BidDTO;
+import com.example.simpleauction.dto.BidListing;
+import com.example.simpleauction.dto.ItemDTO;
+import com.example.simpleauction.dto.ItemListing;
+import com.example.simpleauction.engine.AcceptedBid;
+import com.example.simpleauction.entity.Item;
+import com.example.simpleauction.money.Money;
+import com.example.simpleauction.repository.BidRepository;
+import com.example.simpleauction.repository.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and projection to DTO conversion in {@link ItemService} and {@link BidService}, one page of
+ * {@value #PAGE_SIZE} seeded rows per invocation; scores are per converted row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DtoConversionBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private AuctionFixture fixture;
+    private ItemService itemService;
+    private BidService bidService;
+    private List<Item> items;
+    private List<ItemListing> itemListings;
+    private List<BidListing> bidListings;
+    private List<AcceptedBid> acceptedBids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = AuctionFixture.seeded();
+        itemService = fixture.target(ItemService.class);
+        bidService = fixture.target(BidService.class);
+        ItemRepository itemRepository = fixture.bean(ItemRepository.class);
+        items = new ArrayList<>();
+        for (Long id : fixture.getItemIds().subList(0, PAGE_SIZE)) {
+            items.add(itemRepository.findWithParticipantsById(id).orElseThrow());
+        }
+        itemListings = itemRepository.findListingsAfter(0L, Limit.of(PAGE_SIZE));
+        bidListings = fixture.bean(BidRepository.class).findHistoryBefore(fixture.getHotItemId(), Long.MAX_VALUE, Limit.of(PAGE_SIZE));
+        acceptedBids = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (BidListing listing : bidListings) {
+            acceptedBids.add(new AcceptedBid(null, listing.itemId(), listing.itemName(), "Art", listing.bidderEmail(),
+                    Money.toMinorUnits(listing.bidAmount()), now, now.plusHours(1)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<ItemDTO> itemFromEntity() {
+        List<ItemDTO> dtos = new ArrayList<>(PAGE_SIZE);
+        for (Item item : items) {
+            dtos.add(itemService.convertToDto(item));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<ItemDTO> itemFromListing() {
+        List<ItemDTO> dtos = new ArrayList<>(PAGE_SIZE);
+        for (ItemListing listing : itemListings) {
+            dtos.add(itemService.convertToDto(listing));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<BidDTO> bidFromListing() {
+        List<BidDTO> dtos = new ArrayList<>(PAGE_SIZE);
+        for (BidListing listing : bidListings) {
+            dtos.add(bidService.convertToDto(listing));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<BidDTO> bidFromAcceptedBid() {
+        List<BidDTO> dtos = new ArrayList<>(PAGE_SIZE);
+        for (AcceptedBid accepted : acceptedBids) {
+            dtos.add(bidService.convertToDto(accepted));
+        }
+        return dtos;
+    }
+}
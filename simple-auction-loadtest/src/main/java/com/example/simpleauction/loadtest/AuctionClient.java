@@ -0,0 +1,151 @@
+package com.example.simpleauction.loadtest;
+
+import com.example.simpleauction.loadtest.LoadStats.Operation;
+import com.example.simpleauction.loadtest.LoadStats.Outcome;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * The backend's REST API as the frontend calls it, timing every request into {@link LoadStats}.
+ * <p>
+ * Calls never throw for HTTP or I/O failures: they are counted and the call returns null (or false), so a
+ * virtual user carries on as a real one would after an error page.
+ */
+final class AuctionClient {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final LoadStats stats;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    AuctionClient(String baseUrl, LoadStats stats) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.stats = stats;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "loadtest-http");
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
+    }
+
+    /** Every item, paging through {@code GET /api/items} (untimed: this is setup, not load). */
+    List<Catalog.Item> loadCatalog() throws IOException, InterruptedException {
+        List<Catalog.Item> items = new ArrayList<>();
+        String cursor = null;
+        do {
+            HttpResponse<String> response = http.send(get("/api/items?limit=200" + (cursor != null ? "&cursor=" + cursor : ""), null),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Listing items failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode item : json.readTree(response.body())) {
+                items.add(new Catalog.Item(item.get("id").asLong(), item.path("category").asText(null),
+                        LocalDateTime.parse(item.get("auctionEndTime").asText())));
+            }
+            cursor = response.headers().firstValue(NEXT_CURSOR_HEADER).orElse(null);
+        } while (cursor != null);
+        return items;
+    }
+
+    /** The session token, or null if login failed. */
+    String login(String email, String password) {
+        JsonNode body = send(Operation.LOGIN, post("/api/auth/login", null, Map.of("email", email, "password", password)));
+        return body != null ? body.path("token").asText(null) : null;
+    }
+
+    /** A page of listings, or null on failure. */
+    JsonNode listItems(String category, Long cursor, int limit) {
+        StringBuilder path = new StringBuilder("/api/items?limit=").append(limit);
+        if (category != null) {
+            path.append("&category=").append(category);
+        }
+        if (cursor != null) {
+            path.append("&cursor=").append(cursor);
+        }
+        return send(Operation.LIST_ITEMS, get(path.toString(), null));
+    }
+
+    JsonNode item(long itemId) {
+        return send(Operation.VIEW_ITEM, get("/api/items/" + itemId, null));
+    }
+
+    JsonNode topBids(long itemId, int limit) {
+        return send(Operation.TOP_BIDS, get("/api/items/" + itemId + "/bids?limit=" + limit, null));
+    }
+
+    /** Whether the bid was accepted; false if it was outbid, too late, or failed. */
+    boolean bid(String token, long itemId, BigDecimal amount) {
+        return send(Operation.PLACE_BID, post("/api/items/" + itemId + "/bid", token, Map.of("amount", amount))) != null;
+    }
+
+    /** Whether payment was initiated. */
+    boolean pay(String token, long itemId) {
+        return send(Operation.PAY, post("/api/items/" + itemId + "/pay", token, null)) != null;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        try {
+            return request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(body != null ? HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)) : HttpRequest.BodyPublishers.noBody())
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize request body", e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Business refusals (outbid, auction ended, not the winner) come back as 400
+    private JsonNode send(Operation operation, HttpRequest request) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                stats.record(operation, started, Outcome.OK);
+                return response.body().isEmpty() ? json.nullNode() : json.readTree(response.body());
+            }
+            boolean rejected = (operation == Operation.PLACE_BID || operation == Operation.PAY) && status == 400;
+            stats.record(operation, started, rejected ? Outcome.REJECTED : Outcome.ERROR);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (IOException e) {
+            stats.record(operation, started, Outcome.ERROR);
+            return null;
+        }
+    }
+}
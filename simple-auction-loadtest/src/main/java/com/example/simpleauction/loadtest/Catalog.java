@@ -0,0 +1,125 @@
+package com.example.simpleauction.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The items under load and how traffic picks them: a fixed (seeded) popularity ranking sampled with a Zipf
+ * distribution, and a view of which auctions are about to end for bidding storms.
+ * <p>
+ * End times are those read at startup; soft-close extensions are not tracked, so a storm moves on from an
+ * item at its original end even if bidding pushed it back.
+ */
+final class Catalog {
+
+    private final long[] ids;
+    private final String[] categories;
+    private final int[] byRank;      // popularity rank -> item index
+    private final int[] rankOf;      // item index -> popularity rank
+    private final int[] byEnd;       // item indexes by end time
+    private final long[] sortedEnds; // end times (epoch ms) in the same order
+    private final long[] endOf;      // item index -> end time (epoch ms)
+    private final double[] zipfCdf;
+
+    Catalog(List<Item> items, double zipfExponent, long seed) {
+        int size = items.size();
+        if (size == 0) {
+            throw new IllegalStateException("The backend has no items to load test");
+        }
+        ids = new long[size];
+        categories = new String[size];
+        endOf = new long[size];
+        for (int i = 0; i < size; i++) {
+            Item item = items.get(i);
+            ids[i] = item.id();
+            categories[i] = item.category();
+            endOf[i] = item.auctionEndTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        byRank = IntStream.range(0, size).toArray();
+        Random random = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = byRank[i];
+            byRank[i] = byRank[j];
+            byRank[j] = swap;
+        }
+        rankOf = new int[size];
+        for (int rank = 0; rank < size; rank++) {
+            rankOf[byRank[rank]] = rank;
+        }
+
+        byEnd = IntStream.range(0, size).boxed().sorted(Comparator.comparingLong(i -> endOf[i])).mapToInt(i -> i).toArray();
+        sortedEnds = Arrays.stream(byEnd).mapToLong(i -> endOf[i]).toArray();
+
+        zipfCdf = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, zipfExponent);
+            zipfCdf[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            zipfCdf[rank] /= total;
+        }
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long id(int item) {
+        return ids[item];
+    }
+
+    String category(int item) {
+        return categories[item];
+    }
+
+    boolean hasEnded(int item, long nowMillis) {
+        return endOf[item] <= nowMillis;
+    }
+
+    /** An item by popularity. */
+    int popular(ThreadLocalRandom random) {
+        int rank = Arrays.binarySearch(zipfCdf, random.nextDouble());
+        return byRank[rank >= 0 ? rank : Math.min(-rank - 1, zipfCdf.length - 1)];
+    }
+
+    /**
+     * An item ending within {@code windowMillis}, leaning towards popular ones (the more popular of two picks),
+     * or -1 if none is about to end.
+     */
+    int closing(ThreadLocalRandom random, long nowMillis, long windowMillis) {
+        int from = lowerBound(nowMillis);
+        int to = lowerBound(nowMillis + windowMillis);
+        if (from >= to) {
+            return -1;
+        }
+        int first = byEnd[random.nextInt(from, to)];
+        int second = byEnd[random.nextInt(from, to)];
+        return rankOf[first] <= rankOf[second] ? first : second;
+    }
+
+    private int lowerBound(long millis) {
+        int low = 0;
+        int high = sortedEnds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedEnds[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    record Item(long id, String category, LocalDateTime auctionEndTime) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.simpleauction.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load generator settings, parsed from {@code --name=value} arguments. Defaults are in {@link #parse}.
+ * <p>
+ * Arguments starting with {@code --spring.}, {@code --server.} or {@code --auction.} are passed to the
+ * in-process backend instead, e.g. {@code --auction.loadtest.items=50000}.
+ *
+ * @param baseUrl       backend to drive; null starts one in-process with the {@code loadtest} profile. Several
+ *                      comma-separated URLs (nodes of one cluster) spread the users, each sticking to one node
+ * @param users         concurrent virtual users, each logged in as its own seeded account
+ * @param accounts      seeded accounts to log in as (in-process: {@code auction.loadtest.users})
+ * @param duration      how long to generate load, after the ramp-up
+ * @param rampUp        virtual users start evenly spread over this
+ * @param thinkTime     mean pause between a user's actions (exponentially distributed); zero = closed loop
+ * @param mix           relative weights of browse, view, bid and pay actions ({@code --mix=browse:55,view:30,bid:14,pay:1})
+ * @param zipfExponent  skew of item popularity: rank r is picked with weight 1/r^s
+ * @param stormWindow   items ending within this draw bidding storms
+ * @param stormShare    share of bids aimed at items inside the storm window (when there are any)
+ */
+public record LoadProfile(String baseUrl, int users, int accounts, Duration duration, Duration rampUp,
+                          Duration thinkTime, Map<Action, Integer> mix, double zipfExponent, Duration stormWindow,
+                          double stormShare, Duration reportInterval, Path reportDir, long seed,
+                          List<String> backendArgs) {
+
+    public enum Action { BROWSE, VIEW, BID, PAY }
+
+    public static LoadProfile parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> backendArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--spring.") || arg.startsWith("--server.") || arg.startsWith("--auction.")) {
+                backendArgs.add(arg);
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        LoadProfile profile = new LoadProfile(
+                options.remove("base-url"),
+                Integer.parseInt(options.getOrDefault("users", "200")),
+                Integer.parseInt(options.getOrDefault("accounts", "10000")),
+                Duration.parse(options.getOrDefault("duration", "PT5M")),
+                Duration.parse(options.getOrDefault("ramp-up", "PT10S")),
+                Duration.parse(options.getOrDefault("think-time", "PT0.1S")),
+                parseMix(options.getOrDefault("mix", "browse:55,view:30,bid:14,pay:1")),
+                Double.parseDouble(options.getOrDefault("zipf-exponent", "1.1")),
+                Duration.parse(options.getOrDefault("storm-window", "PT1M")),
+                Double.parseDouble(options.getOrDefault("storm-share", "0.7")),
+                Duration.parse(options.getOrDefault("report-interval", "PT10S")),
+                Path.of(options.getOrDefault("report-dir", "loadtest-report")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                List.copyOf(backendArgs));
+        options.keySet().removeAll(List.of("users", "accounts", "duration", "ramp-up", "think-time", "mix", "zipf-exponent",
+                "storm-window", "storm-share", "report-interval", "report-dir", "seed"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        return profile;
+    }
+
+    public LoadProfile withTarget(String baseUrl, int accounts) {
+        return new LoadProfile(baseUrl, users, accounts, duration, rampUp, thinkTime, mix, zipfExponent, stormWindow,
+                stormShare, reportInterval, reportDir, seed, backendArgs);
+    }
+
+    private static Map<Action, Integer> parseMix(String value) {
+        Map<Action, Integer> mix = new HashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Action.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return Map.copyOf(mix);
+    }
+}
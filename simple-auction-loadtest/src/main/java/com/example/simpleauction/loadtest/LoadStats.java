@@ -0,0 +1,133 @@
+package com.example.simpleauction.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes and latencies per endpoint. Latencies go into an HdrHistogram {@link Recorder} (microseconds, three
+ * significant digits); each report drains the interval into the run's total, so interval lines show recent
+ * behaviour and the final report the whole run.
+ * <p>
+ * A <em>rejection</em> is the backend refusing a well-formed request for a business reason (outbid, auction
+ * ended, not the winner: HTTP 400 from a bid or payment); an <em>error</em> is anything else that is not 2xx, including timeouts
+ * and connection failures.
+ */
+final class LoadStats {
+
+    enum Operation {
+        LOGIN("POST /api/auth/login"),
+        LIST_ITEMS("GET /api/items"),
+        VIEW_ITEM("GET /api/items/{id}"),
+        TOP_BIDS("GET /api/items/{id}/bids"),
+        PLACE_BID("POST /api/items/{id}/bid"),
+        PAY("POST /api/items/{id}/pay");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    enum Outcome { OK, REJECTED, ERROR }
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<Operation, Endpoint> endpoints = new EnumMap<>(Operation.class);
+
+    LoadStats() {
+        for (Operation operation : Operation.values()) {
+            endpoints.put(operation, new Endpoint());
+        }
+    }
+
+    void record(Operation operation, long startedNanos, Outcome outcome) {
+        Endpoint endpoint = endpoints.get(operation);
+        endpoint.interval.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedNanos), MAX_LATENCY_MICROS));
+        switch (outcome) {
+            case OK -> endpoint.ok.increment();
+            case REJECTED -> endpoint.rejected.increment();
+            case ERROR -> endpoint.errors.increment();
+        }
+    }
+
+    /** One line for the interval since the last call: throughput, bid latency and problem counts. */
+    String intervalLine(long elapsedSeconds, double intervalSeconds) {
+        long requests = 0;
+        long rejected = 0;
+        long errors = 0;
+        Histogram bids = null;
+        for (Map.Entry<Operation, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram interval = endpoint.drain();
+            requests += interval.getTotalCount();
+            long nowRejected = endpoint.rejected.sum();
+            long nowErrors = endpoint.errors.sum();
+            rejected += nowRejected - endpoint.reportedRejected;
+            errors += nowErrors - endpoint.reportedErrors;
+            endpoint.reportedRejected = nowRejected;
+            endpoint.reportedErrors = nowErrors;
+            if (entry.getKey() == Operation.PLACE_BID) {
+                bids = interval;
+            }
+        }
+        return String.format("[%4ds] %,8.0f req/s | bids %,7.0f/s p50 %7.2f ms p99 %7.2f ms | rejected %,d | errors %,d",
+                elapsedSeconds, requests / intervalSeconds, bids.getTotalCount() / intervalSeconds,
+                millis(bids.getValueAtPercentile(50)), millis(bids.getValueAtPercentile(99)), rejected, errors);
+    }
+
+    /** Whole-run table per endpoint; also writes each endpoint's percentile distribution (.hgrm, in ms). */
+    void report(PrintStream out, double seconds, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        out.printf("%-26s %10s %9s %9s %9s %9s %9s %9s %9s %8s%n", "endpoint", "requests", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "rejected", "errors");
+        for (Map.Entry<Operation, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            endpoint.drain();
+            Histogram total = endpoint.total;
+            long count = total.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            out.printf("%-26s %,10d %,9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8.2f%% %7.2f%%%n", entry.getKey().label, count,
+                    count / seconds, millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(90)),
+                    millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)), millis(total.getMaxValue()),
+                    100.0 * endpoint.rejected.sum() / count, 100.0 * endpoint.errors.sum() / count);
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(reportDir.resolve(entry.getKey().name().toLowerCase() + ".hgrm")))) {
+                total.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+        private final Recorder interval = new Recorder(MAX_LATENCY_MICROS, 3);
+        private final Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private long reportedRejected;
+        private long reportedErrors;
+        private Histogram recycled;
+
+        // Only the reporting thread calls this
+        synchronized Histogram drain() {
+            Histogram latest = interval.getIntervalHistogram(recycled);
+            total.add(latest);
+            recycled = latest;
+            return latest;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.simpleauction.loadtest;
+
+import com.example.simpleauction.SimpleAuctionBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Drives the auction API with simulated users and reports throughput, latency percentiles and rejection/error
+ * rates per endpoint (see {@link LoadProfile} for the options).
+ * <p>
+ * Without {@code --base-url} the backend is started in this JVM with the {@code loadtest} profile (in-memory H2,
+ * seeded by {@code LoadTestDataInitializer}) on a random port; generator and backend then share the machine,
+ * so for sizing, run the backend separately with that profile and point {@code --base-url} at it. To measure
+ * scale-out, run several clustered nodes on one database and list them all: {@code --base-url=http://a:8080,http://b:8080}.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.parse(args);
+        ConfigurableApplicationContext backend = null;
+        if (profile.baseUrl() == null) {
+            String[] backendArgs = Stream.concat(Stream.of("--server.port=0", "--logging.level.root=WARN"),
+                    profile.backendArgs().stream()).toArray(String[]::new);
+            backend = new SpringApplicationBuilder(SimpleAuctionBackendApplication.class).profiles("loadtest").run(backendArgs);
+            profile = profile.withTarget("http://localhost:" + backend.getEnvironment().getProperty("local.server.port"),
+                    backend.getEnvironment().getProperty("auction.loadtest.users", Integer.class, profile.accounts()));
+        }
+        int exitCode;
+        try {
+            exitCode = run(profile);
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(LoadProfile profile) throws Exception {
+        LoadStats stats = new LoadStats();
+        List<AuctionClient> clients = new ArrayList<>();
+        for (String baseUrl : profile.baseUrl().split(",")) {
+            clients.add(new AuctionClient(baseUrl.trim(), stats));
+        }
+        Catalog catalog = new Catalog(clients.get(0).loadCatalog(), profile.zipfExponent(), profile.seed());
+        System.out.printf("Load test against %s: %d users over %d items for %s (ramp-up %s), mix %s%n",
+                profile.baseUrl(), profile.users(), catalog.size(), profile.duration(), profile.rampUp(), profile.mix());
+
+        long started = System.nanoTime();
+        long deadline = started + profile.rampUp().toNanos() + profile.duration().toNanos();
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < profile.users(); i++) {
+            long startAt = started + profile.rampUp().toNanos() * i / profile.users();
+            // Like a sticky load balancer: a user logs in and stays on one node
+            AuctionClient client = clients.get(i % clients.size());
+            Thread user = new Thread(new VirtualUser(i, profile, catalog, client, startAt, deadline), "virtual-user-" + i);
+            user.setDaemon(true);
+            user.start();
+            users.add(user);
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = profile.reportInterval().toMillis();
+        reporter.scheduleAtFixedRate(() -> System.out.println(stats.intervalLine(
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started), interval / 1000.0)), interval, interval, TimeUnit.MILLISECONDS);
+        for (Thread user : users) {
+            user.join();
+        }
+        reporter.shutdownNow();
+        reporter.awaitTermination(5, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(summary, true, StandardCharsets.UTF_8)) {
+            out.printf("%d users, %.1f s including ramp-up%n", profile.users(), seconds);
+            stats.report(out, seconds, profile.reportDir());
+        }
+        Files.writeString(profile.reportDir().resolve("summary.txt"), summary.toString(StandardCharsets.UTF_8));
+        System.out.print(summary.toString(StandardCharsets.UTF_8));
+        System.out.println("Latency distributions written to " + profile.reportDir().toAbsolutePath());
+        return 0;
+    }
+}
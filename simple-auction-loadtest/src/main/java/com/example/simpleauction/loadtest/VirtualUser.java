@@ -0,0 +1,159 @@
+package com.example.simpleauction.loadtest;
+
+import com.example.simpleauction.config.LoadTestDataInitializer;
+import com.example.simpleauction.loadtest.LoadProfile.Action;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated bidder: logs in as its own seeded account, then until the deadline picks actions from the
+ * profile's mix with a random think time between them.
+ * <ul>
+ *   <li>browse: a page of listings from a random point, sometimes filtered by category</li>
+ *   <li>view: an item by popularity, and half the time its top bids</li>
+ *   <li>bid: reads the item, then outbids the current price by a small random increment; aimed at auctions
+ *       about to end (bidding storms) with probability {@code stormShare}, otherwise at a popular item</li>
+ *   <li>pay: pays for a closed auction this user won, falling back to a view when there is none</li>
+ * </ul>
+ */
+final class VirtualUser implements Runnable {
+
+    private static final int BROWSE_PAGE = 50;
+    private static final int TOP_BIDS = 10;
+    private static final long MIN_INCREMENT_CENTS = 100;
+    private static final long MAX_INCREMENT_CENTS = 2_500;
+
+    private final String email;
+    private final LoadProfile profile;
+    private final Catalog catalog;
+    private final AuctionClient client;
+    private final long startAtNanos;
+    private final long deadlineNanos;
+    private final Action[] actions;
+    private final int[] cumulativeWeights;
+    private final List<Integer> leading = new ArrayList<>(); // catalog indexes this user was last seen winning
+
+    VirtualUser(int index, LoadProfile profile, Catalog catalog, AuctionClient client, long startAtNanos, long deadlineNanos) {
+        this.email = String.format(LoadTestDataInitializer.USER_EMAIL_FORMAT, index % profile.accounts());
+        this.profile = profile;
+        this.catalog = catalog;
+        this.client = client;
+        this.startAtNanos = startAtNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.actions = profile.mix().keySet().stream().sorted().toArray(Action[]::new);
+        this.cumulativeWeights = new int[actions.length];
+        int total = 0;
+        for (int i = 0; i < actions.length; i++) {
+            total += profile.mix().get(actions[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (!pause(startAtNanos - System.nanoTime())) {
+            return;
+        }
+        String token = client.login(email, LoadTestDataInitializer.USER_PASSWORD);
+        if (token == null) {
+            return; // counted as a login error; nothing else this user could do
+        }
+        while (System.nanoTime() < deadlineNanos) {
+            switch (nextAction(random)) {
+                case BROWSE -> browse(random);
+                case VIEW -> view(random);
+                case BID -> bid(random, token);
+                case PAY -> pay(random, token);
+            }
+            long thinkNanos = profile.thinkTime().toNanos();
+            if (thinkNanos > 0 && !pause((long) (-Math.log(1 - random.nextDouble()) * thinkNanos))) {
+                return;
+            }
+        }
+    }
+
+    private Action nextAction(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < actions.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return actions[i];
+            }
+        }
+        return actions[actions.length - 1];
+    }
+
+    private void browse(ThreadLocalRandom random) {
+        int from = random.nextInt(catalog.size());
+        String category = random.nextInt(10) < 3 ? catalog.category(from) : null;
+        // Keyset cursor: listings after a random item, as if the user had paged that far
+        client.listItems(category, catalog.id(from), BROWSE_PAGE);
+    }
+
+    private void view(ThreadLocalRandom random) {
+        int item = catalog.popular(random);
+        client.item(catalog.id(item));
+        if (random.nextBoolean()) {
+            client.topBids(catalog.id(item), TOP_BIDS);
+        }
+    }
+
+    private void bid(ThreadLocalRandom random, String token) {
+        long now = System.currentTimeMillis();
+        int item = -1;
+        if (random.nextDouble() < profile.stormShare()) {
+            item = catalog.closing(random, now, profile.stormWindow().toMillis());
+        }
+        if (item < 0) {
+            item = catalog.popular(random);
+        }
+        JsonNode current = client.item(catalog.id(item));
+        if (current == null || "CLOSED".equals(current.path("auctionStatus").asText()) || catalog.hasEnded(item, now)) {
+            return;
+        }
+        BigDecimal price = current.path("currentBidPrice").decimalValue();
+        BigDecimal amount = price.add(BigDecimal.valueOf(random.nextLong(MIN_INCREMENT_CENTS, MAX_INCREMENT_CENTS + 1), 2));
+        if (client.bid(token, catalog.id(item), amount) && !leading.contains(item)) {
+            leading.add(item);
+        }
+    }
+
+    // Checks the item first, as a winner would: soft close may have extended it past the end time we know
+    private void pay(ThreadLocalRandom random, String token) {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < leading.size(); i++) {
+            int item = leading.get(i);
+            if (!catalog.hasEnded(item, now)) {
+                continue;
+            }
+            JsonNode current = client.item(catalog.id(item));
+            if (current == null || !"CLOSED".equals(current.path("auctionStatus").asText())) {
+                return;
+            }
+            leading.remove(i);
+            if (email.equals(current.path("highestBidderEmail").asText())) {
+                client.pay(token, catalog.id(item));
+            }
+            return;
+        }
+        view(random);
+    }
+
+    private static boolean pause(long nanos) {
+        if (nanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}